@@ -46,6 +46,9 @@ public abstract class ColumnInfo implements Comparable<ColumnInfo> {
         public abstract Builder foreignKeyInfo(@Nullable ForeignKeyInfo foreignKeyInfo);    // foreign_key_info
         public abstract Builder searchable(boolean searchable); // searchable
         public abstract Builder orderable(boolean orderable);  // orderable
+        public abstract Builder fullText(boolean fullText);    // full_text
+        public abstract Builder epochMillis(boolean epochMillis);  // epoch_millis
+        public abstract Builder orderPreserving(boolean orderPreserving);  // order_preserving
         public abstract Builder valueAccess(@Nullable List<String> access);
         public abstract ColumnInfo build();
     }
@@ -55,6 +58,9 @@ public abstract class ColumnInfo implements Comparable<ColumnInfo> {
                 .primaryKey(false)
                 .searchable(true)
                 .orderable(true)
+                .fullText(false)
+                .epochMillis(false)
+                .orderPreserving(false)
                 .unique(false)
                 .index(false);
     }
@@ -72,6 +78,9 @@ public abstract class ColumnInfo implements Comparable<ColumnInfo> {
     public abstract ForeignKeyInfo foreignKeyInfo();    // foreign_key_info
     public abstract boolean searchable(); // searchable
     public abstract boolean orderable();  // orderable
+    public abstract boolean fullText();    // full_text
+    public abstract boolean epochMillis();  // epoch_millis
+    public abstract boolean orderPreserving();  // order_preserving
 
     /**
      * <p><i>NOT SERIALIZED</i>--only useful in code generation
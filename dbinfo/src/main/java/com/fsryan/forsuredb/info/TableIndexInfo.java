@@ -0,0 +1,83 @@
+/*
+    forsuredb-dbinfo, value classes for the forsuredb project
+
+    Copyright 2017 Ryan Scott
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+ */
+package com.fsryan.forsuredb.info;
+
+import com.google.auto.value.AutoValue;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ *     A table-level index that may span several columns. Each of the {@link #columns()}
+ *     is a column name, optionally followed by " DESC" when the column should be sorted
+ *     in descending order within the index. The {@link #include()} columns are stored in
+ *     the index after the key columns so that queries reading only indexed columns need
+ *     not look up the row. When {@link #where()} is non-null, only the rows matching it
+ *     are indexed.
+ * </p>
+ */
+@AutoValue
+public abstract class TableIndexInfo {
+
+    public static final String DESCENDING_SUFFIX = " DESC";
+
+    public static Builder builder() {
+        return new AutoValue_TableIndexInfo.Builder()
+                .include(Collections.<String>emptyList())
+                .unique(false);
+    }
+
+    public abstract String name();  // name
+    public abstract List<String> columns(); // columns
+    public abstract List<String> include(); // include
+    public abstract boolean unique();   // unique
+    @Nullable public abstract String where();   // where
+    public abstract Builder toBuilder();
+
+    @AutoValue.Builder
+    public static abstract class Builder {
+        public abstract Builder name(String name);  // name
+        public abstract Builder columns(List<String> columns);  // columns
+        public abstract Builder include(List<String> include);  // include
+        public abstract Builder unique(boolean unique); // unique
+        public abstract Builder where(@Nullable String where);  // where
+        public abstract TableIndexInfo build();
+    }
+
+    /**
+     * @return the names of the key columns in index order without any sort order
+     */
+    public List<String> columnNames() {
+        List<String> ret = new ArrayList<>(columns().size());
+        for (String column : columns()) {
+            ret.add(isDescending(column) ? column.substring(0, column.length() - DESCENDING_SUFFIX.length()) : column);
+        }
+        return ret;
+    }
+
+    public boolean isPartial() {
+        return where() != null && !where().isEmpty();
+    }
+
+    public static boolean isDescending(String column) {
+        return column.endsWith(DESCENDING_SUFFIX);
+    }
+}
@@ -101,6 +101,7 @@ public abstract class TableInfo {
         public abstract Builder primaryKey(Set<String> primaryKey);   // primary_key
         public abstract Builder primaryKeyOnConflict(@Nullable String primaryKeyOnConflict);  // primary_key_on_conflict
         public abstract Builder foreignKeys(@Nullable Set<TableForeignKeyInfo> foreignKeys); // foreign_keys
+        public abstract Builder indices(@Nullable Set<TableIndexInfo> indices); // indices
         public abstract TableInfo build();
     }
 
@@ -116,6 +117,7 @@ public abstract class TableInfo {
         private Map<String, ColumnInfo> columnMap = new HashMap<>();
         private Set<String> primaryKey = new HashSet<>();
         private Set<TableForeignKeyInfo> foreignKeys = new HashSet<>();
+        private Set<TableIndexInfo> indices = new HashSet<>();
         private final Builder builder = new AutoValue_TableInfo.Builder();
 
         public BuilderCompat columnMap(Map<String, ColumnInfo> columnMap) {
@@ -172,6 +174,14 @@ public abstract class TableInfo {
             return this;
         }
 
+        public BuilderCompat indices(@Nullable Set<TableIndexInfo> indices) {
+            this.indices.clear();
+            if (indices != null) {
+                this.indices.addAll(indices);
+            }
+            return this;
+        }
+
         public TableInfo build() {
             // This nasty code preserves backwards compatibility.
             // primary key properties were serialized on columns pre 0.11.0
@@ -215,12 +225,19 @@ public abstract class TableInfo {
                 }
             }
 
-            columnMap.putAll(DEFAULT_COLUMNS);
+            for (Map.Entry<String, ColumnInfo> entry : DEFAULT_COLUMNS.entrySet()) {
+                // created and modified may be stored as epoch millis, but are otherwise always the defaults
+                ColumnInfo column = columnMap.get(entry.getKey());
+                columnMap.put(entry.getKey(), column != null && column.epochMillis()
+                        ? entry.getValue().toBuilder().epochMillis(true).build()
+                        : entry.getValue());
+            }
             return builder.tableName(createTableName(tableName, qualifiedClassName))
                     .columnMap(columnMap)
                     .qualifiedClassName(qualifiedClassName)
                     .foreignKeys(actualForeignKeys)
                     .primaryKey(actualPrimaryKey)
+                    .indices(new HashSet<>(indices))
                     .build();
         }
     }
@@ -238,6 +255,7 @@ public abstract class TableInfo {
     public abstract Set<String> primaryKey();   // primary_key
     @Nullable public abstract String primaryKeyOnConflict();  // primary_key_on_conflict
     @Nullable public abstract Set<TableForeignKeyInfo> foreignKeys(); // foreign_keys
+    @Nullable public abstract Set<TableIndexInfo> indices(); // indices
     public abstract Builder toBuilder();
 
     public static Set<String> defaultColumnNames() {
@@ -325,6 +343,29 @@ public abstract class TableInfo {
         return retList;
     }
 
+    /**
+     * @return the columns marked as full-text searchable in sorted order
+     */
+    public List<ColumnInfo> getFullTextColumns() {
+        List<ColumnInfo> retList = new ArrayList<>();
+        for (ColumnInfo column : getColumns()) {
+            if (column.fullText()) {
+                retList.add(column);
+            }
+        }
+        Collections.sort(retList);
+        return retList;
+    }
+
+    public boolean hasFullTextColumns() {
+        for (ColumnInfo column : getColumns()) {
+            if (column.fullText()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public Set<String> getPrimaryKey() {
         if (primaryKey() != null && !primaryKey().isEmpty()) {
             return new HashSet<>(primaryKey());
@@ -345,6 +386,23 @@ public abstract class TableInfo {
         return ret;
     }
 
+    /**
+     * @param name the name of the index
+     * @return the {@link TableIndexInfo} with the name passed in or null if this table has
+     * no such index
+     */
+    public TableIndexInfo getIndex(String name) {
+        if (indices() == null || name == null) {
+            return null;
+        }
+        for (TableIndexInfo index : indices()) {
+            if (name.equals(index.name())) {
+                return index;
+            }
+        }
+        return null;
+    }
+
     public boolean referencesOtherTable() {
         return (foreignKeys() != null && !foreignKeys().isEmpty()) || !getForeignKeyColumns().isEmpty();
     }
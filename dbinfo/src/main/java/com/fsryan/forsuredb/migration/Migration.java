@@ -45,6 +45,7 @@ public abstract class Migration implements Comparable<Migration> {
 
         ALTER_TABLE_ADD_COLUMN(10),
         ALTER_TABLE_ADD_UNIQUE(10),
+        CHANGE_DATE_ENCODING(11),   // converts the values of a Date column that is stored in the encoding of the target schema
         /**
          * <p>Foreign keys may or may not be marked on columns. If you use this, I'm not sure what will happen. It is
          * only around for compatibility with previous versions.
@@ -55,6 +56,10 @@ public abstract class Migration implements Comparable<Migration> {
         ADD_UNIQUE_INDEX(30),
         ADD_INDEX(30),
         MAKE_COLUMN_UNIQUE(30),
+        // the column name of these migrations is the name of the index, which is described by the target schema
+        DROP_TABLE_INDEX(29),       // runs before ADD_TABLE_INDEX so that a changed index can be recreated
+        ADD_TABLE_INDEX(31),        // runs after the columns of the index have been added
+        UPDATE_FULL_TEXT_INDEX(32), // rebuilds the full-text index of the table from the target schema
         CREATE_TEMP_TABLE_FROM_EXISTING(40),
         DROP_TABLE(100);
 
@@ -171,6 +176,7 @@ public abstract class Migration implements Comparable<Migration> {
             case CREATE_TEMP_TABLE_FROM_EXISTING:
             case UPDATE_PRIMARY_KEY:
             case UPDATE_FOREIGN_KEYS:
+            case UPDATE_FULL_TEXT_INDEX:
                 return true;
         }
         return false;
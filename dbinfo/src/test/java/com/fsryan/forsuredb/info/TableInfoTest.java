@@ -184,6 +184,45 @@ public abstract class TableInfoTest {
         }
     }
 
+    @RunWith(Parameterized.class)
+    public static class EpochMillisTimestamps extends TableInfoTest {
+
+        private final boolean expectedEpochMillis;
+
+        public EpochMillisTimestamps(ColumnInfo[] nonDefaultColumns, boolean expectedEpochMillis) {
+            super(nonDefaultColumns);
+            this.expectedEpochMillis = expectedEpochMillis;
+        }
+
+        @Parameterized.Parameters
+        public static Iterable<Object[]> data() {
+            return Arrays.asList(new Object[][] {
+                    {   // 00: created and modified are text by default
+                            new ColumnInfo[] {longCol().build()},
+                            false
+                    },
+                    {   // 01: the table stores created and modified as epoch millis
+                            new ColumnInfo[] {
+                                    longCol().build(),
+                                    TableInfo.defaultColumns().get("created").toBuilder().epochMillis(true).build(),
+                                    TableInfo.defaultColumns().get("modified").toBuilder().epochMillis(true).build()
+                            },
+                            true
+                    },
+            });
+        }
+
+        @Test
+        public void shouldKeepEncodingOfCreatedAndModified() {
+            for (String columnName : Arrays.asList("created", "modified")) {
+                ColumnInfo expected = TableInfo.defaultColumns().get(columnName).toBuilder()
+                        .epochMillis(expectedEpochMillis)
+                        .build();
+                assertEquals(expected, tableUnderTest.getColumn(columnName));
+            }
+        }
+    }
+
     /*package*/ static List<ColumnInfo> createColumns(ColumnInfo[] nonDefaultColumns) {
         List<ColumnInfo> retList = new LinkedList<ColumnInfo>();
         for (ColumnInfo column : nonDefaultColumns) {
@@ -0,0 +1,27 @@
+package com.fsryan.forsuredb.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ *     Stores a {@link java.util.Date Date} column as an integer number of milliseconds since
+ *     the epoch rather than as formatted text. Reading the column then does not require
+ *     parsing, and comparisons--including those of an index on the column--compare integers.
+ * </p>
+ * <p>
+ *     Adding this annotation to or removing it from an existing column generates a migration
+ *     that converts the values already stored. Text values are interpreted in the local time
+ *     zone of the database, as they are when read.
+ * </p>
+ * <p>
+ *     To store the created and modified columns of a table as epoch millis, see
+ *     {@link FSTable#epochMillisTimestamps()}.
+ * </p>
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface FSEpochMillis {
+}
@@ -0,0 +1,24 @@
+package com.fsryan.forsuredb.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ *     Marks a String column as full-text searchable. The text of every full-text searchable
+ *     column of a table is kept in a full-text index that is maintained as records are
+ *     inserted, updated and deleted, and the generated Finder gets a byXxxMatches method for
+ *     each such column. Searching that way uses the index, whereas the byXxxLike methods must
+ *     scan the whole table.
+ * </p>
+ * <p>
+ *     If your DBMS is SQLite, the index is an FTS5 table, so the argument to byXxxMatches is
+ *     an FTS5 query, for example "sqlite AND database" or "data*".
+ * </p>
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface FSFullText {
+}
@@ -0,0 +1,93 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.annotations;
+
+import com.fsryan.forsuredb.api.FSGetApi;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ *     Use the FSIndex annotation on your extensions of {@link FSGetApi FSGetApi} in order to
+ *     create an index on one or more columns of the table. Unlike {@link Index}, which indexes
+ *     a single column, an FSIndex can describe an ordered, multi-column index, a partial index
+ *     and a covering index. For example, the following index makes queries for the
+ *     non-deleted records of a user ordered by most recent modification fast:
+ * </p>
+ * <pre>{@code
+ * @FSIndex(value = {"user_id", "modified DESC"}, where = "deleted = 0")
+ * }</pre>
+ * <p>
+ *     To declare more than one FSIndex on the same table, use {@link FSIndices}.
+ * </p>
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface FSIndex {
+
+    /**
+     * <p>
+     *     Index names are shared by all tables in the database. Defaults to the empty string,
+     *     which results in a name derived from the table name and the names of the columns
+     *     of the index
+     * </p>
+     * @return the name of the index
+     */
+    String name() default "";
+
+    /**
+     * <p>
+     *     The key columns of the index in the order in which they should be indexed. Append
+     *     " DESC" to a column name in order to sort that column in descending order.
+     * </p>
+     * @return the key columns of the index
+     */
+    String[] value();
+
+    /**
+     * <p>
+     *     Columns that are stored in the index, but do not determine its order, so that
+     *     queries that only read indexed columns can be answered from the index alone. If
+     *     your DBMS is SQLite, then these columns are appended to the key columns.
+     * </p>
+     * <p>
+     *     Because the included columns would take part in uniqueness, a {@link #unique()}
+     *     index may not include columns.
+     * </p>
+     * @return the columns that the index covers in addition to the key columns
+     */
+    String[] include() default {};
+
+    /**
+     * @return whether the combination of the key columns must be unique
+     */
+    boolean unique() default false;
+
+    /**
+     * <p>
+     *     Defaults to the empty string, which results in every record being indexed. Otherwise
+     *     only the records matching this SQL expression--for example "deleted = 0"--are indexed.
+     *     A query can only use a partial index when its selection implies this expression.
+     * </p>
+     * @return the SQL expression that records must match in order to be indexed
+     */
+    String where() default "";
+}
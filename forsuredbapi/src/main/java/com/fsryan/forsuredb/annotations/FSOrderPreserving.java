@@ -0,0 +1,26 @@
+package com.fsryan.forsuredb.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ *     Stores a {@link java.math.BigDecimal BigDecimal} or {@link java.math.BigInteger BigInteger}
+ *     column as text that sorts in numeric order (see
+ *     {@link com.fsryan.forsuredb.api.OrderPreservingEncoding OrderPreservingEncoding}), so
+ *     that range finders, ORDER BY and an index on the column all work in the database. The
+ *     generated Finder of the table then has range methods and the generated OrderBy an
+ *     order-by method for the column.
+ * </p>
+ * <p>
+ *     Values are stored with numeric equality: 1.50 and 1.5 are stored--and read--the same.
+ *     Because the values already stored cannot be converted by the database, this annotation
+ *     cannot be added to or removed from an existing column. Add a new column instead.
+ * </p>
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface FSOrderPreserving {
+}
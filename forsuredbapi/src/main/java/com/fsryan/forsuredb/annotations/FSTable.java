@@ -40,4 +40,16 @@ public @interface FSTable {
     * @return The name of the table
     */
     String value();
+
+   /**
+    * <p>
+    *     Stores the created and modified columns of the table as integer milliseconds since
+    *     the epoch, as {@link FSEpochMillis FSEpochMillis} does for other
+    *     {@link java.util.Date Date} columns, and has the trigger that maintains the modified
+    *     column write the current epoch millis. Changing this on an existing table generates a
+    *     migration that converts the values already stored.
+    * </p>
+    * @return true if the created and modified columns should be stored as epoch millis
+    */
+    boolean epochMillisTimestamps() default false;
 }
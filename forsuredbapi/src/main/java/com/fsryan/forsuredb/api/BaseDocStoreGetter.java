@@ -5,18 +5,22 @@ import com.fsryan.forsuredb.api.adapter.FSSerializerFactoryPluginHelper;
 import com.fsryan.forsuredb.api.sqlgeneration.DBMSIntegrator;
 import com.fsryan.forsuredb.api.sqlgeneration.Sql;
 
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
 public abstract class BaseDocStoreGetter<T> extends BaseGetter implements FSDocStoreGetApi<T> {
 
     private static FSSerializer serializer = new FSSerializerFactoryPluginHelper().getNew().create();
+    private static volatile EntityCache entityCache;
 
     private final Class<T> baseCls;
 
-    public BaseDocStoreGetter(String tableName, Class<T> baseCls) {
-        this(Sql.generator(), tableName, baseCls);
+    public BaseDocStoreGetter(String tableName, Class<T> baseCls, String... columnNames) {
+        this(Sql.generator(), tableName, baseCls, columnNames);
     }
 
-    BaseDocStoreGetter(DBMSIntegrator sqlGenerator, String tableName, Class<T> baseCls) {
-        super(sqlGenerator, tableName);
+    BaseDocStoreGetter(DBMSIntegrator sqlGenerator, String tableName, Class<T> baseCls, String... columnNames) {
+        super(sqlGenerator, tableName, withDocStoreColumns(columnNames));
         this.baseCls = baseCls;
     }
 
@@ -31,9 +35,39 @@ public abstract class BaseDocStoreGetter<T> extends BaseGetter implements FSDocS
         }
     }
 
+    /**
+     * <p>
+     *     Caches the objects returned by {@link #get(Retriever)} for every doc store table so
+     *     that a record is only deserialized again after it has been modified. Caching requires
+     *     the _id and modified columns to be retrieved along with the document. The cached
+     *     objects are shared by every caller, so they must not be mutated.
+     * </p>
+     * @param entityCache the {@link EntityCache} or null to always deserialize
+     */
+    public static void setEntityCache(@Nullable EntityCache entityCache) {
+        BaseDocStoreGetter.entityCache = entityCache;
+    }
+
     @Override
     public T get(Retriever retriever) {
-        return getAs(getJavaClass(retriever), retriever);
+        final EntityCache cache = entityCache;
+        if (cache == null) {
+            return getAs(getJavaClass(retriever), retriever);
+        }
+
+        final long id = id(retriever);
+        final String modified = retrieveString(retriever, "modified");
+        final Object cached = cache.get(tableName, id, modified);
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        final long version = cache.version(tableName);
+        final T ret = getAs(getJavaClass(retriever), retriever);
+        if (ret != null && modified != null) {
+            cache.put(tableName, id, modified, ret, version);
+        }
+        return ret;
     }
 
     @Override
@@ -49,7 +83,7 @@ public abstract class BaseDocStoreGetter<T> extends BaseGetter implements FSDocS
     @Override
     public byte[] blobDoc(Retriever retriever) {
         throwIfNullRetriever(retriever);
-        return retriever.getBytes(disambiguateColumn("blob_doc"));
+        return retriever.getBytes(columnIndex(retriever, "blob_doc"));
     }
 
     @Override
@@ -66,4 +100,12 @@ public abstract class BaseDocStoreGetter<T> extends BaseGetter implements FSDocS
             throw new RuntimeException(e);
         }
     }
+
+    private static String[] withDocStoreColumns(String[] columnNames) {
+        String[] ret = Arrays.copyOf(columnNames, columnNames.length + 3);
+        ret[columnNames.length] = "class_name";
+        ret[columnNames.length + 1] = "doc";
+        ret[columnNames.length + 2] = "blob_doc";
+        return ret;
+    }
 }
@@ -20,6 +20,13 @@ public abstract class BaseDocStoreSetter<U, R extends RecordContainer, T> extend
         super(queryable, selection, orderings, recordContainer);
     }
 
+    public BaseDocStoreSetter(ForSureInfoFactory<U, R> infoFactory,
+                              FSQueryable<U, R> queryable,
+                              FSSelection selection,
+                              List<FSOrdering> orderings) {
+        super(infoFactory, queryable, selection, orderings);
+    }
+
     // intended for use in testing
     protected BaseDocStoreSetter(DateFormat dateFormat,
                        FSQueryable<U, R> queryable,
@@ -6,26 +6,47 @@ import com.fsryan.forsuredb.api.sqlgeneration.Sql;
 import javax.annotation.Nonnull;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 public abstract class BaseGetter implements FSGetApi {
 
     protected final DBMSIntegrator sqlGenerator;
     protected final String tableName;
 
-    public BaseGetter(String tableName) {
-        this(Sql.generator(), tableName);
+    // column name -> disambiguated label; built once and never modified afterward, so the
+    // Getter singletons can be shared by every thread without locking
+    private final Map<String, String> labels;
+
+    /**
+     * @param tableName the name of the table
+     * @param columnNames the names of the columns of the table other than the default columns,
+     *                    whose labels are disambiguated once rather than on every read
+     */
+    public BaseGetter(String tableName, String... columnNames) {
+        this(Sql.generator(), tableName, columnNames);
     }
 
-    BaseGetter(DBMSIntegrator sqlGenerator, String tableName) {
+    BaseGetter(DBMSIntegrator sqlGenerator, String tableName, String... columnNames) {
         this.sqlGenerator = sqlGenerator;
         this.tableName = tableName;
+
+        Map<String, String> labels = new HashMap<>();
+        for (String columnName : new String[] {"_id", "created", "modified", "deleted"}) {
+            labels.put(columnName, sqlGenerator.unambiguousRetrievalColumn(tableName, columnName));
+        }
+        for (String columnName : columnNames) {
+            labels.put(columnName, sqlGenerator.unambiguousRetrievalColumn(tableName, columnName));
+        }
+        this.labels = Collections.unmodifiableMap(labels);
     }
 
     @Override
     public long id(@Nonnull Retriever retriever) {
         throwIfNullRetriever(retriever);
-        return retriever.getLong(disambiguateColumn("_id"));
+        return retriever.getLong(columnIndex(retriever, "_id"));
     }
 
     @Override
@@ -47,21 +68,56 @@ public abstract class BaseGetter implements FSGetApi {
         return sqlGenerator.unambiguousRetrievalColumn(tableName, columnName);
     }
 
+    /**
+     * <p>
+     *     Resolves the index of the column within the {@link Retriever} by the label that was
+     *     disambiguated when this Getter was created. Only columns that were not passed to the
+     *     constructor are disambiguated on each call.
+     * </p>
+     * @param retriever the {@link Retriever} whose column index should be resolved
+     * @param columnName the (ambiguous) name of the column in this Getter's table
+     * @return the index of the column that can be passed to the index-based accessors of the
+     * {@link Retriever}
+     */
+    protected int columnIndex(@Nonnull Retriever retriever, @Nonnull String columnName) {
+        final String label = labels.get(columnName);
+        return retriever.columnIndex(label == null ? disambiguateColumn(columnName) : label);
+    }
+
     protected Date parseDateColumn(@Nonnull Retriever retriever, @Nonnull String columnName) {
         throwIfNullRetriever(retriever);
-        final String dateString = retriever.getString(disambiguateColumn(columnName));
+        final String dateString = retriever.getString(columnIndex(retriever, columnName));
         return dateString == null ? null : sqlGenerator.parseDate(dateString);
     }
 
+    /**
+     * <p>
+     *     Reads a {@link Date} column that is stored as milliseconds since the epoch, which,
+     *     unlike {@link #parseDateColumn(Retriever, String)}, does not require parsing.
+     * </p>
+     * @param retriever the {@link Retriever} positioned at the record to read
+     * @param columnName the (ambiguous) name of the column in this Getter's table
+     * @return the {@link Date} stored in the column or null if the column is null
+     */
+    protected Date parseEpochMillisColumn(@Nonnull Retriever retriever, @Nonnull String columnName) {
+        throwIfNullRetriever(retriever);
+        final int index = columnIndex(retriever, columnName);
+        final long epochMillis = retriever.getLong(index);
+        if (epochMillis == 0L && retriever.getString(index) == null) {
+            return null;    // <-- a null column reads as 0, so only then is it necessary to check
+        }
+        return new Date(epochMillis);
+    }
+
     protected boolean parseBooleanColumn(@Nonnull Retriever retriever, @Nonnull String columnName) {
         throwIfNullRetriever(retriever);
-        final int val = retriever.getInt(disambiguateColumn(columnName));
+        final int val = retriever.getInt(columnIndex(retriever, columnName));
         return val == 1;
     }
 
     protected BigInteger parseBigIntegerColumn(@Nonnull Retriever retriever, @Nonnull String columnName) {
         throwIfNullRetriever(retriever);
-        final String val = retriever.getString(disambiguateColumn(columnName));
+        final String val = retriever.getString(columnIndex(retriever, columnName));
         try {
             return val == null ? null : new BigInteger(val);
         } catch (NumberFormatException nfe) {
@@ -71,7 +127,7 @@ public abstract class BaseGetter implements FSGetApi {
 
     protected BigDecimal parseBigDecimalColumn(@Nonnull Retriever retriever, @Nonnull String columnName) {
         throwIfNullRetriever(retriever);
-        final String val = retriever.getString(disambiguateColumn(columnName));
+        final String val = retriever.getString(columnIndex(retriever, columnName));
         try {
             return val == null ? null : new BigDecimal(val);
         } catch (NumberFormatException nfe) {
@@ -79,9 +135,48 @@ public abstract class BaseGetter implements FSGetApi {
         }
     }
 
+    /**
+     * <p>
+     *     Reads a {@link BigInteger} column that is stored with the
+     *     {@link OrderPreservingEncoding}.
+     * </p>
+     * @param retriever the {@link Retriever} positioned at the record to read
+     * @param columnName the (ambiguous) name of the column in this Getter's table
+     * @return the {@link BigInteger} stored in the column or null if the column is null
+     */
+    protected BigInteger parseOrderPreservingBigIntegerColumn(@Nonnull Retriever retriever, @Nonnull String columnName) {
+        throwIfNullRetriever(retriever);
+        final String val = retriever.getString(columnIndex(retriever, columnName));
+        try {
+            return OrderPreservingEncoding.decodeBigInteger(val);
+        } catch (IllegalArgumentException iae) {
+            throw new IllegalArgumentException("Looks like column " + columnName + " was not an order-preserving " + BigInteger.class + "; actual value: " + val, iae);
+        }
+    }
+
+    /**
+     * <p>
+     *     Reads a {@link BigDecimal} column that is stored with the
+     *     {@link OrderPreservingEncoding}. The scale of the value returned is the smallest
+     *     non-negative scale that represents the value stored exactly.
+     * </p>
+     * @param retriever the {@link Retriever} positioned at the record to read
+     * @param columnName the (ambiguous) name of the column in this Getter's table
+     * @return the {@link BigDecimal} stored in the column or null if the column is null
+     */
+    protected BigDecimal parseOrderPreservingBigDecimalColumn(@Nonnull Retriever retriever, @Nonnull String columnName) {
+        throwIfNullRetriever(retriever);
+        final String val = retriever.getString(columnIndex(retriever, columnName));
+        try {
+            return OrderPreservingEncoding.decodeBigDecimal(val);
+        } catch (IllegalArgumentException iae) {
+            throw new IllegalArgumentException("Looks like column " + columnName + " was not an order-preserving " + BigDecimal.class + "; actual value: " + val, iae);
+        }
+    }
+
     protected String retrieveString(Retriever retriever, String columnName) {
         throwIfNullRetriever(retriever);
-        return retriever.getString(disambiguateColumn(columnName));
+        return retriever.getString(columnIndex(retriever, columnName));
     }
 
     protected void throwIfNullRetriever(Retriever retriever) {
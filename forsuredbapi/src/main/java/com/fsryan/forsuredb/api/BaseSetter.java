@@ -4,6 +4,7 @@ import com.fsryan.forsuredb.api.adapter.SaveResultFactory;
 import com.fsryan.forsuredb.api.sqlgeneration.Sql;
 
 import java.text.DateFormat;
+import java.util.ArrayList;
 import java.util.List;
 
 public abstract class BaseSetter<U, R extends RecordContainer> implements FSSaveApi<U> {
@@ -13,12 +14,27 @@ public abstract class BaseSetter<U, R extends RecordContainer> implements FSSave
     private final FSSelection selection;
     private final List<FSOrdering> orderings;
     protected final R recordContainer;
+    private final ForSureInfoFactory<U, R> infoFactory;
+    private final List<R> batch = new ArrayList<>();
 
     public BaseSetter(FSQueryable<U, R> queryable,
                       FSSelection selection,
                       List<FSOrdering> orderings,
                       R recordContainer) {
-        this(Sql.generator().getDateFormat(), queryable, selection, orderings, recordContainer);
+        this(Sql.generator().getDateFormat(), null, queryable, selection, orderings, recordContainer);
+    }
+
+    /**
+     * <p>
+     *     Setters created with this constructor support {@link #addToBatch()} because they
+     *     can create a new {@link RecordContainer} for each record in the batch.
+     * </p>
+     */
+    public BaseSetter(ForSureInfoFactory<U, R> infoFactory,
+                      FSQueryable<U, R> queryable,
+                      FSSelection selection,
+                      List<FSOrdering> orderings) {
+        this(Sql.generator().getDateFormat(), infoFactory, queryable, selection, orderings, infoFactory.createRecordContainer());
     }
 
     // intended for use in testing
@@ -27,7 +43,18 @@ public abstract class BaseSetter<U, R extends RecordContainer> implements FSSave
                FSSelection selection,
                List<FSOrdering> orderings,
                R recordContainer) {
+        this(dateFormat, null, queryable, selection, orderings, recordContainer);
+    }
+
+    // intended for use in testing
+    protected BaseSetter(DateFormat dateFormat,
+               ForSureInfoFactory<U, R> infoFactory,
+               FSQueryable<U, R> queryable,
+               FSSelection selection,
+               List<FSOrdering> orderings,
+               R recordContainer) {
         this.dateFormat = dateFormat;
+        this.infoFactory = infoFactory;
         this.queryable = queryable;
         this.selection = selection;
         this.orderings = orderings;
@@ -50,6 +77,36 @@ public abstract class BaseSetter<U, R extends RecordContainer> implements FSSave
         }
     }
 
+    @Override
+    public void addToBatch() {
+        if (selection != null) {
+            throw new IllegalStateException("Cannot batch records when selection criteria are set; batches can only be inserted");
+        }
+        if (infoFactory == null) {
+            throw new IllegalStateException("This setter cannot create record containers; construct it with a ForSureInfoFactory in order to batch");
+        }
+
+        R snapshot = infoFactory.createRecordContainer();
+        TypedRecordContainer.copy(recordContainer, snapshot);
+        batch.add(snapshot);
+        recordContainer.clear();
+    }
+
+    @Override
+    public SaveResult<List<U>> saveBatch() {
+        if (batch.isEmpty()) {
+            return SaveResultFactory.<List<U>>create(new ArrayList<U>(0), 0, null);
+        }
+        try {
+            final List<U> inserted = queryable.insertAll(new ArrayList<>(batch));
+            return SaveResultFactory.create(inserted, inserted == null ? 0 : inserted.size(), null);
+        } catch (Exception e) {
+            return SaveResultFactory.<List<U>>create(null, 0, e);
+        } finally {
+            batch.clear();
+        }
+    }
+
     @Override
     public SaveResult<U> softDelete() {
         recordContainer.clear();
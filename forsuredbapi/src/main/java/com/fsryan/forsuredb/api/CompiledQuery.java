@@ -0,0 +1,102 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ *     A query that has been built once with the {@link Finder} and {@link OrderBy} APIs and
+ *     can then be run any number of times with different values. The SQL is generated only
+ *     when the query is compiled, so running it costs only the binding of the new values.
+ * </p>
+ * <p>
+ *     For example:
+ *     <pre>
+ *         CompiledQuery byName = userTable().find().byName("placeholder").then().compile();
+ *         Retriever bobs = byName.get("bob");
+ *         Retriever alices = byName.get("alice");
+ *     </pre>
+ *     The values passed to {@link #get(Object...)} replace the values passed to the by...
+ *     methods of the {@link Finder} in the order in which the by... methods were called. The
+ *     value passed to the {@link Finder} for each parameter is a placeholder, but it must be
+ *     non-null and non-empty, or else the {@link Finder} will drop the criterion.
+ * </p>
+ * <p>
+ *     Values are encoded and bound the same way as by the {@link Finder}, so a startsWith
+ *     criterion takes just the prefix. An IN list of up to {@link Finder#MAX_BOUND_IN_VALUES}
+ *     values takes one value per distinct placeholder value, and a larger IN list takes a
+ *     single {@link java.util.Collection} of any number of values.
+ * </p>
+ * @see Resolver#compile()
+ * @author Ryan Scott
+ */
+public class CompiledQuery {
+
+    private final FSCompiledQuery compiled;
+    private final QueryParameter[] parameters;
+
+    /*package*/ CompiledQuery(FSCompiledQuery compiled, QueryParameter[] parameters) {
+        this.compiled = compiled;
+        this.parameters = parameters;
+    }
+
+    /**
+     * @return the number of values that must be passed to {@link #get(Object...)}
+     */
+    public int parameterCount() {
+        return parameters.length;
+    }
+
+    /**
+     * @param values the values to query with in the same order as the by... methods of the
+     *               {@link Finder} were called
+     * @return A Retriever that will be able to retrieve records returned by this query
+     * @throws IllegalArgumentException if the number of values is not
+     * {@link #parameterCount()}, any value is null or a value cannot be bound in place of the
+     * value passed to the {@link Finder}
+     */
+    public Retriever get(Object... values) {
+        final int count = values == null ? 0 : values.length;
+        if (count != parameters.length) {
+            throw new IllegalArgumentException("Expected " + parameters.length + " values; got " + count);
+        }
+
+        final List<Object> replacements = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (values[i] == null) {
+                throw new IllegalArgumentException("Cannot query with null value at position " + i);
+            }
+            parameters[i].addReplacements(i, values[i], replacements);
+        }
+        return compiled.query(replacements.toArray(new Object[replacements.size()]));
+    }
+
+    /**
+     * @param mapper the {@link RowMapper} that maps each row
+     * @param values the values to query with in the same order as the by... methods of the
+     *               {@link Finder} were called
+     * @param <T> the type each row is mapped to
+     * @return a {@link RowIterator} over the mapped rows
+     * @see #get(Object...)
+     */
+    public <T> RowIterator<T> iterate(RowMapper<T> mapper, Object... values) {
+        return new RowIterator<>(get(values), mapper);
+    }
+}
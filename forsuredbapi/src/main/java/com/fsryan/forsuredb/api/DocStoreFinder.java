@@ -57,7 +57,7 @@ public class DocStoreFinder<R extends DocStoreResolver, F extends DocStoreFinder
             for (String toInclude : orExactMatches) {
                 inclusionFilter.add(toInclude);
             }
-            addEqualsOrChainToBuf("class_name", inclusionFilter);
+            addInToBuf("class_name", inclusionFilter);
         }
         return conjunction;
     }
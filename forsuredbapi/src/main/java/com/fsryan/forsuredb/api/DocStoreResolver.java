@@ -4,4 +4,22 @@ public abstract class DocStoreResolver<T extends DocStoreResolver, B, U, R exten
     public DocStoreResolver(ForSureInfoFactory<U, R> infoFactory) {
         super(infoFactory);
     }
+
+    /**
+     * <p>
+     *     Performs the query just as {@link #get()} would, deserializing each document with
+     *     {@link FSDocStoreGetApi#get(Retriever)}
+     * </p>
+     * @return a {@link RowIterator} over the deserialized documents
+     * @see #iterate(RowMapper)
+     */
+    public RowIterator<B> iterate() {
+        final G getApi = getApi();
+        return iterate(new RowMapper<B>() {
+            @Override
+            public B map(Retriever retriever) {
+                return getApi.get(retriever);
+            }
+        });
+    }
 }
@@ -0,0 +1,286 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ *     An identity cache of the records of tables, keyed by table and _id. Each value is cached
+ *     along with the modified timestamp of the record it was made from and is only returned
+ *     when asked for with that same timestamp, so a value made from a record that has since
+ *     been modified is never returned. At most {@link #maxEntries()} values are cached, and the
+ *     least-recently-used values are evicted first.
+ * </p>
+ * <p>
+ *     Because modified timestamps have millisecond precision, writers should also
+ *     {@link #invalidate(String) invalidate} the tables they write to so that a record
+ *     modified twice within the same millisecond is not mistaken for the earlier version.
+ * </p>
+ * <p>
+ *     Cached values are shared by every caller that gets them, so they must not be mutated.
+ * </p>
+ */
+public class EntityCache {
+
+    /**
+     * <p>
+     *     Looks up the current modified timestamp of a record whose value is cached
+     * </p>
+     */
+    public interface ModifiedLookup {
+        /**
+         * @return the current modified timestamp of the record or null if there is no longer
+         * such a record
+         */
+        @Nullable String currentModified();
+    }
+
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private final int maxEntries;
+    // access order so that iteration starts at the least-recently used entry
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75F, true);
+    // incremented whenever a table is invalidated; guarded by entries
+    private final Map<String, Long> tableVersions = new HashMap<>();
+    // incremented whenever the cache is cleared; guarded by entries
+    private long clearCount = 0;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public EntityCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries the maximum number of values to cache
+     */
+    public EntityCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be >= 1, was " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public long evictions() {
+        return evictions.get();
+    }
+
+    public long invalidations() {
+        return invalidations.get();
+    }
+
+    /**
+     * @return the fraction of lookups that were hits or 0 if there have been no lookups
+     */
+    public double hitRate() {
+        final long hits = this.hits.get();
+        final long lookups = hits + misses.get();
+        return lookups == 0 ? 0D : (double) hits / lookups;
+    }
+
+    /**
+     * @param table the table of the record
+     * @param id the _id of the record
+     * @param modified the modified timestamp of the record as it is currently stored
+     * @return the cached value for the record if it was made from the record as it is
+     * currently stored--null otherwise
+     */
+    @Nullable
+    public Object get(@Nonnull String table, long id, @Nullable final String modified) {
+        return get(table, id, new ModifiedLookup() {
+            @Override
+            public String currentModified() {
+                return modified;
+            }
+        });
+    }
+
+    /**
+     * <p>
+     *     Like {@link #get(String, long, String)}, but the current modified timestamp of the
+     *     record is only looked up if a value for the record is cached
+     * </p>
+     * @param table the table of the record
+     * @param id the _id of the record
+     * @param lookup the {@link ModifiedLookup} of the current modified timestamp of the record
+     * @return the cached value for the record if it was made from the record as it is
+     * currently stored--null otherwise
+     */
+    @Nullable
+    public Object get(@Nonnull String table, long id, @Nonnull ModifiedLookup lookup) {
+        final Key key = new Key(table, id);
+        final Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        final String currentModified = lookup.currentModified();
+        if (currentModified == null || !currentModified.equals(entry.modified)) {
+            synchronized (entries) {
+                if (entries.get(key) == entry) {
+                    entries.remove(key);
+                }
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * <p>
+     *     Must be read before reading the record whose value will be passed to
+     *     {@link #put(String, long, String, Object, long)}
+     * </p>
+     * @param table the table
+     * @return the current version of the table
+     */
+    public long version(@Nonnull String table) {
+        synchronized (entries) {
+            final Long version = tableVersions.get(table);
+            return (version == null ? 0L : version) + clearCount;
+        }
+    }
+
+    /**
+     * <p>
+     *     Caches the value for the record unless the table has been invalidated since its
+     *     {@link #version(String)} was read
+     * </p>
+     * @param table the table of the record
+     * @param id the _id of the record
+     * @param modified the modified timestamp of the record the value was made from
+     * @param value the value to cache
+     * @param version the {@link #version(String)} of the table read before reading the record
+     */
+    public void put(@Nonnull String table, long id, @Nonnull String modified, @Nonnull Object value, long version) {
+        synchronized (entries) {
+            if (version != version(table)) {
+                return;
+            }
+
+            entries.put(new Key(table, id), new Entry(modified, value));
+            Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+            while (entries.size() > maxEntries && leastRecentlyUsed.hasNext()) {
+                leastRecentlyUsed.next();
+                leastRecentlyUsed.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * <p>
+     *     Forgets the cached values for every record of the table. Call this after writing
+     *     to the table.
+     * </p>
+     * @param table the name of the table that was written to
+     */
+    public void invalidate(@Nonnull String table) {
+        synchronized (entries) {
+            final Long version = tableVersions.get(table);
+            tableVersions.put(table, version == null ? 1L : version + 1);
+            Iterator<Key> iterator = entries.keySet().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().table.equals(table)) {
+                    iterator.remove();
+                    invalidations.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     *     Forgets every cached value
+     * </p>
+     */
+    public void clear() {
+        synchronized (entries) {
+            clearCount++;
+            entries.clear();
+        }
+    }
+
+    private static class Key {
+
+        final String table;
+        final long id;
+
+        Key(String table, long id) {
+            this.table = table;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return id == key.id && table.equals(key.table);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * table.hashCode() + (int) (id ^ (id >>> 32));
+        }
+    }
+
+    private static class Entry {
+
+        final String modified;
+        final Object value;
+
+        Entry(String modified, Object value) {
+            this.modified = modified;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Locale;
+
+/**
+ * <p>
+ *     An aggregate function computed over the rows of a query by the database, so that only
+ *     its result is returned. The result is retrieved by its {@link #alias()}:
+ *     <pre>
+ *         {@code
+ *         FSAggregate maxRating = FSAggregate.max("app", "rating");
+ *         Retriever retriever = ForSure.appTable().aggregate(maxRating);
+ *         double max = retriever.moveToNext() ? retriever.getDouble(maxRating.alias()) : 0D;
+ *         }
+ *     </pre>
+ * </p>
+ * @see Resolver#aggregate(FSAggregate...)
+ */
+@lombok.ToString
+public class FSAggregate {
+
+    public enum Function {
+        COUNT,
+        SUM,
+        MIN,
+        MAX,
+        AVG
+    }
+
+    /**
+     * The aggregate function
+     */
+    public final Function function;
+    /**
+     * For column-disambiguation purposes, this is the table name of the column
+     */
+    public final String table;
+    /**
+     * The column to aggregate or null to count rows
+     */
+    @Nullable public final String column;
+
+    /**
+     * @param function the aggregate {@link Function}
+     * @param table the table of the column
+     * @param column the column to aggregate; may only be null for {@link Function#COUNT}, in
+     *               which case rows are counted
+     */
+    public FSAggregate(@Nonnull Function function, @Nonnull String table, @Nullable String column) {
+        if (column == null && function != Function.COUNT) {
+            throw new IllegalArgumentException("Only " + Function.COUNT + " may be computed without a column");
+        }
+        this.function = function;
+        this.table = table;
+        this.column = column;
+    }
+
+    /**
+     * @return an {@link FSAggregate} counting the rows
+     */
+    public static FSAggregate count(String table) {
+        return new FSAggregate(Function.COUNT, table, null);
+    }
+
+    /**
+     * @return an {@link FSAggregate} counting the non-null values of the column
+     */
+    public static FSAggregate count(String table, String column) {
+        return new FSAggregate(Function.COUNT, table, column);
+    }
+
+    public static FSAggregate sum(String table, String column) {
+        return new FSAggregate(Function.SUM, table, column);
+    }
+
+    public static FSAggregate min(String table, String column) {
+        return new FSAggregate(Function.MIN, table, column);
+    }
+
+    public static FSAggregate max(String table, String column) {
+        return new FSAggregate(Function.MAX, table, column);
+    }
+
+    public static FSAggregate avg(String table, String column) {
+        return new FSAggregate(Function.AVG, table, column);
+    }
+
+    /**
+     * @return the name of the column of the result of this aggregate, which the value
+     * should be retrieved by
+     */
+    public String alias() {
+        return function.name().toLowerCase(Locale.US) + '_' + table + (column == null ? "" : '_' + column);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+/**
+ * <p>
+ *     Implemented by {@link ForSureInfoFactory} implementations that can notify
+ *     {@link FSTableChangeListener}s when tables change, so that callers can refresh only when
+ *     needed instead of polling with queries.
+ * </p>
+ */
+public interface FSChangeNotifier {
+
+    /**
+     * <p>
+     *     Notifies the {@link FSTableChangeListener} after changes to the tables are committed.
+     *     Changes committed in quick succession--including all changes committed by one
+     *     transaction--are delivered together in one notification.
+     * </p>
+     * @param listener the {@link FSTableChangeListener} to notify
+     * @param tables the names of the tables of interest; if none are passed, the listener is
+     *               notified of changes to every table
+     */
+    void addTableChangeListener(FSTableChangeListener listener, String... tables);
+
+    /**
+     * @param listener the {@link FSTableChangeListener} to stop notifying
+     */
+    void removeTableChangeListener(FSTableChangeListener listener);
+}
@@ -0,0 +1,37 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+/**
+ * <p>
+ *     A query whose SQL has already been generated by an {@link FSQueryable}. Only the values
+ *     bound to the query change from one execution to the next.
+ * </p>
+ * @see FSQueryable#compile(java.util.List, java.util.List, FSSelection, java.util.List)
+ * @see CompiledQuery
+ */
+public interface FSCompiledQuery {
+
+    /**
+     * @param replacements the objects to bind to the query in the same order as the
+     *                     {@link FSSelection#replacements()} of the {@link FSSelection} the
+     *                     query was compiled with
+     * @return A Retriever that will be able to retrieve records returned by this query
+     */
+    Retriever query(Object[] replacements);
+}
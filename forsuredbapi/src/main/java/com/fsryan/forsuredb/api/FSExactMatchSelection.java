@@ -0,0 +1,41 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * <p>
+ *     An {@link FSSelection} that knows whether it matches records only by the exact values of
+ *     some of the columns of its table. The selections built by a {@link Finder} are
+ *     {@link FSExactMatchSelection}s, which lets an {@link FSQueryable} recognize a selection
+ *     of a single record by a unique key without parsing the {@link #where() where()} clause.
+ * </p>
+ */
+public interface FSExactMatchSelection extends FSSelection {
+
+    /**
+     * @return the values the columns must have--bound as they are in the
+     * {@link #replacements() replacements()}--if every criterion of the selection is the
+     * equality of a distinct column of the table to a value and the criteria are joined by
+     * AND; null otherwise
+     */
+    @Nullable
+    Map<String, Object> exactMatches();
+}
@@ -0,0 +1,44 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+/**
+ * <p>
+ *     A condition on the result of an {@link FSAggregate} that each group of a grouped
+ *     query must satisfy
+ * </p>
+ * @see Resolver.Grouping#having(FSAggregate, int, Object)
+ */
+@lombok.ToString
+@lombok.AllArgsConstructor
+public class FSHaving {
+
+    /**
+     * The aggregate the condition is on
+     */
+    public final FSAggregate aggregate;
+    /**
+     * The comparison operator--one of the OP_ constants of {@link Finder} other than
+     * {@link Finder#OP_LIKE}
+     */
+    public final int operator;
+    /**
+     * The value the aggregate is compared with
+     */
+    public final Object value;
+}
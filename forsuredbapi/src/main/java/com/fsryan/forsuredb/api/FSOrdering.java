@@ -1,13 +1,11 @@
 package com.fsryan.forsuredb.api;
 
-import lombok.AllArgsConstructor;
 import lombok.ToString;
 
 /**
  * A description of the ordering of a query--either in part or in whole
  */
 @ToString
-@AllArgsConstructor
 public class FSOrdering {
 
     /**
@@ -23,4 +21,28 @@ public class FSOrdering {
      * The direction of the ordering (either {@link OrderBy#ORDER_ASC} or {@link OrderBy#ORDER_DESC}
      */
     public final int direction;
+    /**
+     * The full-text query against which the relevance of the full-text column is ranked or
+     * null if the ordering is by the value of the column
+     */
+    public final String fullTextQuery;
+
+    public FSOrdering(String table, String column, int direction) {
+        this(table, column, direction, null);
+    }
+
+    public FSOrdering(String table, String column, int direction, String fullTextQuery) {
+        this.table = table;
+        this.column = column;
+        this.direction = direction;
+        this.fullTextQuery = fullTextQuery;
+    }
+
+    /**
+     * @return true if this orders by the relevance of the column to {@link #fullTextQuery}
+     * rather than by the value of the column
+     */
+    public boolean isByRelevance() {
+        return fullTextQuery != null;
+    }
 }
@@ -35,6 +35,18 @@ public interface FSQueryable<U, R extends RecordContainer> {
      */
     U insert(R recordContainer);
 
+    /**
+     * <p>
+     *     Inserts all of the records as a single unit of work: either all of the records are
+     *     inserted or none of them are. Implementations should take advantage of the fact that
+     *     most records in a batch share the same set of columns.
+     * </p>
+     * @param recordContainers A list of extensions of {@link RecordContainer}, each of which contains a record to be inserted
+     * @return if you've {@link FSQueryable parameterized this class correctly}, then record
+     * locators for the inserted records in the same order as the records were passed in
+     */
+    List<U> insertAll(List<R> recordContainers);
+
     /**
      * In the normal case, sortOrder will be null/empty. In the case that the user has
      * requested that the matching set be limited in some way (by calling {@link Finder#first()},
@@ -98,4 +110,32 @@ public interface FSQueryable<U, R extends RecordContainer> {
      * @return A Retriever that will be able to retrieve records returned by this join query
      */
     Retriever query(List<FSJoin> joins, List<FSProjection> projections, FSSelection selection, List<FSOrdering> sortOrder);
+
+    /**
+     * <p>
+     *     Generates the SQL of a query once so that it can be run repeatedly with different
+     *     values bound to it.
+     * </p>
+     * @param joins A list of {@link FSJoin} describing how to join--empty if the query is not a join
+     * @param projections The list of {@link FSProjection} that defines the columns to return in the SELECT query
+     * @param selection The {@link FSSelection} that defines the subset of records to retrieve
+     * @param sortOrder a list of {@link FSOrdering} describing the sort order
+     * @return An {@link FSCompiledQuery} that will run the query with the values passed to it
+     */
+    FSCompiledQuery compile(List<FSJoin> joins, List<FSProjection> projections, FSSelection selection, List<FSOrdering> sortOrder);
+
+    /**
+     * <p>
+     *     Computes the aggregates in the database so that only their results--one row per
+     *     group or a single row if not grouping--are returned.
+     * </p>
+     * @param joins A list of {@link FSJoin} describing how to join--empty if the query is not a join
+     * @param groupBy The list of {@link FSProjection} that defines the columns to group by--empty if not grouping
+     * @param aggregates The list of {@link FSAggregate} to compute
+     * @param selection The {@link FSSelection} that defines the subset of records to aggregate
+     * @param having The list of {@link FSHaving} conditions each group must satisfy--empty if not grouping
+     * @param sortOrder a list of {@link FSOrdering} describing the sort order
+     * @return A Retriever that will be able to retrieve the results of the aggregates
+     */
+    Retriever aggregate(List<FSJoin> joins, List<FSProjection> groupBy, List<FSAggregate> aggregates, FSSelection selection, List<FSHaving> having, List<FSOrdering> sortOrder);
 }
@@ -17,6 +17,8 @@
  */
 package com.fsryan.forsuredb.api;
 
+import java.util.List;
+
 /**
  * <p>
  *     All {@link FSGetApi FSGetApi} extensions defined by the user will have a corresponding
@@ -48,6 +50,29 @@ public interface FSSaveApi<U> {
     */
     SaveResult<U> save();
 
+    /**
+     * <p>
+     *     Adds the fields you have set to a batch of records to be inserted when
+     *     {@link #saveBatch()} is called. The fields are then cleared so that the next record
+     *     can be set.
+     * </p>
+     * @throws IllegalStateException if selection criteria were set, as batches can only be
+     * inserted
+     */
+    void addToBatch();
+
+    /**
+     * <p>
+     *     Inserts all of the records added via {@link #addToBatch()} in a single transaction
+     *     and empties the batch.
+     * </p>
+     * @return A descriptor of the result of the batch insertion whose
+     * {@link SaveResult#inserted()} is the list of locators of the inserted records in the
+     * order they were added
+     * @see #addToBatch()
+     */
+    SaveResult<List<U>> saveBatch();
+
     /**
      * <p>
      *     Attempts an update to the database. However, any fields that you've set prior to
@@ -0,0 +1,35 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+import java.util.Set;
+
+/**
+ * <p>
+ *     Notified of the tables that have changed
+ * </p>
+ * @see FSChangeNotifier
+ */
+public interface FSTableChangeListener {
+
+    /**
+     * @param tables the names of the tables that have changed since the last notification;
+     *               never empty
+     */
+    void onTablesChanged(Set<String> tables);
+}
@@ -0,0 +1,43 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+/**
+ * <p>
+ *     Implemented by {@link ForSureInfoFactory} implementations that can group the operations
+ *     of many {@link FSQueryable} instances into one transaction.
+ * </p>
+ */
+public interface FSTransactor {
+
+    /**
+     * <p>
+     *     Runs the {@link UnitOfWork} with every {@link FSQueryable} operation on the current
+     *     thread participating in the same transaction, which is committed once when the
+     *     {@link UnitOfWork} returns and rolled back if it throws. Calls may be nested, in which
+     *     case the nested {@link UnitOfWork} can be rolled back without rolling back the
+     *     enclosing one.
+     * </p>
+     * @param work the {@link UnitOfWork} to run
+     * @param <T> the type of the result of the work
+     * @return the result of the work
+     * @throws RuntimeException if the work throws or the transaction cannot be committed--
+     * checked exceptions are wrapped
+     */
+    <T> T runInTransaction(UnitOfWork<T> work);
+}
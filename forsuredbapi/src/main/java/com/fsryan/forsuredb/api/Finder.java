@@ -22,8 +22,13 @@ import com.fsryan.forsuredb.api.sqlgeneration.Sql;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.Date;
 
@@ -75,6 +80,28 @@ public abstract class Finder<R extends Resolver, F extends Finder<R, F>> {
     public static final int OP_GE = 1;
     public static final int OP_GT = 2;
     public static final int OP_LIKE = 3;
+    /**
+     * <p>Matches a full-text query against the full-text index of the column
+     * @see com.fsryan.forsuredb.api.sqlgeneration.DBMSIntegrator#whereMatches(String, String)
+     */
+    public static final int OP_MATCH = 4;
+    /**
+     * <p>Matches values that start with the value, comparing case-sensitively
+     * @see com.fsryan.forsuredb.api.sqlgeneration.DBMSIntegrator#whereStartsWith(String, String)
+     */
+    public static final int OP_STARTS_WITH = 5;
+
+    /**
+     * <p>
+     *     The number of values above which the values of an IN list are bound to a single
+     *     parameter as a list rather than to one parameter each. This keeps large sets from
+     *     exceeding the limit the DBMS places on the number of parameters of a statement (999
+     *     for SQLite prior to 3.32.0), and keeps the SQL the same for sets of any size so that
+     *     the statement can be reused.
+     * </p>
+     * @see com.fsryan.forsuredb.api.sqlgeneration.DBMSIntegrator#whereInList(String, String)
+     */
+    public static final int MAX_BOUND_IN_VALUES = 100;
 
     protected final String tableName;
     protected final Conjunction.AndOr<R, F> conjunction;
@@ -83,6 +110,12 @@ public abstract class Finder<R extends Resolver, F extends Finder<R, F>> {
     private final Set<String> possibleColumns;
     private final StringBuffer whereBuf = new StringBuffer();
     private final List<Object> replacementsList = new ArrayList<>();
+    // one per value passed to the by... methods, in order, so that a CompiledQuery can bind new values
+    private final List<QueryParameter> parametersList = new ArrayList<>();
+    // null once any criterion is not the equality of a column not yet matched or criteria are joined by OR
+    private Map<String, Object> exactMatches = new LinkedHashMap<>();
+    private final Set<String> epochMillisColumns = new HashSet<>();
+    private final Set<String> orderPreservingColumns = new HashSet<>();
     private boolean queryDistinct = false;
 
     private boolean incorporatedExternalFinder = false;
@@ -90,6 +123,10 @@ public abstract class Finder<R extends Resolver, F extends Finder<R, F>> {
     private int top = 0;
     private int bottom = 0;
 
+    private boolean keysetPaging = false;
+    private boolean keysetBackward = false;
+    private PageToken pageToken;
+
     /**
      * <p>
      *     Creates a {@link Finder} that is purpose-built for the table described by the {@link Resolver}
@@ -110,6 +147,7 @@ public abstract class Finder<R extends Resolver, F extends Finder<R, F>> {
             @Override
             public F or() {
                 if (whereBuf.length() > 0) {
+                    exactMatches = null;
                     surroundCurrentWhereWithParens();
                     whereBuf.append(" ").append(Sql.generator().orKeyword()).append(" ");
                 }
@@ -265,6 +303,44 @@ public abstract class Finder<R extends Resolver, F extends Finder<R, F>> {
         return (F) this;
     }
 
+    /**
+     * <p>
+     *     Page forward from the row marked by the {@link PageToken}. Unlike
+     *     {@link #first(int, int)}, which skips over every row before the offset, this seeks
+     *     directly to the row after the marked row by comparing the values of the columns the
+     *     query is ordered by. Combine with {@link #first(int)} to set the size of the page.
+     * </p>
+     * <p>
+     *     The query will additionally be ordered by _id so that rows with equal values in the
+     *     ordering columns have a stable order. Columns you order by should not be nullable.
+     * </p>
+     * @param token the {@link PageToken} marking the last row of the previous page, or null
+     *              to request the first page
+     * @return this {@link Finder}
+     * @throws IllegalStateException if you have already called {@link #before(PageToken)}
+     * @see Resolver#pageToken(Retriever)
+     * @see #before(PageToken)
+     */
+    public F after(PageToken token) {
+        return seek(false, token);
+    }
+
+    /**
+     * <p>
+     *     Page backward from the row marked by the {@link PageToken}. Combine with
+     *     {@link #last(int)} to get the page of rows immediately preceding the marked row.
+     * </p>
+     * @param token the {@link PageToken} marking the first row of the next page, or null to
+     *              request the last page
+     * @return this {@link Finder}
+     * @throws IllegalStateException if you have already called {@link #after(PageToken)}
+     * @see Resolver#pageToken(Retriever)
+     * @see #after(PageToken)
+     */
+    public F before(PageToken token) {
+        return seek(true, token);
+    }
+
     /**
      * @return true if this {@link Finder} is filtering any results--false otherwise
      */
@@ -272,7 +348,8 @@ public abstract class Finder<R extends Resolver, F extends Finder<R, F>> {
         return !(replacementsList == null || replacementsList.isEmpty() || whereBuf == null || whereBuf.length() == 0)
                 || top > 0
                 || bottom > 0
-                || offset > 0;
+                || offset > 0
+                || pageToken != null;
     }
 
     /**
@@ -310,41 +387,80 @@ public abstract class Finder<R extends Resolver, F extends Finder<R, F>> {
      * @return the {@link FSSelection} built by this finder
      */
     public final FSSelection selection() {
-        return new FSSelection() {
-            String where = whereBuf.toString();
-            Object[] replacements = replacementsList.toArray(new Object[replacementsList.size()]);
-
-            @Override
-            public String where() {
-                return where;
-            }
+        return createSelection(whereBuf.toString(), replacementsList.toArray(new Object[replacementsList.size()]), exactMatches);
+    }
 
-            @Override
-            public Object[] replacements() {
-                return replacements;
-            }
+    /**
+     * @param selection the {@link FSSelection} built by this finder, which may have been
+     *                  narrowed by {@link #keysetSelection(List)}
+     * @return the parameters that derive the replacements of the selection from the values
+     * passed to a {@link CompiledQuery}
+     */
+    /*package*/ final QueryParameter[] compiledParameters(FSSelection selection) {
+        final List<QueryParameter> ret = new ArrayList<>(parametersList);
+        int replacementCount = replacementsList.size();
+        while (replacementCount++ < selection.replacements().length) {
+            ret.add(QueryParameter.UNENCODED_VALUE);
+        }
+        return ret.toArray(new QueryParameter[ret.size()]);
+    }
 
-            @Override
-            public Limits limits() {
-                return new Limits() {
-                    @Override
-                    public int count() {
-                        // we're guaranteed to have a positive number
-                        return Math.max(top, bottom);
-                    }
+    /**
+     * @return true if {@link #after(PageToken)} or {@link #before(PageToken)} was called
+     */
+    /*package*/ final boolean isKeysetPaging() {
+        return keysetPaging;
+    }
 
-                    @Override
-                    public int offset() {
-                        return offset;
-                    }
+    /**
+     * <p>
+     *     For a query ordered by a<sub>1</sub>, a<sub>2</sub>, ..., a<sub>n</sub> paging after a
+     *     row with values v<sub>1</sub>, v<sub>2</sub>, ..., v<sub>n</sub>, the seek predicate is
+     *     a<sub>1</sub> &gt;= v<sub>1</sub> AND ((a<sub>1</sub> &gt; v<sub>1</sub>) OR
+     *     (a<sub>1</sub> = v<sub>1</sub> AND a<sub>2</sub> &gt; v<sub>2</sub>) OR ...), with the
+     *     comparisons flipped for descending orderings and when paging before. The redundant
+     *     leading range allows an index on the first ordering column to bound the scan.
+     * </p>
+     * @param keysetOrderings the orderings of the query, ending with a unique tiebreaker
+     * @return the {@link FSSelection} built by this finder, narrowed to the rows after (or
+     * before) the {@link PageToken}
+     */
+    /*package*/ final FSSelection keysetSelection(List<FSOrdering> keysetOrderings) {
+        if (pageToken == null) {
+            return selection();
+        }
 
-                    @Override
-                    public boolean isBottom() {
-                        return bottom > 0;
-                    }
-                };
+        final List<Object> values = pageToken.valuesFor(keysetOrderings);
+        final String and = " " + Sql.generator().andKeyword() + " ";
+        final String or = " " + Sql.generator().orKeyword() + " ";
+        final StringBuilder seekBuf = new StringBuilder();
+        final List<Object> seekReplacements = new ArrayList<>(replacementsList);
+
+        final FSOrdering leading = keysetOrderings.get(0);
+        seekBuf.append(Sql.generator().whereOperation(leading.table, leading.column, seekOperator(leading, true)))
+                .append(" ?").append(and).append("(");
+        seekReplacements.add(values.get(0));
+        for (int i = 0; i < keysetOrderings.size(); i++) {
+            if (i > 0) {
+                seekBuf.append(or);
             }
-        };
+            seekBuf.append("(");
+            for (int j = 0; j < i; j++) {
+                final FSOrdering equal = keysetOrderings.get(j);
+                seekBuf.append(Sql.generator().whereOperation(equal.table, equal.column, OP_EQ)).append(" ?").append(and);
+                seekReplacements.add(values.get(j));
+            }
+            final FSOrdering past = keysetOrderings.get(i);
+            seekBuf.append(Sql.generator().whereOperation(past.table, past.column, seekOperator(past, false))).append(" ?");
+            seekReplacements.add(values.get(i));
+            seekBuf.append(")");
+        }
+        seekBuf.append(")");
+
+        final String where = whereBuf.length() == 0
+                ? seekBuf.toString()
+                : "(" + whereBuf + ")" + and + "(" + seekBuf + ")";
+        return createSelection(where, seekReplacements.toArray(new Object[seekReplacements.size()]), null);
     }
 
     /**
@@ -364,11 +480,24 @@ public abstract class Finder<R extends Resolver, F extends Finder<R, F>> {
             for (long toInclude : orExactMatches) {
                 inclusionFilter.add(toInclude);
             }
-            addEqualsOrChainToBuf("_id", inclusionFilter);
+            addInToBuf("_id", inclusionFilter);
         }
         return conjunction;
     }
 
+    /**
+     * <p>
+     *   add criteria to a query that requires _id to be one of the ids. Unlike
+     *   {@link #byId(long, long...)}, an empty collection matches no records.
+     * </p>
+     * @param ids the ids to match
+     * @return a {@link Conjunction.AndOr} that allows you to continue adding more query criteria
+     */
+    public Conjunction.AndOr<R, F> byIdIn(Collection<Long> ids) {
+        addInToBuf("_id", ids);
+        return conjunction;
+    }
+
     /**
      * <p>
      *   add criteria to a query that requires exclusion for _id
@@ -542,7 +671,7 @@ public abstract class Finder<R extends Resolver, F extends Finder<R, F>> {
             for (Date toInclude : orExactMatches) {
                 inclusionFilter.add(toInclude);
             }
-            addEqualsOrChainToBuf("created", inclusionFilter);
+            addInToBuf("created", inclusionFilter);
         }
         return conjunction;
     }
@@ -676,7 +805,7 @@ public abstract class Finder<R extends Resolver, F extends Finder<R, F>> {
             for (Date toInclude : orExactMatches) {
                 inclusionFilter.add(toInclude);
             }
-            addEqualsOrChainToBuf("created", inclusionFilter);
+            addInToBuf("modified", inclusionFilter);
         }
         return conjunction;
     }
@@ -703,14 +832,96 @@ public abstract class Finder<R extends Resolver, F extends Finder<R, F>> {
             incorporatedExternalFinder = false;
         }
 
-        whereBuf.append(Sql.generator().whereOperation(tableName, column, operator)).append(" ");
-        whereBuf.append("?");
+        if (operator != OP_EQ || exactMatches == null || exactMatches.containsKey(column)) {
+            exactMatches = null;
+        }
+        if (operator == OP_STARTS_WITH) {
+            addStartsWithToBuf(column, String.valueOf(value));
+            return;
+        }
+
+        if (operator == OP_MATCH) {
+            whereBuf.append(Sql.generator().whereMatches(tableName, column));
+        } else {
+            whereBuf.append(Sql.generator().whereOperation(tableName, column, operator)).append(" ");
+            whereBuf.append("?");
+        }
+
+        if (operator == OP_LIKE) {
+            parametersList.add(parameterFor(column, QueryParameter.KIND_LIKE));
+            addToReplacementsList(Sql.generator().expressLike(String.valueOf(value)));
+            return;
+        }
+        final QueryParameter parameter = parameterFor(column, QueryParameter.KIND_VALUE);
+        parametersList.add(parameter);
+        addToReplacementsList(parameter.encode(value));
+        if (exactMatches != null) {
+            exactMatches.put(column, replacementsList.get(replacementsList.size() - 1));
+        }
+    }
 
-        addToReplacementsList(operator == OP_LIKE ? Sql.generator().expressLike(String.valueOf(value)) : value);
+    /**
+     * <p>
+     *     Binds {@link Date} values of the columns as milliseconds since the epoch rather than
+     *     as formatted text. Generated Finders call this from their constructors for the
+     *     columns annotated with {@link com.fsryan.forsuredb.annotations.FSEpochMillis}.
+     * </p>
+     * @param columns the names of the columns that store milliseconds since the epoch
+     */
+    protected final void storesEpochMillis(String... columns) {
+        Collections.addAll(epochMillisColumns, columns);
     }
 
+    /**
+     * <p>
+     *     Binds {@link BigDecimal} and {@link BigInteger} values of the columns with the
+     *     {@link OrderPreservingEncoding} so that they can be compared with the values stored.
+     *     Generated Finders call this from their constructors for the columns annotated with
+     *     {@link com.fsryan.forsuredb.annotations.FSOrderPreserving}.
+     * </p>
+     * @param columns the names of the columns that store order-preserving encodings
+     */
+    protected final void storesOrderPreserving(String... columns) {
+        Collections.addAll(orderPreservingColumns, columns);
+    }
+
+    /**
+     * @deprecated use {@link #addInToBuf(String, Collection)}, which this calls unless there
+     * are no values
+     */
+    @Deprecated
     protected final void addEqualsOrChainToBuf(String column, List orValues) {
-        if (orValues == null || orValues.isEmpty() || !canAddClause(column, orValues.get(0))) {
+        if (orValues == null || orValues.isEmpty()) {
+            return;
+        }
+        addInToBuf(column, orValues);
+    }
+
+    /**
+     * <p>
+     *     Matches the column against the values with a single IN list. Duplicate values and
+     *     values that {@link #addToBuf(String, int, Object)} would ignore are dropped--if every
+     *     value is dropped, no criteria are added. When there are more than
+     *     {@link #MAX_BOUND_IN_VALUES} values, they are bound to a single parameter as a list
+     *     unless one of them cannot be expressed in a list (a blob or a non-finite number). An
+     *     empty collection matches no records.
+     * </p>
+     * @param column the column to match
+     * @param values the values the column may have
+     */
+    protected final void addInToBuf(String column, Collection<?> values) {
+        if (column == null || column.isEmpty() || values == null) {
+            return;
+        }
+
+        final QueryParameter parameter = parameterFor(column, QueryParameter.KIND_VALUE);
+        final Set<Object> distinctValues = new LinkedHashSet<>(values.size());
+        for (Object value : values) {
+            if (canAddClause(column, value)) {
+                distinctValues.add(parameter.encode(value));
+            }
+        }
+        if (distinctValues.isEmpty() && !values.isEmpty()) {
             return;
         }
 
@@ -719,17 +930,22 @@ public abstract class Finder<R extends Resolver, F extends Finder<R, F>> {
             incorporatedExternalFinder = false;
         }
 
-        Object first = orValues.get(0);
-        whereBuf.append("(").append(Sql.generator().whereOperation(tableName, column, OP_EQ)).append(" ? ");
-        addToReplacementsList(first);
-        for (int i = 1; i < orValues.size(); i++) {
-            Object orValue = orValues.get(i);
-            whereBuf.append(Sql.generator().orKeyword()).append(" ")
-                    .append(Sql.generator().whereOperation(tableName, column, OP_EQ))
-                    .append(" ?");
-            addToReplacementsList(orValue);
+        exactMatches = null;
+        final String list = distinctValues.size() > MAX_BOUND_IN_VALUES ? toListReplacement(distinctValues) : null;
+        if (list != null) {
+            whereBuf.append(Sql.generator().whereInList(tableName, column));
+            parametersList.add(parameterFor(column, QueryParameter.KIND_LIST));
+            replacementsList.add(list);
+            return;
+        }
+
+        final List<String> elements = new ArrayList<>(distinctValues.size());
+        for (Object value : distinctValues) {
+            elements.add("?");
+            parametersList.add(parameter);
+            addToReplacementsList(value);
         }
-        whereBuf.append(")");
+        whereBuf.append(Sql.generator().whereIn(tableName, column, elements));
     }
 
     /**
@@ -740,6 +956,12 @@ public abstract class Finder<R extends Resolver, F extends Finder<R, F>> {
      * @param finder the child {@link Finder} to subsume within this one
      */
     /*package*/ final void incorporate(Finder finder) {
+        if (finder != null && finder.keysetPaging) {
+            if (keysetPaging && pageToken != null && finder.pageToken != null && !pageToken.equals(finder.pageToken)) {
+                throw new IllegalStateException("It's ambiguous which page token you want to page from: " + pageToken + " or " + finder.pageToken);
+            }
+            seek(finder.keysetBackward, pageToken == null ? finder.pageToken : pageToken);
+        }
         if (finder == null || !finder.isFilteringResultSet()) {
             return;
         }
@@ -750,6 +972,10 @@ public abstract class Finder<R extends Resolver, F extends Finder<R, F>> {
         bottom = throwWhenUnequalAndBothPositiveOrReturnMax("the last", bottom, finder.bottom);
         throwIfPagingFromTopAndBottom();
 
+        parametersList.addAll(finder.parametersList);
+        if (finder.whereBuf.length() > 0) {
+            exactMatches = null;    // <-- the criteria are on the columns of another table
+        }
         if (whereBuf.length() == 0) {
             whereBuf.append(finder.whereBuf);
             replacementsList.addAll(finder.replacementsList);
@@ -790,6 +1016,104 @@ public abstract class Finder<R extends Resolver, F extends Finder<R, F>> {
         };
     }
 
+    private FSSelection createSelection(final String where, final Object[] replacements, Map<String, Object> exactMatches) {
+        final Map<String, Object> selectionExactMatches = exactMatches == null || exactMatches.isEmpty()
+                ? null
+                : Collections.unmodifiableMap(new LinkedHashMap<>(exactMatches));
+        return new FSExactMatchSelection() {
+            @Override
+            public String where() {
+                return where;
+            }
+
+            @Override
+            public Map<String, Object> exactMatches() {
+                return selectionExactMatches;
+            }
+
+            @Override
+            public Object[] replacements() {
+                return replacements;
+            }
+
+            @Override
+            public Limits limits() {
+                return new Limits() {
+                    @Override
+                    public int count() {
+                        // we're guaranteed to have a positive number
+                        return Math.max(top, bottom);
+                    }
+
+                    @Override
+                    public int offset() {
+                        return offset;
+                    }
+
+                    @Override
+                    public boolean isBottom() {
+                        return bottom > 0;
+                    }
+                };
+            }
+        };
+    }
+
+    private F seek(boolean backward, PageToken token) {
+        if (keysetPaging && keysetBackward != backward) {
+            throw new IllegalStateException("Cannot page both before and after at same time");
+        }
+        keysetPaging = true;
+        keysetBackward = backward;
+        pageToken = token;
+        return (F) this;
+    }
+
+    private int seekOperator(FSOrdering ordering, boolean inclusive) {
+        final boolean greater = (ordering.direction >= OrderBy.ORDER_ASC) != keysetBackward;
+        return greater ? (inclusive ? OP_GE : OP_GT) : (inclusive ? OP_LE : OP_LT);
+    }
+
+    private void addStartsWithToBuf(String column, String prefix) {
+        final String upperBound = prefixUpperBound(prefix);
+        if (upperBound == null) {
+            whereBuf.append(Sql.generator().whereOperation(tableName, column, OP_GE)).append(" ?");
+            parametersList.add(parameterFor(column, QueryParameter.KIND_UNBOUNDED_PREFIX));
+            addToReplacementsList(prefix);
+            return;
+        }
+        whereBuf.append(Sql.generator().whereStartsWith(tableName, column));
+        parametersList.add(parameterFor(column, QueryParameter.KIND_PREFIX));
+        addToReplacementsList(prefix);
+        addToReplacementsList(upperBound);
+    }
+
+    /**
+     * <p>Finds the least string greater than every string starting with the prefix, so
+     * that a prefix search can be expressed as a range. Strings compare in code point order,
+     * which is also the byte order of their UTF-8 encoding.
+     * @param prefix the non-empty prefix
+     * @return the prefix with its last code point incremented after dropping any trailing
+     * {@link Character#MAX_CODE_POINT}s or null if every code point is
+     * {@link Character#MAX_CODE_POINT}, in which case there is no upper bound
+     */
+    /*package*/ static String prefixUpperBound(String prefix) {
+        int end = prefix.length();
+        while (end > 0) {
+            final int last = prefix.codePointBefore(end);
+            final int start = end - Character.charCount(last);
+            if (last != Character.MAX_CODE_POINT) {
+                int next = last + 1;
+                if (next >= Character.MIN_SURROGATE && next <= Character.MAX_SURROGATE) {
+                    next = Character.MAX_SURROGATE + 1;   // <-- surrogates are not code points of their own
+                }
+                return new StringBuilder(prefix.substring(0, start)).appendCodePoint(next).toString();
+            }
+            end = start;
+        }
+        return null;
+    }
+
     private boolean canAddClause(String column, Object value) {
         return column != null && !column.isEmpty() && value != null && !value.toString().isEmpty();
     }
@@ -824,14 +1148,71 @@ public abstract class Finder<R extends Resolver, F extends Finder<R, F>> {
         return Math.max(num1, num2);
     }
 
+
+    private QueryParameter parameterFor(String column, int kind) {
+        return new QueryParameter(kind, epochMillisColumns.contains(column), orderPreservingColumns.contains(column));
+    }
+
     private void addToReplacementsList(Object orValue) {
-        Class<?> cls = orValue.getClass();
+        replacementsList.add(toReplacement(orValue));
+    }
+
+    /**
+     * @param value a value passed to one of the by... methods
+     * @return the value as it should be bound to the query
+     */
+    /*package*/ static Object toReplacement(Object value) {
+        Class<?> cls = value.getClass();
         if (cls == Date.class) {
-            replacementsList.add(Sql.generator().formatDate((Date) orValue));
+            return Sql.generator().formatDate((Date) value);
         } else if (cls == BigInteger.class || cls == BigDecimal.class) {
-            replacementsList.add(String.valueOf(orValue));
-        } else {
-            replacementsList.add(orValue);
+            return String.valueOf(value);
+        }
+        return value;
+    }
+
+    /**
+     * @param values the encoded values of an IN list
+     * @return the values as a JSON array to bind to the parameter of
+     * {@link com.fsryan.forsuredb.api.sqlgeneration.DBMSIntegrator#whereInList(String, String)}
+     * or null if one of the values cannot be expressed in the array
+     */
+    /*package*/ static String toListReplacement(Collection<?> values) {
+        final StringBuilder buf = new StringBuilder("[");
+        for (Object value : values) {
+            buf.append(buf.length() == 1 ? "" : ",");
+            final Object replacement = toReplacement(value);
+            if (replacement instanceof String) {
+                appendJsonString(buf, (String) replacement);
+            } else if (replacement instanceof Boolean) {
+                buf.append((Boolean) replacement ? 1 : 0);
+            } else if (replacement instanceof Double || replacement instanceof Float) {
+                final double d = ((Number) replacement).doubleValue();
+                if (Double.isNaN(d) || Double.isInfinite(d)) {
+                    return null;
+                }
+                buf.append(d);
+            } else if (replacement instanceof Number) {
+                buf.append(((Number) replacement).longValue());
+            } else {
+                return null;
+            }
+        }
+        return buf.append(']').toString();
+    }
+
+    private static void appendJsonString(StringBuilder buf, String s) {
+        buf.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                buf.append('\\').append(c);
+            } else if (c < 0x20) {
+                buf.append(String.format("\\u%04x", (int) c));
+            } else {
+                buf.append(c);
+            }
         }
+        buf.append('"');
     }
 }
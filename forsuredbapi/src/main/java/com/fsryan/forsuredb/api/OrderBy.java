@@ -7,10 +7,11 @@ import java.util.List;
 
 /**
  * <p>
- *   <i>WARNING:</i> order-by methods on {@link java.math.BigDecimal} columns may not
- *   sort based upon numeric value, depending upon DBMS. For example, current known
- *   SQLite fsryan integrations store BigDecimal values as string columns, and
- *   therefore, will sort as strings rather than numbers. This is currently a limitation.
+ *   Order-by methods are only generated for {@link java.math.BigDecimal} and
+ *   {@link java.math.BigInteger} columns annotated with
+ *   {@link com.fsryan.forsuredb.annotations.FSOrderPreserving}. Other such columns are
+ *   stored as plain text by current known SQLite fsryan integrations and, therefore, would
+ *   sort as strings rather than numbers.
  * </p>
  */
 public abstract class OrderBy<R extends Resolver, O extends OrderBy<R, O>> {
@@ -102,6 +103,24 @@ public abstract class OrderBy<R extends Resolver, O extends OrderBy<R, O>> {
         orderings.add(new FSOrdering(tableName, columnName, order < 0 ? ORDER_DESC : ORDER_ASC));
     }
 
+    /**
+     * <p>
+     *   Orders by the relevance of the full-text column to the full-text query, as ranked by
+     *   the full-text index of the column. {@link #ORDER_DESC} orders the most relevant
+     *   records first.
+     * </p>
+     * @param columnName the name of a column annotated with
+     * {@link com.fsryan.forsuredb.annotations.FSFullText}
+     * @param fullTextQuery the query to rank the records against--usually the query the
+     *                      records were matched against
+     * @param order the direction to order the results {@link #ORDER_ASC} (or 0 or more) or
+     * {@link #ORDER_DESC} (or -1 or less)
+     * @see com.fsryan.forsuredb.api.sqlgeneration.DBMSIntegrator#expressOrdering(List)
+     */
+    protected void appendRelevanceOrder(String columnName, String fullTextQuery, int order) {
+        orderings.add(new FSOrdering(tableName, columnName, order < 0 ? ORDER_DESC : ORDER_ASC, fullTextQuery));
+    }
+
     /*package*/ void appendOrderings(List<FSOrdering> orderingsToAdd) {
         if (orderingsToAdd == null || orderingsToAdd.isEmpty()) {
             return;
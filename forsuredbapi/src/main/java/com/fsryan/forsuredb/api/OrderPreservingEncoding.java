@@ -0,0 +1,212 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * <p>
+ *     Encodes {@link BigDecimal} and {@link BigInteger} values as text whose binary (code
+ *     point) order is the numeric order of the values, so that a DBMS can compare, sort and
+ *     index them as text. This is how columns annotated with
+ *     {@link com.fsryan.forsuredb.annotations.FSOrderPreserving} are stored.
+ * </p>
+ * <p>
+ *     A value is written as 0.<i>mantissa</i> &times; 10<sup><i>exponent</i></sup>: a sign
+ *     character ('0' negative, '1' zero, '2' positive), the exponent--a sign character, the
+ *     number of its digits and its digits--and then the digits of the mantissa without
+ *     trailing zeros. The characters after the sign of a negative value are complemented and
+ *     followed by '~' so that larger magnitudes sort first. For example, 1.5 is "2P0115",
+ *     0.05 is "2N985" and -1.5 is "0N9884~".
+ * </p>
+ * <p>
+ *     Numerically equal values have the same encoding, so the scale of a {@link BigDecimal}
+ *     is not preserved: a value is decoded with the smallest non-negative scale that
+ *     represents it exactly.
+ * </p>
+ * @author Ryan Scott
+ */
+public final class OrderPreservingEncoding {
+
+    private static final char NEGATIVE = '0';
+    private static final char ZERO = '1';
+    private static final char POSITIVE = '2';
+    private static final char ASCENDING_EXPONENT = 'P';
+    private static final char DESCENDING_EXPONENT = 'N';
+    private static final char NEGATIVE_TERMINATOR = '~';
+
+    private OrderPreservingEncoding() {}
+
+    /**
+     * @param value the value to encode
+     * @return the order-preserving encoding of the value or null if the value is null
+     */
+    public static String encode(BigInteger value) {
+        return value == null ? null : encode(new BigDecimal(value));
+    }
+
+    /**
+     * @param value the value to encode
+     * @return the order-preserving encoding of the value or null if the value is null
+     */
+    public static String encode(BigDecimal value) {
+        if (value == null) {
+            return null;
+        }
+        final int signum = value.signum();
+        if (signum == 0) {
+            return String.valueOf(ZERO);
+        }
+
+        final BigDecimal magnitude = value.abs().stripTrailingZeros();
+        final String mantissa = magnitude.unscaledValue().toString();
+        final long exponent = (long) mantissa.length() - magnitude.scale();
+        final boolean negative = signum < 0;
+
+        // an exponent sorts descending when it is negative or the value is, but not both
+        final boolean descendingExponent = (exponent < 0) != negative;
+        final String exponentDigits = Long.toString(Math.abs(exponent));
+
+        StringBuilder buf = new StringBuilder(mantissa.length() + exponentDigits.length() + 4);
+        buf.append(negative ? NEGATIVE : POSITIVE)
+                .append(descendingExponent ? DESCENDING_EXPONENT : ASCENDING_EXPONENT);
+        final char digitCount = (char) ('0' + exponentDigits.length() - 1);
+        if (descendingExponent) {
+            buf.append(complementOf(digitCount));
+            appendComplemented(buf, exponentDigits);
+        } else {
+            buf.append(digitCount).append(exponentDigits);
+        }
+        if (negative) {
+            appendComplemented(buf, mantissa);
+            buf.append(NEGATIVE_TERMINATOR);
+        } else {
+            buf.append(mantissa);
+        }
+        return buf.toString();
+    }
+
+    /**
+     * @param encoded a value returned by {@link #encode(BigDecimal)} or
+     *                {@link #encode(BigInteger)}
+     * @return the decoded value or null if encoded is null
+     * @throws IllegalArgumentException if encoded is not an order-preserving encoding
+     */
+    public static BigDecimal decodeBigDecimal(String encoded) {
+        if (encoded == null) {
+            return null;
+        }
+        try {
+            return decode(encoded);
+        } catch (RuntimeException re) {
+            throw new IllegalArgumentException("Not an order-preserving encoding of a number: '" + encoded + "'", re);
+        }
+    }
+
+    /**
+     * @param encoded a value returned by {@link #encode(BigInteger)}
+     * @return the decoded value or null if encoded is null
+     * @throws IllegalArgumentException if encoded is not an order-preserving encoding of an
+     * integer
+     */
+    public static BigInteger decodeBigInteger(String encoded) {
+        final BigDecimal decimal = decodeBigDecimal(encoded);
+        if (decimal == null) {
+            return null;
+        }
+        try {
+            return decimal.toBigIntegerExact();
+        } catch (ArithmeticException ae) {
+            throw new IllegalArgumentException("Not an order-preserving encoding of an integer: '" + encoded + "'", ae);
+        }
+    }
+
+    private static BigDecimal decode(String encoded) {
+        final char sign = encoded.charAt(0);
+        if (sign == ZERO && encoded.length() == 1) {
+            return BigDecimal.ZERO;
+        }
+        if (sign != NEGATIVE && sign != POSITIVE) {
+            throw new IllegalArgumentException("Unexpected sign: " + sign);
+        }
+        final boolean negative = sign == NEGATIVE;
+
+        final char exponentMarker = encoded.charAt(1);
+        if (exponentMarker != ASCENDING_EXPONENT && exponentMarker != DESCENDING_EXPONENT) {
+            throw new IllegalArgumentException("Unexpected exponent marker: " + exponentMarker);
+        }
+        final boolean descendingExponent = exponentMarker == DESCENDING_EXPONENT;
+        final char digitCount = encoded.charAt(2);
+        final int exponentEnd = 4 + (descendingExponent ? complementOf(digitCount) : digitCount) - '0';
+        final String exponentDigits = encoded.substring(3, exponentEnd);
+        final long exponentMagnitude = Long.parseLong(descendingExponent ? complemented(exponentDigits) : requireDigits(exponentDigits));
+        final long exponent = descendingExponent != negative ? -exponentMagnitude : exponentMagnitude;
+
+        final String mantissa;
+        if (negative) {
+            if (encoded.charAt(encoded.length() - 1) != NEGATIVE_TERMINATOR) {
+                throw new IllegalArgumentException("Negative value is not terminated");
+            }
+            mantissa = complemented(encoded.substring(exponentEnd, encoded.length() - 1));
+        } else {
+            mantissa = requireDigits(encoded.substring(exponentEnd));
+        }
+        if (mantissa.isEmpty() || mantissa.charAt(0) == '0') {
+            throw new IllegalArgumentException("Unexpected mantissa: " + mantissa);
+        }
+
+        final long scale = mantissa.length() - exponent;
+        if (scale > Integer.MAX_VALUE || scale < Integer.MIN_VALUE) {
+            throw new ArithmeticException("Scale out of range: " + scale);
+        }
+        BigDecimal ret = new BigDecimal(new BigInteger(mantissa), (int) scale);
+        if (scale < 0) {
+            ret = ret.setScale(0);
+        }
+        return negative ? ret.negate() : ret;
+    }
+
+    private static void appendComplemented(StringBuilder buf, String digits) {
+        for (int i = 0; i < digits.length(); i++) {
+            buf.append(complementOf(digits.charAt(i)));
+        }
+    }
+
+    private static String complemented(String digits) {
+        StringBuilder buf = new StringBuilder(digits.length());
+        appendComplemented(buf, digits);
+        return buf.toString();
+    }
+
+    private static String requireDigits(String digits) {
+        for (int i = 0; i < digits.length(); i++) {
+            if (digits.charAt(i) < '0' || digits.charAt(i) > '9') {
+                throw new NumberFormatException("Not a digit: " + digits.charAt(i));
+            }
+        }
+        return digits;
+    }
+
+    private static char complementOf(char digit) {
+        if (digit < '0' || digit > '9') {
+            throw new NumberFormatException("Not a digit: " + digit);
+        }
+        return (char) ('9' - digit + '0');
+    }
+}
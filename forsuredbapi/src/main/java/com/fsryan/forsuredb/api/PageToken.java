@@ -0,0 +1,266 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+import com.fsryan.forsuredb.api.sqlgeneration.Sql;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ *     An opaque marker of a position within an ordered query. Pass it to
+ *     {@link Finder#after(PageToken)} or {@link Finder#before(PageToken)} to page from that
+ *     position without an OFFSET: the query seeks directly to the position by comparing the
+ *     values of the ordering columns, so every page costs the same regardless of how deep
+ *     into the results it is.
+ * </p>
+ * <p>
+ *     Create a {@link PageToken} with {@link Resolver#pageToken(Retriever)} while the
+ *     {@link Retriever} points at the last (or first) row of a page. Use {@link #encode()} and
+ *     {@link #decode(String)} to hand the token to and receive it from clients.
+ * </p>
+ * <p>
+ *     Values keep the type they are stored with--integer, real, text or blob--so that they
+ *     compare with the stored values exactly as the rows themselves do. Reals in particular
+ *     would not survive a round trip through the text the database renders for them.
+ * </p>
+ * @author Ryan Scott
+ */
+public final class PageToken {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final char TYPE_INTEGER = 'i';
+    private static final char TYPE_REAL = 'r';
+    private static final char TYPE_TEXT = 't';
+    private static final char TYPE_BLOB = 'b';
+
+    private final List<String> columns;
+    private final List<Object> values;
+
+    /**
+     * @param columns the keys of the orderings
+     * @param values the values of the row, each of which is a {@link Long}, {@link Double},
+     *               {@link String} or byte[]
+     */
+    /*package*/ PageToken(List<String> columns, List<?> values) {
+        if (columns.size() != values.size()) {
+            throw new IllegalArgumentException("Every column must have exactly one value; columns: " + columns + "; values: " + values);
+        }
+        this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
+        this.values = Collections.unmodifiableList(new ArrayList<Object>(values));
+    }
+
+    /**
+     * @param retriever a {@link Retriever} pointing at the row the token should mark
+     * @param keysetOrderings the orderings of the query, ending with a unique tiebreaker
+     * @return a {@link PageToken} marking the current row of the {@link Retriever}
+     * @throws IllegalArgumentException if the row has a null value in an ordering column or
+     * the query is ordered by relevance to a full-text query
+     */
+    /*package*/ static PageToken from(Retriever retriever, List<FSOrdering> keysetOrderings) {
+        List<String> columns = new ArrayList<>(keysetOrderings.size());
+        List<Object> values = new ArrayList<>(keysetOrderings.size());
+        for (FSOrdering ordering : keysetOrderings) {
+            checkPageable(ordering);
+            final String label = Sql.generator().unambiguousRetrievalColumn(ordering.table, ordering.column);
+            final Object value = normalize(retriever.getObject(retriever.columnIndex(label)));
+            if (value == null) {
+                throw new IllegalArgumentException("Cannot page on column " + ordering.table + "." + ordering.column + " because its value is null");
+            }
+            columns.add(keyOf(ordering));
+            values.add(value);
+        }
+        return new PageToken(columns, values);
+    }
+
+    /**
+     * @param encoded a {@link String} returned by {@link #encode()}
+     * @return the {@link PageToken} that was encoded
+     * @throws IllegalArgumentException if the input is not an encoded {@link PageToken}
+     */
+    public static PageToken decode(String encoded) {
+        if (encoded == null || encoded.length() % 2 != 0) {
+            throw new IllegalArgumentException("Not a page token: " + encoded);
+        }
+        final String decoded;
+        try {
+            decoded = new String(bytesOf(encoded), "UTF-8");
+        } catch (NumberFormatException | UnsupportedEncodingException e) {
+            throw new IllegalArgumentException("Not a page token: " + encoded, e);
+        }
+
+        List<String> columns = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        int pos = 0;
+        try {
+            while (pos < decoded.length()) {
+                int lengthEnd = decoded.indexOf(':', pos);
+                int end = lengthEnd + 1 + Integer.parseInt(decoded.substring(pos, lengthEnd));
+                final String element = decoded.substring(lengthEnd + 1, end);
+                if (columns.size() == values.size()) {
+                    columns.add(element);
+                } else {
+                    values.add(valueOf(element));
+                }
+                pos = end;
+            }
+        } catch (RuntimeException re) {
+            throw new IllegalArgumentException("Not a page token: " + encoded, re);
+        }
+        return new PageToken(columns, values);
+    }
+
+    /**
+     * @return an opaque, URL-safe representation of this {@link PageToken}
+     */
+    public String encode() {
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            appendLengthPrefixed(buf, columns.get(i));
+            appendLengthPrefixed(buf, typedStringOf(values.get(i)));
+        }
+        final byte[] bytes;
+        try {
+            bytes = buf.toString().getBytes("UTF-8");
+        } catch (UnsupportedEncodingException uee) {
+            throw new RuntimeException(uee);    // <-- UTF-8 is always supported
+        }
+        return hexOf(bytes);
+    }
+
+    /**
+     * @param keysetOrderings the orderings of the query the token will be applied to
+     * @return the values of the row this token marks in the same order as the orderings
+     * @throws IllegalStateException if the token was not created with the same orderings
+     * @throws IllegalArgumentException if the query is ordered by relevance to a full-text query
+     */
+    /*package*/ List<Object> valuesFor(List<FSOrdering> keysetOrderings) {
+        List<String> expectedColumns = new ArrayList<>(keysetOrderings.size());
+        for (FSOrdering ordering : keysetOrderings) {
+            checkPageable(ordering);
+            expectedColumns.add(keyOf(ordering));
+        }
+        if (!expectedColumns.equals(columns)) {
+            throw new IllegalStateException("Page token was created for ordering " + columns + " but query is ordered by " + expectedColumns);
+        }
+        return values;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PageToken pageToken = (PageToken) o;
+        return columns.equals(pageToken.columns) && Arrays.deepEquals(values.toArray(), pageToken.values.toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * columns.hashCode() + Arrays.deepHashCode(values.toArray());
+    }
+
+    @Override
+    public String toString() {
+        List<String> printableValues = new ArrayList<>(values.size());
+        for (Object value : values) {
+            printableValues.add(typedStringOf(value));
+        }
+        return "PageToken{columns=" + columns + ", values=" + printableValues + '}';
+    }
+
+    private static Object normalize(Object value) {
+        if (value == null || value instanceof Long || value instanceof Double || value instanceof String || value instanceof byte[]) {
+            return value;
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Float) {
+            return ((Float) value).doubleValue();
+        }
+        return value.toString();
+    }
+
+    private static String typedStringOf(Object value) {
+        if (value instanceof Long) {
+            return TYPE_INTEGER + value.toString();
+        }
+        if (value instanceof Double) {
+            return TYPE_REAL + value.toString();    // <-- Double.toString(double) round-trips exactly
+        }
+        if (value instanceof byte[]) {
+            return TYPE_BLOB + hexOf((byte[]) value);
+        }
+        return TYPE_TEXT + value.toString();
+    }
+
+    private static Object valueOf(String typedString) {
+        final String s = typedString.substring(1);
+        switch (typedString.charAt(0)) {
+            case TYPE_INTEGER:
+                return Long.parseLong(s);
+            case TYPE_REAL:
+                return Double.parseDouble(s);
+            case TYPE_TEXT:
+                return s;
+            case TYPE_BLOB:
+                return bytesOf(s);
+        }
+        throw new IllegalArgumentException("Unknown value type: " + typedString.charAt(0));
+    }
+
+    private static void checkPageable(FSOrdering ordering) {
+        if (ordering.isByRelevance()) {
+            // the rank of a row is not one of its values, so there is no value to seek past
+            throw new IllegalArgumentException("Cannot page on the relevance of column " + ordering.table + "." + ordering.column);
+        }
+    }
+
+    private static String keyOf(FSOrdering ordering) {
+        return ordering.table + "." + ordering.column + (ordering.direction < OrderBy.ORDER_ASC ? " DESC" : " ASC");
+    }
+
+    private static String hexOf(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            hex[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    private static byte[] bytesOf(String hex) {
+        if (hex.length() % 2 != 0) {
+            throw new NumberFormatException("Odd number of hex digits: " + hex);
+        }
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return bytes;
+    }
+
+    private static void appendLengthPrefixed(StringBuilder buf, String s) {
+        buf.append(s.length()).append(':').append(s);
+    }
+}
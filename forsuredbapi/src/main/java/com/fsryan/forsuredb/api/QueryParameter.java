@@ -0,0 +1,131 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+import com.fsryan.forsuredb.api.sqlgeneration.Sql;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * <p>
+ *     Describes how a value passed to one of the by... methods of a {@link Finder} becomes the
+ *     replacements bound to the query, so that a {@link CompiledQuery} can bind new values the
+ *     same way the {@link Finder} bound the original ones.
+ * </p>
+ */
+/*package*/ final class QueryParameter {
+
+    /*package*/ static final int KIND_VALUE = 0;
+    /*package*/ static final int KIND_LIKE = 1;
+    /*package*/ static final int KIND_PREFIX = 2;
+    /*package*/ static final int KIND_UNBOUNDED_PREFIX = 3;
+    /*package*/ static final int KIND_LIST = 4;
+
+    // the values of keyset paging are already in the form in which they are stored
+    /*package*/ static final QueryParameter UNENCODED_VALUE = new QueryParameter(KIND_VALUE, false, false);
+
+    private final int kind;
+    private final boolean epochMillis;
+    private final boolean orderPreserving;
+
+    /*package*/ QueryParameter(int kind, boolean epochMillis, boolean orderPreserving) {
+        this.kind = kind;
+        this.epochMillis = epochMillis;
+        this.orderPreserving = orderPreserving;
+    }
+
+    /**
+     * @param value a value of the column of this parameter
+     * @return the value in the form in which the column stores it
+     */
+    /*package*/ Object encode(Object value) {
+        if (value instanceof Date && epochMillis) {
+            return ((Date) value).getTime();
+        }
+        if (orderPreserving) {
+            if (value instanceof BigDecimal) {
+                return OrderPreservingEncoding.encode((BigDecimal) value);
+            }
+            if (value instanceof BigInteger) {
+                return OrderPreservingEncoding.encode((BigInteger) value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @param position the position of the value among the values passed to the
+     *                 {@link CompiledQuery}
+     * @param value the non-null value to bind
+     * @param replacements the replacements to add the replacements derived from the value to
+     * @throws IllegalArgumentException if the value cannot be bound to this parameter
+     */
+    /*package*/ void addReplacements(int position, Object value, List<Object> replacements) {
+        switch (kind) {
+            case KIND_LIKE:
+                replacements.add(Sql.generator().expressLike(String.valueOf(value)));
+                return;
+            case KIND_PREFIX:
+            case KIND_UNBOUNDED_PREFIX:
+                addPrefixReplacements(position, String.valueOf(value), replacements);
+                return;
+            case KIND_LIST:
+                replacements.add(toListReplacement(position, value));
+                return;
+            default:
+                replacements.add(Finder.toReplacement(encode(value)));
+        }
+    }
+
+    private void addPrefixReplacements(int position, String prefix, List<Object> replacements) {
+        final String upperBound = prefix.isEmpty() ? null : Finder.prefixUpperBound(prefix);
+        if (prefix.isEmpty() || (upperBound == null) != (kind == KIND_UNBOUNDED_PREFIX)) {
+            // the SQL of the query has a range only if the original prefix had an upper bound
+            throw new IllegalArgumentException("Cannot query with prefix '" + prefix + "' at position " + position
+                    + " because its upper bound does not fit the compiled query");
+        }
+        replacements.add(prefix);
+        if (upperBound != null) {
+            replacements.add(upperBound);
+        }
+    }
+
+    private Object toListReplacement(int position, Object value) {
+        if (!(value instanceof Collection)) {
+            throw new IllegalArgumentException("Expected a Collection of values at position " + position + "; got " + value.getClass());
+        }
+        final Collection<?> values = (Collection<?>) value;
+        final List<Object> encoded = new ArrayList<>(values.size());
+        for (Object element : values) {
+            if (element == null) {
+                throw new IllegalArgumentException("Cannot query with null element of the Collection at position " + position);
+            }
+            encoded.add(encode(element));
+        }
+        final String list = Finder.toListReplacement(encoded);
+        if (list == null) {
+            throw new IllegalArgumentException("Cannot query with a blob or non-finite number in the Collection at position " + position);
+        }
+        return list;
+    }
+}
@@ -17,8 +17,14 @@
  */
 package com.fsryan.forsuredb.api;
 
+import com.fsryan.forsuredb.api.sqlgeneration.Sql;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -35,6 +41,18 @@ import java.util.Map;
  *         <li>
  *             {@link #preserveQueryStateAndGet()}
  *         </li>
+ *         <li>
+ *             {@link #iterate(RowMapper)}
+ *         </li>
+ *         <li>
+ *             {@link #compile()}
+ *         </li>
+ *         <li>
+ *             {@link #count()}, {@link #exists()}, {@link #aggregate(FSAggregate...)}
+ *             and the other aggregate calls--including the generated sum, avg, min and
+ *             max methods of each column--which have the database compute a result
+ *             over the matching records instead of returning them
+ *         </li>
  *     </ul>
  *     Delete/Create/Update queries have the preceding stage of narrowing down
  *     the affected records, followed by an additional set of method calls
@@ -82,6 +100,7 @@ public abstract class Resolver<T extends Resolver, U, R extends RecordContainer,
     private final List<FSJoin> joins = new ArrayList<>();
     private final List<FSProjection> projections = new ArrayList<>();
     private boolean addedThisProjection = false;
+    private List<FSOrdering> lastKeysetOrderings;
 
     private F finder;
     private O orderBy;
@@ -108,26 +127,237 @@ public abstract class Resolver<T extends Resolver, U, R extends RecordContainer,
         try {
             return preserveQueryStateAndGet();
         } finally {
-            orderBy = null;             // <-- When a finder's get method is called, avoid leaking into the next query
-            finder = null;              // <-- When a finder's get method is called, avoid leaking into the next query
-            joins.clear();              // <-- the state of the joins must be empty at the start of each query
-            projections.clear();        // <-- the state of the projections must be empty at the start of each query
-            lookupResource = tableLocator();
-            addedThisProjection = false;
+            resetQueryState();
         }
     }
 
     public Retriever preserveQueryStateAndGet() {
-        final List<FSOrdering> orderings = orderBy == null ? Collections.<FSOrdering>emptyList() : orderBy.getOrderings();
-        final FSSelection selection = finder == null ? FSSelection.ALL : finder.selection();
+        final List<FSOrdering> orderings = queryOrderings();
+        final FSSelection selection = querySelection(orderings);
         final FSQueryable<U, R> queryable = infoFactory.createQueryable(lookupResource);
-        if (!addedThisProjection) {
-            projections.add(finder == null ? projection() : finder.projection());
-            addedThisProjection = true;
-        }
+        final List<FSProjection> toProject = queryProjections();
         return joins.size() == 0
-                ? queryable.query(projections.get(0), selection, orderings)
-                : queryable.query(joins, projections, selection, orderings);
+                ? queryable.query(toProject.get(0), selection, orderings)
+                : queryable.query(joins, toProject, selection, orderings);
+    }
+
+    /**
+     * <p>
+     *     Generates the query that {@link #get()} would perform, but instead of performing it,
+     *     returns a {@link CompiledQuery} that can perform it repeatedly with different values.
+     * </p>
+     * @return a {@link CompiledQuery} for the current query state
+     * @see CompiledQuery
+     */
+    public CompiledQuery compile() {
+        try {
+            return preserveQueryStateAndCompile();
+        } finally {
+            resetQueryState();
+        }
+    }
+
+    public CompiledQuery preserveQueryStateAndCompile() {
+        final List<FSOrdering> orderings = queryOrderings();
+        final FSSelection selection = querySelection(orderings);
+        final FSQueryable<U, R> queryable = infoFactory.createQueryable(lookupResource);
+        // copies because the joins and projections are cleared when the query state is reset
+        final FSCompiledQuery compiled = queryable.compile(new ArrayList<>(joins), new ArrayList<>(queryProjections()), selection, orderings);
+
+        return new CompiledQuery(compiled, finder == null ? new QueryParameter[0] : finder.compiledParameters(selection));
+    }
+
+    /**
+     * <p>
+     *     Marks the row the {@link Retriever} currently points to so that the next query can
+     *     page from it with {@link Finder#after(PageToken)} or {@link Finder#before(PageToken)}.
+     *     The next query must have the same ordering as the query that returned the
+     *     {@link Retriever}.
+     * </p>
+     * @param retriever a {@link Retriever} returned by the most recent query of this
+     *                  {@link Resolver}, pointing at the row to mark
+     * @return a {@link PageToken} marking the current row of the {@link Retriever}
+     * @throws IllegalStateException if this {@link Resolver} has not performed a query
+     */
+    public PageToken pageToken(Retriever retriever) {
+        if (lastKeysetOrderings == null) {
+            throw new IllegalStateException("Cannot create a page token before querying");
+        }
+        return PageToken.from(retriever, lastKeysetOrderings);
+    }
+
+    /**
+     * <p>
+     *     Performs the query just as {@link #get()} would, but lazily maps each row with the
+     *     {@link RowMapper} instead of handing back the {@link Retriever}.
+     * </p>
+     * @param mapper the {@link RowMapper} that maps each row
+     * @param <M> the type each row is mapped to
+     * @return a {@link RowIterator} over the mapped rows that closes the {@link Retriever}
+     * after the last row
+     * @see RowIterator
+     */
+    public <M> RowIterator<M> iterate(RowMapper<M> mapper) {
+        return new RowIterator<>(get(), mapper);
+    }
+
+    /**
+     * @return the number of matching records
+     */
+    public long count() {
+        final FSAggregate count = FSAggregate.count(tableName());
+        return longResult(count, false);
+    }
+
+    /**
+     * @param column the name of a column of this table
+     * @return the number of matching records that have a non-null value for the column
+     * @throws IllegalArgumentException if the column is not a column of this table
+     */
+    public long count(String column) {
+        final FSAggregate count = FSAggregate.count(tableName(), checkColumn(column));
+        return longResult(count, false);
+    }
+
+    /**
+     * <p>
+     *     Determines whether any records match without counting all of them
+     * </p>
+     * @return true if at least one record matches
+     */
+    public boolean exists() {
+        final FSAggregate count = FSAggregate.count(tableName());
+        return longResult(count, true) > 0;
+    }
+
+    /**
+     * <p>
+     *     The generated sum methods of each integral column, which take no arguments, call
+     *     this method.
+     * </p>
+     * @param column the name of an integral column of this table
+     * @return the sum of the values of the column of the matching records--0 if there are none
+     * @throws IllegalArgumentException if the column is not a column of this table
+     */
+    protected long sumLong(String column) {
+        final FSAggregate sum = FSAggregate.sum(tableName(), checkColumn(column));
+        return longResult(sum, false);
+    }
+
+    /**
+     * <p>
+     *     The generated sum methods of each floating point column, which take no arguments,
+     *     call this method.
+     * </p>
+     * @param column the name of a numeric column of this table
+     * @return the sum of the values of the column of the matching records--0 if there are none
+     * @throws IllegalArgumentException if the column is not a column of this table
+     */
+    protected double sumDouble(String column) {
+        final FSAggregate sum = FSAggregate.sum(tableName(), checkColumn(column));
+        return doubleResult(sum);
+    }
+
+    /**
+     * <p>
+     *     The generated average methods of each numeric column, which take no arguments,
+     *     call this method.
+     * </p>
+     * @param column the name of a numeric column of this table
+     * @return the average of the non-null values of the column of the matching records--0 if
+     * there are none
+     * @throws IllegalArgumentException if the column is not a column of this table
+     */
+    protected double avg(String column) {
+        final FSAggregate avg = FSAggregate.avg(tableName(), checkColumn(column));
+        return doubleResult(avg);
+    }
+
+    /**
+     * <p>
+     *     The generated min and max methods of each column call the method of this family
+     *     that decodes the column's values as they are stored.
+     * </p>
+     * @param aggregate the {@link FSAggregate.Function#MIN} or {@link FSAggregate.Function#MAX}
+     *                  of an integer column of this table
+     * @return the result of the aggregate over the matching records--null if none of them
+     * has a value for the column
+     */
+    protected Integer intValueOf(FSAggregate aggregate) {
+        final Number value = (Number) objectResult(aggregate);
+        return value == null ? null : value.intValue();
+    }
+
+    protected Long longValueOf(FSAggregate aggregate) {
+        final Number value = (Number) objectResult(aggregate);
+        return value == null ? null : value.longValue();
+    }
+
+    protected Float floatValueOf(FSAggregate aggregate) {
+        final Number value = (Number) objectResult(aggregate);
+        return value == null ? null : value.floatValue();
+    }
+
+    protected Double doubleValueOf(FSAggregate aggregate) {
+        final Number value = (Number) objectResult(aggregate);
+        return value == null ? null : value.doubleValue();
+    }
+
+    protected String stringValueOf(FSAggregate aggregate) {
+        final Object value = objectResult(aggregate);
+        return value == null ? null : value.toString();
+    }
+
+    protected Date dateValueOf(FSAggregate aggregate) {
+        final String value = stringValueOf(aggregate);
+        return value == null ? null : Sql.generator().parseDate(value);
+    }
+
+    protected Date epochMillisDateValueOf(FSAggregate aggregate) {
+        final Long value = longValueOf(aggregate);
+        return value == null ? null : new Date(value);
+    }
+
+    protected BigInteger orderPreservingBigIntegerValueOf(FSAggregate aggregate) {
+        return OrderPreservingEncoding.decodeBigInteger(stringValueOf(aggregate));
+    }
+
+    protected BigDecimal orderPreservingBigDecimalValueOf(FSAggregate aggregate) {
+        return OrderPreservingEncoding.decodeBigDecimal(stringValueOf(aggregate));
+    }
+
+    /**
+     * <p>
+     *     Computes any number of aggregates over the matching records in a single query. The
+     *     returned {@link Retriever} has a single row, from which each aggregate is retrieved
+     *     by its {@link FSAggregate#alias()}.
+     * </p>
+     * @param aggregates the {@link FSAggregate}s to compute
+     * @return a {@link Retriever} over the results of the aggregates
+     */
+    public Retriever aggregate(FSAggregate... aggregates) {
+        return aggregate(Collections.<FSProjection>emptyList(), Arrays.asList(aggregates), Collections.<FSHaving>emptyList(), false);
+    }
+
+    /**
+     * <p>
+     *     Starts an aggregate query over the matching records that returns one row per
+     *     distinct combination of values of the columns. The values of the columns are
+     *     retrieved by the {@link com.fsryan.forsuredb.api.sqlgeneration.DBMSIntegrator#unambiguousRetrievalColumn(String, String)}
+     *     of each column.
+     * </p>
+     * @param columns the names of the columns of this table to group by
+     * @return a {@link Grouping} that performs the query
+     * @throws IllegalArgumentException if any of the columns is not a column of this table
+     */
+    public Grouping groupBy(String... columns) {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("Must group by at least one column");
+        }
+        for (String column : columns) {
+            checkColumn(column);
+        }
+        return new Grouping(columns);
     }
 
     public final O order() {
@@ -180,8 +410,215 @@ public abstract class Resolver<T extends Resolver, U, R extends RecordContainer,
         return ret;
     }
 
+    private long longResult(FSAggregate aggregate, boolean firstOnly) {
+        final Retriever retriever = singleRowOf(aggregate, firstOnly);
+        try {
+            return retriever.getLong(aggregate.alias());
+        } finally {
+            retriever.close();
+        }
+    }
+
+    private double doubleResult(FSAggregate aggregate) {
+        final Retriever retriever = singleRowOf(aggregate, false);
+        try {
+            return retriever.getDouble(aggregate.alias());
+        } finally {
+            retriever.close();
+        }
+    }
+
+    private Object objectResult(FSAggregate aggregate) {
+        final Retriever retriever = singleRowOf(aggregate, false);
+        try {
+            return retriever.getObject(retriever.columnIndex(aggregate.alias()));
+        } finally {
+            retriever.close();
+        }
+    }
+
+    private Retriever singleRowOf(FSAggregate aggregate, boolean firstOnly) {
+        final Retriever retriever = aggregate(
+                Collections.<FSProjection>emptyList(),
+                Collections.singletonList(aggregate),
+                Collections.<FSHaving>emptyList(),
+                firstOnly
+        );
+        if (!retriever.moveToNext()) {  // <-- an ungrouped aggregate query always returns one row
+            retriever.close();
+            throw new IllegalStateException("Aggregate query returned no rows");
+        }
+        return retriever;
+    }
+
+    private Retriever aggregate(List<FSProjection> groupBy, List<FSAggregate> aggregates, List<FSHaving> having, boolean firstOnly) {
+        try {
+            final List<FSOrdering> orderings = queryOrderings();
+            final FSSelection selection = querySelection(orderings);
+            return infoFactory.createQueryable(lookupResource).aggregate(
+                    new ArrayList<>(joins),
+                    groupBy,
+                    aggregates,
+                    firstOnly ? limitedToFirst(selection) : selection,
+                    having,
+                    orderings
+            );
+        } finally {
+            resetQueryState();
+        }
+    }
+
+    private String checkColumn(String column) {
+        if (!methodNameToColumnNameMap().containsValue(column)) {
+            throw new IllegalArgumentException(column + " is not a column of " + tableName());
+        }
+        return column;
+    }
+
+    private void resetQueryState() {
+        orderBy = null;             // <-- When a finder's get method is called, avoid leaking into the next query
+        finder = null;              // <-- When a finder's get method is called, avoid leaking into the next query
+        joins.clear();              // <-- the state of the joins must be empty at the start of each query
+        projections.clear();        // <-- the state of the projections must be empty at the start of each query
+        lookupResource = tableLocator();
+        addedThisProjection = false;
+    }
+
+    private List<FSOrdering> queryOrderings() {
+        final List<FSOrdering> orderings = orderBy == null ? Collections.<FSOrdering>emptyList() : orderBy.getOrderings();
+        lastKeysetOrderings = keysetOrderings(orderings);
+        return finder != null && finder.isKeysetPaging() ? lastKeysetOrderings : orderings;
+    }
+
+    private FSSelection querySelection(List<FSOrdering> orderings) {
+        if (finder == null) {
+            return FSSelection.ALL;
+        }
+        return finder.isKeysetPaging() ? finder.keysetSelection(orderings) : finder.selection();
+    }
+
+    private List<FSProjection> queryProjections() {
+        if (!addedThisProjection) {
+            projections.add(finder == null ? projection() : finder.projection());
+            addedThisProjection = true;
+        }
+        return projections;
+    }
+
+    private List<FSOrdering> keysetOrderings(List<FSOrdering> orderings) {
+        for (FSOrdering ordering : orderings) {
+            if ("_id".equals(ordering.column) && tableName().equals(ordering.table)) {
+                return orderings;   // <-- already ordered by a unique column
+            }
+        }
+        List<FSOrdering> ret = new ArrayList<>(orderings);
+        ret.add(new FSOrdering(tableName(), "_id", OrderBy.ORDER_ASC));
+        return ret;
+    }
+
     protected void addJoin(FSJoin join) {
         joins.add(join);
         lookupResource = infoFactory.locatorWithJoins(lookupResource, joins);
     }
+
+    private static FSSelection limitedToFirst(final FSSelection selection) {
+        final Limits limits = selection.limits() == null ? Limits.NONE : selection.limits();
+        if (limits.count() > 0) {
+            return selection;   // <-- a record matches only if the first of the limited records does
+        }
+        return new FSSelection() {
+            @Override
+            public String where() {
+                return selection.where();
+            }
+
+            @Override
+            public Object[] replacements() {
+                return selection.replacements();
+            }
+
+            @Override
+            public Limits limits() {
+                return new Limits() {
+                    @Override
+                    public int count() {
+                        return 1;
+                    }
+
+                    @Override
+                    public int offset() {
+                        return limits.offset();
+                    }
+
+                    @Override
+                    public boolean isBottom() {
+                        return limits.isBottom();
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * <p>
+     *     An aggregate query that groups the matching records by columns
+     * </p>
+     * @see #groupBy(String...)
+     */
+    public class Grouping {
+
+        private final List<FSProjection> groupBy;
+        private final List<FSHaving> having = new ArrayList<>();
+
+        private Grouping(final String[] columns) {
+            final String table = tableName();
+            groupBy = Collections.<FSProjection>singletonList(new FSProjection() {
+                @Override
+                public String tableName() {
+                    return table;
+                }
+
+                @Override
+                public String[] columns() {
+                    return columns;
+                }
+
+                @Override
+                public boolean isDistinct() {
+                    return false;
+                }
+            });
+        }
+
+        /**
+         * <p>
+         *     Only returns the groups for which the aggregate compares with the value as
+         *     the operator specifies. Conditions accumulate.
+         * </p>
+         * @param aggregate the {@link FSAggregate} to compare
+         * @param operator one of {@link Finder#OP_EQ}, {@link Finder#OP_NE}, {@link Finder#OP_LT},
+         *                 {@link Finder#OP_LE}, {@link Finder#OP_GT}, or {@link Finder#OP_GE}
+         * @param value the value to compare with
+         * @return this {@link Grouping}
+         * @throws IllegalArgumentException if the operator is not supported
+         */
+        public Grouping having(FSAggregate aggregate, int operator, Object value) {
+            if (operator < Finder.OP_LT || operator > Finder.OP_GT) {   // <-- LIKE is not supported
+                throw new IllegalArgumentException("Unsupported HAVING operator: " + operator);
+            }
+            having.add(new FSHaving(aggregate, operator, value));
+            return this;
+        }
+
+        /**
+         * <p>
+         *     Performs the query. The groups are ordered by any ordering of the {@link Resolver}.
+         * </p>
+         * @param aggregates the {@link FSAggregate}s to compute for each group
+         * @return a {@link Retriever} with one row per group
+         */
+        public Retriever get(FSAggregate... aggregates) {
+            return aggregate(groupBy, Arrays.asList(aggregates), new ArrayList<>(having), false);
+        }
+    }
 }
@@ -32,6 +32,34 @@ public interface Retriever extends Closeable {
     double getDouble(String column);
     float getFloat(String column);
     byte[] getBytes(String column);
+
+    /**
+     * <p>
+     *     Resolves the column label to an index that may be passed to the index-based
+     *     accessors. Whether indices are 0-based or 1-based is up to the implementation, so
+     *     an index is only meaningful to the {@link Retriever} that returned it. The index of
+     *     a column does not change as the {@link Retriever} is navigated, so callers that
+     *     read many rows should resolve indices once and reuse them.
+     * </p>
+     * @param column the name (label) of the column
+     * @return the index of the column
+     * @throws RuntimeException if there is no column with the label
+     */
+    int columnIndex(String column);
+    String getString(int columnIndex);
+    int getInt(int columnIndex);
+    long getLong(int columnIndex);
+    double getDouble(int columnIndex);
+    float getFloat(int columnIndex);
+    byte[] getBytes(int columnIndex);
+
+    /**
+     * @param columnIndex an index returned by {@link #columnIndex(String)}
+     * @return the value of the column in the type it is stored with: a {@link Number} for
+     * integers and reals, a {@link String} for text, a byte[] for blobs or null
+     */
+    Object getObject(int columnIndex);
+
     int getCount();
 
     boolean isClosed();
@@ -0,0 +1,99 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>
+ *     Lazily maps each row of a {@link Retriever} with a {@link RowMapper}. Only the current
+ *     row is ever materialized, so very large result sets can be processed in constant
+ *     memory. The {@link Retriever} is closed as soon as its last row has been read.
+ * </p>
+ * <p>
+ *     If you stop iterating before reaching the last row, then you must call
+ *     {@link #close()} to close the {@link Retriever}.
+ * </p>
+ * @param <T> the type each row is mapped to
+ * @author Ryan Scott
+ */
+public class RowIterator<T> implements Iterator<T>, Closeable {
+
+    private final Retriever retriever;
+    private final RowMapper<T> mapper;
+    private boolean advanced = false;
+    private boolean hasNext = false;
+    private boolean closed = false;
+
+    public RowIterator(Retriever retriever, RowMapper<T> mapper) {
+        if (retriever == null) {
+            throw new IllegalArgumentException("Null retriever not alllowed");
+        }
+        if (mapper == null) {
+            throw new IllegalArgumentException("Null mapper not allowed");
+        }
+        this.retriever = retriever;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (!advanced) {
+            hasNext = retriever.moveToNext();
+            advanced = true;
+            if (!hasNext) {
+                close();
+            }
+        }
+        return hasNext;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        advanced = false;
+        return mapper.map(retriever);
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Cannot remove rows through a RowIterator");
+    }
+
+    /**
+     * <p>
+     *     Closes the underlying {@link Retriever}. Closing more than once has no effect.
+     * </p>
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        hasNext = false;
+        retriever.close();
+    }
+}
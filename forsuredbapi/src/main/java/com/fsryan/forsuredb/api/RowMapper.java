@@ -0,0 +1,33 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+/**
+ * <p>
+ *     Maps the row a {@link Retriever} currently points to into an object. Implementations
+ *     should only read the current row--they must not move the {@link Retriever}.
+ *     Implementations are typically written in terms of a table's generated Getter, for
+ *     example: {@code retriever -> new User(getApi.name(retriever), getApi.loginCount(retriever))}
+ * </p>
+ * @param <T> the type the row is mapped to
+ * @see RowIterator
+ * @see Resolver#iterate(RowMapper)
+ */
+public interface RowMapper<T> {
+    T map(Retriever retriever);
+}
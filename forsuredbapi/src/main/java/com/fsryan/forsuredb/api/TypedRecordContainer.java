@@ -95,6 +95,42 @@ public final class TypedRecordContainer implements RecordContainer {
         return columnToTypeMap.get(column);
     }
 
+    /**
+     * <p>
+     *     Puts every column of source into dest with the type it was put into source with, so
+     *     that null String and byte[] values are copied as null. When source is not a
+     *     {@link TypedRecordContainer}, the type is that of the value, and a null value is
+     *     copied as a null String.
+     * </p>
+     * @param source the {@link RecordContainer} to copy from
+     * @param dest the {@link RecordContainer} to copy into
+     * @throws IllegalArgumentException if a value of source cannot be put into a
+     * {@link RecordContainer}
+     */
+    public static void copy(RecordContainer source, RecordContainer dest) {
+        for (String column : source.keySet()) {
+            final Object value = source.get(column);
+            final Type type = source instanceof TypedRecordContainer
+                    ? ((TypedRecordContainer) source).getType(column)
+                    : value == null ? String.class : value.getClass();
+            if (type == String.class) {
+                dest.put(column, (String) value);
+            } else if (type == long.class || type == Long.class) {
+                dest.put(column, (long) value);
+            } else if (type == int.class || type == Integer.class) {
+                dest.put(column, (int) value);
+            } else if (type == double.class || type == Double.class) {
+                dest.put(column, (double) value);
+            } else if (type == float.class || type == Float.class) {
+                dest.put(column, (float) value);
+            } else if (type == byte[].class) {
+                dest.put(column, (byte[]) value);
+            } else {
+                throw new IllegalArgumentException("Cannot copy value of type " + type + " for column: " + column);
+            }
+        }
+    }
+
     /**
      * <p>
      *     Either incurs precision loss or throws {@link ClassCastException} if parameter is wrong
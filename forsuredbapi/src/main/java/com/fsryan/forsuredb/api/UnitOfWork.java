@@ -0,0 +1,38 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+/**
+ * <p>
+ *     A unit of work to be performed inside of a transaction by
+ *     {@link FSTransactor#runInTransaction(UnitOfWork)}. All of the operations performed by the
+ *     unit of work either take effect together or not at all.
+ * </p>
+ * @param <T> the type of the result of the work
+ */
+public interface UnitOfWork<T> {
+
+    /**
+     * <p>
+     *     Throwing from this method rolls back everything done by this unit of work.
+     * </p>
+     * @return the result of the work
+     * @throws Exception any exception, which causes the transaction to be rolled back
+     */
+    T run() throws Exception;
+}
@@ -46,6 +46,26 @@ public interface DBMSIntegrator {
      */
     String newSingleRowInsertionSql(String tableName, List<String> columns);
 
+    /**
+     * <p>
+     *     Creates the SQL for a single statement that inserts rowCount rows and, for each row that
+     *     conflicts with an existing row on the conflictColumns, updates the updateColumns of the
+     *     existing row instead. The values of each row are bound in the order of columns, one row
+     *     after another.
+     * </p>
+     * <p>
+     *     The conflictColumns must be exactly the columns of a primary key or unique constraint of
+     *     the table. When updateColumns is empty, conflicting rows are left as they are.
+     * </p>
+     * @param tableName the name of the table into which the rows should be upserted
+     * @param columns the columns of each row
+     * @param conflictColumns the columns of the unique key on which rows conflict
+     * @param updateColumns the columns to update when a row conflicts
+     * @param rowCount the number of rows the statement upserts
+     * @return the raw SQL for the upsert or null if the DBMS cannot upsert in a single statement
+     */
+    String newUpsertSql(String tableName, List<String> columns, List<String> conflictColumns, List<String> updateColumns, int rowCount);
+
     /**
      * <p>
      *     Creates the unambiguous column name for a table and column.
@@ -77,7 +97,10 @@ public interface DBMSIntegrator {
 
     /**
      * Formats zero or more {@link FSOrdering} into one correctly formatted string for the ORDER BY
-     * clause of a query
+     * clause of a query. An ordering {@link FSOrdering#isByRelevance() by relevance} contains
+     * one parameter marker ?, which is bound to its {@link FSOrdering#fullTextQuery}; the
+     * {@link SqlForPreparedStatement} created for a query binds these after the replacements
+     * of the selection.
      * @param orderings a possibly-empty list of {@link FSOrdering}
      * @return A string that correctly combines the ORDER BY expressions
      */
@@ -110,6 +133,63 @@ public interface DBMSIntegrator {
      */
     String whereOperation(String tableName, String column, int operator);
 
+    /**
+     * <p>
+     *     Matches a column against a list of values, for example
+     *     <code>table.column IN (?, ?, ?)</code>. Each of the elements is the parameter
+     *     marker ?, and the list may be empty, in which case the condition must match no
+     *     records.
+     * </p>
+     * @param tableName the name of the table
+     * @param column the name of the column of the table
+     * @param elements the elements of the list in order
+     * @return A partial WHERE clause matching the column against the list
+     * @see com.fsryan.forsuredb.api.Finder
+     */
+    String whereIn(String tableName, String column, List<String> elements);
+
+    /**
+     * <p>
+     *     Matches a column against a list of values that is bound to a single parameter marker
+     *     ? as a JSON array of numbers and strings. The SQL does not depend on the number of
+     *     values, and the number of values is not limited by the number of parameters the
+     *     DBMS allows a statement to have.
+     * </p>
+     * @param tableName the name of the table
+     * @param column the name of the column of the table
+     * @return A partial WHERE clause matching the column against the bound list
+     * @see com.fsryan.forsuredb.api.Finder#MAX_BOUND_IN_VALUES
+     */
+    String whereInList(String tableName, String column);
+
+    /**
+     * <p>
+     *     Matches a full-text query against the full-text index of a column that was
+     *     annotated with {@link com.fsryan.forsuredb.annotations.FSFullText}. The returned
+     *     condition contains exactly one parameter marker ?, which is bound to the query.
+     * </p>
+     * @param tableName the name of the table
+     * @param column the name of the full-text column of the table
+     * @return A partial WHERE clause matching the column against the full-text query
+     * @see com.fsryan.forsuredb.api.Finder#OP_MATCH
+     */
+    String whereMatches(String tableName, String column);
+
+    /**
+     * <p>
+     *     Matches the values of a column that are at least the first and less than the
+     *     second of two parameter markers ?, which are bound to a prefix and the least string
+     *     greater than every string starting with the prefix. The condition should be
+     *     satisfiable by a range scan of an index on the column, which is not true of a LIKE
+     *     condition.
+     * </p>
+     * @param tableName the name of the table
+     * @param column the name of the column of the table
+     * @return A partial WHERE clause matching the column against the range
+     * @see com.fsryan.forsuredb.api.Finder#OP_STARTS_WITH
+     */
+    String whereStartsWith(String tableName, String column);
+
     /**
      * <p>Format the date in the way the DBMS cares to store it
      * @param date the date to format
@@ -160,4 +240,30 @@ public interface DBMSIntegrator {
     SqlForPreparedStatement createUpdateSql(String table, List<String> updateColumns, FSSelection selection, List<FSOrdering> orderings);
 
     SqlForPreparedStatement createDeleteSql(String table, FSSelection selection, List<FSOrdering> orderings);
+
+    /**
+     * <p>
+     *     Creates a query that returns the results of the aggregates rather than the rows they
+     *     are computed from. Each aggregate is retrievable by its {@link FSAggregate#alias()}
+     *     and each group-by column by its {@link #unambiguousRetrievalColumn(String, String)}.
+     *     Any {@link Limits} of the selection restrict the rows that are aggregated.
+     * </p>
+     * @param table the table to query
+     * @param joins the {@link FSJoin}s of the query--empty if the query is not a join
+     * @param groupBy the columns to group by--empty if the rows should not be grouped
+     * @param aggregates the {@link FSAggregate}s to compute
+     * @param selection the {@link FSSelection} of the rows to aggregate
+     * @param having the {@link FSHaving} conditions every group must satisfy--empty if not
+     *               grouping
+     * @param orderings the {@link FSOrdering}s of the groups and of the rows when the
+     *                  selection has {@link Limits}
+     * @return the SQL of the query along with the values to bind to it
+     */
+    SqlForPreparedStatement createAggregateSql(String table,
+                                               List<FSJoin> joins,
+                                               List<FSProjection> groupBy,
+                                               List<FSAggregate> aggregates,
+                                               FSSelection selection,
+                                               List<FSHaving> having,
+                                               List<FSOrdering> orderings);
 }
@@ -0,0 +1,36 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api.staticdata;
+
+import com.fsryan.forsuredb.api.RecordContainer;
+
+import java.util.List;
+
+/**
+ * <p>Receives static data records in bounded chunks as they are parsed
+ * @see StaticDataRetriever#stream(int, int, OnRecordChunkRetrievedListener)
+ */
+public interface OnRecordChunkRetrievedListener {
+
+    /**
+     * @param dbVersion the db_version of the records
+     * @param records the next chunk of records in the order they appear in the static data
+     *                XML. The list is not reused after this method returns.
+     */
+    void onRecords(int dbVersion, List<RecordContainer> records);
+}
@@ -17,6 +17,7 @@
  */
 package com.fsryan.forsuredb.api.staticdata;
 
+import com.fsryan.forsuredb.api.OrderPreservingEncoding;
 import com.fsryan.forsuredb.api.RecordContainer;
 import com.fsryan.forsuredb.api.TypedRecordContainer;
 import com.fsryan.forsuredb.info.ColumnInfo;
@@ -44,20 +45,50 @@ class ParseHandler extends DefaultHandler {
     private final String tableName;
     private final List<MigrationSet> migrationSets;
     private final OnRecordRetrievedListener recordListener;
+    private final OnRecordChunkRetrievedListener chunkListener;
+    private final int streamedDbVersion;
+    private final int chunkSize;
     private final Stack<String> tagStack = new Stack<>();
     private int lowestVersionToHonor;
 
     private MigrationSet currentMigrationSet;
     private final Map<Integer, List<RecordContainer>> recordQueue = new HashMap<>();
+    private List<RecordContainer> currentChunk;
 
     /*package*/ ParseHandler(DateFormat dateFormat,
                              String tableName,
                              List<MigrationSet> migrationSets,
                              OnRecordRetrievedListener recordListener) {
+        this(dateFormat, tableName, migrationSets, recordListener, null, 0, 0);
+    }
+
+    /**
+     * <p>Creates a {@link ParseHandler} that streams the records of only one db_version to
+     * the chunkListener rather than accumulating all records until the end of the document
+     */
+    /*package*/ ParseHandler(DateFormat dateFormat,
+                             String tableName,
+                             List<MigrationSet> migrationSets,
+                             int streamedDbVersion,
+                             int chunkSize,
+                             OnRecordChunkRetrievedListener chunkListener) {
+        this(dateFormat, tableName, migrationSets, null, chunkListener, streamedDbVersion, chunkSize);
+    }
+
+    private ParseHandler(DateFormat dateFormat,
+                         String tableName,
+                         List<MigrationSet> migrationSets,
+                         OnRecordRetrievedListener recordListener,
+                         OnRecordChunkRetrievedListener chunkListener,
+                         int streamedDbVersion,
+                         int chunkSize) {
         this.dateFormat = dateFormat;
         this.tableName = tableName;
         this.migrationSets = migrationSets;
         this.recordListener = recordListener;
+        this.chunkListener = chunkListener;
+        this.streamedDbVersion = streamedDbVersion;
+        this.chunkSize = chunkSize;
         lowestVersionToHonor = migrationSets.get(0).dbVersion();
     }
 
@@ -68,8 +99,12 @@ class ParseHandler extends DefaultHandler {
                 setCurrentMigrationSet(Integer.parseInt(attributes.getValue("db_version")));
                 break;
             case "record":
-                if (currentMigrationSet != null) {
-                    // TODO: work on logic to update early rather than pushing each record to the queue
+                if (currentMigrationSet == null) {
+                    break;
+                }
+                if (isStreaming()) {
+                    pushToChunk(createRecord(attributes));
+                } else {
                     pushToQueue(currentMigrationSet.dbVersion(), createRecord(attributes));
                 }
                 break;
@@ -82,13 +117,41 @@ class ParseHandler extends DefaultHandler {
     public void endElement(String uri, String localName, String qName) {
         String ended = tagStack.pop();
         if ("records".equals(ended)) {
+            flushChunk();
             currentMigrationSet = null;
         }
     }
 
     @Override
     public void endDocument() {
-        recordListener.onRecord(recordQueue);
+        if (isStreaming()) {
+            flushChunk();
+        } else {
+            recordListener.onRecord(recordQueue);
+        }
+    }
+
+    private boolean isStreaming() {
+        return chunkListener != null;
+    }
+
+    private void pushToChunk(RecordContainer recordContainer) {
+        if (currentChunk == null) {
+            currentChunk = new ArrayList<>(chunkSize);
+        }
+        currentChunk.add(recordContainer);
+        if (currentChunk.size() >= chunkSize) {
+            flushChunk();
+        }
+    }
+
+    private void flushChunk() {
+        if (currentChunk == null || currentChunk.isEmpty() || currentMigrationSet == null) {
+            return;
+        }
+        List<RecordContainer> chunk = currentChunk;
+        currentChunk = null;
+        chunkListener.onRecords(currentMigrationSet.dbVersion(), chunk);
     }
 
     private void pushToQueue(int version, RecordContainer recordContainer) {
@@ -143,19 +206,26 @@ class ParseHandler extends DefaultHandler {
                     ret.put(column, Double.parseDouble(value));
                     break;
                 case "java.util.Date":
+                    final Date date;
                     try {
-                        dateFormat.parse(value);
+                        date = dateFormat.parse(value);
                     } catch (ParseException pe) {
                         throw new IllegalStateException("could not parse date '" + value + "'; db_version: " + currentMigrationSet.dbVersion() + "; table: " + tableName + "; column: " + column, pe);
                     }
-                    ret.put(column, value);
+                    if (table.getColumn(column).epochMillis()) {
+                        ret.put(column, date.getTime());
+                    } else {
+                        ret.put(column, value);
+                    }
                     break;
                 case "java.math.BigDecimal":
-                    ret.put(column, new BigDecimal(value).toPlainString());
+                    final BigDecimal decimal = new BigDecimal(value);
+                    ret.put(column, table.getColumn(column).orderPreserving() ? OrderPreservingEncoding.encode(decimal) : decimal.toPlainString());
                     break;
                 case "BigInteger":
                 case "java.math.BigInteger":
-                    ret.put(column, new BigInteger(value).toString(10));
+                    final BigInteger integer = new BigInteger(value);
+                    ret.put(column, table.getColumn(column).orderPreserving() ? OrderPreservingEncoding.encode(integer) : integer.toString(10));
                     break;
                 case "byte[]":
                 case "Byte[]":
@@ -169,7 +239,7 @@ class ParseHandler extends DefaultHandler {
     }
 
     private void setCurrentMigrationSet(int dbVersion) {
-        if (dbVersion < lowestVersionToHonor) {
+        if (dbVersion < lowestVersionToHonor || (isStreaming() && dbVersion != streamedDbVersion)) {
             return;
         }
 
@@ -23,4 +23,15 @@ package com.fsryan.forsuredb.api.staticdata;
  */
 public interface StaticDataRetriever {
     void retrieve(OnRecordRetrievedListener recordRetrievalListener);
+
+    /**
+     * <p>Streams the records of a single db_version to the listener as they are parsed, in
+     * chunks of at most chunkSize records. Unlike {@link #retrieve(OnRecordRetrievedListener)},
+     * at most one chunk of records is held in memory at a time, regardless of the size of the
+     * static data XML. Records of other db_versions are skipped without being converted.
+     * @param dbVersion the db_version of the records to stream
+     * @param chunkSize the maximum number of records passed to the listener at once
+     * @param chunkListener the {@link OnRecordChunkRetrievedListener} to receive the records
+     */
+    void stream(int dbVersion, int chunkSize, OnRecordChunkRetrievedListener chunkListener);
 }
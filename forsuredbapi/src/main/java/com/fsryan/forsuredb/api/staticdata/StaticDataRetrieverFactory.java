@@ -55,24 +55,42 @@ public abstract class StaticDataRetrieverFactory {
         return new StaticDataRetriever() {
             @Override
             public void retrieve(OnRecordRetrievedListener recordRetrievalListener) {
-                try {
-                    ParseHandler parseHandler = new ParseHandler(
-                            dateFormat,
-                            tableName,
-                            migrationSets,
-                            recordRetrievalListener
-                    );
-                    SAXParserFactory.newInstance().newSAXParser().parse(xmlStream, parseHandler);
-                } catch (Exception e) {
-                    throw new IllegalStateException(e);
-                } finally {
-                    try {
-                        xmlStream.close();
-                    } catch (IOException ioe) {
-                        // TODO: check what to do
-                    }
+                parse(xmlStream, new ParseHandler(
+                        dateFormat,
+                        tableName,
+                        migrationSets,
+                        recordRetrievalListener
+                ));
+            }
+
+            @Override
+            public void stream(int dbVersion, int chunkSize, OnRecordChunkRetrievedListener chunkListener) {
+                if (chunkSize < 1) {
+                    throw new IllegalArgumentException("chunkSize must be >= 1, was " + chunkSize);
                 }
+                parse(xmlStream, new ParseHandler(
+                        dateFormat,
+                        tableName,
+                        migrationSets,
+                        dbVersion,
+                        chunkSize,
+                        chunkListener
+                ));
             }
         };
     }
+
+    private static void parse(InputStream xmlStream, ParseHandler parseHandler) {
+        try {
+            SAXParserFactory.newInstance().newSAXParser().parse(xmlStream, parseHandler);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            try {
+                xmlStream.close();
+            } catch (IOException ioe) {
+                // TODO: check what to do
+            }
+        }
+    }
 }
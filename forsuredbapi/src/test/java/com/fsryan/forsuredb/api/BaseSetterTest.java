@@ -5,20 +5,27 @@ import com.fsryan.forsuredb.api.adapter.SaveResultFactory;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyList;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -143,6 +150,106 @@ public abstract class BaseSetterTest<U, R extends RecordContainer, S extends Bas
         }
     }
 
+    public static class Batch extends BaseSetterTest<String, TypedRecordContainer, BaseSetter<String, TypedRecordContainer>> {
+
+        @Mock
+        private ForSureInfoFactory<String, TypedRecordContainer> mockInfoFactory;
+        @Captor
+        private ArgumentCaptor<List<TypedRecordContainer>> batchCaptor;
+
+        @Test
+        public void shouldInsertSnapshotOfEachRecordAddedToBatch() {
+            when(mockQueryable.insertAll(anyList())).thenReturn(Arrays.asList("first", "second"));
+
+            setterUnderTest.recordContainer.put("col", "value1");
+            setterUnderTest.addToBatch();
+            setterUnderTest.recordContainer.put("col", "value2");
+            setterUnderTest.recordContainer.put("other", 2L);
+            setterUnderTest.addToBatch();
+            SaveResult<List<String>> actual = setterUnderTest.saveBatch();
+
+            verify(mockQueryable).insertAll(batchCaptor.capture());
+            List<TypedRecordContainer> batch = batchCaptor.getValue();
+            assertEquals(2, batch.size());
+            assertEquals("value1", batch.get(0).typedGet("col"));
+            assertNull(batch.get(0).get("other"));
+            assertEquals("value2", batch.get(1).typedGet("col"));
+            assertEquals(2L, (long) batch.get(1).typedGet("other"));
+            assertEquals(Arrays.asList("first", "second"), actual.inserted());
+            assertEquals(2, actual.rowsAffected());
+            assertNull(actual.exception());
+            assertTrue(setterUnderTest.recordContainer.keySet().isEmpty());
+        }
+
+        @Test
+        public void shouldKeepNullStringAndBlobValuesOfRecordAddedToBatch() {
+            setterUnderTest.recordContainer.put("string_col", (String) null);
+            setterUnderTest.recordContainer.put("blob_col", (byte[]) null);
+            setterUnderTest.recordContainer.put("other", 2L);
+            setterUnderTest.addToBatch();
+            setterUnderTest.saveBatch();
+
+            verify(mockQueryable).insertAll(batchCaptor.capture());
+            TypedRecordContainer snapshot = batchCaptor.getValue().get(0);
+            assertTrue(snapshot.keySet().contains("string_col"));
+            assertNull(snapshot.get("string_col"));
+            assertEquals(String.class, snapshot.getType("string_col"));
+            assertNull(snapshot.get("blob_col"));
+            assertEquals(byte[].class, snapshot.getType("blob_col"));
+            assertEquals(2L, (long) snapshot.typedGet("other"));
+        }
+
+        @Test
+        public void shouldEmptyBatchAfterSaving() {
+            setterUnderTest.recordContainer.put("col", "value");
+            setterUnderTest.addToBatch();
+            setterUnderTest.saveBatch();
+
+            SaveResult<List<String>> actual = setterUnderTest.saveBatch();
+
+            verify(mockQueryable, times(1)).insertAll(anyList());
+            assertTrue(actual.inserted().isEmpty());
+            assertEquals(0, actual.rowsAffected());
+        }
+
+        @Test
+        public void shouldReturnSaveResultWithExceptionWhenExceptionThrown() {
+            RuntimeException expectedException = new RuntimeException();
+            when(mockQueryable.insertAll(anyList())).thenThrow(expectedException);
+            setterUnderTest.recordContainer.put("col", "value");
+            setterUnderTest.addToBatch();
+
+            SaveResult<List<String>> actual = setterUnderTest.saveBatch();
+
+            assertNull(actual.inserted());
+            assertEquals(0, actual.rowsAffected());
+            assertEquals(expectedException, actual.exception());
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void shouldThrowWhenBatchingWithSelection() {
+            new BaseSetter<String, TypedRecordContainer>(dateFormat, mockInfoFactory, mockQueryable, mockSelection, mockOrderings, new TypedRecordContainer()) {}
+                    .addToBatch();
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void shouldThrowWhenBatchingWithoutInfoFactory() {
+            new BaseSetter<String, TypedRecordContainer>(dateFormat, mockQueryable, null, mockOrderings, new TypedRecordContainer()) {}
+                    .addToBatch();
+        }
+
+        @Override
+        protected BaseSetter<String, TypedRecordContainer> createSetterUnderTest() {
+            when(mockInfoFactory.createRecordContainer()).thenAnswer(new Answer<TypedRecordContainer>() {
+                @Override
+                public TypedRecordContainer answer(InvocationOnMock invocation) {
+                    return new TypedRecordContainer();
+                }
+            });
+            return new BaseSetter<String, TypedRecordContainer>(dateFormat, mockInfoFactory, mockQueryable, null, mockOrderings, new TypedRecordContainer()) {};
+        }
+    }
+
     public static class SoftDelete extends BaseSetterTest<String, RecordContainer, BaseSetter<String, RecordContainer>> {
 
         @Test
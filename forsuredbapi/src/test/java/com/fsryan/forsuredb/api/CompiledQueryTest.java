@@ -0,0 +1,184 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+import com.fsryan.forsuredb.api.sqlgeneration.Sql;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.*;
+
+public class CompiledQueryTest extends FinderTest {
+
+    private static final QueryParameter value = new QueryParameter(QueryParameter.KIND_VALUE, false, false);
+    private static final QueryParameter like = new QueryParameter(QueryParameter.KIND_LIKE, false, false);
+
+    @Mock
+    private FSCompiledQuery mockCompiledQuery;
+    @Mock
+    private Retriever mockRetriever;
+
+    private ArgumentCaptor<Object[]> replacementsCaptor;
+    private Finder finder;
+
+    @Before
+    public void setUp() {
+        replacementsCaptor = ArgumentCaptor.forClass(Object[].class);
+        when(mockCompiledQuery.query(any(Object[].class))).thenReturn(mockRetriever);
+        when(mockResolver.tableName()).thenReturn("table");
+        finder = new Finder(mockResolver) {
+            {
+                storesEpochMillis("epoch_column");
+                storesOrderPreserving("order_preserving_column");
+            }
+        };
+    }
+
+    @Test
+    public void shouldPassConvertedValuesToCompiledQuery() {
+        CompiledQuery compiledQuery = new CompiledQuery(mockCompiledQuery, new QueryParameter[] {value, value});
+
+        Retriever actual = compiledQuery.get(1L, new BigDecimal("1.50"));
+
+        assertArrayEquals(new Object[] {1L, "1.50"}, capturedReplacements());
+        assertSame(mockRetriever, actual);
+    }
+
+    @Test
+    public void shouldExpressLikeParametersAsLike() {
+        CompiledQuery compiledQuery = new CompiledQuery(mockCompiledQuery, new QueryParameter[] {like});
+
+        compiledQuery.get("bob");
+
+        assertArrayEquals(new Object[] {Sql.generator().expressLike("bob")}, capturedReplacements());
+    }
+
+    @Test
+    public void shouldAllowNoValuesWhenNoParameters() {
+        CompiledQuery compiledQuery = new CompiledQuery(mockCompiledQuery, new QueryParameter[0]);
+
+        compiledQuery.get();
+
+        assertEquals(0, capturedReplacements().length);
+    }
+
+    @Test
+    public void shouldBindDateOfEpochMillisColumnAsMillis() {
+        finder.addToBuf("epoch_column", Finder.OP_GT, new Date(1L));
+        Date date = new Date(1500000000000L);
+
+        compile().get(date);
+
+        assertArrayEquals(new Object[] {date.getTime()}, capturedReplacements());
+    }
+
+    @Test
+    public void shouldBindValueOfOrderPreservingColumnEncoded() {
+        finder.addToBuf("order_preserving_column", Finder.OP_GE, BigDecimal.ONE);
+        BigDecimal decimal = new BigDecimal("-12.50");
+
+        compile().get(decimal);
+
+        assertArrayEquals(new Object[] {OrderPreservingEncoding.encode(decimal)}, capturedReplacements());
+    }
+
+    @Test
+    public void shouldDeriveUpperBoundOfStartsWithFromPrefix() {
+        finder.addToBuf("name", Finder.OP_STARTS_WITH, "placeholder");
+
+        CompiledQuery compiledQuery = compile();
+        compiledQuery.get("bo");
+
+        assertEquals(1, compiledQuery.parameterCount());
+        assertArrayEquals(new Object[] {"bo", "bp"}, capturedReplacements());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowWhenStartsWithPrefixHasNoUpperBound() {
+        finder.addToBuf("name", Finder.OP_STARTS_WITH, "placeholder");
+
+        compile().get(new String(Character.toChars(Character.MAX_CODE_POINT)));
+    }
+
+    @Test
+    public void shouldBindCollectionToLargeInListAsSingleEncodedList() {
+        List<Date> dates = new ArrayList<>();
+        for (long millis = 0; millis <= Finder.MAX_BOUND_IN_VALUES; millis++) {
+            dates.add(new Date(millis));
+        }
+        finder.addInToBuf("epoch_column", dates);
+
+        CompiledQuery compiledQuery = compile();
+        compiledQuery.get(Arrays.asList(new Date(5L), new Date(7L)));
+
+        assertEquals(1, compiledQuery.parameterCount());
+        assertArrayEquals(new Object[] {"[5,7]"}, capturedReplacements());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowWhenValueOfLargeInListNotCollection() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 0; id <= Finder.MAX_BOUND_IN_VALUES; id++) {
+            ids.add(id);
+        }
+        finder.byIdIn(ids);
+
+        compile().get(5L);
+    }
+
+    @Test
+    public void shouldBindValuesAfterThoseOfFinderUnencoded() {
+        finder.addToBuf("epoch_column", Finder.OP_GT, new Date(1L));
+        FSSelection keysetSelection = mock(FSSelection.class);
+        when(keysetSelection.replacements()).thenReturn(new Object[] {1L, "seek"});
+
+        new CompiledQuery(mockCompiledQuery, finder.compiledParameters(keysetSelection)).get(new Date(2L), "value");
+
+        assertArrayEquals(new Object[] {2L, "value"}, capturedReplacements());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowWhenWrongNumberOfValues() {
+        new CompiledQuery(mockCompiledQuery, new QueryParameter[] {value, value}).get(1L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowWhenValueNull() {
+        new CompiledQuery(mockCompiledQuery, new QueryParameter[] {value}).get((Object) null);
+    }
+
+    private CompiledQuery compile() {
+        return new CompiledQuery(mockCompiledQuery, finder.compiledParameters(finder.selection()));
+    }
+
+    private Object[] capturedReplacements() {
+        verify(mockCompiledQuery).query(replacementsCaptor.capture());
+        return replacementsCaptor.getValue();
+    }
+}
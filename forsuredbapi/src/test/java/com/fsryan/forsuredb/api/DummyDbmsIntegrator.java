@@ -32,6 +32,11 @@ public class DummyDbmsIntegrator implements DBMSIntegrator {
         return "";
     }
 
+    @Override
+    public String newUpsertSql(String tableName, List<String> columns, List<String> conflictColumns, List<String> updateColumns, int rowCount) {
+        return null;
+    }
+
     @Override
     public String unambiguousColumn(String tableName, String columnName) {
         return tableName + "_" + columnName;
@@ -52,6 +57,26 @@ public class DummyDbmsIntegrator implements DBMSIntegrator {
         return "";
     }
 
+    @Override
+    public String whereIn(String tableName, String column, List<String> elements) {
+        return unambiguousColumn(tableName, column) + " IN " + elements;
+    }
+
+    @Override
+    public String whereInList(String tableName, String column) {
+        return unambiguousColumn(tableName, column) + " IN LIST ?";
+    }
+
+    @Override
+    public String whereMatches(String tableName, String column) {
+        return unambiguousColumn(tableName, column) + " MATCH ?";
+    }
+
+    @Override
+    public String whereStartsWith(String tableName, String column) {
+        return "(" + unambiguousColumn(tableName, column) + " >= ? AND " + unambiguousColumn(tableName, column) + " < ?)";
+    }
+
     @Override
     public String formatDate(Date date) {
         return DATE_FORMAT.format(date);
@@ -116,4 +141,9 @@ public class DummyDbmsIntegrator implements DBMSIntegrator {
     public SqlForPreparedStatement createDeleteSql(String table, FSSelection selection, List<FSOrdering> orderings) {
         return null;
     }
+
+    @Override
+    public SqlForPreparedStatement createAggregateSql(String table, List<FSJoin> joins, List<FSProjection> groupBy, List<FSAggregate> aggregates, FSSelection selection, List<FSHaving> having, List<FSOrdering> orderings) {
+        return null;
+    }
 }
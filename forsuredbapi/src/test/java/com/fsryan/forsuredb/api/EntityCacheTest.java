@@ -0,0 +1,144 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EntityCacheTest {
+
+    private EntityCache cacheUnderTest;
+
+    @Before
+    public void setUp() {
+        cacheUnderTest = new EntityCache(2);
+    }
+
+    @Test
+    public void shouldReturnValueWhenModifiedMatches() {
+        Object value = new Object();
+        put("table", 1L, "m1", value);
+
+        assertSame(value, cacheUnderTest.get("table", 1L, "m1"));
+        assertEquals(1, cacheUnderTest.hits());
+    }
+
+    @Test
+    public void shouldForgetValueWhenModifiedDiffers() {
+        put("table", 1L, "m1", new Object());
+
+        assertNull(cacheUnderTest.get("table", 1L, "m2"));
+        assertEquals(0, cacheUnderTest.size());
+        assertEquals(1, cacheUnderTest.misses());
+    }
+
+    @Test
+    public void shouldForgetValueWhenRecordNoLongerExists() {
+        put("table", 1L, "m1", new Object());
+
+        assertNull(cacheUnderTest.get("table", 1L, (String) null));
+        assertEquals(0, cacheUnderTest.size());
+    }
+
+    @Test
+    public void shouldNotLookUpModifiedWhenNothingCached() {
+        Object actual = cacheUnderTest.get("table", 1L, new EntityCache.ModifiedLookup() {
+            @Override
+            public String currentModified() {
+                throw new AssertionError("should not have looked up modified");
+            }
+        });
+
+        assertNull(actual);
+        assertEquals(1, cacheUnderTest.misses());
+    }
+
+    @Test
+    public void shouldKeyByTableAndId() {
+        put("table", 1L, "m1", "a");
+        put("other_table", 1L, "m1", "b");
+
+        assertEquals("a", cacheUnderTest.get("table", 1L, "m1"));
+        assertEquals("b", cacheUnderTest.get("other_table", 1L, "m1"));
+        assertNull(cacheUnderTest.get("table", 2L, "m1"));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedWhenOverMaxEntries() {
+        put("table", 1L, "m1", "a");
+        put("table", 2L, "m1", "b");
+        cacheUnderTest.get("table", 1L, "m1");  // <-- 1 is now the most recently used
+
+        put("table", 3L, "m1", "c");
+
+        assertEquals("a", cacheUnderTest.get("table", 1L, "m1"));
+        assertNull(cacheUnderTest.get("table", 2L, "m1"));
+        assertEquals(1, cacheUnderTest.evictions());
+    }
+
+    @Test
+    public void shouldOnlyInvalidateRecordsOfTable() {
+        put("table", 1L, "m1", "a");
+        put("other_table", 1L, "m1", "b");
+
+        cacheUnderTest.invalidate("table");
+
+        assertNull(cacheUnderTest.get("table", 1L, "m1"));
+        assertEquals("b", cacheUnderTest.get("other_table", 1L, "m1"));
+        assertEquals(1, cacheUnderTest.invalidations());
+    }
+
+    @Test
+    public void shouldNotCacheValueReadBeforeTableInvalidated() {
+        long version = cacheUnderTest.version("table");
+
+        cacheUnderTest.invalidate("table");
+        cacheUnderTest.put("table", 1L, "m1", "a", version);
+
+        assertEquals(0, cacheUnderTest.size());
+    }
+
+    @Test
+    public void shouldNotCacheValueReadBeforeCleared() {
+        long version = cacheUnderTest.version("table");
+
+        cacheUnderTest.clear();
+        cacheUnderTest.put("table", 1L, "m1", "a", version);
+
+        assertEquals(0, cacheUnderTest.size());
+    }
+
+    @Test
+    public void shouldComputeHitRate() {
+        assertEquals(0D, cacheUnderTest.hitRate(), 0D);
+        put("table", 1L, "m1", "a");
+
+        cacheUnderTest.get("table", 1L, "m1");
+        cacheUnderTest.get("table", 1L, "m1");
+        cacheUnderTest.get("table", 1L, "m1");
+        cacheUnderTest.get("table", 2L, "m1");
+
+        assertEquals(0.75D, cacheUnderTest.hitRate(), 0D);
+    }
+
+    private void put(String table, long id, String modified, Object value) {
+        cacheUnderTest.put(table, id, modified, value, cacheUnderTest.version(table));
+    }
+}
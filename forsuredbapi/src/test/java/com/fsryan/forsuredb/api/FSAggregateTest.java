@@ -0,0 +1,44 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class FSAggregateTest {
+
+    @Test
+    public void shouldAliasRowCountByTable() {
+        assertEquals("count_table", FSAggregate.count("table").alias());
+    }
+
+    @Test
+    public void shouldAliasColumnAggregateByTableAndColumn() {
+        assertEquals("count_table_col", FSAggregate.count("table", "col").alias());
+        assertEquals("sum_table_col", FSAggregate.sum("table", "col").alias());
+        assertEquals("min_table_col", FSAggregate.min("table", "col").alias());
+        assertEquals("max_table_col", FSAggregate.max("table", "col").alias());
+        assertEquals("avg_table_col", FSAggregate.avg("table", "col").alias());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRequireColumnForFunctionsOtherThanCount() {
+        new FSAggregate(FSAggregate.Function.SUM, "table", null);
+    }
+}
@@ -0,0 +1,56 @@
+package com.fsryan.forsuredb.api;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.mockito.Mockito.when;
+
+public class FinderEpochMillisTest extends FinderTest {
+
+    private static final Date date = new Date(1500000000000L);
+
+    private Finder finderUnderTest;
+
+    @Before
+    public void setUpFinder() {
+        when(mockResolver.tableName()).thenReturn("table");
+        finderUnderTest = new Finder(mockResolver) {
+            {
+                storesEpochMillis("epoch_column");
+            }
+        };
+    }
+
+    @Test
+    public void shouldBindDateOfEpochMillisColumnAsLong() {
+        finderUnderTest.addToBuf("epoch_column", Finder.OP_GT, date);
+
+        assertArrayEquals(new Object[] {date.getTime()}, finderUnderTest.selection().replacements());
+    }
+
+    @Test
+    public void shouldBindDatesOfEpochMillisColumnInListAsLongs() {
+        finderUnderTest.addInToBuf("epoch_column", Arrays.asList(date, new Date(date.getTime() + 1)));
+
+        assertArrayEquals(new Object[] {date.getTime(), date.getTime() + 1}, finderUnderTest.selection().replacements());
+    }
+
+    @Test
+    public void shouldBindUpperBoundOfEpochMillisColumnBetweenAsLong() {
+        finderUnderTest.addToBuf("epoch_column", Finder.OP_GE, date);
+        finderUnderTest.createBetween(Date.class, "epoch_column").and(new Date(date.getTime() + 1));
+
+        assertArrayEquals(new Object[] {date.getTime(), date.getTime() + 1}, finderUnderTest.selection().replacements());
+    }
+
+    @Test
+    public void shouldBindDateOfOtherColumnAsFormattedText() {
+        finderUnderTest.addToBuf("date_column", Finder.OP_GT, date);
+
+        assertArrayEquals(new Object[] {Finder.toReplacement(date)}, finderUnderTest.selection().replacements());
+    }
+}
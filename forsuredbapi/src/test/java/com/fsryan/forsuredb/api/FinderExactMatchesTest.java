@@ -0,0 +1,100 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.when;
+
+public class FinderExactMatchesTest extends FinderTest {
+
+    private Finder finderUnderTest;
+
+    @Before
+    public void setUpFinder() {
+        when(mockResolver.tableName()).thenReturn("table");
+        finderUnderTest = new Finder(mockResolver) {
+            {
+                storesOrderPreserving("amount");
+            }
+        };
+    }
+
+    @Test
+    public void shouldHaveExactMatchesOfEqualityCriteriaJoinedByAnd() {
+        finderUnderTest.addToBuf("key1", Finder.OP_EQ, "a");
+        finderUnderTest.conjunction.and();
+        finderUnderTest.addToBuf("amount", Finder.OP_EQ, BigDecimal.TEN);
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("key1", "a");
+        expected.put("amount", OrderPreservingEncoding.encode(BigDecimal.TEN));
+        assertEquals(expected, exactMatches());
+    }
+
+    @Test
+    public void shouldHaveNoExactMatchesWithoutCriteria() {
+        assertNull(exactMatches());
+    }
+
+    @Test
+    public void shouldHaveNoExactMatchesWhenCriteriaJoinedByOr() {
+        finderUnderTest.addToBuf("key1", Finder.OP_EQ, "a");
+        finderUnderTest.conjunction.or();
+        finderUnderTest.addToBuf("key2", Finder.OP_EQ, "b");
+
+        assertNull(exactMatches());
+    }
+
+    @Test
+    public void shouldHaveNoExactMatchesWhenAnyCriterionNotEquality() {
+        finderUnderTest.addToBuf("key1", Finder.OP_EQ, "a");
+        finderUnderTest.conjunction.and();
+        finderUnderTest.addToBuf("key2", Finder.OP_GT, 1L);
+
+        assertNull(exactMatches());
+    }
+
+    @Test
+    public void shouldHaveNoExactMatchesWhenColumnMatchedTwice() {
+        finderUnderTest.addToBuf("key1", Finder.OP_EQ, "a");
+        finderUnderTest.conjunction.and();
+        finderUnderTest.addToBuf("key1", Finder.OP_EQ, "b");
+
+        assertNull(exactMatches());
+    }
+
+    @Test
+    public void shouldHaveNoExactMatchesWithInList() {
+        finderUnderTest.addInToBuf("key1", Arrays.asList("a", "b"));
+
+        assertNull(exactMatches());
+    }
+
+    private Map<String, Object> exactMatches() {
+        return ((FSExactMatchSelection) finderUnderTest.selection()).exactMatches();
+    }
+}
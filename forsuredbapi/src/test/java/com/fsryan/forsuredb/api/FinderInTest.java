@@ -0,0 +1,109 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+
+public class FinderInTest extends FinderTest {
+
+    private Finder finderUnderTest;
+
+    @Before
+    public void setUpFinder() {
+        when(mockResolver.tableName()).thenReturn("table");
+        finderUnderTest = new Finder(mockResolver) {};
+    }
+
+    @Test
+    public void shouldBindEachDistinctValueOnce() {
+        finderUnderTest.byId(1L, 2L, 1L, 3L);
+
+        FSSelection selection = finderUnderTest.selection();
+
+        assertEquals("table__id IN [?, ?, ?]", selection.where());
+        assertArrayEquals(new Object[] {1L, 2L, 3L}, selection.replacements());
+    }
+
+    @Test
+    public void shouldBindLargeSetsToSingleListParameter() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= Finder.MAX_BOUND_IN_VALUES + 1; id++) {
+            ids.add(id);
+        }
+
+        finderUnderTest.byIdIn(ids);
+
+        FSSelection selection = finderUnderTest.selection();
+
+        assertEquals("table__id IN LIST ?", selection.where());
+        assertArrayEquals(new Object[] {ids.toString().replace(" ", "")}, selection.replacements());
+    }
+
+    @Test
+    public void shouldEscapeStringsOfLargeSetsBoundToListParameter() {
+        List<String> classNames = new ArrayList<>();
+        for (int i = 0; i < Finder.MAX_BOUND_IN_VALUES; i++) {
+            classNames.add("class" + i);
+        }
+        classNames.add("quote\"back\\slash\n");
+
+        finderUnderTest.addInToBuf("class_name", classNames);
+
+        String list = (String) finderUnderTest.selection().replacements()[0];
+        assertEquals(1, finderUnderTest.selection().replacements().length);
+        assertEquals("[\"class0\",", list.substring(0, 10));
+        assertEquals(",\"quote\\\"back\\\\slash\\u000a\"]", list.substring(list.lastIndexOf(',')));
+    }
+
+    @Test
+    public void shouldBindEachValueOfLargeSetsThatCannotBeListed() {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < Finder.MAX_BOUND_IN_VALUES; i++) {
+            values.add((double) i);
+        }
+        values.add(Double.NaN);
+
+        finderUnderTest.addInToBuf("number", values);
+
+        assertEquals(values.size(), finderUnderTest.selection().replacements().length);
+    }
+
+    @Test
+    public void shouldMatchNothingWhenCollectionEmpty() {
+        finderUnderTest.byIdIn(Collections.<Long>emptyList());
+
+        assertEquals("table__id IN []", finderUnderTest.selection().where());
+    }
+
+    @Test
+    public void shouldNotAddCriteriaWhenEveryValueIgnored() {
+        finderUnderTest.addInToBuf("name", Arrays.asList("", null));
+
+        assertEquals("", finderUnderTest.selection().where());
+    }
+}
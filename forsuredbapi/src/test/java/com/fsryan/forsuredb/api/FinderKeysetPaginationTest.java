@@ -0,0 +1,105 @@
+package com.fsryan.forsuredb.api;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FinderKeysetPaginationTest extends FinderTest {
+
+    private static final List<FSOrdering> keysetOrderings = Arrays.asList(
+            new FSOrdering("table", "name", OrderBy.ORDER_ASC),
+            new FSOrdering("table", "_id", OrderBy.ORDER_ASC)
+    );
+    private static final PageToken token = new PageToken(
+            Arrays.asList("table.name ASC", "table._id ASC"),
+            Arrays.asList("bob", "42")
+    );
+
+    @Test
+    public void shouldNotBeKeysetPagingByDefault() {
+        assertFalse(new Finder(mockResolver) {}.isKeysetPaging());
+    }
+
+    @Test
+    public void shouldBeKeysetPagingWithoutRestrictingSelectionWhenTokenNull() {
+        Finder finder = new Finder(mockResolver) {}.after(null).first(20);
+
+        FSSelection selection = finder.keysetSelection(keysetOrderings);
+
+        assertTrue(finder.isKeysetPaging());
+        assertArrayEquals(new Object[0], selection.replacements());
+        assertEquals(20, selection.limits().count());
+    }
+
+    @Test
+    public void shouldBindLeadingRangeThenEachSeekTermInOrder() {
+        Finder finder = new Finder(mockResolver) {}.after(token).first(20);
+
+        FSSelection selection = finder.keysetSelection(keysetOrderings);
+
+        // name >= bob AND ((name > bob) OR (name = bob AND _id > 42))
+        assertArrayEquals(new Object[] {"bob", "bob", "bob", "42"}, selection.replacements());
+        assertEquals(0, selection.limits().offset());
+    }
+
+    @Test
+    public void shouldBindSeekTermsAfterExistingCriteria() {
+        Finder finder = new Finder(mockResolver) {};
+        finder.addToBuf("deleted", Finder.OP_EQ, 0);
+        finder.before(token).last(20);
+
+        FSSelection selection = finder.keysetSelection(keysetOrderings);
+
+        assertArrayEquals(new Object[] {0, "bob", "bob", "bob", "42"}, selection.replacements());
+        assertTrue(selection.limits().isBottom());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldThrowWhenTokenCreatedForDifferentOrdering() {
+        Finder finder = new Finder(mockResolver) {}.after(token);
+        finder.keysetSelection(Arrays.asList(new FSOrdering("table", "_id", OrderBy.ORDER_DESC)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldThrowWhenPagingBothBeforeAndAfter() {
+        new Finder(mockResolver) {}.after(token).before(token);
+    }
+
+    @Test
+    public void shouldCarryKeysetPagingOfIncorporatedFinder() {
+        Finder parent = new Finder(mockResolver) {};
+        parent.incorporate(new Finder(mockResolver) {}.before(token));
+
+        assertTrue(parent.isKeysetPaging());
+        assertEquals(4, parent.keysetSelection(keysetOrderings).replacements().length);
+    }
+
+    @Test
+    public void shouldBindExactRealValueWhenPagingAfterRowOrderedByReal() {
+        final double rating = 0.1 + 0.2;    // 0.30000000000000004
+        final List<FSOrdering> realOrderings = Arrays.asList(
+                new FSOrdering("table", "rating", OrderBy.ORDER_ASC),
+                new FSOrdering("table", "_id", OrderBy.ORDER_ASC)
+        );
+        Retriever mockRetriever = mock(Retriever.class);
+        when(mockRetriever.columnIndex(eq("table_rating"))).thenReturn(1);
+        when(mockRetriever.columnIndex(eq("table__id"))).thenReturn(2);
+        when(mockRetriever.getObject(eq(1))).thenReturn(rating);
+        when(mockRetriever.getObject(eq(2))).thenReturn(7L);
+        PageToken token = PageToken.decode(PageToken.from(mockRetriever, realOrderings).encode());
+
+        FSSelection selection = new Finder(mockResolver) {}.after(token).keysetSelection(realOrderings);
+
+        // binding 0.3 instead would match the row at the page boundary again
+        assertArrayEquals(new Object[] {rating, rating, rating, 7L}, selection.replacements());
+    }
+}
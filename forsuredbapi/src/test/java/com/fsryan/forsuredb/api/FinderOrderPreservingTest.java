@@ -0,0 +1,82 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.mockito.Mockito.when;
+
+public class FinderOrderPreservingTest extends FinderTest {
+
+    private static final BigDecimal decimal = new BigDecimal("-12.50");
+    private static final BigInteger integer = new BigInteger("-1250");
+
+    private Finder finderUnderTest;
+
+    @Before
+    public void setUpFinder() {
+        when(mockResolver.tableName()).thenReturn("table");
+        finderUnderTest = new Finder(mockResolver) {
+            {
+                storesOrderPreserving("decimal_column", "integer_column");
+            }
+        };
+    }
+
+    @Test
+    public void shouldBindBigDecimalOfOrderPreservingColumnEncoded() {
+        finderUnderTest.addToBuf("decimal_column", Finder.OP_GT, decimal);
+
+        assertArrayEquals(new Object[] {OrderPreservingEncoding.encode(decimal)}, finderUnderTest.selection().replacements());
+    }
+
+    @Test
+    public void shouldBindBigIntegerOfOrderPreservingColumnEncoded() {
+        finderUnderTest.addToBuf("integer_column", Finder.OP_LE, integer);
+
+        assertArrayEquals(new Object[] {OrderPreservingEncoding.encode(integer)}, finderUnderTest.selection().replacements());
+    }
+
+    @Test
+    public void shouldBindNumericallyEqualValuesOfOrderPreservingColumnInListOnce() {
+        finderUnderTest.addInToBuf("decimal_column", Arrays.asList(decimal, new BigDecimal("-12.5"), BigDecimal.ONE));
+
+        assertArrayEquals(new Object[] {OrderPreservingEncoding.encode(decimal), OrderPreservingEncoding.encode(BigDecimal.ONE)}, finderUnderTest.selection().replacements());
+    }
+
+    @Test
+    public void shouldBindUpperBoundOfOrderPreservingColumnBetweenEncoded() {
+        finderUnderTest.addToBuf("decimal_column", Finder.OP_GE, decimal);
+        finderUnderTest.createBetween(BigDecimal.class, "decimal_column").and(BigDecimal.TEN);
+
+        assertArrayEquals(new Object[] {OrderPreservingEncoding.encode(decimal), OrderPreservingEncoding.encode(BigDecimal.TEN)}, finderUnderTest.selection().replacements());
+    }
+
+    @Test
+    public void shouldBindBigDecimalOfOtherColumnAsPlainText() {
+        finderUnderTest.addToBuf("other_column", Finder.OP_EQ, decimal);
+
+        assertArrayEquals(new Object[] {"-12.50"}, finderUnderTest.selection().replacements());
+    }
+}
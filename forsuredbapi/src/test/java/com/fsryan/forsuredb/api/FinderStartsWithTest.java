@@ -0,0 +1,74 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.when;
+
+public class FinderStartsWithTest extends FinderTest {
+
+    private Finder finderUnderTest;
+
+    @Before
+    public void setUpFinder() {
+        when(mockResolver.tableName()).thenReturn("table");
+        finderUnderTest = new Finder(mockResolver) {};
+    }
+
+    @Test
+    public void shouldBindPrefixAndUpperBoundOfRange() {
+        finderUnderTest.addToBuf("name", Finder.OP_STARTS_WITH, "abc");
+
+        FSSelection selection = finderUnderTest.selection();
+
+        assertEquals("(table_name >= ? AND table_name < ?)", selection.where());
+        assertArrayEquals(new Object[] {"abc", "abd"}, selection.replacements());
+    }
+
+    @Test
+    public void shouldNotAddCriteriaForEmptyPrefix() {
+        finderUnderTest.addToBuf("name", Finder.OP_STARTS_WITH, "");
+
+        assertEquals("", finderUnderTest.selection().where());
+    }
+
+    @Test
+    public void shouldIncrementLastCodePointOfPrefix() {
+        assertEquals("ab\uD83D\uDE01", Finder.prefixUpperBound("ab\uD83D\uDE00"));
+    }
+
+    @Test
+    public void shouldIncrementPastSurrogateRange() {
+        assertEquals("a\uE000", Finder.prefixUpperBound("a\uD7FF"));
+    }
+
+    @Test
+    public void shouldDropTrailingMaxCodePoints() {
+        assertEquals("b", Finder.prefixUpperBound("a\uDBFF\uDFFF"));
+    }
+
+    @Test
+    public void shouldHaveNoUpperBoundWhenEveryCodePointIsMax() {
+        assertNull(Finder.prefixUpperBound("\uDBFF\uDFFF"));
+    }
+}
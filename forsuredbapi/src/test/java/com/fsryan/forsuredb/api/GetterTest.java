@@ -6,13 +6,17 @@ import org.junit.Test;
 import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Date;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
@@ -20,6 +24,7 @@ import static org.mockito.Mockito.*;
 public abstract class GetterTest<T extends BaseGetter> {
 
     private static final Date testDate = new Date();
+    private static final int columnIndex = 3;
 
     protected final String tableName = "table_name";  // TODO: make this variable
 
@@ -32,6 +37,13 @@ public abstract class GetterTest<T extends BaseGetter> {
         MockitoAnnotations.initMocks(this);
 
         when(mockDBMSIntegrator.parseDate(anyString())).thenReturn(testDate);
+        // labels of the columns known to the Getter are disambiguated when it is created
+        when(mockDBMSIntegrator.unambiguousRetrievalColumn(anyString(), anyString())).thenAnswer(new Answer<String>() {
+            @Override
+            public String answer(InvocationOnMock invocation) {
+                return invocation.getArguments()[0] + "_" + invocation.getArguments()[1];
+            }
+        });
         getterUnderTest = createGetterToTest();
     }
 
@@ -57,12 +69,14 @@ public abstract class GetterTest<T extends BaseGetter> {
         public void shouldCallRetrieverGetStringMethodWhenGettingCreatedDate() {
             final String unambiguousColumn = tableName + "_created";
             when(mockDBMSIntegrator.unambiguousRetrievalColumn(eq(tableName), eq("created"))).thenReturn(unambiguousColumn);
-            when(mockRetriever.getString(eq(unambiguousColumn))).thenReturn(testDate.toString());
+            when(mockRetriever.columnIndex(eq(unambiguousColumn))).thenReturn(columnIndex);
+            when(mockRetriever.getString(eq(columnIndex))).thenReturn(testDate.toString());
 
             Date actual = getterUnderTest.created(mockRetriever);
 
             inOrder.verify(mockDBMSIntegrator).unambiguousRetrievalColumn(eq(tableName), eq("created"));
-            inOrder.verify(mockRetriever).getString(eq(unambiguousColumn));
+            inOrder.verify(mockRetriever).columnIndex(eq(unambiguousColumn));
+            inOrder.verify(mockRetriever).getString(eq(columnIndex));
             inOrder.verify(mockDBMSIntegrator).parseDate(eq(testDate.toString()));
             assertEquals(testDate, actual);
         }
@@ -71,12 +85,14 @@ public abstract class GetterTest<T extends BaseGetter> {
         public void shouldCallRetrieverGetStringMethodWhenGettingModifiedDate() {
             final String unambiguousColumn = tableName + "_modified";
             when(mockDBMSIntegrator.unambiguousRetrievalColumn(eq(tableName), eq("modified"))).thenReturn(unambiguousColumn);
-            when(mockRetriever.getString(eq(unambiguousColumn))).thenReturn(testDate.toString());
+            when(mockRetriever.columnIndex(eq(unambiguousColumn))).thenReturn(columnIndex);
+            when(mockRetriever.getString(eq(columnIndex))).thenReturn(testDate.toString());
 
             Date actual = getterUnderTest.modified(mockRetriever);
 
             inOrder.verify(mockDBMSIntegrator).unambiguousRetrievalColumn(eq(tableName), eq("modified"));
-            inOrder.verify(mockRetriever).getString(eq(unambiguousColumn));
+            inOrder.verify(mockRetriever).columnIndex(eq(unambiguousColumn));
+            inOrder.verify(mockRetriever).getString(eq(columnIndex));
             inOrder.verify(mockDBMSIntegrator).parseDate(eq(testDate.toString()));
             assertEquals(testDate, actual);
         }
@@ -86,12 +102,14 @@ public abstract class GetterTest<T extends BaseGetter> {
             final String unambiguousColumn = tableName + "__id";
             final long expected = 4738446L;
             when(mockDBMSIntegrator.unambiguousRetrievalColumn(eq(tableName), eq("_id"))).thenReturn(unambiguousColumn);
-            when(mockRetriever.getLong(eq(unambiguousColumn))).thenReturn(expected);
+            when(mockRetriever.columnIndex(eq(unambiguousColumn))).thenReturn(columnIndex);
+            when(mockRetriever.getLong(eq(columnIndex))).thenReturn(expected);
 
             long actual = getterUnderTest.id(mockRetriever);
 
             inOrder.verify(mockDBMSIntegrator).unambiguousRetrievalColumn(eq(tableName), eq("_id"));
-            inOrder.verify(mockRetriever).getLong(unambiguousColumn);
+            inOrder.verify(mockRetriever).columnIndex(eq(unambiguousColumn));
+            inOrder.verify(mockRetriever).getLong(eq(columnIndex));
             assertEquals(expected, actual);
         }
 
@@ -99,12 +117,14 @@ public abstract class GetterTest<T extends BaseGetter> {
         public void shouldCallRetrieverGetIntMethodWhenGettingDeletedValue() {
             final String unambiguousColumn = tableName + "_deleted";
             when(mockDBMSIntegrator.unambiguousRetrievalColumn(eq(tableName), eq("deleted"))).thenReturn(unambiguousColumn);
-            when(mockRetriever.getInt(eq(unambiguousColumn))).thenReturn(1);
+            when(mockRetriever.columnIndex(eq(unambiguousColumn))).thenReturn(columnIndex);
+            when(mockRetriever.getInt(eq(columnIndex))).thenReturn(1);
 
             boolean actual = getterUnderTest.deleted(mockRetriever);
 
             inOrder.verify(mockDBMSIntegrator).unambiguousRetrievalColumn(eq(tableName), eq("deleted"));
-            inOrder.verify(mockRetriever).getInt(eq(unambiguousColumn));
+            inOrder.verify(mockRetriever).columnIndex(eq(unambiguousColumn));
+            inOrder.verify(mockRetriever).getInt(eq(columnIndex));
             assertTrue(actual);
         }
 
@@ -113,12 +133,14 @@ public abstract class GetterTest<T extends BaseGetter> {
             final String expected = "expected";
             final String unambiguousColumn = tableName + "_some_string_column";
             when(mockDBMSIntegrator.unambiguousRetrievalColumn(eq(tableName), eq("some_string_column"))).thenReturn(unambiguousColumn);
-            when(mockRetriever.getString(eq(unambiguousColumn))).thenReturn(expected);
+            when(mockRetriever.columnIndex(eq(unambiguousColumn))).thenReturn(columnIndex);
+            when(mockRetriever.getString(eq(columnIndex))).thenReturn(expected);
 
             String actual = getterUnderTest.retrieveString(mockRetriever, "some_string_column");
 
             inOrder.verify(mockDBMSIntegrator).unambiguousRetrievalColumn(eq(tableName), eq("some_string_column"));
-            inOrder.verify(mockRetriever).getString(eq(unambiguousColumn));
+            inOrder.verify(mockRetriever).columnIndex(eq(unambiguousColumn));
+            inOrder.verify(mockRetriever).getString(eq(columnIndex));
             assertEquals(expected, actual);
         }
 
@@ -127,12 +149,14 @@ public abstract class GetterTest<T extends BaseGetter> {
             final BigInteger expected = new BigInteger("2974756327356");
             final String unambiguousColumn = tableName + "_some_big_integer_column";
             when(mockDBMSIntegrator.unambiguousRetrievalColumn(eq(tableName), eq("some_big_integer_column"))).thenReturn(unambiguousColumn);
-            when(mockRetriever.getString(eq(unambiguousColumn))).thenReturn(expected.toString());
+            when(mockRetriever.columnIndex(eq(unambiguousColumn))).thenReturn(columnIndex);
+            when(mockRetriever.getString(eq(columnIndex))).thenReturn(expected.toString());
 
             BigInteger actual = getterUnderTest.parseBigIntegerColumn(mockRetriever, "some_big_integer_column");
 
             inOrder.verify(mockDBMSIntegrator).unambiguousRetrievalColumn(eq(tableName), eq("some_big_integer_column"));
-            inOrder.verify(mockRetriever).getString(eq(unambiguousColumn));
+            inOrder.verify(mockRetriever).columnIndex(eq(unambiguousColumn));
+            inOrder.verify(mockRetriever).getString(eq(columnIndex));
             assertEquals(expected, actual);
         }
 
@@ -141,14 +165,120 @@ public abstract class GetterTest<T extends BaseGetter> {
             final BigDecimal expected = new BigDecimal("2973464564.7563273567857856");
             final String unambiguousColumn = tableName + "_some_big_decimal_column";
             when(mockDBMSIntegrator.unambiguousRetrievalColumn(eq(tableName), eq("some_big_decimal_column"))).thenReturn(unambiguousColumn);
-            when(mockRetriever.getString(eq(unambiguousColumn))).thenReturn(expected.toString());
+            when(mockRetriever.columnIndex(eq(unambiguousColumn))).thenReturn(columnIndex);
+            when(mockRetriever.getString(eq(columnIndex))).thenReturn(expected.toString());
 
             BigDecimal actual = getterUnderTest.parseBigDecimalColumn(mockRetriever, "some_big_decimal_column");
 
             inOrder.verify(mockDBMSIntegrator).unambiguousRetrievalColumn(eq(tableName), eq("some_big_decimal_column"));
-            inOrder.verify(mockRetriever).getString(eq(unambiguousColumn));
+            inOrder.verify(mockRetriever).columnIndex(eq(unambiguousColumn));
+            inOrder.verify(mockRetriever).getString(eq(columnIndex));
             assertEquals(expected, actual);
         }
+
+        @Test
+        public void shouldCallRetrieverGetLongMethodWithoutParsingWhenGettingEpochMillisValue() {
+            final String unambiguousColumn = tableName + "_some_date_column";
+            when(mockDBMSIntegrator.unambiguousRetrievalColumn(eq(tableName), eq("some_date_column"))).thenReturn(unambiguousColumn);
+            when(mockRetriever.columnIndex(eq(unambiguousColumn))).thenReturn(columnIndex);
+            when(mockRetriever.getLong(eq(columnIndex))).thenReturn(testDate.getTime());
+
+            Date actual = getterUnderTest.parseEpochMillisColumn(mockRetriever, "some_date_column");
+
+            inOrder.verify(mockRetriever).getLong(eq(columnIndex));
+            verify(mockRetriever, never()).getString(anyInt());
+            verify(mockDBMSIntegrator, never()).parseDate(anyString());
+            assertEquals(testDate, actual);
+        }
+
+        @Test
+        public void shouldReturnNullWhenEpochMillisValueIsNull() {
+            final String unambiguousColumn = tableName + "_some_date_column";
+            when(mockDBMSIntegrator.unambiguousRetrievalColumn(eq(tableName), eq("some_date_column"))).thenReturn(unambiguousColumn);
+            when(mockRetriever.columnIndex(eq(unambiguousColumn))).thenReturn(columnIndex);
+            when(mockRetriever.getLong(eq(columnIndex))).thenReturn(0L);
+            when(mockRetriever.getString(eq(columnIndex))).thenReturn(null);
+
+            assertNull(getterUnderTest.parseEpochMillisColumn(mockRetriever, "some_date_column"));
+        }
+
+        @Test
+        public void shouldDecodeOrderPreservingBigDecimalValue() {
+            final BigDecimal expected = new BigDecimal("-2973464564.7563273567857856");
+            final String unambiguousColumn = tableName + "_some_big_decimal_column";
+            when(mockDBMSIntegrator.unambiguousRetrievalColumn(eq(tableName), eq("some_big_decimal_column"))).thenReturn(unambiguousColumn);
+            when(mockRetriever.columnIndex(eq(unambiguousColumn))).thenReturn(columnIndex);
+            when(mockRetriever.getString(eq(columnIndex))).thenReturn(OrderPreservingEncoding.encode(expected));
+
+            BigDecimal actual = getterUnderTest.parseOrderPreservingBigDecimalColumn(mockRetriever, "some_big_decimal_column");
+
+            inOrder.verify(mockRetriever).getString(eq(columnIndex));
+            assertEquals(expected, actual);
+        }
+
+        @Test
+        public void shouldDecodeOrderPreservingBigIntegerValue() {
+            final BigInteger expected = new BigInteger("2974756327356");
+            final String unambiguousColumn = tableName + "_some_big_integer_column";
+            when(mockDBMSIntegrator.unambiguousRetrievalColumn(eq(tableName), eq("some_big_integer_column"))).thenReturn(unambiguousColumn);
+            when(mockRetriever.columnIndex(eq(unambiguousColumn))).thenReturn(columnIndex);
+            when(mockRetriever.getString(eq(columnIndex))).thenReturn(OrderPreservingEncoding.encode(expected));
+
+            BigInteger actual = getterUnderTest.parseOrderPreservingBigIntegerColumn(mockRetriever, "some_big_integer_column");
+
+            inOrder.verify(mockRetriever).getString(eq(columnIndex));
+            assertEquals(expected, actual);
+        }
+    }
+
+    public static class BaseGetterColumnLabels extends BaseGetterTest {
+
+        private final String unambiguousColumn = tableName + "_some_string_column";
+
+        @Override
+        protected BaseGetter createGetterToTest() {
+            return new BaseGetter(mockDBMSIntegrator, tableName, "some_string_column") {};
+        }
+
+        @Before
+        public void stubColumnIndex() {
+            when(mockRetriever.columnIndex(eq(unambiguousColumn))).thenReturn(columnIndex);
+        }
+
+        @Test
+        public void shouldDisambiguateLabelsOfKnownColumnsOnlyWhenCreated() {
+            getterUnderTest.retrieveString(mockRetriever, "some_string_column");
+            getterUnderTest.retrieveString(mockRetriever, "some_string_column");
+            getterUnderTest.id(mockRetriever);
+
+            verify(mockDBMSIntegrator, times(1)).unambiguousRetrievalColumn(eq(tableName), eq("some_string_column"));
+            verify(mockDBMSIntegrator, times(1)).unambiguousRetrievalColumn(eq(tableName), eq("_id"));
+            verify(mockRetriever, times(2)).columnIndex(eq(unambiguousColumn));
+            verify(mockRetriever, times(2)).getString(eq(columnIndex));
+        }
+
+        @Test
+        public void shouldDisambiguateLabelOfUnknownColumnOnEachRead() {
+            when(mockRetriever.columnIndex(eq(tableName + "_other_column"))).thenReturn(columnIndex + 1);
+
+            getterUnderTest.retrieveString(mockRetriever, "other_column");
+            getterUnderTest.retrieveString(mockRetriever, "other_column");
+
+            verify(mockDBMSIntegrator, times(2)).unambiguousRetrievalColumn(eq(tableName), eq("other_column"));
+            verify(mockRetriever, times(2)).getString(eq(columnIndex + 1));
+        }
+
+        @Test
+        public void shouldResolveColumnIndexOfEachRetrieverFromItself() {
+            Retriever otherRetriever = mock(Retriever.class);
+            when(otherRetriever.columnIndex(eq(unambiguousColumn))).thenReturn(columnIndex + 1);
+
+            getterUnderTest.retrieveString(mockRetriever, "some_string_column");
+            getterUnderTest.retrieveString(otherRetriever, "some_string_column");
+
+            verify(mockRetriever).getString(eq(columnIndex));
+            verify(otherRetriever).getString(eq(columnIndex + 1));
+        }
     }
 
     public static class BaseGetterErrorCaseTests extends BaseGetterTest {
@@ -201,14 +331,16 @@ public abstract class GetterTest<T extends BaseGetter> {
         @Test(expected = IllegalArgumentException.class)
         public void shouldThrowWhenNFEInParsingBigDecimal() {
             when(mockDBMSIntegrator.unambiguousRetrievalColumn(anyString(), eq("col"))).thenReturn("col");
-            when(mockRetriever.getString(eq("col"))).thenReturn("Not a BigDecimal");
+            when(mockRetriever.columnIndex(eq("col"))).thenReturn(columnIndex);
+            when(mockRetriever.getString(eq(columnIndex))).thenReturn("Not a BigDecimal");
             getterUnderTest.parseBigDecimalColumn(mockRetriever, "col");
         }
 
         @Test(expected = IllegalArgumentException.class)
         public void shouldThrowWhenNFEInParsingBigInteger() {
             when(mockDBMSIntegrator.unambiguousRetrievalColumn(anyString(), eq("col"))).thenReturn("col");
-            when(mockRetriever.getString(eq("col"))).thenReturn("Not a BigInteger");
+            when(mockRetriever.columnIndex(eq("col"))).thenReturn(columnIndex);
+            when(mockRetriever.getString(eq(columnIndex))).thenReturn("Not a BigInteger");
             getterUnderTest.parseBigIntegerColumn(mockRetriever, "col");
         }
     }
@@ -0,0 +1,143 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class OrderPreservingEncodingTest {
+
+    private static final List<BigDecimal> ascendingValues = Arrays.asList(
+            new BigDecimal("-1E+1000"),
+            new BigDecimal("-12345678901234567890"),
+            new BigDecimal("-1000"),
+            new BigDecimal("-100"),
+            new BigDecimal("-99.99"),
+            new BigDecimal("-10"),
+            new BigDecimal("-1.5"),
+            new BigDecimal("-1.25"),
+            new BigDecimal("-1.2"),
+            new BigDecimal("-1"),
+            new BigDecimal("-0.123"),
+            new BigDecimal("-0.12"),
+            new BigDecimal("-0.05"),
+            new BigDecimal("-1E-1000"),
+            BigDecimal.ZERO,
+            new BigDecimal("1E-1000"),
+            new BigDecimal("0.05"),
+            new BigDecimal("0.12"),
+            new BigDecimal("0.123"),
+            new BigDecimal("1"),
+            new BigDecimal("1.2"),
+            new BigDecimal("1.25"),
+            new BigDecimal("1.5"),
+            new BigDecimal("10"),
+            new BigDecimal("99.99"),
+            new BigDecimal("100"),
+            new BigDecimal("1000"),
+            new BigDecimal("12345678901234567890"),
+            new BigDecimal("1E+1000")
+    );
+
+    @Test
+    public void shouldEncodeSoThatTextOrderIsNumericOrder() {
+        List<String> encoded = new ArrayList<>();
+        for (BigDecimal value : ascendingValues) {
+            encoded.add(OrderPreservingEncoding.encode(value));
+        }
+
+        List<String> sorted = new ArrayList<>(encoded);
+        Collections.shuffle(sorted);
+        Collections.sort(sorted);
+
+        assertEquals(encoded, sorted);
+    }
+
+    @Test
+    public void shouldDecodeEncodedValues() {
+        for (BigDecimal value : ascendingValues) {
+            assertEquals(0, value.compareTo(OrderPreservingEncoding.decodeBigDecimal(OrderPreservingEncoding.encode(value))));
+        }
+    }
+
+    @Test
+    public void shouldEncodeDocumentedExamples() {
+        assertEquals("2P0115", OrderPreservingEncoding.encode(new BigDecimal("1.5")));
+        assertEquals("2N985", OrderPreservingEncoding.encode(new BigDecimal("0.05")));
+        assertEquals("0N9884~", OrderPreservingEncoding.encode(new BigDecimal("-1.5")));
+        assertEquals("1", OrderPreservingEncoding.encode(new BigDecimal("0.000")));
+    }
+
+    @Test
+    public void shouldEncodeNumericallyEqualValuesTheSame() {
+        assertEquals(OrderPreservingEncoding.encode(new BigDecimal("1.5")), OrderPreservingEncoding.encode(new BigDecimal("1.500")));
+        assertEquals(OrderPreservingEncoding.encode(new BigInteger("100")), OrderPreservingEncoding.encode(new BigDecimal("1E+2")));
+    }
+
+    @Test
+    public void shouldDecodeWithSmallestNonNegativeScale() {
+        assertEquals(new BigDecimal("100"), OrderPreservingEncoding.decodeBigDecimal(OrderPreservingEncoding.encode(new BigDecimal("1E+2"))));
+        assertEquals(new BigDecimal("-12.5"), OrderPreservingEncoding.decodeBigDecimal(OrderPreservingEncoding.encode(new BigDecimal("-12.50"))));
+    }
+
+    @Test
+    public void shouldDecodeBigInteger() {
+        final BigInteger expected = new BigInteger("-98765432109876543210");
+        assertEquals(expected, OrderPreservingEncoding.decodeBigInteger(OrderPreservingEncoding.encode(expected)));
+    }
+
+    @Test
+    public void shouldPassNullThrough() {
+        assertNull(OrderPreservingEncoding.encode((BigDecimal) null));
+        assertNull(OrderPreservingEncoding.encode((BigInteger) null));
+        assertNull(OrderPreservingEncoding.decodeBigDecimal(null));
+        assertNull(OrderPreservingEncoding.decodeBigInteger(null));
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenDecodingBigIntegerOfFraction() {
+        try {
+            OrderPreservingEncoding.decodeBigInteger(OrderPreservingEncoding.encode(new BigDecimal("1.5")));
+            fail("Should have thrown IllegalArgumentException");
+        } catch (IllegalArgumentException iae) {
+            // expected
+        }
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenDecodingPlainText() {
+        for (String notEncoded : Arrays.asList("", "12.5", "-1", "2P01", "2P01-5", "0N9884", "2X0115")) {
+            try {
+                OrderPreservingEncoding.decodeBigDecimal(notEncoded);
+                fail("Should have thrown IllegalArgumentException when decoding '" + notEncoded + "'");
+            } catch (IllegalArgumentException iae) {
+                // expected
+            }
+        }
+    }
+}
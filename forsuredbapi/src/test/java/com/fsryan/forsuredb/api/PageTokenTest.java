@@ -0,0 +1,136 @@
+package com.fsryan.forsuredb.api;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.when;
+
+public class PageTokenTest {
+
+    private static final List<FSOrdering> keysetOrderings = Arrays.asList(
+            new FSOrdering("table", "name", OrderBy.ORDER_DESC),
+            new FSOrdering("table", "_id", OrderBy.ORDER_ASC)
+    );
+
+    @Mock
+    private Retriever mockRetriever;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        // DummyDbmsIntegrator disambiguates retrieval columns with table_column
+        when(mockRetriever.columnIndex(eq("table_name"))).thenReturn(1);
+        when(mockRetriever.columnIndex(eq("table__id"))).thenReturn(2);
+    }
+
+    @Test
+    public void shouldReadOrderingColumnsOfCurrentRowWithTheirTypes() {
+        when(mockRetriever.getObject(eq(1))).thenReturn("bob");
+        when(mockRetriever.getObject(eq(2))).thenReturn(42);
+
+        PageToken token = PageToken.from(mockRetriever, keysetOrderings);
+
+        assertEquals(Arrays.<Object>asList("bob", 42L), token.valuesFor(keysetOrderings));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowWhenOrderingColumnNull() {
+        when(mockRetriever.getObject(eq(2))).thenReturn(42L);
+        PageToken.from(mockRetriever, keysetOrderings);
+    }
+
+    @Test
+    public void shouldDecodeRealValueExactly() {
+        final double value = 0.1 + 0.2;
+        PageToken token = new PageToken(Arrays.asList("table.name DESC", "table._id ASC"), Arrays.<Object>asList(value, 42L));
+
+        List<Object> decodedValues = PageToken.decode(token.encode()).valuesFor(keysetOrderings);
+
+        assertEquals(Arrays.<Object>asList(value, 42L), decodedValues);
+    }
+
+    @Test
+    public void shouldDecodeValuesToTheirTypes() {
+        PageToken token = new PageToken(
+                Arrays.asList("table.a ASC", "table.b ASC", "table.c ASC", "table.d ASC"),
+                Arrays.<Object>asList("42", 42L, 42D, new byte[] {4, 2})
+        );
+
+        PageToken decoded = PageToken.decode(token.encode());
+
+        assertEquals(token, decoded);
+        assertEquals(String.class, decoded.valuesFor(orderingsOf("a", "b", "c", "d")).get(0).getClass());
+        assertEquals(Long.class, decoded.valuesFor(orderingsOf("a", "b", "c", "d")).get(1).getClass());
+        assertEquals(Double.class, decoded.valuesFor(orderingsOf("a", "b", "c", "d")).get(2).getClass());
+        assertArrayEquals(new byte[] {4, 2}, (byte[]) decoded.valuesFor(orderingsOf("a", "b", "c", "d")).get(3));
+    }
+
+    @Test
+    public void shouldDecodeToEqualTokenIncludingSeparatorsAndNonAsciiCharacters() {
+        PageToken token = new PageToken(
+                Arrays.asList("table.name DESC", "table._id ASC"),
+                Arrays.asList("12:ab:cé中", "42")
+        );
+
+        String encoded = token.encode();
+
+        assertTrue(encoded.matches("[0-9a-f]+"));
+        assertEquals(token, PageToken.decode(encoded));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowWhenDecodingMalformedToken() {
+        PageToken.decode("not a token");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowWhenDecodingUnknownValueType() {
+        PageToken.decode("31313a7461626c652e6120415343323a7831");  // <-- 11:table.a ASC2:x1
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldThrowWhenOrderingDirectionChanged() {
+        PageToken token = new PageToken(Arrays.asList("table.name DESC", "table._id ASC"), Arrays.asList("bob", "42"));
+        token.valuesFor(Arrays.asList(
+                new FSOrdering("table", "name", OrderBy.ORDER_ASC),
+                new FSOrdering("table", "_id", OrderBy.ORDER_ASC)
+        ));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowWhenOrderedByRelevance() {
+        when(mockRetriever.getObject(eq(1))).thenReturn("bob");
+        when(mockRetriever.getObject(eq(2))).thenReturn(42L);
+        PageToken.from(mockRetriever, Arrays.asList(
+                new FSOrdering("table", "name", OrderBy.ORDER_DESC, "bob"),
+                new FSOrdering("table", "_id", OrderBy.ORDER_ASC)
+        ));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowWhenPagingQueryOrderedByRelevance() {
+        PageToken token = new PageToken(Arrays.asList("table.name DESC", "table._id ASC"), Arrays.asList("bob", "42"));
+        token.valuesFor(Arrays.asList(
+                new FSOrdering("table", "name", OrderBy.ORDER_DESC, "bob"),
+                new FSOrdering("table", "_id", OrderBy.ORDER_ASC)
+        ));
+    }
+
+    private static List<FSOrdering> orderingsOf(String... columns) {
+        List<FSOrdering> ret = new ArrayList<>(columns.length);
+        for (String column : columns) {
+            ret.add(new FSOrdering("table", column, OrderBy.ORDER_ASC));
+        }
+        return ret;
+    }
+}
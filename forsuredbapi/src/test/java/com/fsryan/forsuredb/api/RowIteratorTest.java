@@ -0,0 +1,124 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.api;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.*;
+
+public class RowIteratorTest {
+
+    @Mock
+    private Retriever mockRetriever;
+
+    private RowMapper<Integer> positionMapper;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        positionMapper = new RowMapper<Integer>() {
+            @Override
+            public Integer map(Retriever retriever) {
+                return retriever.getPosition();
+            }
+        };
+    }
+
+    @Test
+    public void shouldMapEachRowAndCloseRetrieverAfterLastRow() {
+        when(mockRetriever.moveToNext()).thenReturn(true, true, false);
+        when(mockRetriever.getPosition()).thenReturn(0, 1);
+
+        List<Integer> actual = new ArrayList<>();
+        RowIterator<Integer> iterator = new RowIterator<>(mockRetriever, positionMapper);
+        while (iterator.hasNext()) {
+            actual.add(iterator.next());
+        }
+
+        assertEquals(Arrays.asList(0, 1), actual);
+        verify(mockRetriever, times(3)).moveToNext();
+        verify(mockRetriever, times(1)).close();
+    }
+
+    @Test
+    public void shouldNotMoveRetrieverWhenHasNextCalledRepeatedly() {
+        when(mockRetriever.moveToNext()).thenReturn(true);
+        RowIterator<Integer> iterator = new RowIterator<>(mockRetriever, positionMapper);
+
+        iterator.hasNext();
+        iterator.hasNext();
+
+        verify(mockRetriever, times(1)).moveToNext();
+    }
+
+    @Test
+    public void shouldCloseRetrieverOnlyOnceWhenClosedAfterExhaustion() {
+        when(mockRetriever.moveToNext()).thenReturn(false);
+        RowIterator<Integer> iterator = new RowIterator<>(mockRetriever, positionMapper);
+
+        assertFalse(iterator.hasNext());
+        iterator.close();
+
+        verify(mockRetriever, times(1)).close();
+    }
+
+    @Test
+    public void shouldNotReadRetrieverAfterClose() {
+        RowIterator<Integer> iterator = new RowIterator<>(mockRetriever, positionMapper);
+
+        iterator.close();
+
+        assertFalse(iterator.hasNext());
+        verify(mockRetriever, never()).moveToNext();
+        verify(mockRetriever).close();
+    }
+
+    @Test
+    public void shouldThrowNoSuchElementExceptionWhenExhausted() {
+        when(mockRetriever.moveToNext()).thenReturn(false);
+        RowIterator<Integer> iterator = new RowIterator<>(mockRetriever, positionMapper);
+
+        try {
+            iterator.next();
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException nsee) {
+            verify(mockRetriever, never()).getPosition();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowWhenRetrieverNull() {
+        new RowIterator<>(null, positionMapper);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowWhenMapperNull() {
+        new RowIterator<>(mockRetriever, null);
+    }
+}
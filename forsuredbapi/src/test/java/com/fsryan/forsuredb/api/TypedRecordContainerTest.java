@@ -87,6 +87,24 @@ public class TypedRecordContainerTest {
         assertEquals(input, retrieved);
     }
 
+    @Test
+    public void shouldCopyValuesWithTheirTypesIncludingNull() {
+        trc.put("string_col", (String) null);
+        trc.put("blob_col", (byte[]) null);
+        trc.put("int_col", 7);
+        TypedRecordContainer dest = new TypedRecordContainer();
+
+        TypedRecordContainer.copy(trc, dest);
+
+        assertEquals(trc.keySet(), dest.keySet());
+        assertNull(dest.get("string_col"));
+        assertEquals(String.class, dest.getType("string_col"));
+        assertNull(dest.get("blob_col"));
+        assertEquals(byte[].class, dest.getType("blob_col"));
+        assertEquals(int.class, dest.getType("int_col"));
+        assertEquals(7, (int) dest.typedGet("int_col"));
+    }
+
     @Test
     public void shouldGetNullWhenColumnDoesNotExist() {
         assertNull(trc.typedGet("col"));
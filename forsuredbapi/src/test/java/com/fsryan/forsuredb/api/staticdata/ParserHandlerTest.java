@@ -37,6 +37,7 @@ import java.util.*;
 
 import static com.fsryan.forsuredb.api.TestData.resourceText;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
 
 @RunWith(Parameterized.class)
@@ -154,6 +155,29 @@ public class ParserHandlerTest {
         }
     }
 
+    @Test
+    public void testStreamingFindsEachMigrationLineInBoundedChunks() throws IOException {
+        final int chunkSize = 1;
+        final List<RecordContainer> streamed = new ArrayList<>();
+        for (final MigrationSet migrationSet : migrationSets) {
+            InputStream versionStream = TestData.resourceStream(staticDataXmlResource);
+            StaticDataRetrieverFactory.createFor(dateFormat, tableName, migrationSets, versionStream)
+                    .stream(migrationSet.dbVersion(), chunkSize, new OnRecordChunkRetrievedListener() {
+                        @Override
+                        public void onRecords(int dbVersion, List<RecordContainer> records) {
+                            assertEquals(migrationSet.dbVersion(), dbVersion);
+                            assertTrue(records.size() <= chunkSize);
+                            streamed.addAll(records);
+                        }
+                    });
+        }
+
+        assertEquals(expectedRecordContainerSizes.size(), streamed.size());
+        for (int idx = 0; idx < expectedRecordContainerSizes.size(); idx++) {
+            assertEquals(expectedRecordContainerSizes.get(idx).intValue(), streamed.get(idx).keySet().size());
+        }
+    }
+
     private static List<MigrationSet> parseMigrationSets(List<String> migrationSetResources) throws IOException {
         List<MigrationSet> ret = new ArrayList<>(migrationSetResources.size());
         for (String migrationSetResource : migrationSetResources) {
@@ -27,12 +27,15 @@ import com.fsryan.forsuredb.annotationprocessor.util.APLog;
 import com.fsryan.forsuredb.api.FSGetApi;
 import com.google.common.collect.Sets;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.*;
 
 import javax.lang.model.element.*;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 
+import static com.fsryan.forsuredb.info.TableInfo.defaultColumns;
 import static com.fsryan.forsuredb.info.TableInfo.docStoreColumns;
 import static javax.lang.model.util.ElementFilter.methodsIn;
 
@@ -135,13 +138,26 @@ public class ProcessingContext implements TableContext {
             docStoreColumns().values()
                     .forEach(c -> builder.addColumn(tableName, c.columnName(), c.toBuilder()));
         }
+        // the indices may only refer to the columns the table will have
+        final Set<String> columnNames = new HashSet<>(defaultColumns().keySet());
+        if (docStoreParameterization != null) {
+            columnNames.addAll(docStoreColumns().keySet());
+        }
+        methodsIn(intf.getEnclosedElements()).forEach(ee -> columnNames.add(columnNameOf(ee)));
         builder.addTable(tableName, intf.getQualifiedName().toString(), TableInfo.builder()
                 .tableName(tableName)
                 .qualifiedClassName(intf.getQualifiedName().toString())
                 .docStoreParameterization(docStoreParameterization)
                 .primaryKey(primaryKeyFrom(intf))
                 .primaryKeyOnConflict(primaryKeyOnConflictFrom(intf))
+                .indices(indicesFrom(intf, tableName, columnNames))
                 .staticDataAsset(createStaticDataAsset(intf)));
+        if (storesEpochMillisTimestamps(intf)) {
+            // replaces the created and modified columns that were added along with the table
+            for (String columnName : Arrays.asList("created", "modified")) {
+                builder.addColumn(tableName, columnName, defaultColumns().get(columnName).toBuilder().epochMillis(true));
+            }
+        }
 
         methodsIn(intf.getEnclosedElements()).forEach(ee -> {
             builder.addColumn(tableName, columnNameOf(ee), columnBuilderOf(ee));
@@ -212,6 +228,11 @@ public class ProcessingContext implements TableContext {
         return table == null ? intf.getSimpleName().toString() : table.value();
     }
 
+    private static boolean storesEpochMillisTimestamps(TypeElement intf) {
+        FSTable table = intf.getAnnotation(FSTable.class);
+        return table != null && table.epochMillisTimestamps();
+    }
+
     private static String columnNameOf(ExecutableElement ee) {
         for (AnnotationMirror annotationMirror : ee.getAnnotationMirrors()) {
             if (annotationMirror.getAnnotationType().toString().equals(FSColumn.class.getName())) {
@@ -222,6 +243,15 @@ public class ProcessingContext implements TableContext {
     }
 
     private static ColumnInfo.Builder columnBuilderOf(ExecutableElement ee) {
+        if (ee.getAnnotation(FSFullText.class) != null && !String.class.getName().equals(ee.getReturnType().toString())) {
+            throw new IllegalArgumentException("Only String columns can be full-text searchable; " + ee.getSimpleName() + " returns " + ee.getReturnType());
+        }
+        if (ee.getAnnotation(FSEpochMillis.class) != null && !Date.class.getName().equals(ee.getReturnType().toString())) {
+            throw new IllegalArgumentException("Only Date columns can be stored as epoch millis; " + ee.getSimpleName() + " returns " + ee.getReturnType());
+        }
+        if (ee.getAnnotation(FSOrderPreserving.class) != null) {
+            throwIfNotOrderPreservable(ee);
+        }
         ColumnInfo.Builder builder = ColumnInfo.builder();
         ee.getAnnotationMirrors().forEach(am -> appendAnnotationInfo(builder, am));
         return builder.methodName(ee.getSimpleName().toString())
@@ -254,6 +284,32 @@ public class ProcessingContext implements TableContext {
             }
         } else if (annotationClass.equals(FSDefault.class.getName())) {
             builder.defaultValue(at.property("value").asString());
+        } else if (annotationClass.equals(FSFullText.class.getName())) {
+            builder.fullText(true);
+        } else if (annotationClass.equals(FSEpochMillis.class.getName())) {
+            builder.epochMillis(true);
+        } else if (annotationClass.equals(FSOrderPreserving.class.getName())) {
+            builder.orderPreserving(true);
+        }
+    }
+
+    private static void throwIfNotOrderPreservable(ExecutableElement ee) {
+        final String returnType = ee.getReturnType().toString();
+        if (!BigDecimal.class.getName().equals(returnType) && !BigInteger.class.getName().equals(returnType)) {
+            throw new IllegalArgumentException("Only BigDecimal and BigInteger columns can be order-preserving; " + ee.getSimpleName() + " returns " + returnType);
+        }
+        FSDefault fsDefault = ee.getAnnotation(FSDefault.class);
+        if (fsDefault == null) {
+            return;
+        }
+        try {
+            if (BigInteger.class.getName().equals(returnType)) {
+                new BigInteger(fsDefault.value());
+            } else {
+                new BigDecimal(fsDefault.value());
+            }
+        } catch (NumberFormatException nfe) {
+            throw new IllegalArgumentException("Default value of order-preserving column " + ee.getSimpleName() + " is not a number: '" + fsDefault.value() + "'", nfe);
         }
     }
 
@@ -269,6 +325,66 @@ public class ProcessingContext implements TableContext {
         return staticData == null ? null : staticData.value();
     }
 
+    private static Set<TableIndexInfo> indicesFrom(TypeElement intf, String tableName, Set<String> columnNames) {
+        List<FSIndex> declared = new ArrayList<>();
+        FSIndex index = intf.getAnnotation(FSIndex.class);
+        if (index != null) {
+            declared.add(index);
+        }
+        FSIndices indices = intf.getAnnotation(FSIndices.class);
+        if (indices != null) {
+            declared.addAll(Arrays.asList(indices.value()));
+        }
+
+        Set<TableIndexInfo> ret = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (FSIndex declaredIndex : declared) {
+            TableIndexInfo tableIndex = tableIndexFrom(declaredIndex, tableName, columnNames);
+            if (!names.add(tableIndex.name())) {
+                throw new IllegalArgumentException("Table " + tableName + " declares more than one index named " + tableIndex.name());
+            }
+            ret.add(tableIndex);
+        }
+        return ret;
+    }
+
+    /*package*/ static TableIndexInfo tableIndexFrom(FSIndex index, String tableName, Set<String> columnNames) {
+        if (index.value().length == 0) {
+            throw new IllegalArgumentException("Index on table " + tableName + " must have at least one column");
+        }
+        if (index.unique() && index.include().length > 0) {
+            throw new IllegalArgumentException("Unique index on table " + tableName + " cannot include columns: " + Arrays.toString(index.include()));
+        }
+        for (String column : index.include()) {
+            if (!columnNames.contains(column)) {
+                throw new IllegalArgumentException("Index on table " + tableName + " includes unknown column: '" + column + "'");
+            }
+        }
+
+        List<String> columns = new ArrayList<>(index.value().length);
+        StringBuilder defaultName = new StringBuilder(tableName);
+        for (String column : index.value()) {
+            String[] split = column.trim().split("\\s+");
+            if (split.length > 2 || (split.length == 2 && !split[1].equalsIgnoreCase("ASC") && !split[1].equalsIgnoreCase("DESC"))) {
+                throw new IllegalArgumentException("Invalid index column on table " + tableName + ": '" + column + "'");
+            }
+            if (!columnNames.contains(split[0])) {
+                throw new IllegalArgumentException("Index on table " + tableName + " has unknown column: '" + split[0] + "'");
+            }
+            boolean descending = split.length == 2 && split[1].equalsIgnoreCase("DESC");
+            columns.add(descending ? split[0] + TableIndexInfo.DESCENDING_SUFFIX : split[0]);
+            defaultName.append('_').append(split[0]);
+        }
+
+        return TableIndexInfo.builder()
+                .name(index.name().isEmpty() ? defaultName.append("_idx").toString() : index.name())
+                .columns(columns)
+                .include(Arrays.asList(index.include()))
+                .unique(index.unique())
+                .where(index.where().isEmpty() ? null : index.where())
+                .build();
+    }
+
     private static String primaryKeyOnConflictFrom(TypeElement intf) {
         FSPrimaryKey primaryKey = intf.getAnnotation(FSPrimaryKey.class);
         return primaryKey == null ? "" : primaryKey.onConflict();
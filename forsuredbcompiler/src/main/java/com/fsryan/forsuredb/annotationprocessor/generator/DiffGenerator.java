@@ -22,6 +22,7 @@ import com.fsryan.forsuredb.migration.Migration;
 import com.fsryan.forsuredb.migration.MigrationSet;
 import com.fsryan.forsuredb.info.ColumnInfo;
 import com.fsryan.forsuredb.annotationprocessor.util.APLog;
+import com.fsryan.forsuredb.info.TableIndexInfo;
 import com.fsryan.forsuredb.info.TableInfo;
 import com.google.common.collect.ImmutableMap;
 import com.google.gson.Gson;
@@ -94,6 +95,12 @@ public class DiffGenerator {
                     }
                     retList.add(addMigrationForNewColumn(targetColumn, targetTable));
                 }
+                for (TableIndexInfo targetIndex : indicesOf(targetTable)) {
+                    retList.add(tableIndexMigration(Migration.Type.ADD_TABLE_INDEX, targetIndex, targetTable));
+                }
+                if (targetTable.hasFullTextColumns()) {
+                    retList.add(updateFullTextIndexMigration(targetTable.tableName()));
+                }
                 continue;
             }
 
@@ -115,10 +122,70 @@ public class DiffGenerator {
                 ColumnInfo sourceColumn = sourceTable.getColumn(targetColumn.getColumnName());
                 retList.addAll(getExistingColumnMigration(sourceColumn, targetColumn, targetTable.tableName()));
             }
+            for (String columnName : TABLE_DEFAULT_COLUMNS.keySet()) {
+                // of the default columns, only the encoding of created and modified can change
+                ColumnInfo sourceColumn = sourceTable.getColumn(columnName);
+                ColumnInfo targetColumn = targetTable.getColumn(columnName);
+                if (sourceColumn != null && targetColumn != null && sourceColumn.epochMillis() != targetColumn.epochMillis()) {
+                    retList.addAll(getExistingColumnMigration(sourceColumn, targetColumn, targetTable.tableName()));
+                }
+            }
+
+            retList.addAll(tableIndexMigrations(sourceTable, targetTable));
+            if (!fullTextColumnNamesOf(sourceTable).equals(fullTextColumnNamesOf(targetTable))) {
+                retList.add(updateFullTextIndexMigration(targetTable.tableName()));
+            }
         }
         return retList;
     }
 
+    /**
+     * <p>
+     *     An index that changed is dropped and then added again because SQLite cannot alter an
+     *     index. Indices of the source table that are not on the target table are dropped.
+     * </p>
+     */
+    private List<Migration> tableIndexMigrations(TableInfo sourceTable, TableInfo targetTable) {
+        List<Migration> ret = new ArrayList<>();
+        for (TableIndexInfo sourceIndex : indicesOf(sourceTable)) {
+            TableIndexInfo targetIndex = targetTable.getIndex(sourceIndex.name());
+            if (!sourceIndex.equals(targetIndex)) {
+                ret.add(tableIndexMigration(Migration.Type.DROP_TABLE_INDEX, sourceIndex, targetTable));
+            }
+        }
+        for (TableIndexInfo targetIndex : indicesOf(targetTable)) {
+            if (!targetIndex.equals(sourceTable.getIndex(targetIndex.name()))) {
+                ret.add(tableIndexMigration(Migration.Type.ADD_TABLE_INDEX, targetIndex, targetTable));
+            }
+        }
+        return ret;
+    }
+
+    private static Migration tableIndexMigration(Migration.Type type, TableIndexInfo index, TableInfo table) {
+        return Migration.builder().type(type)
+                .columnName(index.name())
+                .tableName(table.tableName())
+                .build();
+    }
+
+    private static Migration updateFullTextIndexMigration(String tableName) {
+        return Migration.builder().type(Migration.Type.UPDATE_FULL_TEXT_INDEX)
+                .tableName(tableName)
+                .build();
+    }
+
+    private static List<String> fullTextColumnNamesOf(TableInfo table) {
+        List<String> ret = new ArrayList<>();
+        for (ColumnInfo column : table.getFullTextColumns()) {
+            ret.add(column.getColumnName());
+        }
+        return ret;
+    }
+
+    private static Set<TableIndexInfo> indicesOf(TableInfo table) {
+        return table.indices() == null ? Collections.<TableIndexInfo>emptySet() : table.indices();
+    }
+
     private List<Migration> getExistingColumnMigration(ColumnInfo sourceColumn, ColumnInfo targetColumn, String tableName) {
         List<Migration> ret = new ArrayList<>();
         if (!sourceColumn.index() && !sourceColumn.unique() && targetColumn.index() && targetColumn.unique()) {
@@ -138,12 +205,27 @@ public class DiffGenerator {
                     .build());
         }
 
+        if (sourceColumn.orderPreserving() != targetColumn.orderPreserving()) {
+            throw new IllegalStateException("Cannot change whether existing column " + tableName + "." + sourceColumn.getColumnName()
+                    + " is order-preserving because the values already stored cannot be converted; add a new column instead");
+        }
+
+        final boolean dateEncodingChanged = sourceColumn.epochMillis() != targetColumn.epochMillis();
+        if (dateEncodingChanged) {
+            ret.add(Migration.builder().type(Migration.Type.CHANGE_DATE_ENCODING)
+                    .columnName(sourceColumn.getColumnName())
+                    .tableName(tableName)
+                    .build());
+        }
+
         // return early if neither source nor target has default value
         if (!sourceColumn.hasDefaultValue() && !targetColumn.hasDefaultValue()) {
             return ret;
         }
 
-        if ((sourceColumn.hasDefaultValue() && !sourceColumn.defaultValue().equals(targetColumn.defaultValue()))
+        // the default value is stored in the encoding of the column, so it changes along with it
+        if (dateEncodingChanged
+                || (sourceColumn.hasDefaultValue() && !sourceColumn.defaultValue().equals(targetColumn.defaultValue()))
                 || (targetColumn.hasDefaultValue() && !targetColumn.defaultValue().equals(sourceColumn.defaultValue()))) {
             ret.add(Migration.builder().type(Migration.Type.CHANGE_DEFAULT_VALUE)
                     .columnName(sourceColumn.getColumnName())
@@ -204,6 +286,9 @@ public class DiffGenerator {
                 retList.add(Migration.builder().type(Migration.Type.DROP_TABLE)
                         .tableName(sourceTable.tableName())
                         .build());
+                if (sourceTable.hasFullTextColumns()) {
+                    retList.add(updateFullTextIndexMigration(sourceTable.tableName()));   // <-- drops the full-text index
+                }
                 continue;
             }
 
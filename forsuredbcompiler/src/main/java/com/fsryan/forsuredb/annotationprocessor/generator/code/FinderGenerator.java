@@ -17,7 +17,9 @@ import com.squareup.javapoet.TypeVariableName;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.Modifier;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class FinderGenerator extends JavaSourceGenerator {
 
@@ -78,10 +80,26 @@ public class FinderGenerator extends JavaSourceGenerator {
     }
 
     private void addConstructor(TypeSpec.Builder codeBuilder) {
-        codeBuilder.addMethod(MethodSpec.constructorBuilder()
+        MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder()
                 .addParameter(TypeVariableName.get("R"), "resolver")
-                .addStatement("super(resolver)")
-                .build());
+                .addStatement("super(resolver)");
+        List<String> epochMillisColumnNames = columnsSortedByName.stream()
+                .filter(ColumnInfo::epochMillis)
+                .map(ColumnInfo::getColumnName)
+                .collect(Collectors.toList());
+        if (!epochMillisColumnNames.isEmpty()) {
+            final String format = "storesEpochMillis(" + String.join(", ", Collections.nCopies(epochMillisColumnNames.size(), "$S")) + ")";
+            constructorBuilder.addStatement(format, epochMillisColumnNames.toArray());
+        }
+        List<String> orderPreservingColumnNames = columnsSortedByName.stream()
+                .filter(ColumnInfo::orderPreserving)
+                .map(ColumnInfo::getColumnName)
+                .collect(Collectors.toList());
+        if (!orderPreservingColumnNames.isEmpty()) {
+            final String format = "storesOrderPreserving(" + String.join(", ", Collections.nCopies(orderPreservingColumnNames.size(), "$S")) + ")";
+            constructorBuilder.addStatement(format, orderPreservingColumnNames.toArray());
+        }
+        codeBuilder.addMethod(constructorBuilder.build());
     }
 
     private void addQueryBuilderMethods(TypeSpec.Builder codeBuilder) {
@@ -3,14 +3,19 @@ package com.fsryan.forsuredb.annotationprocessor.generator.code;
 import com.fsryan.forsuredb.annotationprocessor.TableContext;
 import com.fsryan.forsuredb.annotations.FSTable;
 import com.fsryan.forsuredb.info.TableInfo;
+import com.fsryan.forsuredb.api.FSChangeNotifier;
 import com.fsryan.forsuredb.api.FSGetApi;
+import com.fsryan.forsuredb.api.FSTableChangeListener;
+import com.fsryan.forsuredb.api.FSTransactor;
 import com.fsryan.forsuredb.api.ForSureInfoFactory;
+import com.fsryan.forsuredb.api.UnitOfWork;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.TypeVariableName;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.Modifier;
@@ -40,6 +45,8 @@ public class ForSureGenerator extends JavaSourceGenerator {
         addConstructor(codeBuilder, infoFactoryTypeName);
         addInitMethod(codeBuilder, infoFactoryTypeName);
         addResolverMethods(codeBuilder);
+        addRunInTransactionMethod(codeBuilder);
+        addTableChangeListenerMethods(codeBuilder);
         addThrowIfUninitializedMethod(codeBuilder);
         return JavaFile.builder(getOutputPackageName(), codeBuilder.build()).indent(JAVA_INDENT).build().toString();
     }
@@ -194,6 +201,77 @@ public class ForSureGenerator extends JavaSourceGenerator {
                 .build();
     }
 
+    private void addRunInTransactionMethod(TypeSpec.Builder codeBuilder) {
+        TypeVariableName t = TypeVariableName.get("T");
+        JavadocInfo jd = JavadocInfo.builder()
+                .startParagraph()
+                .addLine("Runs the work in one transaction. Every query and save performed on")
+                .addLine("the current thread while the work runs takes part in the transaction,")
+                .addLine("which is committed once when the work returns and rolled back if it")
+                .addLine("throws. Calls may be nested, in which case only the nested work is")
+                .addLine("rolled back when it throws.")
+                .endParagraph()
+                .addLine("@throws UnsupportedOperationException if the $L passed to init", JavadocInfo.inlineClassLink(ForSureInfoFactory.class))
+                .addLine("does not implement $L", JavadocInfo.inlineClassLink(FSTransactor.class))
+                .addLine("@see $L", FSTransactor.class.getName() + "#runInTransaction(" + UnitOfWork.class.getName() + ")")
+                .addLine()
+                .build();
+        codeBuilder.addMethod(MethodSpec.methodBuilder("runInTransaction")
+                .addJavadoc(jd.stringToFormat(), jd.replacements())
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addTypeVariable(t)
+                .returns(t)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(UnitOfWork.class), t), "work")
+                .addStatement("throwIfUninitialized()")
+                .addCode(CodeBlock.builder()
+                        .beginControlFlow("if (!(instance.infoFactory instanceof $T))", FSTransactor.class)
+                        .addStatement("throw new UnsupportedOperationException($S + instance.infoFactory.getClass())", "Transactions not supported by ")
+                        .endControlFlow()
+                        .build())
+                .addStatement("return (($T) instance.infoFactory).runInTransaction(work)", FSTransactor.class)
+                .build());
+    }
+
+    private void addTableChangeListenerMethods(TypeSpec.Builder codeBuilder) {
+        JavadocInfo addJd = JavadocInfo.builder()
+                .startParagraph()
+                .addLine("Notifies the listener after changes to the tables are committed.")
+                .addLine("Changes committed in quick succession--including all changes")
+                .addLine("committed by one transaction--are delivered together in one")
+                .addLine("notification. If no tables are passed, the listener is notified of")
+                .addLine("changes to every table.")
+                .endParagraph()
+                .addLine("@throws UnsupportedOperationException if the $L passed to init", JavadocInfo.inlineClassLink(ForSureInfoFactory.class))
+                .addLine("does not implement $L", JavadocInfo.inlineClassLink(FSChangeNotifier.class))
+                .addLine("@see $L", FSChangeNotifier.class.getName() + "#addTableChangeListener(" + FSTableChangeListener.class.getName() + ", String...)")
+                .addLine()
+                .build();
+        codeBuilder.addMethod(MethodSpec.methodBuilder("addTableChangeListener")
+                .addJavadoc(addJd.stringToFormat(), addJd.replacements())
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(FSTableChangeListener.class, "listener")
+                .addParameter(String[].class, "tables")
+                .varargs()
+                .addStatement("changeNotifier().addTableChangeListener(listener, tables)")
+                .build());
+        codeBuilder.addMethod(MethodSpec.methodBuilder("removeTableChangeListener")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(FSTableChangeListener.class, "listener")
+                .addStatement("changeNotifier().removeTableChangeListener(listener)")
+                .build());
+        codeBuilder.addMethod(MethodSpec.methodBuilder("changeNotifier")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(FSChangeNotifier.class)
+                .addStatement("throwIfUninitialized()")
+                .addCode(CodeBlock.builder()
+                        .beginControlFlow("if (!(instance.infoFactory instanceof $T))", FSChangeNotifier.class)
+                        .addStatement("throw new UnsupportedOperationException($S + instance.infoFactory.getClass())", "Change notification not supported by ")
+                        .endControlFlow()
+                        .build())
+                .addStatement("return ($T) instance.infoFactory", FSChangeNotifier.class)
+                .build());
+    }
+
     private void addThrowIfUninitializedMethod(TypeSpec.Builder codeBuilder) {
         codeBuilder.addMethod(MethodSpec.methodBuilder("throwIfUninitialized")
                 .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
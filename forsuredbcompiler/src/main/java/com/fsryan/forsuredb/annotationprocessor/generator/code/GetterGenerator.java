@@ -14,6 +14,9 @@ import javax.lang.model.element.Modifier;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -30,43 +33,43 @@ public abstract class GetterGenerator extends JavaSourceGenerator {
         try {
             columnQualifiedTypeToRetrieverMethodNameMap.put(
                     "byte[]",
-                    Retriever.class.getDeclaredMethod("getBytes", String.class).getName()
+                    Retriever.class.getDeclaredMethod("getBytes", int.class).getName()
             );
             columnQualifiedTypeToRetrieverMethodNameMap.put(
                     float.class.getName(),
-                    Retriever.class.getDeclaredMethod("getFloat", String.class).getName()
+                    Retriever.class.getDeclaredMethod("getFloat", int.class).getName()
             );
             columnQualifiedTypeToRetrieverMethodNameMap.put(
                     Float.class.getName(),
-                    Retriever.class.getDeclaredMethod("getFloat", String.class).getName()
+                    Retriever.class.getDeclaredMethod("getFloat", int.class).getName()
             );
             columnQualifiedTypeToRetrieverMethodNameMap.put(
                     double.class.getName(),
-                    Retriever.class.getDeclaredMethod("getDouble", String.class).getName()
+                    Retriever.class.getDeclaredMethod("getDouble", int.class).getName()
             );
             columnQualifiedTypeToRetrieverMethodNameMap.put(
                     Double.class.getName(),
-                    Retriever.class.getDeclaredMethod("getDouble", String.class).getName()
+                    Retriever.class.getDeclaredMethod("getDouble", int.class).getName()
             );
             columnQualifiedTypeToRetrieverMethodNameMap.put(
                     int.class.getName(),
-                    Retriever.class.getDeclaredMethod("getInt", String.class).getName()
+                    Retriever.class.getDeclaredMethod("getInt", int.class).getName()
             );
             columnQualifiedTypeToRetrieverMethodNameMap.put(
                     Integer.class.getName(),
-                    Retriever.class.getDeclaredMethod("getInt", String.class).getName()
+                    Retriever.class.getDeclaredMethod("getInt", int.class).getName()
             );
             columnQualifiedTypeToRetrieverMethodNameMap.put(
                     long.class.getName(),
-                    Retriever.class.getDeclaredMethod("getLong", String.class).getName()
+                    Retriever.class.getDeclaredMethod("getLong", int.class).getName()
             );
             columnQualifiedTypeToRetrieverMethodNameMap.put(
                     Long.class.getName(),
-                    Retriever.class.getDeclaredMethod("getLong", String.class).getName()
+                    Retriever.class.getDeclaredMethod("getLong", int.class).getName()
             );
             columnQualifiedTypeToRetrieverMethodNameMap.put(
                     String.class.getName(),
-                    Retriever.class.getDeclaredMethod("getString", String.class).getName()
+                    Retriever.class.getDeclaredMethod("getString", int.class).getName()
             );
         } catch (Exception e) {
             throw new RuntimeException("Verify columnQualifiedTypeToRetrieverMethodNameMap", e);
@@ -149,13 +152,32 @@ public abstract class GetterGenerator extends JavaSourceGenerator {
     }
 
     private List<MethodSpec> createMethods() {
-        ColumnInfo[] toExclude = getColumnExclusions();
+        // the superclass reads created and modified as text, so override them when stored as epoch millis
+        ColumnInfo[] toExclude = Arrays.stream(getColumnExclusions())
+                .filter(c -> !table.hasColumn(c.columnName()) || !table.getColumn(c.columnName()).epochMillis())
+                .toArray(ColumnInfo[]::new);
         return TableDataUtil.columnsSortedByName(table, toExclude)
                 .stream()
                 .map(GetterGenerator::columnInfoToMethodSpecFunction)
                 .collect(Collectors.toList());
     }
 
+    // the superclass already knows the labels of the columns it excludes
+    private List<ColumnInfo> readColumns() {
+        return TableDataUtil.columnsSortedByName(table, getColumnExclusions());
+    }
+
+    // the Getter disambiguates the labels of the columns it reads once, when it is created
+    protected String columnNamesFormat() {
+        return String.join("", Collections.nCopies(readColumns().size(), ", $S"));
+    }
+
+    protected Object[] columnNamesArgs(Object... leadingArgs) {
+        List<Object> ret = new ArrayList<>(Arrays.asList(leadingArgs));
+        readColumns().forEach(c -> ret.add(c.columnName()));
+        return ret.toArray();
+    }
+
     private static MethodSpec columnInfoToMethodSpecFunction(ColumnInfo columnInfo) {
         final JavadocInfo jdInfo = createMethodJavadoc(columnInfo);
         return MethodSpec.methodBuilder(columnInfo.methodName())
@@ -176,13 +198,16 @@ public abstract class GetterGenerator extends JavaSourceGenerator {
                 builder.addStatement("return $N($N, $S)", "parseBooleanColumn", getterMethodArgName, columnName);
                 break;
             case "java.math.BigInteger":
-                builder.addStatement("return $N($N, $S)", "parseBigIntegerColumn", getterMethodArgName, columnName);
+                final String bigIntegerMethodName = columnInfo.orderPreserving() ? "parseOrderPreservingBigIntegerColumn" : "parseBigIntegerColumn";
+                builder.addStatement("return $N($N, $S)", bigIntegerMethodName, getterMethodArgName, columnName);
                 break;
             case "java.math.BigDecimal":
-                builder.addStatement("return $N($N, $S)", "parseBigDecimalColumn", getterMethodArgName, columnName);
+                final String bigDecimalMethodName = columnInfo.orderPreserving() ? "parseOrderPreservingBigDecimalColumn" : "parseBigDecimalColumn";
+                builder.addStatement("return $N($N, $S)", bigDecimalMethodName, getterMethodArgName, columnName);
                 break;
             case "java.util.Date":
-                builder.addStatement("return $N($N, $S)", "parseDateColumn", getterMethodArgName, columnName);
+                final String parseMethodName = columnInfo.epochMillis() ? "parseEpochMillisColumn" : "parseDateColumn";
+                builder.addStatement("return $N($N, $S)", parseMethodName, getterMethodArgName, columnName);
                 break;
             case "java.lang.String":
                 builder.addStatement("return $N($N, $S)", "retrieveString", getterMethodArgName, columnName);
@@ -190,7 +215,7 @@ public abstract class GetterGenerator extends JavaSourceGenerator {
             default:
                 final String retrieverMethodName = columnQualifiedTypeToRetrieverMethodNameMap.get(columnInfo.qualifiedType());
                 builder.addStatement("$N($N)", "throwIfNullRetriever", getterMethodArgName)
-                        .addStatement("return $N.$L($N($S))", getterMethodArgName, retrieverMethodName, "disambiguateColumn", columnName);
+                        .addStatement("return $N.$L($N($N, $S))", getterMethodArgName, retrieverMethodName, "columnIndex", getterMethodArgName, columnName);
         }
         return builder.build();
     }
@@ -240,7 +265,7 @@ public abstract class GetterGenerator extends JavaSourceGenerator {
             return MethodSpec.constructorBuilder()
                     .addModifiers(Modifier.PRIVATE)
                     .addParameter(String.class, "tableName")
-                    .addStatement("super($N, $T.class)", "tableName", ClassName.bestGuess(table.docStoreParameterization()))
+                    .addStatement("super($N, $T.class" + columnNamesFormat() + ")", columnNamesArgs("tableName", ClassName.bestGuess(table.docStoreParameterization())))
                     .build();
         }
 
@@ -272,7 +297,7 @@ public abstract class GetterGenerator extends JavaSourceGenerator {
             return MethodSpec.constructorBuilder()
                     .addModifiers(Modifier.PRIVATE)
                     .addParameter(String.class, "tableName")
-                    .addStatement("super($N)", "tableName")
+                    .addStatement("super($N" + columnNamesFormat() + ")", columnNamesArgs("tableName"))
                     .build();
         }
 
@@ -59,11 +59,14 @@ public class OrderByGenerator extends JavaSourceGenerator {
         columnsSortedByName.stream()    // Parent class OrderBy already contains the methods for the default columns
                 .filter(c -> c.orderable() && !TableInfo.defaultColumns().containsKey(c.getColumnName()) && isOrderableType(c))
                 .forEach(c -> codeBuilder.addMethod(methodSpecFor(c)));
+        columnsSortedByName.stream()
+                .filter(ColumnInfo::fullText)
+                .forEach(c -> codeBuilder.addMethod(relevanceMethodSpecFor(c)));
     }
 
     private boolean isOrderableType(ColumnInfo columnInfo) {
         final String qType = columnInfo.qualifiedType();
-        return !qType.equals(BigDecimal.class.getName()) && !qType.equals(BigInteger.class.getName());
+        return columnInfo.orderPreserving() || (!qType.equals(BigDecimal.class.getName()) && !qType.equals(BigInteger.class.getName()));
     }
 
     private MethodSpec methodSpecFor(ColumnInfo column) {
@@ -78,6 +81,33 @@ public class OrderByGenerator extends JavaSourceGenerator {
                 .build();
     }
 
+    private MethodSpec relevanceMethodSpecFor(ColumnInfo column) {
+        JavadocInfo jd = relevanceJavadocInfoFor(column.getColumnName());
+        return MethodSpec.methodBuilder("by" + CodeUtil.snakeToCamel(column.getColumnName(), true) + "Relevance")
+                .addJavadoc(jd.stringToFormat(), jd.replacements())
+                .addParameter(String.class, "fullTextQuery")
+                .addParameter(int.class, "order")
+                .addModifiers(Modifier.PUBLIC)
+                .addStatement("appendRelevanceOrder($S, $L, $L)", column.getColumnName(), "fullTextQuery", "order")
+                .addStatement("return conjunction")
+                .returns(ParameterizedTypeName.get(ClassName.get(Conjunction.And.class), resolverTypeVariableName, orderByParameterizedTypeName))
+                .build();
+    }
+
+    private JavadocInfo relevanceJavadocInfoFor(String columnName) {
+        return JavadocInfo.builder()
+                .startParagraph()
+                .addLine("Order the results of the query by the relevance of $L to the full-text query.", columnName)
+                .addLine("{@link #ORDER_DESC} orders the most relevant results first")
+                .endParagraph()
+                .param("fullTextQuery", "the full-text query to rank the results against")
+                .param("order", "the direction to order the results {@link #ORDER_ASC} (or 0 or more) or {@link #ORDER_DESC} (or -1 or less)")
+                .returns("a $L that allows for either adding to the orderBy or continue", JavadocInfo.inlineClassLink(Conjunction.And.class))
+                .addLine("adding other query parameters")
+                .addLine()
+                .build();
+    }
+
     private JavadocInfo javadocInfoFor(String columnName) {
         return JavadocInfo.builder()
                 .startParagraph()
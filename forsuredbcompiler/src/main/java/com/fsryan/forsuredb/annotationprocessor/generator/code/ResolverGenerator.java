@@ -11,12 +11,41 @@ import com.squareup.javapoet.*;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.*;
 
 public class ResolverGenerator extends JavaSourceGenerator {
 
     private static final String methodNameToColumnNameMapName = "methodNameToColumnNameMap";
 
+    // the Resolver methods that sum each numeric type of column
+    private static final Map<String, String> sumMethodNameMap = new HashMap<>();
+    static {
+        sumMethodNameMap.put(int.class.getName(), "sumLong");
+        sumMethodNameMap.put(Integer.class.getName(), "sumLong");
+        sumMethodNameMap.put(long.class.getName(), "sumLong");
+        sumMethodNameMap.put(Long.class.getName(), "sumLong");
+        sumMethodNameMap.put(float.class.getName(), "sumDouble");
+        sumMethodNameMap.put(Float.class.getName(), "sumDouble");
+        sumMethodNameMap.put(double.class.getName(), "sumDouble");
+        sumMethodNameMap.put(Double.class.getName(), "sumDouble");
+    }
+
+    // the Resolver methods that decode the min or max of each type of column and the types they return
+    private static final Map<String, Pair<String, Class<?>>> valueOfMethodMap = new HashMap<>();
+    static {
+        valueOfMethodMap.put(int.class.getName(), new Pair<String, Class<?>>("intValueOf", Integer.class));
+        valueOfMethodMap.put(Integer.class.getName(), new Pair<String, Class<?>>("intValueOf", Integer.class));
+        valueOfMethodMap.put(long.class.getName(), new Pair<String, Class<?>>("longValueOf", Long.class));
+        valueOfMethodMap.put(Long.class.getName(), new Pair<String, Class<?>>("longValueOf", Long.class));
+        valueOfMethodMap.put(float.class.getName(), new Pair<String, Class<?>>("floatValueOf", Float.class));
+        valueOfMethodMap.put(Float.class.getName(), new Pair<String, Class<?>>("floatValueOf", Float.class));
+        valueOfMethodMap.put(double.class.getName(), new Pair<String, Class<?>>("doubleValueOf", Double.class));
+        valueOfMethodMap.put(Double.class.getName(), new Pair<String, Class<?>>("doubleValueOf", Double.class));
+        valueOfMethodMap.put(String.class.getName(), new Pair<String, Class<?>>("stringValueOf", String.class));
+    }
+
     private final TableInfo table;
     private final TableContext targetContext;
     private final List<Pair<TableInfo, TableForeignKeyInfo>> parentJoins;
@@ -67,6 +96,7 @@ public class ResolverGenerator extends JavaSourceGenerator {
         addConstructor(codeBuilder);
         addMethodNameToColumnNameMapMethod(codeBuilder);
         addJoinMethods(codeBuilder);
+        addAggregateMethods(codeBuilder);
         addAbstractMethodImplementations(codeBuilder);
         return JavaFile.builder(getOutputPackageName(), codeBuilder.build()).indent(JAVA_INDENT).build().toString();
     }
@@ -85,10 +115,10 @@ public class ResolverGenerator extends JavaSourceGenerator {
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addAnnotation(Override.class)
                 .returns(setterClassName)
-                .addStatement("return new $T(\ninfoFactory.createQueryable(lookupResource)," +
+                .addStatement("return new $T(\ninfoFactory," +
+                        "\ninfoFactory.createQueryable(lookupResource)," +
                         "\ndetermineSelection(false)," +
-                        "\ndetermineOrderings(false)," +
-                        "\ninfoFactory.createRecordContainer()\n)"
+                        "\ndetermineOrderings(false)\n)"
                         , setterClassName
                 ).build();
     }
@@ -353,6 +383,87 @@ public class ResolverGenerator extends JavaSourceGenerator {
                 .build();
     }
 
+    private void addAggregateMethods(TypeSpec.Builder codeBuilder) {
+        for (ColumnInfo column : columnsSortedByName) {
+            if (table.isDocStore() && TableInfo.docStoreColumns().containsKey(column.getColumnName())) {
+                continue;
+            }
+            final String camelColumnName = CodeUtil.snakeToCamel(column.getColumnName(), true);
+            final String sumMethodName = sumMethodNameMap.get(column.qualifiedType());
+            if (sumMethodName != null && !column.primaryKey()) {
+                codeBuilder.addMethod(sumMethodSpec(column, camelColumnName, sumMethodName));
+                codeBuilder.addMethod(avgMethodSpec(column, camelColumnName));
+            }
+            final Pair<String, Class<?>> valueOfMethod = valueOfMethodFor(column);
+            if (valueOfMethod != null && column.orderable()) {
+                codeBuilder.addMethod(extremumMethodSpec(column, camelColumnName, valueOfMethod, "min"));
+                codeBuilder.addMethod(extremumMethodSpec(column, camelColumnName, valueOfMethod, "max"));
+            }
+        }
+    }
+
+    // null when the stored values of the column do not sort as the values do
+    private static Pair<String, Class<?>> valueOfMethodFor(ColumnInfo column) {
+        switch (column.qualifiedType()) {
+            case "java.math.BigInteger":
+                return column.orderPreserving() ? new Pair<String, Class<?>>("orderPreservingBigIntegerValueOf", BigInteger.class) : null;
+            case "java.math.BigDecimal":
+                return column.orderPreserving() ? new Pair<String, Class<?>>("orderPreservingBigDecimalValueOf", BigDecimal.class) : null;
+            case "java.util.Date":
+                return new Pair<String, Class<?>>(column.epochMillis() ? "epochMillisDateValueOf" : "dateValueOf", Date.class);
+        }
+        return valueOfMethodMap.get(column.qualifiedType());
+    }
+
+    private static MethodSpec sumMethodSpec(ColumnInfo column, String camelColumnName, String sumMethodName) {
+        JavadocInfo jd = JavadocInfo.builder()
+                .startParagraph()
+                .addLine("Sums the $L values of the matching records", column.getColumnName())
+                .endParagraph()
+                .returns("the sum--0 if there are no values")
+                .addLine()
+                .build();
+        return MethodSpec.methodBuilder("sum" + camelColumnName)
+                .addJavadoc(jd.stringToFormat(), jd.replacements())
+                .addModifiers(Modifier.PUBLIC)
+                .returns(sumMethodName.equals("sumLong") ? long.class : double.class)
+                .addStatement("return $N($S)", sumMethodName, column.getColumnName())
+                .build();
+    }
+
+    private static MethodSpec avgMethodSpec(ColumnInfo column, String camelColumnName) {
+        JavadocInfo jd = JavadocInfo.builder()
+                .startParagraph()
+                .addLine("Averages the $L values of the matching records", column.getColumnName())
+                .endParagraph()
+                .returns("the average--0 if there are no values")
+                .addLine()
+                .build();
+        return MethodSpec.methodBuilder("avg" + camelColumnName)
+                .addJavadoc(jd.stringToFormat(), jd.replacements())
+                .addModifiers(Modifier.PUBLIC)
+                .returns(double.class)
+                .addStatement("return avg($S)", column.getColumnName())
+                .build();
+    }
+
+    private static MethodSpec extremumMethodSpec(ColumnInfo column, String camelColumnName, Pair<String, Class<?>> valueOfMethod, String function) {
+        final String extremum = function.equals("min") ? "least" : "greatest";
+        JavadocInfo jd = JavadocInfo.builder()
+                .startParagraph()
+                .addLine("Finds the $L $L value of the matching records", extremum, column.getColumnName())
+                .endParagraph()
+                .returns("the $L value--null if there are no values", extremum)
+                .addLine()
+                .build();
+        return MethodSpec.methodBuilder(function + camelColumnName)
+                .addJavadoc(jd.stringToFormat(), jd.replacements())
+                .addModifiers(Modifier.PUBLIC)
+                .returns(valueOfMethod.second)
+                .addStatement("return $N($T.$N(TABLE_NAME, $S))", valueOfMethod.first, FSAggregate.class, function, column.getColumnName())
+                .build();
+    }
+
     private void addAbstractMethodImplementations(TypeSpec.Builder codeBuilder) {
         codeBuilder.addMethod(MethodSpec.methodBuilder("projection")
                         .addAnnotation(Override.class)
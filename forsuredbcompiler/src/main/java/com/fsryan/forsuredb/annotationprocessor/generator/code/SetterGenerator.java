@@ -28,6 +28,11 @@ public abstract class SetterGenerator extends JavaSourceGenerator {
             ClassName.bestGuess(getResultParameter()),
             ClassName.bestGuess(getRecordContainer())
     );
+    final TypeName infoFactoryType = ParameterizedTypeName.get(
+            ClassName.get(ForSureInfoFactory.class),
+            ClassName.bestGuess(getResultParameter()),
+            ClassName.bestGuess(getRecordContainer())
+    );
 
     protected TableInfo table;
 
@@ -55,6 +60,7 @@ public abstract class SetterGenerator extends JavaSourceGenerator {
                 .superclass(superClassType())
                 .addSuperinterface(ClassName.bestGuess(table.qualifiedClassName() + "SaveApi"))
                 .addMethod(constructorMethod())
+                .addMethod(batchingConstructorMethod())
                 .addMethods(createSetterMethods())
                 .addMethods(addExtraMethods());
         return JavaFile.builder(getOutputPackageName(), classBuilder.build())
@@ -76,6 +82,17 @@ public abstract class SetterGenerator extends JavaSourceGenerator {
     protected abstract ColumnInfo[] columnExclusions();
     protected abstract MethodSpec constructorMethod();
 
+    private MethodSpec batchingConstructorMethod() {
+        return MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(infoFactoryType, "infoFactory")
+                .addParameter(fsQueryableType, "queryable")
+                .addParameter(FSSelection.class, "selection")
+                .addParameter(ParameterizedTypeName.get(List.class, FSOrdering.class), "orderings")
+                .addStatement("super(infoFactory, queryable, selection, orderings)")
+                .build();
+    }
+
     protected ClassName setterClassName() {
         return ClassName.bestGuess(setterClassNameStr(table, false));
     }
@@ -117,13 +134,25 @@ public abstract class SetterGenerator extends JavaSourceGenerator {
                 builder.addStatement("$N.put($S, $N ? 1 : 0)", RECORD_CONTAINER_FIELD, column.columnName(), column.methodName());
                 break;
             case "java.util.Date":
-                builder.addStatement("$N.put($S, $N.format($N))", RECORD_CONTAINER_FIELD, column.columnName(), "dateFormat", column.methodName());
+                if (column.epochMillis()) {
+                    builder.addStatement("$N.put($S, $N.getTime())", RECORD_CONTAINER_FIELD, column.columnName(), column.methodName());
+                } else {
+                    builder.addStatement("$N.put($S, $N.format($N))", RECORD_CONTAINER_FIELD, column.columnName(), "dateFormat", column.methodName());
+                }
                 break;
             case "java.math.BigInteger":
-                builder.addStatement("$N.put($S, $N.toString(10))", RECORD_CONTAINER_FIELD, column.columnName(), column.methodName());
+                if (column.orderPreserving()) {
+                    builder.addStatement("$N.put($S, $T.encode($N))", RECORD_CONTAINER_FIELD, column.columnName(), OrderPreservingEncoding.class, column.methodName());
+                } else {
+                    builder.addStatement("$N.put($S, $N.toString(10))", RECORD_CONTAINER_FIELD, column.columnName(), column.methodName());
+                }
                 break;
             case "java.math.BigDecimal":
-                builder.addStatement("$N.put($S, $N.toPlainString())", RECORD_CONTAINER_FIELD, column.columnName(), column.methodName());
+                if (column.orderPreserving()) {
+                    builder.addStatement("$N.put($S, $T.encode($N))", RECORD_CONTAINER_FIELD, column.columnName(), OrderPreservingEncoding.class, column.methodName());
+                } else {
+                    builder.addStatement("$N.put($S, $N.toPlainString())", RECORD_CONTAINER_FIELD, column.columnName(), column.methodName());
+                }
                 break;
             default:
                 throw new IllegalStateException("Cannot set value of type: " + column.qualifiedType());
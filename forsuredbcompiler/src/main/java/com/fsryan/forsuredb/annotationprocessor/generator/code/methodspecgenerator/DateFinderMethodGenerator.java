@@ -38,6 +38,11 @@ import com.squareup.javapoet.ParameterizedTypeName;
         return false;
     }
 
+    @Override
+    protected boolean hasStartsWithGrammar() {
+        return false;
+    }
+
     @Override
     protected boolean allowMultipleExactMatches() {
         return true;
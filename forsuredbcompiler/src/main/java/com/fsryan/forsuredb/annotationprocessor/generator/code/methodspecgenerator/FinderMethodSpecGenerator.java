@@ -26,6 +26,8 @@ public abstract class FinderMethodSpecGenerator {
             .put(OP_GT, "OP_GT")
             .put(OP_LE, "OP_LE")
             .put(OP_LIKE, "OP_LIKE")
+            .put(OP_MATCH, "OP_MATCH")
+            .put(OP_STARTS_WITH, "OP_STARTS_WITH")
             .put(OP_LT, "OP_LT")
             .put(OP_NE, "OP_NE")
             .build();
@@ -64,7 +66,9 @@ public abstract class FinderMethodSpecGenerator {
                 return new NumberFinderMethodGenerator(column, conjunctionTypeName, betweenTypeName);
             case "java.math.BigDecimal":
             case "java.math.BigInteger":
-                return new IsIsNotOnlyFinderMethodGenerator(column, conjunctionTypeName, betweenTypeName, true);
+                return column.orderPreserving()
+                        ? new NumberFinderMethodGenerator(column, conjunctionTypeName, betweenTypeName)
+                        : new IsIsNotOnlyFinderMethodGenerator(column, conjunctionTypeName, betweenTypeName, true);
             case "boolean":
             case "java.lang.Boolean":
                 return new IsIsNotOnlyFinderMethodGenerator(column, conjunctionTypeName, betweenTypeName, false);
@@ -97,6 +101,12 @@ public abstract class FinderMethodSpecGenerator {
         if (hasLikeGrammar()) {
             retList.add(createSpec(conjunctionTypeName, "by" + methodNameInsertion + "Like", "like", Finder.OP_LIKE));
         }
+        if (hasStartsWithGrammar()) {
+            retList.add(createSpec(conjunctionTypeName, "by" + methodNameInsertion + "StartsWith", "prefix", Finder.OP_STARTS_WITH));
+        }
+        if (column.fullText()) {
+            retList.add(createSpec(conjunctionTypeName, "by" + methodNameInsertion + "Matches", "fullTextQuery", Finder.OP_MATCH));
+        }
 
         return retList;
     }
@@ -113,6 +123,7 @@ public abstract class FinderMethodSpecGenerator {
     protected abstract boolean hasOnNotOnGrammar();
     protected abstract boolean hasGreaterThanLessThanGrammar();
     protected abstract boolean hasLikeGrammar();
+    protected abstract boolean hasStartsWithGrammar();
     protected abstract boolean allowMultipleExactMatches();
 
     protected String translateParameter(String parameterName) {
@@ -202,7 +213,7 @@ public abstract class FinderMethodSpecGenerator {
                 .beginControlFlow("for ($L $N : $N)", CodeUtil.simpleClassNameFrom(column.getQualifiedType()), "toInclude", "orExactMatches")
                 .addStatement("$N.add($N)", "inclusionFilter", "toInclude")
                 .endControlFlow()
-                .addStatement("addEqualsOrChainToBuf($S, $N)", column.getColumnName(), "inclusionFilter")
+                .addStatement("addInToBuf($S, $N)", column.getColumnName(), "inclusionFilter")
                 .endControlFlow()
                 .build();
     }
@@ -261,6 +272,11 @@ public abstract class FinderMethodSpecGenerator {
             return false;
         }
 
+        @Override
+        protected boolean hasStartsWithGrammar() {
+            return false;
+        }
+
         @Override
         protected boolean allowMultipleExactMatches() {
             return false;
@@ -46,6 +46,11 @@ class IsIsNotOnlyFinderMethodGenerator extends FinderMethodSpecGenerator {
         return false;
     }
 
+    @Override
+    protected boolean hasStartsWithGrammar() {
+        return false;
+    }
+
     @Override
     protected boolean allowMultipleExactMatches() {
         return allowMultipleExactMatches;
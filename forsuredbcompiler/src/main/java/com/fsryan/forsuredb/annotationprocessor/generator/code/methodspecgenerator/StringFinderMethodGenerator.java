@@ -38,6 +38,11 @@ import com.squareup.javapoet.ParameterizedTypeName;
         return true;
     }
 
+    @Override
+    protected boolean hasStartsWithGrammar() {
+        return true;
+    }
+
     @Override
     protected boolean allowMultipleExactMatches() {
         return true;
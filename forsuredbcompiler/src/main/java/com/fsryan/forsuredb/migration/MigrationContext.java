@@ -131,6 +131,8 @@ public class MigrationContext implements TableContext {
                 break;
             case CHANGE_DEFAULT_VALUE:
                 // intentionally falling through
+            case CHANGE_DATE_ENCODING:
+                // intentionally falling through
             case ALTER_TABLE_ADD_UNIQUE:
                 // intentionally falling through
             case MAKE_COLUMN_UNIQUE:
@@ -141,6 +143,19 @@ public class MigrationContext implements TableContext {
             case ADD_INDEX:
                 columnBuilderMap.put(columnKey(m), table.getColumn(m.columnName()).toBuilder().index(true));
                 break;
+            case DROP_TABLE_INDEX:
+                // intentionally falling through
+            case ADD_TABLE_INDEX:
+                handleUpdateTableIndices(table, m, tableBuilderMap);
+                break;
+            case UPDATE_FULL_TEXT_INDEX:
+                if (table == null) {
+                    break;  // <-- the table was dropped
+                }
+                for (ColumnInfo column : table.getColumns()) {
+                    columnBuilderMap.put(columnKey(table.tableName(), column.getColumnName()), column.toBuilder());
+                }
+                break;
             default:
                 APLog.w(LOG_TAG, "Not handling update of type " + m.type() + "; this could cause the migration context to misrepresent the existing schema.");
         }
@@ -162,6 +177,14 @@ public class MigrationContext implements TableContext {
         tb.foreignKeys(table.foreignKeys());
     }
 
+    private void handleUpdateTableIndices(TableInfo table, Migration m, Map<String, TableInfo.Builder> tableBuilderMap) {
+        TableInfo.Builder tb = tableBuilderMap.get(tableKey(m));
+        if (tb == null) {
+            throw new RuntimeException("cannot find table " + m.tableName() + " in prior migration context");
+        }
+        tb.indices(table.indices());
+    }
+
     private String tableKey(Migration m) {
         return m.tableName();
     }
@@ -22,6 +22,7 @@ import com.fsryan.forsuredb.info.ColumnInfo;
 import com.fsryan.forsuredb.info.ForeignKeyInfo;
 import com.fsryan.forsuredb.annotationprocessor.TableContext;
 import com.fsryan.forsuredb.info.TableForeignKeyInfo;
+import com.fsryan.forsuredb.info.TableIndexInfo;
 import com.fsryan.forsuredb.info.TableInfo;
 import com.fsryan.forsuredb.migration.Migration;
 import com.google.common.collect.ImmutableMap;
@@ -129,6 +130,10 @@ public class TestData {
         return migration(Migration.Type.UPDATE_PRIMARY_KEY).tableName(tableName);
     }
 
+    public static ProgressiveMigrationBuilder changeDateEncodingMigration(String tableName) {
+        return migration(Migration.Type.CHANGE_DATE_ENCODING).tableName(tableName);
+    }
+
     public static ProgressiveMigrationBuilder changeDefaultValueMigration(String tableName) {
         return migration(Migration.Type.CHANGE_DEFAULT_VALUE).tableName(tableName);
     }
@@ -141,6 +146,18 @@ public class TestData {
         return migration(Migration.Type.ADD_UNIQUE_INDEX).tableName(tableName);
     }
 
+    public static ProgressiveMigrationBuilder addTableIndexMigration(String tableName) {
+        return migration(Migration.Type.ADD_TABLE_INDEX).tableName(tableName);
+    }
+
+    public static Migration updateFullTextIndexMigration(String tableName) {
+        return migration(Migration.Type.UPDATE_FULL_TEXT_INDEX).tableName(tableName).build();
+    }
+
+    public static ProgressiveMigrationBuilder dropTableIndexMigration(String tableName) {
+        return migration(Migration.Type.DROP_TABLE_INDEX).tableName(tableName);
+    }
+
     public static ColumnInfo idCol() {
         return ColumnInfo.builder().columnName("_id")
                 .methodName("id")
@@ -310,6 +327,32 @@ public class TestData {
         return testTargetContext().getTable("test_table_3");
     }
 
+    public static TableInfo targetTableWithEpochMillisTimestamps() {
+        return table("test_table_4")
+                .qualifiedClassName("com.fsryan.annotationprocessor.generator.code.TestTable4")
+                .addToColumns(createdCol().toBuilder().epochMillis(true).build())
+                .addToColumns(modifiedCol().toBuilder().epochMillis(true).build())
+                .build();
+    }
+
+    public static TableInfo targetTableWithEncodedColumns() {
+        return table("test_table_5")
+                .qualifiedClassName("com.fsryan.annotationprocessor.generator.code.TestTable5")
+                .addToColumns(createdCol().toBuilder().epochMillis(true).build())
+                .addToColumns(modifiedCol().toBuilder().epochMillis(true).build())
+                .addToColumns(bigDecimalCol().columnName("balance").methodName("balance").orderPreserving(true).build())
+                .addToColumns(dateCol().columnName("last_login").methodName("lastLogin").epochMillis(true).build())
+                .addToColumns(stringCol().columnName("name").methodName("name").build())
+                .build();
+    }
+
+    public static TableInfo targetTableWithFullTextColumn() {
+        return table("test_table_6")
+                .qualifiedClassName("com.fsryan.annotationprocessor.generator.code.TestTable6")
+                .addToColumns(stringCol().columnName("body").methodName("body").fullText(true).build())
+                .build();
+    }
+
     public static TableInfo targetTableWithParentAndChildForeignKey() {
         return testTargetContext().getTable("test_table_2");
     }
@@ -389,6 +432,7 @@ public class TestData {
     public static class ProgressiveTableInfoBuilder {
 
         private Set<TableForeignKeyInfo> foreignKeys = new HashSet<>();
+        private Set<TableIndexInfo> indices = new HashSet<>();
         private Set<String> primaryKey = new HashSet<>();
         private Map<String, ColumnInfo> columnMap = new HashMap<>();
         private final TableInfo.BuilderCompat realBuilder = TableInfo.builder();
@@ -410,6 +454,13 @@ public class TestData {
             return this;
         }
 
+        public ProgressiveTableInfoBuilder addIndex(TableIndexInfo... indices) {
+            if (indices != null && indices.length > 0) {
+                Arrays.stream(indices).forEach(index -> this.indices.add(index));
+            }
+            return this;
+        }
+
         public ProgressiveTableInfoBuilder addToPrimaryKey(String... primaryKeyColumns) {
             if (primaryKeyColumns != null && primaryKeyColumns.length > 0) {
                 Arrays.stream(primaryKeyColumns).forEach(pkc -> this.primaryKey.add(pkc));
@@ -460,7 +511,7 @@ public class TestData {
         }
 
         public TableInfo build() {
-            return realBuilder.foreignKeys(foreignKeys).columnMap(columnMap).primaryKey(primaryKey).build();
+            return realBuilder.foreignKeys(foreignKeys).indices(indices).columnMap(columnMap).primaryKey(primaryKey).build();
         }
     }
 
@@ -0,0 +1,88 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.annotationprocessor;
+
+import com.fsryan.forsuredb.annotations.FSIndex;
+import com.fsryan.forsuredb.info.TableIndexInfo;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ProcessingContextTest {
+
+    private static final Set<String> columnNames = Sets.newHashSet("_id", "created", "deleted", "modified", "user_id", "name");
+
+    @Test
+    public void shouldCreateIndexOfKnownColumns() {
+        TableIndexInfo actual = ProcessingContext.tableIndexFrom(index(new String[] {"user_id", "modified DESC"}, new String[] {"name"}, false), "test1", columnNames);
+
+        assertEquals("test1_user_id_modified_idx", actual.name());
+        assertEquals(Arrays.asList("user_id", "modified" + TableIndexInfo.DESCENDING_SUFFIX), actual.columns());
+        assertEquals(Arrays.asList("name"), actual.include());
+    }
+
+    @Test
+    public void shouldThrowWhenKeyColumnUnknown() {
+        assertThrowsWithMessage(
+                index(new String[] {"user_id", "nmae DESC"}, new String[0], false),
+                "Index on table test1 has unknown column: 'nmae'"
+        );
+    }
+
+    @Test
+    public void shouldThrowWhenIncludedColumnUnknown() {
+        assertThrowsWithMessage(
+                index(new String[] {"user_id"}, new String[] {"nmae"}, false),
+                "Index on table test1 includes unknown column: 'nmae'"
+        );
+    }
+
+    @Test
+    public void shouldThrowWhenUniqueIndexIncludesColumns() {
+        assertThrowsWithMessage(
+                index(new String[] {"user_id"}, new String[] {"name"}, true),
+                "Unique index on table test1 cannot include columns: [name]"
+        );
+    }
+
+    private static void assertThrowsWithMessage(FSIndex index, String expectedMessage) {
+        try {
+            ProcessingContext.tableIndexFrom(index, "test1", columnNames);
+            fail("Should have thrown IllegalArgumentException");
+        } catch (IllegalArgumentException iae) {
+            assertEquals(expectedMessage, iae.getMessage());
+        }
+    }
+
+    private static FSIndex index(String[] value, String[] include, boolean unique) {
+        FSIndex ret = mock(FSIndex.class);
+        when(ret.name()).thenReturn("");
+        when(ret.value()).thenReturn(value);
+        when(ret.include()).thenReturn(include);
+        when(ret.unique()).thenReturn(unique);
+        when(ret.where()).thenReturn("");
+        return ret;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+   forsuredbcompiler, an annotation processor and code generator for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.annotationprocessor.generator;
+
+import com.fsryan.forsuredb.annotationprocessor.TableContext;
+import com.fsryan.forsuredb.info.TableInfo;
+import org.junit.Test;
+
+import static com.fsryan.forsuredb.TestData.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class DiffGeneratorErrorTest {
+
+    @Test
+    public void shouldThrowIllegalStateExceptionWhenExistingColumnBecomesOrderPreserving() {
+        assertThrowsWithMessage(
+                defaultPkTable("test1", bigDecimalCol().build()).build(),
+                defaultPkTable("test1", bigDecimalCol().orderPreserving(true).build()).build(),
+                "Cannot change whether existing column test1.big_decimal_column is order-preserving because the values already stored cannot be converted; add a new column instead"
+        );
+    }
+
+    @Test
+    public void shouldThrowIllegalStateExceptionWhenExistingColumnStopsBeingOrderPreserving() {
+        assertThrowsWithMessage(
+                defaultPkTable("test1", bigDecimalCol().orderPreserving(true).build()).build(),
+                defaultPkTable("test1", bigDecimalCol().build()).build(),
+                "Cannot change whether existing column test1.big_decimal_column is order-preserving because the values already stored cannot be converted; add a new column instead"
+        );
+    }
+
+    private static void assertThrowsWithMessage(TableInfo source, TableInfo target, String expectedMessage) {
+        TableContext migrationContext = newTableContext().addTable(source).build();
+        TableContext processingContext = newTableContext().addTable(target).build();
+        try {
+            new DiffGenerator(migrationContext, 1).analyzeDiff(processingContext);
+            fail("Should have thrown IllegalStateException");
+        } catch (IllegalStateException ise) {
+            assertEquals(expectedMessage, ise.getMessage());
+        }
+    }
+}
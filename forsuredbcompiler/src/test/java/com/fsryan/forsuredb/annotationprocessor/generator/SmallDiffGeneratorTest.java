@@ -20,6 +20,7 @@ package com.fsryan.forsuredb.annotationprocessor.generator;
 import com.fsryan.forsuredb.annotationprocessor.TableContext;
 
 import com.fsryan.forsuredb.info.TableForeignKeyInfo;
+import com.fsryan.forsuredb.info.TableIndexInfo;
 import com.fsryan.forsuredb.migration.Migration;
 import com.fsryan.forsuredb.migration.MigrationSet;
 import com.google.common.collect.ImmutableMap;
@@ -467,10 +468,186 @@ public class SmallDiffGeneratorTest extends BaseDiffGeneratorTest {
                                         )
                                 )
                                 .build()
+                },
+                {   // 17: create a table that has a table index
+                        2,
+                        newTableContext().build(),
+                        newTableContext()
+                                .addTable(defaultPkTable("test1", longCol().build())
+                                        .addIndex(tableIndex("test1_long_column_idx", "long_column DESC").where("deleted = 0").build())
+                                        .build())
+                                .build(),
+                        MigrationSet.builder()
+                                .dbVersion(3)
+                                .orderedMigrations(Arrays.asList(
+                                        createTableMigration("test1"),
+                                        addColumnMigration("test1")
+                                                .columnName(longCol().build().getColumnName())
+                                                .build(),
+                                        addTableIndexMigration("test1")
+                                                .columnName("test1_long_column_idx")
+                                                .build()
+                                ))
+                                .targetSchema(tableMapOf(
+                                        defaultPkTable("test1", longCol().build())
+                                                .addIndex(tableIndex("test1_long_column_idx", "long_column DESC").where("deleted = 0").build())
+                                                .build()
+                                        )
+                                )
+                                .build()
+                },
+                {   // 18: add, remove and change table indices of an existing table
+                        2,
+                        newTableContext()
+                                .addTable(defaultPkTable("test1", longCol().build(), intCol().build())
+                                        .addIndex(tableIndex("a_idx", "long_column").build(),
+                                                tableIndex("b_idx", "int_column").build())
+                                        .build())
+                                .build(),
+                        newTableContext()
+                                .addTable(defaultPkTable("test1", longCol().build(), intCol().build())
+                                        .addIndex(tableIndex("a_idx", "long_column", "int_column").build(),
+                                                tableIndex("c_idx", "int_column").include(Arrays.asList("long_column")).build())
+                                        .build())
+                                .build(),
+                        MigrationSet.builder()
+                                .dbVersion(3)
+                                .orderedMigrations(Arrays.asList(
+                                        dropTableIndexMigration("test1").columnName("a_idx").build(),
+                                        dropTableIndexMigration("test1").columnName("b_idx").build(),
+                                        addTableIndexMigration("test1").columnName("a_idx").build(),
+                                        addTableIndexMigration("test1").columnName("c_idx").build()
+                                ))
+                                .targetSchema(tableMapOf(
+                                        defaultPkTable("test1", longCol().build(), intCol().build())
+                                                .addIndex(tableIndex("a_idx", "long_column", "int_column").build(),
+                                                        tableIndex("c_idx", "int_column").include(Arrays.asList("long_column")).build())
+                                                .build()
+                                        )
+                                )
+                                .build()
+                },
+                {   // 19: create a table that has a full-text column
+                        2,
+                        newTableContext().build(),
+                        newTableContext()
+                                .addTable(defaultPkTable("test1", stringCol().fullText(true).build()).build())
+                                .build(),
+                        MigrationSet.builder()
+                                .dbVersion(3)
+                                .orderedMigrations(Arrays.asList(
+                                        createTableMigration("test1"),
+                                        addColumnMigration("test1")
+                                                .columnName(stringCol().build().getColumnName())
+                                                .build(),
+                                        updateFullTextIndexMigration("test1")
+                                ))
+                                .targetSchema(tableMapOf(
+                                        defaultPkTable("test1", stringCol().fullText(true).build()).build()
+                                        )
+                                )
+                                .build()
+                },
+                {   // 20: make an existing column full-text searchable
+                        2,
+                        newTableContext()
+                                .addTable(defaultPkTable("test1", stringCol().build(), intCol().build()).build())
+                                .build(),
+                        newTableContext()
+                                .addTable(defaultPkTable("test1", stringCol().fullText(true).build(), intCol().build()).build())
+                                .build(),
+                        MigrationSet.builder()
+                                .dbVersion(3)
+                                .orderedMigrations(Arrays.asList(
+                                        updateFullTextIndexMigration("test1")
+                                ))
+                                .targetSchema(tableMapOf(
+                                        defaultPkTable("test1", stringCol().fullText(true).build(), intCol().build()).build()
+                                        )
+                                )
+                                .build()
+                },
+                {   // 21: store an existing date column as epoch millis
+                        2,
+                        newTableContext()
+                                .addTable(defaultPkTable("test1", dateCol().build()).build())
+                                .build(),
+                        newTableContext()
+                                .addTable(defaultPkTable("test1", dateCol().epochMillis(true).build()).build())
+                                .build(),
+                        MigrationSet.builder()
+                                .dbVersion(3)
+                                .orderedMigrations(Arrays.asList(
+                                        changeDateEncodingMigration("test1")
+                                                .columnName(dateCol().build().getColumnName())
+                                                .build()
+                                ))
+                                .targetSchema(tableMapOf(
+                                        defaultPkTable("test1", dateCol().epochMillis(true).build()).build()
+                                        )
+                                )
+                                .build()
+                },
+                {   // 22: add an order-preserving big decimal column to an existing table
+                        2,
+                        newTableContext()
+                                .addTable(defaultPkTable("test1", intCol().build()).build())
+                                .build(),
+                        newTableContext()
+                                .addTable(defaultPkTable("test1", intCol().build(), bigDecimalCol().orderPreserving(true).build()).build())
+                                .build(),
+                        MigrationSet.builder()
+                                .dbVersion(3)
+                                .orderedMigrations(Arrays.asList(
+                                        addColumnMigration("test1")
+                                                .columnName(bigDecimalCol().build().getColumnName())
+                                                .build()
+                                ))
+                                .targetSchema(tableMapOf(
+                                        defaultPkTable("test1", intCol().build(), bigDecimalCol().orderPreserving(true).build()).build()
+                                        )
+                                )
+                                .build()
+                },
+                {   // 23: store the created and modified columns of an existing table as epoch millis
+                        2,
+                        newTableContext()
+                                .addTable(defaultPkTable("test1", intCol().build()).build())
+                                .build(),
+                        newTableContext()
+                                .addTable(defaultPkTable("test1", intCol().build(), createdCol().toBuilder().epochMillis(true).build(), modifiedCol().toBuilder().epochMillis(true).build()).build())
+                                .build(),
+                        MigrationSet.builder()
+                                .dbVersion(3)
+                                .orderedMigrations(Arrays.asList(
+                                        changeDefaultValueMigration("test1")
+                                                .columnName("created")
+                                                .build(),
+                                        changeDefaultValueMigration("test1")
+                                                .columnName("modified")
+                                                .build(),
+                                        changeDateEncodingMigration("test1")
+                                                .columnName("created")
+                                                .build(),
+                                        changeDateEncodingMigration("test1")
+                                                .columnName("modified")
+                                                .build()
+                                ))
+                                .targetSchema(tableMapOf(
+                                        defaultPkTable("test1", intCol().build(), createdCol().toBuilder().epochMillis(true).build(), modifiedCol().toBuilder().epochMillis(true).build()).build()
+                                        )
+                                )
+                                .build()
                 }
         });
     }
 
+    private static TableIndexInfo.Builder tableIndex(String name, String... columns) {
+        return TableIndexInfo.builder()
+                .name(name)
+                .columns(Arrays.asList(columns));
+    }
+
     private static TableForeignKeyInfo.Builder tableForeignKeyInfoBuilder() {
         return TableForeignKeyInfo.builder()
                 .foreignTableApiClassName(SmallDiffGeneratorTest.class.getSimpleName());
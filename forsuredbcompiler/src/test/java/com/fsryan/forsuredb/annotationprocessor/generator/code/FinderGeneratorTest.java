@@ -34,6 +34,10 @@ public class FinderGeneratorTest extends GeneratorTest<JavaFileObject> {
                         TestData.resourceText("example_finder.txt"),
                         TestData.targetTableWithChildForeignKey()
                 },
+                {
+                        TestData.resourceText("example_epoch_millis_timestamps_finder.txt"),
+                        TestData.targetTableWithEpochMillisTimestamps()
+                },
                 // TODO: test DocStoreFinder generation
         });
     }
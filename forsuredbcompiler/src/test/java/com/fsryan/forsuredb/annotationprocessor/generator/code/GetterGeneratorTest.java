@@ -34,6 +34,10 @@ public class GetterGeneratorTest extends GeneratorTest<JavaFileObject> {
                         TestData.resourceText("example_getter.txt"),
                         TestData.targetTableWithChildForeignKey()
                 },
+                {
+                        TestData.resourceText("example_epoch_millis_timestamps_getter.txt"),
+                        TestData.targetTableWithEpochMillisTimestamps()
+                },
         });
     }
 
@@ -30,6 +30,10 @@ public class OrderByGeneratorTest extends GeneratorTest<JavaFileObject> {
                         TestData.resourceText("example_order_by.txt"),
                         TestData.targetTableWithChildForeignKey()
                 },
+                {
+                        TestData.resourceText("example_order_by_with_full_text_column.txt"),
+                        TestData.targetTableWithFullTextColumn()
+                },
                 // TODO: test DocStoreOrderByGenerator
         });
     }
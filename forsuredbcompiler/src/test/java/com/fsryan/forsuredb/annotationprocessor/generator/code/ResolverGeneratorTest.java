@@ -40,6 +40,11 @@ public class ResolverGeneratorTest extends GeneratorTest<JavaFileObject> {
                         targetTableWithParentAndChildForeignKey(),
                         testTargetContext()
                 },
+                {
+                        resourceText("example_resolver_with_encoded_columns.txt"),
+                        targetTableWithEncodedColumns(),
+                        testTargetContext()
+                },
                 // TODO: test DocStoreResolver extension
         });
     }
@@ -6,6 +6,7 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Properties;
+import java.util.concurrent.locks.ReentrantLock;
 
 public abstract class AbstractDBOpener {
 
@@ -17,6 +18,9 @@ public abstract class AbstractDBOpener {
     @Nonnull
     protected final DBConfigurer dbConfigurer;
     private final int newVersion;
+    // a ReentrantLock rather than a monitor so that a virtual thread waiting for the database
+    // to be opened, created, or migrated does not pin its carrier thread
+    private final ReentrantLock openLock = new ReentrantLock();
 
     /**
      * <p>
@@ -38,6 +42,15 @@ public abstract class AbstractDBOpener {
         this.newVersion = newVersion;
     }
 
+    Connection getDatabase(boolean writable) throws SQLException {
+        openLock.lock();
+        try {
+            return getDatabaseLocked(writable);
+        } finally {
+            openLock.unlock();
+        }
+    }
+
     Connection getDatabaseLocked(boolean writable) throws SQLException {
         if (db != null) {
             try {
@@ -127,6 +140,34 @@ public abstract class AbstractDBOpener {
         }
     }
 
+    /**
+     * <p>Opens a new {@link Connection} to the database that is independent of the
+     * {@link Connection} managed by this opener. The database is created or migrated first
+     * (if necessary), and then the new {@link Connection} is passed through
+     * {@link #onConfigure(Connection)}, {@link #onOpen(Connection)}, and
+     * {@link DBConfigurer#configurePooledConnection(Connection, boolean)}.
+     * <p>The caller owns the returned {@link Connection} and is responsible for closing it.
+     * @param writer whether the {@link Connection} will be used for writes
+     * @return a new, fully-configured {@link Connection} to the database
+     * @throws SQLException that could be thrown when opening or configuring the {@link Connection}
+     */
+    public Connection openAdditionalConnection(boolean writer) throws SQLException {
+        getDatabase(true);
+
+        Connection db = writer
+                ? DriverManager.getConnection(jdbcUrl, connectionProps)
+                : DriverManager.getConnection(jdbcUrl, connectionPropsWithReadOnly());
+        try {
+            onConfigure(db);
+            onOpen(db);
+            dbConfigurer.configurePooledConnection(db, writer);
+            return db;
+        } catch (SQLException | RuntimeException e) {
+            db.close();
+            throw e;
+        }
+    }
+
     /**
      * <p>Called before {@link #onCreate}, {@link #onUpgrade(Connection, int, int)},
      * {@link #onDowngrade(Connection, int, int)}, and {@link #onOpen(Connection)}.
@@ -8,4 +8,17 @@ public interface DBConfigurer {
     boolean setVersion(Connection db, int version) throws SQLException;
     boolean mustEnableForeignKeys();
     void enableForeignKeys(Connection db) throws SQLException;
+
+    /**
+     * <p>Called for each additional {@link Connection} opened for a
+     * {@link com.fsryan.forsuredb.pool.ConnectionPool ConnectionPool} after the schema has
+     * been migrated. Use this to apply settings that only matter when more than one
+     * {@link Connection} to the database is open at once.
+     * @param db the newly opened {@link Connection}
+     * @param writer whether the {@link Connection} will be used for writes
+     * @throws SQLException that could be thrown when using the {@link Connection}
+     */
+    default void configurePooledConnection(Connection db, boolean writer) throws SQLException {
+        // empty implementation--override if necessary
+    }
 }
@@ -0,0 +1,152 @@
+package com.fsryan.forsuredb;
+
+import com.fsryan.forsuredb.api.CompiledQuery;
+import com.fsryan.forsuredb.api.FSSaveApi;
+import com.fsryan.forsuredb.api.Resolver;
+import com.fsryan.forsuredb.api.Retriever;
+import com.fsryan.forsuredb.api.RowMapper;
+import com.fsryan.forsuredb.api.SaveResult;
+import com.fsryan.forsuredb.api.UnitOfWork;
+import com.fsryan.forsuredb.queryable.Cancellation;
+import com.fsryan.forsuredb.resultset.RowPublisher;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Asynchronous variants of the blocking query and save methods. Each method runs the
+ * blocking call on the {@link java.util.concurrent.Executor Executor} set by
+ * {@link ForSureJdbcInfoFactory#setAsyncExecutor(Executor)} and returns a
+ * {@link CompletableFuture} of its result.
+ * <p>Cancelling a returned {@link CompletableFuture} cancels the statement that is executing
+ * on its behalf, if any, and prevents any further statements from executing.
+ * <p>A {@link Resolver} or {@link FSSaveApi} passed to one of these methods must not be used
+ * again until the returned {@link CompletableFuture} has completed or, in the case of
+ * {@link #publish(Resolver, RowMapper)}, until the {@link RowPublisher} has signalled its
+ * first row, completion, or error.
+ */
+public final class FSAsync {
+
+    private FSAsync() {}
+
+    /**
+     * @param resolver the {@link Resolver} whose query should be performed
+     * @return a {@link CompletableFuture} of the {@link Retriever} that {@link Resolver#get()}
+     * returns. The caller must close the {@link Retriever}.
+     */
+    public static CompletableFuture<Retriever> getAsync(@Nonnull Resolver<?, ?, ?, ?, ?, ?, ?> resolver) {
+        return runAsync(resolver::get);
+    }
+
+    /**
+     * @param compiledQuery the {@link CompiledQuery} to perform
+     * @param values the values to query with
+     * @return a {@link CompletableFuture} of the {@link Retriever} that
+     * {@link CompiledQuery#get(Object...)} returns. The caller must close the {@link Retriever}.
+     */
+    public static CompletableFuture<Retriever> getAsync(@Nonnull CompiledQuery compiledQuery, Object... values) {
+        return runAsync(() -> compiledQuery.get(values));
+    }
+
+    /**
+     * @param saveApi the {@link FSSaveApi} whose record should be saved
+     * @param <U> the type of the locator of the table
+     * @return a {@link CompletableFuture} of the {@link SaveResult} that
+     * {@link FSSaveApi#save()} returns
+     */
+    public static <U> CompletableFuture<SaveResult<U>> saveAsync(@Nonnull FSSaveApi<U> saveApi) {
+        return runAsync(saveApi::save);
+    }
+
+    /**
+     * @param resolver the {@link Resolver} whose query should be published
+     * @param mapper the {@link RowMapper} that maps each row--typically in terms of the
+     *               generated Getter of the table
+     * @param <T> the type each row is mapped to
+     * @return a {@link RowPublisher} that performs the query and publishes its rows on the
+     * async {@link Executor}
+     */
+    public static <T> RowPublisher<T> publish(@Nonnull Resolver<?, ?, ?, ?, ?, ?, ?> resolver, @Nonnull RowMapper<T> mapper) {
+        return new RowPublisher<>(resolver::get, mapper, ForSureJdbcInfoFactory.inst().asyncExecutor());
+    }
+
+    /**
+     * @param compiledQuery the {@link CompiledQuery} whose rows should be published
+     * @param mapper the {@link RowMapper} that maps each row
+     * @param values the values to query with
+     * @param <T> the type each row is mapped to
+     * @return a {@link RowPublisher} that performs the query and publishes its rows on the
+     * async {@link Executor}
+     */
+    public static <T> RowPublisher<T> publish(@Nonnull CompiledQuery compiledQuery, @Nonnull RowMapper<T> mapper, Object... values) {
+        return new RowPublisher<>(() -> compiledQuery.get(values), mapper, ForSureJdbcInfoFactory.inst().asyncExecutor());
+    }
+
+    /**
+     * <p>Runs any {@link UnitOfWork}--for example, one that calls
+     * {@link ForSureJdbcInfoFactory#runInTransaction(UnitOfWork)}--asynchronously
+     * @param work the {@link UnitOfWork} to run
+     * @param <T> the type of the result
+     * @return a {@link CompletableFuture} of the result of the {@link UnitOfWork}, completed
+     * exceptionally with whatever the {@link UnitOfWork} throws
+     */
+    public static <T> CompletableFuture<T> runAsync(@Nonnull UnitOfWork<T> work) {
+        final Cancellation cancellation = new Cancellation();
+        final CompletableFuture<T> ret = new CompletableFuture<>();
+        ret.whenComplete((result, t) -> {
+            if (ret.isCancelled()) {
+                cancellation.cancel();
+            }
+        });
+
+        try {
+            ForSureJdbcInfoFactory.inst().asyncExecutor().execute(() -> {
+                if (ret.isDone()) {
+                    return; // <-- cancelled before it started
+                }
+                try {
+                    T result = cancellation.run(work);
+                    if (!ret.complete(result) && result instanceof Closeable) {
+                        // nobody is left to close the result of a cancelled query
+                        closeQuietly((Closeable) result);
+                    }
+                } catch (Throwable t) {
+                    ret.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException ree) {
+            ret.completeExceptionally(ree);
+        }
+        return ret;
+    }
+
+    /*package*/ static Executor defaultExecutor() {
+        return DefaultExecutorHolder.executor;
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ioe) {
+            // nothing can be done about it
+        }
+    }
+
+    private static class DefaultExecutorHolder {
+
+        private static final AtomicInteger threadCount = new AtomicInteger();
+
+        static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+            Thread ret = new Thread(r, "forsuredb-async-" + threadCount.incrementAndGet());
+            ret.setDaemon(true);
+            return ret;
+        });
+    }
+}
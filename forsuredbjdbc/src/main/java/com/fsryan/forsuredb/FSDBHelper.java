@@ -8,6 +8,8 @@ import com.fsryan.forsuredb.api.sqlgeneration.Sql;
 import com.fsryan.forsuredb.api.staticdata.StaticDataRetrieverFactory;
 import com.fsryan.forsuredb.info.TableInfo;
 import com.fsryan.forsuredb.migration.MigrationSet;
+import com.fsryan.forsuredb.pool.ConnectionPool;
+import com.fsryan.forsuredb.queryable.JdbcQueryable;
 import com.fsryan.forsuredb.resources.Resources;
 import com.fsryan.forsuredb.serialization.FSDbInfoSerializer;
 
@@ -58,12 +60,32 @@ public class FSDBHelper extends AbstractDBOpener {
                 ps.execute();
             }
         }
+
+        @Override
+        public void configurePooledConnection(Connection db, boolean writer) throws SQLException {
+            if (!writer) {
+                return;
+            }
+            // write-ahead logging allows readers to proceed concurrently with the writer
+            try (PreparedStatement ps = db.prepareStatement("PRAGMA journal_mode=WAL;")) {
+                ps.execute();
+            }
+        }
     };
 
+    /**
+     * <p>The default maximum number of static data records sent to the database at once
+     * @see #setStaticDataBatchSize(int)
+     */
+    public static final int DEFAULT_STATIC_DATA_BATCH_SIZE = 500;
+
     private final List<FSTableCreator> tables;
     private final List<MigrationSet> migrationSets;
     private final FSDbInfoSerializer dbInfoSerializer;
     @Nullable private final FSLogger log;
+    private int staticDataBatchSize = DEFAULT_STATIC_DATA_BATCH_SIZE;
+    // the tables changed by migrations that have not yet been published
+    private final Set<String> migratedTables = new HashSet<>();
 
     private FSDBHelper(String jdbcUrl,
                        Properties connectionProps,
@@ -90,6 +112,7 @@ public class FSDBHelper extends AbstractDBOpener {
         LogHelper.setLoggingOn(debugMode);
         this.log = log;
         ForSureJdbcInfoFactory.inst().setLogger(log);
+        ForSureJdbcInfoFactory.inst().setSchema(identifyCurrentSchema(migrationSets));
     }
 
     /**
@@ -250,24 +273,58 @@ public class FSDBHelper extends AbstractDBOpener {
         applyMigrations(db, oldVersion);
     }
 
+    /**
+     * <p>Also publishes the tables changed by any migrations, which have been committed by the
+     * time the database is opened, to the {@link com.fsryan.forsuredb.queryable.TableChangeBus}
+     * of {@link ForSureJdbcInfoFactory}
+     */
     @Override
     public void onOpen(Connection db) throws SQLException {
         super.onOpen(db);
         if (!db.isReadOnly() && dbConfigurer.mustEnableForeignKeys()) {
             dbConfigurer.enableForeignKeys(db);
         }
+        if (!migratedTables.isEmpty()) {
+            ForSureJdbcInfoFactory.inst().tableChangeBus().tablesChanged(new HashSet<>(migratedTables));
+            migratedTables.clear();
+        }
     }
 
-    public Connection getWritableDatabase() throws SQLException {
-        synchronized (this) {
-            return getDatabaseLocked(true);
+    /**
+     * <p>Sets the maximum number of static data records that are batched together when static
+     * data is inserted during a migration. This must be called before the database is first
+     * opened in order to take effect for that migration.
+     * @param staticDataBatchSize the maximum number of records per batch; must be at least 1
+     */
+    public void setStaticDataBatchSize(int staticDataBatchSize) {
+        if (staticDataBatchSize < 1) {
+            throw new IllegalArgumentException("staticDataBatchSize must be >= 1, was " + staticDataBatchSize);
         }
+        this.staticDataBatchSize = staticDataBatchSize;
+    }
+
+    public Connection getWritableDatabase() throws SQLException {
+        return getDatabase(true);
     }
 
     public Connection getReadableDatabase() throws SQLException {
-        synchronized (this) {
-            return getDatabaseLocked(false);
-        }
+        return getDatabase(false);
+    }
+
+    /**
+     * <p>Creates a {@link ConnectionPool} of connections to the same database as this helper.
+     * Pass the result to {@link ForSureJdbcInfoFactory#setDBProvider(JdbcQueryable.DBProvider)}
+     * so that queries and writes no longer serialize on the single connection returned by
+     * {@link #getWritableDatabase()} and {@link #getReadableDatabase()}.
+     * <p>Pooling is only useful for databases that can be opened more than once. An in-memory
+     * SQLite database, for example, is private to the connection that created it.
+     * @param config the {@link ConnectionPool.Config} describing the size of the pool
+     * @return a new {@link ConnectionPool}
+     * @see ConnectionPool.Config#sqlite(int)
+     * @see ConnectionPool.Config#server(int, int)
+     */
+    public ConnectionPool newConnectionPool(@Nonnull ConnectionPool.Config config) {
+        return new ConnectionPool(config, this::openAdditionalConnection);
     }
 
     /**
@@ -287,9 +344,27 @@ public class FSDBHelper extends AbstractDBOpener {
         return version;
     }
 
+    /**
+     * @param migrationSets The {@link List} of
+     * {@link com.fsryan.forsuredb.migration.MigrationSet MigrationSet}
+     * @return the target schema of the {@link MigrationSet} with the largest dbVersion or null
+     * if there are no migrationSets
+     */
+    @Nullable
+    private static Map<String, TableInfo> identifyCurrentSchema(List<MigrationSet> migrationSets) {
+        if (migrationSets == null || migrationSets.isEmpty()) {
+            return null;
+        }
+
+        MigrationSet latest = migrationSets.get(0);
+        for (MigrationSet migrationSet : migrationSets) {
+            latest = migrationSet.dbVersion() > latest.dbVersion() ? migrationSet : latest;
+        }
+        return latest.targetSchema();
+    }
+
     private void applyMigrations(Connection db, int previousVersion) {
-        int staticDataInsertFromVersion = 0;
-        final Map<String, Map<Integer, List<RecordContainer>>> versionToStaticDataRecordContainers = new HashMap<>();
+        final Map<String, URL> staticDataAssets = new HashMap<>();
         while (migrationSets.size() > 0) {
             MigrationSet migrationSet = migrationSets.get(0);
             int version = migrationSet.dbVersion();
@@ -297,11 +372,6 @@ public class FSDBHelper extends AbstractDBOpener {
                 migrationSets.remove(0);
                 continue;
             }
-
-            if (staticDataInsertFromVersion == 0) {
-                staticDataInsertFromVersion = migrationSet.dbVersion();
-                versionToStaticDataRecordContainers.putAll(createStaticDataRecordContainers());
-            }
             migrationSets.remove(0);
 
             final List<String> sqlScript = Sql.generator().generateMigrationSql(migrationSet, dbInfoSerializer);
@@ -310,57 +380,72 @@ public class FSDBHelper extends AbstractDBOpener {
                 LogHelper.logWith(log, "[migrate] performing migration for db version %d", migrationSet.dbVersion());
             }
             migrateSchema(db, sqlScript, "performing migration sql: ");
-            insertStaticData(db, migrationSet, versionToStaticDataRecordContainers);
+            migrationSet.orderedMigrations().forEach(migration -> migratedTables.add(migration.tableName()));
+            insertStaticData(db, migrationSet, staticDataAssets);
         }
     }
 
-    private void insertStaticData(Connection db, MigrationSet migrationSet, Map<String, Map<Integer, List<RecordContainer>>> versionToStaticDataRecordContainers) {
+    private void insertStaticData(Connection db, MigrationSet migrationSet, Map<String, URL> staticDataAssets) {
         TableInfoUtil.bestEffortDAGSort(migrationSet.targetSchema()).stream()
                 .map(TableInfo::tableName)
                 .filter(this::hasStaticData)
-                .filter(versionToStaticDataRecordContainers::containsKey)
                 .forEach(tableName -> {
-                    Map<Integer, List<RecordContainer>> versionRecordMap = versionToStaticDataRecordContainers.get(tableName);
-                    List<RecordContainer> records = versionRecordMap.get(migrationSet.dbVersion());
-                    if (records == null) {
-                        return;
-                    }
-
-                    LogHelper.logWith(log,"[migrate] inserting static data for db version %d", migrationSet.dbVersion());
-                    insertStaticData(db, tableName, records);
+                    URL staticDataAsset = staticDataAssets.computeIfAbsent(tableName, this::findStaticDataAsset);
+                    streamStaticData(db, tableName, migrationSet, staticDataAsset);
+                    migratedTables.add(tableName);
                 });
     }
 
     private boolean hasStaticData(String tableName) {
+        return staticDataAssetName(tableName) != null;
+    }
+
+    private String staticDataAssetName(String tableName) {
         return tables.stream()
                 .filter(tc -> tc.getTableName().equals((tableName)))
-                .anyMatch(tc -> tc.getStaticDataAsset() != null && !tc.getStaticDataAsset().isEmpty());
+                .map(FSTableCreator::getStaticDataAsset)
+                .filter(asset -> asset != null && !asset.isEmpty())
+                .findFirst()
+                .orElse(null);
     }
 
-    private Map<String, Map<Integer, List<RecordContainer>>> createStaticDataRecordContainers() {
-        Map<String, Map<Integer, List<RecordContainer>>> ret = new HashMap<>();
-        for (FSTableCreator tc : tables) {
-            String staticDataAsset = tc.getStaticDataAsset();
-            if (staticDataAsset == null || staticDataAsset.isEmpty()) {
-                continue;
-            }
+    private URL findStaticDataAsset(String tableName) {
+        final String staticDataAsset = staticDataAssetName(tableName);
+        try {
+            // TODO: this is bound to fail. Change.
+            return Resources.getResourceURLs(resourceUrl -> resourceUrl.toString().endsWith("/" + staticDataAsset)).get(0);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-            URL url = null;
-            try {
-                // TODO: this is bound to fail. Change.
-                url = Resources.getResourceURLs(resourceUrl -> resourceUrl.toString().endsWith("/" + staticDataAsset)).get(0);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-            try {
-                StaticDataRetrieverFactory.createFor(tc.getTableName(), migrationSets, url).retrieve(versionRecordMap -> {
-                    ret.put(tc.getTableName(), versionRecordMap);
-                });
-            } catch (IOException ioe) {
-                ioe.printStackTrace();
-            }
+    /**
+     * <p>Parses the static data asset and inserts the records for the db version of the
+     * {@link MigrationSet} as they are parsed, so that at most one batch of records is held
+     * in memory at a time. The insert statements are prepared once for the table and reused
+     * for every batch.
+     */
+    private void streamStaticData(Connection db, String tableName, MigrationSet migrationSet, URL staticDataAsset) {
+        final long startNanos = System.nanoTime();
+        final int[] inserted = new int[1];
+        try (StaticDataInserter inserter = new StaticDataInserter(db, tableName)) {
+            StaticDataRetrieverFactory.createFor(tableName, Collections.singletonList(migrationSet), staticDataAsset)
+                    .stream(migrationSet.dbVersion(), staticDataBatchSize, (dbVersion, records) -> {
+                        if (inserted[0] == 0) {
+                            LogHelper.logWith(log, "[migrate] inserting static data for db version %d", dbVersion);
+                        }
+                        inserter.insert(records);
+                        inserted[0] += records.size();
+                    });
+        } catch (IOException ioe) {
+            // the migration must not complete without its static data
+            throw new RuntimeException("Could not read static data of " + tableName + " from " + staticDataAsset, ioe);
+        }
+
+        if (inserted[0] > 0) {
+            final long elapsedMillis = (System.nanoTime() - startNanos) / 1000000L;
+            LogHelper.logWith(log, "[migrate] inserted %d static data records into %s in %d ms", inserted[0], tableName, elapsedMillis);
         }
-        return ret;
     }
 
     private void migrateSchema(Connection db, List<String> sqlScript, String logPrefix) {
@@ -374,19 +459,66 @@ public class FSDBHelper extends AbstractDBOpener {
         }
     }
 
-    private void insertStaticData(Connection db, String tableName, List<RecordContainer> records) {
-        // TODO: records are inserted individually, but there is not a strong reason why they should--investigate batching instead of individual record insertion
-        records.forEach(record -> {
-            List<String> columns = correctColumnsForInsert(record);
-            String insertionSql = Sql.generator().newSingleRowInsertionSql(tableName, columns);
+    /**
+     * <p>Inserts the static data records of one table, preparing one statement per column
+     * set the first time the column set is seen
+     */
+    private class StaticDataInserter implements AutoCloseable {
+
+        private final Connection db;
+        private final String tableName;
+        private final Map<List<String>, PreparedStatement> statements = new HashMap<>();
+        private final Map<List<String>, String> insertionSql = new HashMap<>();
+
+        StaticDataInserter(Connection db, String tableName) {
+            this.db = db;
+            this.tableName = tableName;
+        }
+
+        void insert(List<RecordContainer> records) {
+            // records are executed in their original order even when their column sets differ
+            PreparedStatement pending = null;
+            int pendingCount = 0;
+            try {
+                for (RecordContainer record : records) {
+                    List<String> columns = correctColumnsForInsert(record);
+                    Collections.sort(columns);
+                    PreparedStatement statement = statements.get(columns);
+                    if (statement == null) {
+                        String sql = Sql.generator().newSingleRowInsertionSql(tableName, columns);
+                        statement = db.prepareStatement(sql);
+                        statements.put(columns, statement);
+                        insertionSql.put(columns, sql);
+                    }
+
+                    if (pending != null && (pending != statement || pendingCount >= staticDataBatchSize)) {
+                        pending.executeBatch();  // TODO: figure out what to do with the return
+                        pendingCount = 0;
+                    }
 
-            LogHelper.logInsertion(log, insertionSql, columns, record);
-            try (PreparedStatement statement = db.prepareStatement(insertionSql)) {
-                bindObjects(statement, columns, record);
-                statement.executeUpdate();  // TODO: figure out what to do with the return
+                    LogHelper.logInsertion(log, insertionSql.get(columns), columns, record);
+                    bindObjects(statement, columns, record);
+                    statement.addBatch();
+                    pending = statement;
+                    pendingCount++;
+                }
+                if (pending != null) {
+                    pending.executeBatch();
+                }
             } catch (SQLException sqle) {
                 throw new RuntimeException(sqle);
             }
-        });
+        }
+
+        @Override
+        public void close() {
+            for (PreparedStatement statement : statements.values()) {
+                try {
+                    statement.close();
+                } catch (SQLException sqle) {
+                    // nothing can be done about it
+                }
+            }
+        }
     }
 }
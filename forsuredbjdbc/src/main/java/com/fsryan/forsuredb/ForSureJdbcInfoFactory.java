@@ -1,17 +1,39 @@
 package com.fsryan.forsuredb;
 
 import com.fsryan.forsuredb.api.*;
+import com.fsryan.forsuredb.info.ColumnInfo;
+import com.fsryan.forsuredb.info.TableInfo;
 import com.fsryan.forsuredb.queryable.DirectLocator;
 import com.fsryan.forsuredb.queryable.JdbcQueryable;
+import com.fsryan.forsuredb.queryable.QueryResultCache;
+import com.fsryan.forsuredb.queryable.TableChangeBus;
+import com.fsryan.forsuredb.queryable.WriteBehindQueue;
 
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
-public class ForSureJdbcInfoFactory implements ForSureInfoFactory<DirectLocator, TypedRecordContainer> {
+public class ForSureJdbcInfoFactory implements ForSureInfoFactory<DirectLocator, TypedRecordContainer>, FSTransactor, FSChangeNotifier {
 
     private static final ForSureJdbcInfoFactory instance = new ForSureJdbcInfoFactory();
 
     private FSLogger log;
+    private JdbcQueryable.DBProvider dbProvider;
+    private int fetchSize = 0;
+    private int queryTimeoutSeconds = 0;
+    private Executor asyncExecutor;
+    private boolean nativeUpsertEnabled = false;
+    private WriteBehindQueue writeBehindQueue;
+    private QueryResultCache queryResultCache;
+    private EntityCache entityCache;
+    private EntityCache docStoreEntityCache;
+    private TableChangeBus tableChangeBus = new TableChangeBus();
+    private Map<String, List<List<String>>> upsertKeysByTable = Collections.emptyMap();
 
     private ForSureJdbcInfoFactory() {}
 
@@ -21,7 +43,18 @@ public class ForSureJdbcInfoFactory implements ForSureInfoFactory<DirectLocator,
 
     @Override
     public FSQueryable<DirectLocator, TypedRecordContainer> createQueryable(DirectLocator resource) {
-        return new JdbcQueryable(resource, log);
+        JdbcQueryable ret = new JdbcQueryable(resource, dbProvider, log);
+        ret.setFetchSize(fetchSize);
+        ret.setQueryTimeoutSeconds(queryTimeoutSeconds);
+        if (nativeUpsertEnabled) {
+            ret.setUpsertKeys(upsertKeysByTable.get(resource.table));
+        }
+        ret.setWriteBehindQueue(writeBehindQueue);
+        ret.setQueryResultCache(queryResultCache);
+        ret.setEntityCache(entityCache);
+        ret.setDocStoreEntityCache(docStoreEntityCache);
+        ret.setTableChangeBus(tableChangeBus);
+        return ret;
     }
 
     @Override
@@ -51,7 +84,209 @@ public class ForSureJdbcInfoFactory implements ForSureInfoFactory<DirectLocator,
         return locator.table;
     }
 
+    /**
+     * <p>Runs the {@link UnitOfWork} in a transaction on a {@link java.sql.Connection} of the
+     * current {@link JdbcQueryable.DBProvider}.
+     * @see JdbcQueryable#runInTransaction(JdbcQueryable.DBProvider, UnitOfWork)
+     */
+    @Override
+    public <T> T runInTransaction(UnitOfWork<T> work) {
+        return JdbcQueryable.runInTransaction(dbProvider, work);
+    }
+
+    /**
+     * <p>Notifies the {@link FSTableChangeListener} through the current {@link TableChangeBus}
+     * after writes through any {@link FSQueryable} created here and after migrations.
+     * @see TableChangeBus
+     */
+    @Override
+    public void addTableChangeListener(FSTableChangeListener listener, String... tables) {
+        tableChangeBus.addListener(listener, tables);
+    }
+
+    @Override
+    public void removeTableChangeListener(FSTableChangeListener listener) {
+        tableChangeBus.removeListener(listener);
+    }
+
     public void setLogger(@Nullable FSLogger log) {
         this.log = log;
     }
+
+    /**
+     * <p>Set the {@link JdbcQueryable.DBProvider} that all subsequently-created
+     * {@link FSQueryable} instances will use--for example, a
+     * {@link com.fsryan.forsuredb.pool.ConnectionPool ConnectionPool} created by
+     * {@link FSDBHelper#newConnectionPool(com.fsryan.forsuredb.pool.ConnectionPool.Config)}.
+     * @param dbProvider the {@link JdbcQueryable.DBProvider} to use or null to use the single
+     *                   connection managed by {@link FSDBHelper}
+     */
+    public void setDBProvider(@Nullable JdbcQueryable.DBProvider dbProvider) {
+        this.dbProvider = dbProvider;
+    }
+
+    /**
+     * <p>Set the fetch size that all subsequently-created {@link FSQueryable} instances will
+     * use for their queries.
+     * @param fetchSize the number of rows to fetch at a time or 0 to use the driver's default
+     * @see JdbcQueryable#setFetchSize(int)
+     */
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("fetchSize must be >= 0, was " + fetchSize);
+        }
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * <p>Set the query timeout that all subsequently-created {@link FSQueryable} instances
+     * will use for their statements.
+     * @param queryTimeoutSeconds the maximum number of seconds a statement may run or 0 for no
+     *                            limit
+     * @see JdbcQueryable#setQueryTimeoutSeconds(int)
+     */
+    public void setQueryTimeoutSeconds(int queryTimeoutSeconds) {
+        if (queryTimeoutSeconds < 0) {
+            throw new IllegalArgumentException("queryTimeoutSeconds must be >= 0, was " + queryTimeoutSeconds);
+        }
+        this.queryTimeoutSeconds = queryTimeoutSeconds;
+    }
+
+    /**
+     * <p>Set the {@link Executor} on which the methods of {@link FSAsync} run queries and
+     * saves--for example, Executors.newVirtualThreadPerTaskExecutor() on a JVM that supports
+     * virtual threads.
+     * @param asyncExecutor the {@link Executor} to use or null to use a cached pool of daemon
+     *                      threads
+     */
+    public void setAsyncExecutor(@Nullable Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /*package*/ Executor asyncExecutor() {
+        return asyncExecutor == null ? FSAsync.defaultExecutor() : asyncExecutor;
+    }
+
+    /**
+     * <p>Set the {@link WriteBehindQueue} through which all subsequently-created
+     * {@link FSQueryable} instances will insert and upsert single records. The queue should
+     * have been created with the same {@link JdbcQueryable.DBProvider} as was passed to
+     * {@link #setDBProvider(JdbcQueryable.DBProvider)}.
+     * @param writeBehindQueue the {@link WriteBehindQueue} to use or null to write directly
+     * @see JdbcQueryable#setWriteBehindQueue(WriteBehindQueue)
+     */
+    public void setWriteBehindQueue(@Nullable WriteBehindQueue writeBehindQueue) {
+        this.writeBehindQueue = writeBehindQueue;
+    }
+
+    /**
+     * <p>Set the {@link QueryResultCache} that all subsequently-created {@link FSQueryable}
+     * instances will answer queries from and invalidate when they write. Because every
+     * {@link FSQueryable} created here shares the cache, writes through any of them invalidate
+     * the cached queries of the tables written to.
+     * @param queryResultCache the {@link QueryResultCache} to use or null to disable caching
+     * @see JdbcQueryable#setQueryResultCache(QueryResultCache)
+     */
+    public void setQueryResultCache(@Nullable QueryResultCache queryResultCache) {
+        this.queryResultCache = queryResultCache;
+    }
+
+    /**
+     * <p>Set the {@link EntityCache} that all subsequently-created {@link FSQueryable}
+     * instances will answer queries by _id from and invalidate when they write
+     * @param entityCache the {@link EntityCache} of records to use or null to disable caching
+     * @see JdbcQueryable#setEntityCache(EntityCache)
+     */
+    public void setEntityCache(@Nullable EntityCache entityCache) {
+        if (entityCache != null && entityCache == docStoreEntityCache) {
+            throw new IllegalArgumentException("The EntityCache of records must not be the doc store EntityCache");
+        }
+        this.entityCache = entityCache;
+    }
+
+    /**
+     * <p>Set the {@link EntityCache} of the objects deserialized from doc store tables, which
+     * all subsequently-created {@link FSQueryable} instances will invalidate when they write.
+     * This must not be the same {@link EntityCache} passed to {@link #setEntityCache(EntityCache)}.
+     * @param docStoreEntityCache the {@link EntityCache} of deserialized objects to use or null
+     *                            to disable caching
+     * @see BaseDocStoreGetter#setEntityCache(EntityCache)
+     */
+    public void setDocStoreEntityCache(@Nullable EntityCache docStoreEntityCache) {
+        if (docStoreEntityCache != null && docStoreEntityCache == entityCache) {
+            throw new IllegalArgumentException("The doc store EntityCache must not be the EntityCache of records");
+        }
+        this.docStoreEntityCache = docStoreEntityCache;
+        BaseDocStoreGetter.setEntityCache(docStoreEntityCache);
+    }
+
+    /**
+     * <p>Set the {@link TableChangeBus} that all subsequently-created {@link FSQueryable}
+     * instances will publish their writes to--for example, to change how long changes are
+     * collected before they are delivered. Listeners already added to the previous
+     * {@link TableChangeBus} are not carried over.
+     * @param tableChangeBus the {@link TableChangeBus} to use
+     * @see JdbcQueryable#setTableChangeBus(TableChangeBus)
+     */
+    public void setTableChangeBus(@Nonnull TableChangeBus tableChangeBus) {
+        this.tableChangeBus = tableChangeBus;
+    }
+
+    /*package*/ TableChangeBus tableChangeBus() {
+        return tableChangeBus;
+    }
+
+    /**
+     * <p>Allow all subsequently-created {@link FSQueryable} instances to upsert by the primary
+     * key or a unique column of their table without first querying for a match. This is off
+     * by default because it requires a database that supports INSERT ... ON CONFLICT--SQLite
+     * 3.24.0 or later.
+     * @param nativeUpsertEnabled whether to upsert with a single statement where possible
+     * @see JdbcQueryable#setUpsertKeys(List)
+     * @see #setSchema(Map)
+     */
+    public void setNativeUpsertEnabled(boolean nativeUpsertEnabled) {
+        this.nativeUpsertEnabled = nativeUpsertEnabled;
+    }
+
+    /**
+     * <p>Set the schema from which the unique keys of each table are read. {@link FSDBHelper}
+     * sets this to the schema of the latest migration when it is initialized.
+     * @param schema the {@link TableInfo} of each table by table name or null if unknown
+     */
+    public void setSchema(@Nullable Map<String, TableInfo> schema) {
+        if (schema == null) {
+            upsertKeysByTable = Collections.emptyMap();
+            return;
+        }
+
+        Map<String, List<List<String>>> keysByTable = new HashMap<>();
+        for (TableInfo table : schema.values()) {
+            keysByTable.put(table.tableName(), upsertKeysOf(table));
+        }
+        upsertKeysByTable = keysByTable;
+    }
+
+    /**
+     * <p>The _id column is never a usable key because records never carry their _id
+     * @return the columns of the primary key and of each unique column of the table
+     */
+    /*package*/ static List<List<String>> upsertKeysOf(@Nonnull TableInfo table) {
+        List<List<String>> ret = new ArrayList<>();
+        List<String> primaryKey = new ArrayList<>(table.getPrimaryKey());
+        if (!primaryKey.contains(TableInfo.DEFAULT_PRIMARY_KEY_COLUMN)) {
+            Collections.sort(primaryKey);
+            ret.add(primaryKey);
+        }
+        for (ColumnInfo column : table.getColumns()) {
+            if (!column.unique() || TableInfo.DEFAULT_PRIMARY_KEY_COLUMN.equals(column.getColumnName())) {
+                continue;
+            }
+            List<String> uniqueColumn = Collections.singletonList(column.getColumnName());
+            if (!ret.contains(uniqueColumn)) {
+                ret.add(uniqueColumn);
+            }
+        }
+        return ret;
+    }
 }
@@ -30,6 +30,27 @@ public abstract class LogHelper {
         logger.i("[insert] %s", bindColumnsFirst(sql, columns, record));
     }
 
+    public static void logBatchInsertion(@Nullable FSLogger logger, @Nonnull String sql, int recordCount) {
+        if (loggingDisabled || logger == null) {
+            return;
+        }
+        logger.i("[insert] batch of %d: %s", recordCount, sql);
+    }
+
+    public static void logUpsert(@Nullable FSLogger logger, @Nonnull String sql, @Nonnull List<Object> values) {
+        if (loggingDisabled || logger == null) {
+            return;
+        }
+        logger.i("[upsert] %s", bindColumnsFirst(sql, values.toArray()));
+    }
+
+    public static void logBatchUpsert(@Nullable FSLogger logger, @Nonnull String sql, int recordCount) {
+        if (loggingDisabled || logger == null) {
+            return;
+        }
+        logger.i("[upsert] batch of %d: %s", recordCount, sql);
+    }
+
     public static void logMigration(@Nullable FSLogger logger, @Nullable String prefix, @Nonnull String sql) {
         if (loggingDisabled || logger == null) {
             return;
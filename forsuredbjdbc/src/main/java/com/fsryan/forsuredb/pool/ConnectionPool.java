@@ -0,0 +1,411 @@
+package com.fsryan.forsuredb.pool;
+
+import com.fsryan.forsuredb.queryable.JdbcQueryable;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>A bounded pool of {@link Connection}s split into a reader partition and a writer
+ * partition. Connections are checked out per thread: repeated checkouts on the same thread
+ * return the same {@link Connection} until every checkout has been
+ * {@link #release(Connection) released}. A thread that is holding a writer
+ * {@link Connection} will have its reads served by that same {@link Connection} so that it
+ * can read its own uncommitted writes.
+ * <p>Idle connections are closed when they have been idle for longer than
+ * {@link Config#idleTimeoutMillis(long)}. Eviction is performed lazily whenever a
+ * {@link Connection} is checked out or returned.
+ */
+public class ConnectionPool implements JdbcQueryable.DBProvider, Closeable {
+
+    /**
+     * <p>Opens the physical {@link Connection}s that make up the pool
+     */
+    public interface ConnectionSource {
+        Connection open(boolean writer) throws SQLException;
+    }
+
+    public static class Config {
+
+        static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+        static final long DEFAULT_ACQUIRE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+        final int maxReaders;
+        final int maxWriters;
+        final long idleTimeoutMillis;
+        final long acquireTimeoutMillis;
+
+        private Config(int maxReaders, int maxWriters, long idleTimeoutMillis, long acquireTimeoutMillis) {
+            if (maxReaders < 1) {
+                throw new IllegalArgumentException("maxReaders must be >= 1, was " + maxReaders);
+            }
+            if (maxWriters < 1) {
+                throw new IllegalArgumentException("maxWriters must be >= 1, was " + maxWriters);
+            }
+            if (idleTimeoutMillis < 0) {
+                throw new IllegalArgumentException("idleTimeoutMillis must be >= 0, was " + idleTimeoutMillis);
+            }
+            if (acquireTimeoutMillis < 0) {
+                throw new IllegalArgumentException("acquireTimeoutMillis must be >= 0, was " + acquireTimeoutMillis);
+            }
+            this.maxReaders = maxReaders;
+            this.maxWriters = maxWriters;
+            this.idleTimeoutMillis = idleTimeoutMillis;
+            this.acquireTimeoutMillis = acquireTimeoutMillis;
+        }
+
+        /**
+         * <p>SQLite allows only one writer at a time, so the writer partition has exactly one
+         * {@link Connection}.
+         * @param maxReaders the maximum number of reader connections
+         * @return a {@link Config} appropriate for SQLite
+         */
+        public static Config sqlite(int maxReaders) {
+            return server(maxReaders, 1);
+        }
+
+        /**
+         * @param maxReaders the maximum number of reader connections
+         * @param maxWriters the maximum number of writer connections
+         * @return a {@link Config} appropriate for a DBMS that supports concurrent writers
+         */
+        public static Config server(int maxReaders, int maxWriters) {
+            return new Config(maxReaders, maxWriters, DEFAULT_IDLE_TIMEOUT_MILLIS, DEFAULT_ACQUIRE_TIMEOUT_MILLIS);
+        }
+
+        /**
+         * @param idleTimeoutMillis how long a {@link Connection} may sit idle in the pool before
+         *                          it is closed
+         * @return a copy of this {@link Config} with the idle timeout set
+         */
+        public Config idleTimeoutMillis(long idleTimeoutMillis) {
+            return new Config(maxReaders, maxWriters, idleTimeoutMillis, acquireTimeoutMillis);
+        }
+
+        /**
+         * @param acquireTimeoutMillis how long to wait for a {@link Connection} to become
+         *                             available before failing with an {@link SQLException}
+         * @return a copy of this {@link Config} with the acquire timeout set
+         */
+        public Config acquireTimeoutMillis(long acquireTimeoutMillis) {
+            return new Config(maxReaders, maxWriters, idleTimeoutMillis, acquireTimeoutMillis);
+        }
+    }
+
+    /**
+     * <p>A point-in-time snapshot of the state of one partition of the pool
+     */
+    public static class Metrics {
+        public final int maxSize;
+        public final int inUse;
+        public final int idle;
+        public final long created;
+        public final long evicted;
+        public final long acquisitions;
+        public final long timeouts;
+        public final long totalWaitNanos;
+
+        Metrics(int maxSize, int inUse, int idle, long created, long evicted, long acquisitions, long timeouts, long totalWaitNanos) {
+            this.maxSize = maxSize;
+            this.inUse = inUse;
+            this.idle = idle;
+            this.created = created;
+            this.evicted = evicted;
+            this.acquisitions = acquisitions;
+            this.timeouts = timeouts;
+            this.totalWaitNanos = totalWaitNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Metrics{" +
+                    "maxSize=" + maxSize +
+                    ", inUse=" + inUse +
+                    ", idle=" + idle +
+                    ", created=" + created +
+                    ", evicted=" + evicted +
+                    ", acquisitions=" + acquisitions +
+                    ", timeouts=" + timeouts +
+                    ", totalWaitNanos=" + totalWaitNanos +
+                    '}';
+        }
+    }
+
+    private final Config config;
+    private final ConnectionSource source;
+    private final Partition readers;
+    private final Partition writers;
+    private final ThreadLocal<Lease> readerLease = new ThreadLocal<>();
+    private final ThreadLocal<Lease> writerLease = new ThreadLocal<>();
+    private final Map<Connection, Lease> leases = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    public ConnectionPool(@Nonnull Config config, @Nonnull ConnectionSource source) {
+        this.config = config;
+        this.source = source;
+        this.readers = new Partition(false, config.maxReaders);
+        this.writers = new Partition(true, config.maxWriters);
+    }
+
+    @Override
+    public Connection writeableDb() throws SQLException {
+        return checkout(writers, writerLease);
+    }
+
+    @Override
+    public Connection readableDb() throws SQLException {
+        Lease held = writerLease.get();
+        if (held != null && held.reenter()) {
+            return held.connection;
+        }
+        return checkout(readers, readerLease);
+    }
+
+    @Override
+    public void release(Connection db) {
+        Lease lease = leases.get(db);
+        if (lease == null || !lease.exit()) {
+            return;
+        }
+        leases.remove(db);
+        lease.partition.giveBack(db);
+    }
+
+    /**
+     * @return a snapshot of the reader partition
+     */
+    public Metrics readerMetrics() {
+        return readers.metrics();
+    }
+
+    /**
+     * @return a snapshot of the writer partition
+     */
+    public Metrics writerMetrics() {
+        return writers.metrics();
+    }
+
+    /**
+     * <p>Closes all idle connections. Connections that are checked out are closed when they
+     * are released.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        readers.closeIdle();
+        writers.closeIdle();
+    }
+
+    private Connection checkout(Partition partition, ThreadLocal<Lease> threadLease) throws SQLException {
+        Lease held = threadLease.get();
+        if (held != null && held.reenter()) {
+            return held.connection;
+        }
+        if (closed) {
+            throw new SQLException("ConnectionPool is closed");
+        }
+
+        Connection db = partition.acquire();
+        Lease lease = new Lease(db, partition);
+        leases.put(db, lease);
+        threadLease.set(lease);
+        return db;
+    }
+
+    private static void closeQuietly(Connection db) {
+        try {
+            db.close();
+        } catch (SQLException sqle) {
+            // nothing can be done about it
+        }
+    }
+
+    private static class Lease {
+
+        final Connection connection;
+        final Partition partition;
+        private int holds = 1;
+
+        Lease(Connection connection, Partition partition) {
+            this.connection = connection;
+            this.partition = partition;
+        }
+
+        /**
+         * @return true if this lease was still active and has been entered again
+         */
+        synchronized boolean reenter() {
+            if (holds < 1) {
+                return false;
+            }
+            holds++;
+            return true;
+        }
+
+        /**
+         * @return true if this was the last hold on the lease
+         */
+        synchronized boolean exit() {
+            if (holds < 1) {
+                return false;
+            }
+            return --holds == 0;
+        }
+    }
+
+    private static class IdleConnection {
+        final Connection connection;
+        final long idleSinceMillis;
+
+        IdleConnection(Connection connection, long idleSinceMillis) {
+            this.connection = connection;
+            this.idleSinceMillis = idleSinceMillis;
+        }
+    }
+
+    private class Partition {
+
+        private final boolean writer;
+        private final int maxSize;
+        private final Semaphore permits;
+        // most-recently returned at the head so that hot connections are reused and the
+        // connections at the tail are the ones that age out
+        private final Deque<IdleConnection> idle = new ArrayDeque<>();
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong evicted = new AtomicLong();
+        private final AtomicLong acquisitions = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+
+        Partition(boolean writer, int maxSize) {
+            this.writer = writer;
+            this.maxSize = maxSize;
+            this.permits = new Semaphore(maxSize, true);
+        }
+
+        Connection acquire() throws SQLException {
+            final long start = System.nanoTime();
+            try {
+                if (!permits.tryAcquire(config.acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    timeouts.incrementAndGet();
+                    String m = String.format("Timed out after %d ms waiting for a %s connection", config.acquireTimeoutMillis, writer ? "writer" : "reader");
+                    throw new SQLException(m);
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a connection", ie);
+            }
+            totalWaitNanos.addAndGet(System.nanoTime() - start);
+            acquisitions.incrementAndGet();
+
+            try {
+                evictExpired();
+                IdleConnection candidate;
+                while ((candidate = pollIdle()) != null) {
+                    if (!candidate.connection.isClosed()) {
+                        return candidate.connection;
+                    }
+                    evicted.incrementAndGet();
+                }
+                Connection db = source.open(writer);
+                created.incrementAndGet();
+                return db;
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        void giveBack(Connection db) {
+            try {
+                if (closed || db.isClosed()) {
+                    closeQuietly(db);
+                    evicted.incrementAndGet();
+                    return;
+                }
+                if (!db.getAutoCommit()) {
+                    // never hand a connection with an open transaction to the next thread
+                    db.rollback();
+                    db.setAutoCommit(true);
+                }
+                synchronized (idle) {
+                    idle.addFirst(new IdleConnection(db, System.currentTimeMillis()));
+                }
+            } catch (SQLException sqle) {
+                closeQuietly(db);
+                evicted.incrementAndGet();
+            } finally {
+                permits.release();
+            }
+            evictExpired();
+        }
+
+        Metrics metrics() {
+            int idleCount;
+            synchronized (idle) {
+                idleCount = idle.size();
+            }
+            return new Metrics(
+                    maxSize,
+                    maxSize - permits.availablePermits(),
+                    idleCount,
+                    created.get(),
+                    evicted.get(),
+                    acquisitions.get(),
+                    timeouts.get(),
+                    totalWaitNanos.get()
+            );
+        }
+
+        void closeIdle() {
+            final List<IdleConnection> toClose;
+            synchronized (idle) {
+                toClose = new ArrayList<>(idle);
+                idle.clear();
+            }
+            for (IdleConnection ic : toClose) {
+                closeQuietly(ic.connection);
+                evicted.incrementAndGet();
+            }
+        }
+
+        private IdleConnection pollIdle() {
+            synchronized (idle) {
+                return idle.pollFirst();
+            }
+        }
+
+        private void evictExpired() {
+            final long oldestAllowed = System.currentTimeMillis() - config.idleTimeoutMillis;
+            final List<IdleConnection> toClose = new ArrayList<>();
+            synchronized (idle) {
+                Iterator<IdleConnection> fromOldest = idle.descendingIterator();
+                while (fromOldest.hasNext()) {
+                    IdleConnection ic = fromOldest.next();
+                    if (ic.idleSinceMillis > oldestAllowed) {
+                        break;
+                    }
+                    fromOldest.remove();
+                    toClose.add(ic);
+                }
+            }
+            // closing may block on I/O, so it is done without holding the monitor
+            for (IdleConnection ic : toClose) {
+                closeQuietly(ic.connection);
+                evicted.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.fsryan.forsuredb.queryable;
+
+import com.fsryan.forsuredb.api.UnitOfWork;
+
+import javax.annotation.Nonnull;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>Allows the statements that {@link JdbcQueryable} executes on behalf of a
+ * {@link UnitOfWork} to be cancelled from another thread. Every statement checked out while
+ * the {@link UnitOfWork} passed to {@link #run(UnitOfWork)} is running is tracked until it is
+ * given back, and {@link #cancel()} calls {@link Statement#cancel()} on each statement
+ * still being tracked. Statements checked out after cancellation fail before they execute.
+ * <p>How quickly a running statement stops after {@link Statement#cancel()} depends on the
+ * driver.
+ */
+public class Cancellation {
+
+    private static final ThreadLocal<Cancellation> current = new ThreadLocal<>();
+
+    // a ReentrantLock rather than a monitor so that virtual threads never pin their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<Statement> tracked = Collections.newSetFromMap(new IdentityHashMap<Statement, Boolean>());
+    private boolean cancelled;
+
+    /**
+     * <p>Runs the {@link UnitOfWork} on the current thread, tracking the statements it
+     * executes so that they can be cancelled by {@link #cancel()}
+     * @param work the {@link UnitOfWork} to run
+     * @param <T> the type of the result
+     * @return the result of the {@link UnitOfWork}
+     * @throws Exception whatever the {@link UnitOfWork} throws
+     */
+    public <T> T run(@Nonnull UnitOfWork<T> work) throws Exception {
+        final Cancellation enclosing = current.get();
+        current.set(this);
+        try {
+            return work.run();
+        } finally {
+            if (enclosing == null) {
+                current.remove();
+            } else {
+                current.set(enclosing);
+            }
+        }
+    }
+
+    /**
+     * <p>Cancels the statements currently executing and prevents any further statements of
+     * the {@link UnitOfWork} from executing. Cancelling more than once has no effect.
+     */
+    public void cancel() {
+        final List<Statement> toCancel;
+        lock.lock();
+        try {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            toCancel = new ArrayList<>(tracked);
+        } finally {
+            lock.unlock();
+        }
+
+        for (Statement statement : toCancel) {
+            try {
+                statement.cancel();
+            } catch (SQLException sqle) {
+                // nothing can be done about it
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        lock.lock();
+        try {
+            return cancelled;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * <p>Tracks the statement with the {@link Cancellation} of the current thread, if any,
+     * until the {@link StatementCache.CachedStatement} is closed
+     * @param cached the checked-out statement about to be executed
+     * @throws SQLException if the {@link Cancellation} of the current thread has already been
+     * cancelled
+     */
+    /*package*/ static void track(@Nonnull StatementCache.CachedStatement cached) throws SQLException {
+        final Cancellation cancellation = current.get();
+        if (cancellation != null) {
+            cancellation.add(cached);
+        }
+    }
+
+    private void add(StatementCache.CachedStatement cached) throws SQLException {
+        final PreparedStatement statement = cached.statement();
+        lock.lock();
+        try {
+            if (cancelled) {
+                throw new SQLException("Cancelled before execution");
+            }
+            tracked.add(statement);
+        } finally {
+            lock.unlock();
+        }
+        cached.onClose(() -> remove(statement));
+    }
+
+    private void remove(Statement statement) {
+        lock.lock();
+        try {
+            tracked.remove(statement);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
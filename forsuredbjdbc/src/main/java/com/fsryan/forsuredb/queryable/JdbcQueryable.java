@@ -1,6 +1,5 @@
 package com.fsryan.forsuredb.queryable;
 
-import com.fsryan.forsuredb.ConnectionUtil;
 import com.fsryan.forsuredb.FSDBHelper;
 import com.fsryan.forsuredb.LogHelper;
 import com.fsryan.forsuredb.api.*;
@@ -9,12 +8,20 @@ import com.fsryan.forsuredb.api.sqlgeneration.DBMSIntegrator;
 import com.fsryan.forsuredb.api.sqlgeneration.Sql;
 import com.fsryan.forsuredb.api.sqlgeneration.SqlForPreparedStatement;
 import com.fsryan.forsuredb.resultset.FSResultSet;
+import com.fsryan.forsuredb.resultset.MaterializedRetriever;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static com.fsryan.forsuredb.queryable.ApiCorrections.correctColumnsForInsert;
 import static com.fsryan.forsuredb.queryable.StatementBinder.bindObject;
@@ -22,11 +29,28 @@ import static com.fsryan.forsuredb.queryable.StatementBinder.bindObjects;
 
 public class JdbcQueryable implements FSQueryable<DirectLocator, TypedRecordContainer> {
 
-    /*package*/ interface DBProvider {
+    /**
+     * <p>Supplies the {@link Connection} used for each operation. Every {@link Connection}
+     * handed out by {@link #writeableDb()} or {@link #readableDb()} is given back via
+     * {@link #release(Connection)} when the operation is finished with it--in the case of a
+     * query, that is when the returned {@link Retriever} is closed.
+     */
+    public interface DBProvider {
         Connection writeableDb() throws SQLException;
         Connection readableDb() throws SQLException;
+
+        /**
+         * <p>Called once for each {@link Connection} obtained from {@link #writeableDb()} or
+         * {@link #readableDb()} when it is no longer in use. The default does nothing, which
+         * is appropriate for providers that hand out a single shared {@link Connection}.
+         * @param db the {@link Connection} no longer in use
+         */
+        default void release(Connection db) {}
     }
 
+    // the default limit on bound parameters per statement of SQLite versions prior to 3.32.0
+    private static final int MAX_BOUND_PARAMETERS = 999;
+
     private static final DBProvider realProvider = new DBProvider() {
         @Nonnull
         @Override
@@ -41,14 +65,32 @@ public class JdbcQueryable implements FSQueryable<DirectLocator, TypedRecordCont
         }
     };
 
+    // the Connection that runInTransaction has pinned to the current thread, if any
+    private static final ThreadLocal<PinnedConnection> pinned = new ThreadLocal<>();
+
     @Nonnull
     private final DirectLocator locator;
     @Nonnull
     private final DBProvider dbProvider;
     @Nonnull
     private final DBMSIntegrator sqlGenerator;
+    @Nonnull
+    private final StatementCache statementCache;
     @Nullable
     private final FSLogger log;
+    private int fetchSize = 0;
+    private int queryTimeoutSeconds = 0;
+    private List<List<String>> upsertKeys = Collections.emptyList();
+    @Nullable
+    private WriteBehindQueue writeBehindQueue;
+    @Nullable
+    private QueryResultCache queryResultCache;
+    @Nullable
+    private EntityCache entityCache;
+    @Nullable
+    private EntityCache docStoreEntityCache;
+    @Nullable
+    private TableChangeBus tableChangeBus;
 
     // TODO: output the queries by passing in a logger
 
@@ -70,22 +112,245 @@ public class JdbcQueryable implements FSQueryable<DirectLocator, TypedRecordCont
         this(locator, realProvider, Sql.generator(), log);
     }
 
+    /**
+     * @param locator the {@link DirectLocator} of the table to query
+     * @param dbProvider the {@link DBProvider} supplying connections or null to use the
+     *                   single connection managed by {@link FSDBHelper}
+     * @param log the {@link FSLogger} to log to
+     */
+    public JdbcQueryable(@Nonnull DirectLocator locator, @Nullable DBProvider dbProvider, @Nullable FSLogger log) {
+        this(locator, dbProvider == null ? realProvider : dbProvider, Sql.generator(), log);
+    }
+
     @SuppressWarnings("WeakerAccess")   // visible for testing
     JdbcQueryable(@Nonnull DirectLocator locator, @Nonnull DBProvider dbProvider, @Nonnull DBMSIntegrator sqlGenerator, FSLogger log) {
+        this(locator, dbProvider, sqlGenerator, StatementCache.shared(), log);
+    }
+
+    @SuppressWarnings("WeakerAccess")   // visible for testing
+    JdbcQueryable(@Nonnull DirectLocator locator,
+                  @Nonnull DBProvider dbProvider,
+                  @Nonnull DBMSIntegrator sqlGenerator,
+                  @Nonnull StatementCache statementCache,
+                  FSLogger log) {
         this.locator = locator;
         this.dbProvider = dbProvider;
         this.sqlGenerator = sqlGenerator;
+        this.statementCache = statementCache;
         this.log = log;
     }
 
+    /**
+     * <p>Runs the {@link UnitOfWork} in one transaction on one {@link Connection} from the
+     * {@link DBProvider}. The {@link Connection} is pinned to the current thread for as long as
+     * the {@link UnitOfWork} runs, so every operation of every {@link JdbcQueryable} on the same
+     * {@link DBProvider} performed on this thread in the meantime--including the operations
+     * that would otherwise run in their own transaction--takes part in the transaction, and the
+     * transaction is committed once at the end.
+     * <p>Calls may be nested. A nested call runs inside of a savepoint of the enclosing
+     * transaction: if the nested {@link UnitOfWork} throws, only its own work is rolled back.
+     * @param dbProvider the {@link DBProvider} supplying the {@link Connection} or null to use
+     *                   the single connection managed by {@link FSDBHelper}
+     * @param work the {@link UnitOfWork} to run
+     * @param <T> the type of the result of the work
+     * @return the result of the work
+     * @throws RuntimeException if the work throws, in which case the transaction is rolled
+     * back, or if the transaction could not be committed; checked exceptions are wrapped
+     * @throws IllegalStateException if called from within a transaction on another
+     * {@link DBProvider}
+     */
+    public static <T> T runInTransaction(@Nullable DBProvider dbProvider, @Nonnull UnitOfWork<T> work) {
+        final DBProvider provider = dbProvider == null ? realProvider : dbProvider;
+        final PinnedConnection enclosing = pinned.get();
+        if (enclosing != null && enclosing.dbProvider != provider) {
+            throw new IllegalStateException("Cannot run a transaction on a different DBProvider from within a transaction");
+        }
+
+        Connection db = null;
+        Transaction transaction = null;
+        PinnedConnection pinnedConnection = null;
+        boolean committed = false;
+        try {
+            db = enclosing == null ? provider.writeableDb() : enclosing.db;
+            transaction = Transaction.begin(db);
+            if (enclosing == null) {
+                pinnedConnection = new PinnedConnection(provider, db);
+                pinned.set(pinnedConnection);
+            }
+            T ret = work.run();
+            transaction.commit();
+            committed = true;
+            return ret;
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            throw e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
+        } finally {
+            if (transaction != null) {
+                transaction.end();
+            }
+            if (enclosing == null) {
+                pinned.remove();
+                if (db != null) {
+                    provider.release(db);
+                }
+                if (pinnedConnection != null) {
+                    pinnedConnection.onEnd(committed);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>Passed to {@link PreparedStatement#setFetchSize(int)} for every query. Drivers that
+     * support it will then only hold this many rows of a result set in memory at a time,
+     * which is what allows a {@link com.fsryan.forsuredb.api.RowIterator RowIterator} to walk
+     * a very large result set in constant memory.
+     * @param fetchSize the number of rows to fetch at a time or 0 to use the driver's default
+     */
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("fetchSize must be >= 0, was " + fetchSize);
+        }
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * <p>Passed to {@link Statement#setQueryTimeout(int)} for every statement in order to bound
+     * how long any one statement may run. A statement that times out fails with the
+     * {@link SQLTimeoutException} of the driver wrapped in a {@link RuntimeException}.
+     * @param queryTimeoutSeconds the maximum number of seconds a statement may run or 0 for no
+     *                            limit
+     */
+    public void setQueryTimeoutSeconds(int queryTimeoutSeconds) {
+        if (queryTimeoutSeconds < 0) {
+            throw new IllegalArgumentException("queryTimeoutSeconds must be >= 0, was " + queryTimeoutSeconds);
+        }
+        this.queryTimeoutSeconds = queryTimeoutSeconds;
+    }
+
+    /**
+     * <p>Sets the unique keys of the table that {@link #upsert(TypedRecordContainer, FSSelection, List)}
+     * can take advantage of. When the selection of an upsert is an equality match on exactly
+     * the columns of one of these keys, the record is written with the single statement
+     * returned by {@link DBMSIntegrator#newUpsertSql(String, List, List, List, int)}, and the
+     * existing row is updated only if that statement reports a conflict. Both statements run in
+     * one transaction, and no query is run. The selection is recognized by its
+     * {@link FSExactMatchSelection#exactMatches()}. Any other selection falls back to querying
+     * for a match first.
+     * <p>Only set keys when the database supports the statement the {@link DBMSIntegrator}
+     * generates--SQLite 3.24.0 or later in the case of SQLite.
+     * @param upsertKeys the columns of each primary key or unique constraint of the table or
+     *                   null to always query for a match first
+     */
+    public void setUpsertKeys(@Nullable List<List<String>> upsertKeys) {
+        this.upsertKeys = upsertKeys == null ? Collections.<List<String>>emptyList() : upsertKeys;
+    }
+
+    /**
+     * <p>Routes {@link #insert(TypedRecordContainer)} and
+     * {@link #upsert(TypedRecordContainer, FSSelection, List)} through a
+     * {@link WriteBehindQueue} so that saves made concurrently on many threads are committed
+     * together. Each call still blocks until its save has been committed, but it does not wait
+     * for the maximum latency of the queue when no other save can join its batch. Saves made
+     * inside of {@link #runInTransaction(DBProvider, UnitOfWork)} bypass the queue. Use
+     * {@link WriteBehindQueue#submit(JdbcQueryable, TypedRecordContainer, FSSelection, List)}
+     * directly to save without blocking.
+     * @param writeBehindQueue the {@link WriteBehindQueue} or null to write directly
+     */
+    public void setWriteBehindQueue(@Nullable WriteBehindQueue writeBehindQueue) {
+        this.writeBehindQueue = writeBehindQueue;
+    }
+
+    /**
+     * <p>Answers queries from the {@link QueryResultCache} where possible, caching the rows of
+     * each query that misses, and invalidates the cached queries that read from this table
+     * whenever this {@link JdbcQueryable} writes to it. The rows of a query that misses are all
+     * read into memory before the query returns. Queries inside of
+     * {@link #runInTransaction(DBProvider, UnitOfWork)} bypass the cache, and writes inside of
+     * it invalidate once the transaction ends.
+     * @param queryResultCache the {@link QueryResultCache} or null to always query the database
+     */
+    public void setQueryResultCache(@Nullable QueryResultCache queryResultCache) {
+        this.queryResultCache = queryResultCache;
+    }
+
+    /**
+     * <p>Answers queries that match a single record of this table by _id--such as those made by
+     * find().byId(id).then().get()--from the {@link EntityCache} where possible, caching a
+     * snapshot of the record whenever such a query misses, and invalidates this table in the
+     * {@link EntityCache} whenever this {@link JdbcQueryable} writes to it. A cached snapshot is
+     * only returned after checking that the modified timestamp of the record has not changed,
+     * so writes made outside of forsuredb are noticed, and only records queried along with
+     * their modified column are cached. Queries inside of
+     * {@link #runInTransaction(DBProvider, UnitOfWork)} bypass the cache, and writes inside of
+     * it invalidate once the transaction ends.
+     * @param entityCache the {@link EntityCache} or null to always query the database
+     */
+    public void setEntityCache(@Nullable EntityCache entityCache) {
+        this.entityCache = entityCache;
+    }
+
+    /**
+     * <p>Invalidates this table in the {@link EntityCache} of the objects deserialized by
+     * {@link BaseDocStoreGetter} whenever this {@link JdbcQueryable} writes to it
+     * @param docStoreEntityCache the {@link EntityCache} passed to
+     * {@link BaseDocStoreGetter#setEntityCache(EntityCache)} or null if there is none
+     */
+    public void setDocStoreEntityCache(@Nullable EntityCache docStoreEntityCache) {
+        this.docStoreEntityCache = docStoreEntityCache;
+    }
+
+    /**
+     * <p>Publishes a change of this table to the {@link TableChangeBus} after every successful
+     * write to it. Writes inside of {@link #runInTransaction(DBProvider, UnitOfWork)} are published
+     * together once the transaction commits and are not published if it rolls back.
+     * @param tableChangeBus the {@link TableChangeBus} or null to publish nothing
+     */
+    public void setTableChangeBus(@Nullable TableChangeBus tableChangeBus) {
+        this.tableChangeBus = tableChangeBus;
+    }
+
     @Override
     public DirectLocator insert(TypedRecordContainer recordContainer) {
+        if (!writesBehind()) {
+            return insertNow(recordContainer);
+        }
+
+        final SaveResult<DirectLocator> result = writeBehindQueue.submit(this, recordContainer, null, null, true).join();
+        if (result.exception() != null) {
+            throw result.exception() instanceof RuntimeException
+                    ? (RuntimeException) result.exception()
+                    : new RuntimeException(result.exception());
+        }
+        return result.inserted();
+    }
+
+    /*package*/ DirectLocator insertNow(TypedRecordContainer recordContainer) {
+        Connection db = null;
+        boolean written = false;
+        try {
+            db = writeableDb();
+            final DirectLocator inserted = insertNow(db, recordContainer);
+            written = true;
+            return inserted;
+        } catch (SQLException sqle) {
+            throw new RuntimeException(sqle);
+        } finally {
+            release(db);
+            onTableWritten(written);
+        }
+    }
+
+    private DirectLocator insertNow(Connection db, TypedRecordContainer recordContainer) throws SQLException {
         final List<String> columns = correctColumnsForInsert(recordContainer);
         final String sql = sqlGenerator.newSingleRowInsertionSql(locator.table, columns);
 
         LogHelper.logInsertion(log, sql, columns, recordContainer);
 
-        try (PreparedStatement pStatement = dbProvider.writeableDb().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (StatementCache.CachedStatement cached = checkout(db, sql, true)) {
+            PreparedStatement pStatement = cached.statement();
             bindObjects(pStatement, columns, recordContainer);
             if (pStatement.executeUpdate() < 1) {
                 return null;
@@ -95,8 +360,79 @@ public class JdbcQueryable implements FSQueryable<DirectLocator, TypedRecordCont
                 resultSet.next();   // TODO: not branching on this logic is a little sketchy
                 return new DirectLocator(locator.table, resultSet.getLong(1));
             }
-        } catch (SQLException sqle) {
-            throw new RuntimeException(sqle);
+        }
+    }
+
+    /**
+     * <p>Records are grouped by their set of columns, and each group is inserted through a
+     * single {@link PreparedStatement}, all inside one transaction. Each record is executed
+     * individually rather than via {@link PreparedStatement#executeBatch()} because not all
+     * drivers (SQLite among them) return a generated key for every row of a batch.
+     * @param recordContainers the records to insert
+     * @return the {@link DirectLocator}s of the inserted records in the same order as the
+     * records were passed in
+     * @throws RuntimeException when any insertion fails, in which case no records are inserted
+     */
+    @Override
+    public List<DirectLocator> insertAll(List<TypedRecordContainer> recordContainers) {
+        final DirectLocator[] inserted = new DirectLocator[recordContainers.size()];
+        if (recordContainers.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+
+        // sorted column lists ensure records with the same columns share a statement
+        final Map<List<String>, List<Integer>> recordPositionsByColumns = new LinkedHashMap<>();
+        for (int pos = 0; pos < recordContainers.size(); pos++) {
+            List<String> columns = correctColumnsForInsert(recordContainers.get(pos));
+            Collections.sort(columns);
+            List<Integer> positions = recordPositionsByColumns.get(columns);
+            if (positions == null) {
+                positions = new ArrayList<>();
+                recordPositionsByColumns.put(columns, positions);
+            }
+            positions.add(pos);
+        }
+
+        Connection db = null;
+        Transaction transaction = null;
+        boolean committed = false;
+        try {
+            db = writeableDb();
+            transaction = Transaction.begin(db);
+            for (Map.Entry<List<String>, List<Integer>> entry : recordPositionsByColumns.entrySet()) {
+                final List<String> columns = entry.getKey();
+                final String sql = sqlGenerator.newSingleRowInsertionSql(locator.table, columns);
+                LogHelper.logBatchInsertion(log, sql, entry.getValue().size());
+                try (StatementCache.CachedStatement cached = checkout(db, sql, true)) {
+                    PreparedStatement pStatement = cached.statement();
+                    for (int pos : entry.getValue()) {
+                        bindObjects(pStatement, columns, recordContainers.get(pos));
+                        if (pStatement.executeUpdate() < 1) {
+                            throw new SQLException("Failed to insert record " + pos + " of batch: " + recordContainers.get(pos));
+                        }
+                        try (ResultSet resultSet = pStatement.getGeneratedKeys()) {
+                            if (!resultSet.next()) {
+                                throw new SQLException("No generated key for record " + pos + " of batch");
+                            }
+                            inserted[pos] = new DirectLocator(locator.table, resultSet.getLong(1));
+                        }
+                    }
+                }
+            }
+            transaction.commit();
+            committed = true;
+            return Arrays.asList(inserted);
+        } catch (SQLException | RuntimeException e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            throw e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
+        } finally {
+            if (transaction != null) {
+                transaction.end();
+            }
+            release(db);
+            onTableWritten(committed);
         }
     }
 
@@ -111,7 +447,33 @@ public class JdbcQueryable implements FSQueryable<DirectLocator, TypedRecordCont
 
         LogHelper.logUpdate(log, columns, pssql, recordContainer);
 
-        try (PreparedStatement pStatement = dbProvider.writeableDb().prepareStatement(pssql.getSql())) {
+        Connection db = null;
+        boolean written = false;
+        try {
+            db = writeableDb();
+            final int rowsAffected = executeUpdate(db, columns, pssql, recordContainer);
+            written = true;
+            return rowsAffected;
+        } catch (SQLException sqle) {
+            throw new RuntimeException(sqle);
+        } finally {
+            release(db);
+            onTableWritten(written);
+        }
+    }
+
+    private int updateNow(Connection db, TypedRecordContainer recordContainer, FSSelection selection, List<FSOrdering> orderings) throws SQLException {
+        final List<String> columns = new ArrayList<>(recordContainer.keySet());
+        SqlForPreparedStatement pssql = sqlGenerator.createUpdateSql(locator.table, columns, selection, orderings);
+
+        LogHelper.logUpdate(log, columns, pssql, recordContainer);
+
+        return executeUpdate(db, columns, pssql, recordContainer);
+    }
+
+    private int executeUpdate(Connection db, List<String> columns, SqlForPreparedStatement pssql, TypedRecordContainer recordContainer) throws SQLException {
+        try (StatementCache.CachedStatement cached = checkout(db, pssql.getSql(), false)) {
+            PreparedStatement pStatement = cached.statement();
             int pos;
             for (pos = 0; pos < columns.size(); pos++) {
                 //noinspection ConstantConditions
@@ -123,50 +485,260 @@ public class JdbcQueryable implements FSQueryable<DirectLocator, TypedRecordCont
                 }
             }
             return pStatement.executeUpdate();
-        } catch (SQLException sqle) {
-            throw new RuntimeException(sqle);
         }
     }
 
     @Override
     public SaveResult<DirectLocator> upsert(TypedRecordContainer recordContainer, FSSelection selection, List<FSOrdering> orderings) {
+        return writesBehind()
+                ? writeBehindQueue.submit(this, recordContainer, selection, orderings, true).join()
+                : upsertNow(recordContainer, selection, orderings);
+    }
+
+    /*package*/ SaveResult<DirectLocator> upsertNow(TypedRecordContainer recordContainer, FSSelection selection, List<FSOrdering> orderings) {
+        final Map<String, Object> keyValues = upsertKeyValues(recordContainer, selection);
+        if (keyValues != null) {
+            final List<String> columns = correctColumnsForInsert(recordContainer);
+            final List<Object> values = new ArrayList<>(columns.size() + keyValues.size());
+            for (String column : columns) {
+                values.add(recordContainer.get(column));
+            }
+            for (Map.Entry<String, Object> entry : keyValues.entrySet()) {
+                if (!columns.contains(entry.getKey())) {
+                    columns.add(entry.getKey());
+                    values.add(entry.getValue());
+                }
+            }
+
+            final List<String> keyColumns = new ArrayList<>(keyValues.keySet());
+            final String sql = sqlGenerator.newUpsertSql(locator.table, columns, keyColumns, Collections.<String>emptyList(), 1);
+            if (sql != null) {
+                return upsertByKey(sql, values, recordContainer, selection, orderings);
+            }
+        }
+        return queryThenUpsert(recordContainer, selection, orderings);
+    }
+
+    /**
+     * <p>Upserts all of the records with as few statements as possible. Records are grouped by
+     * their set of columns, and each group is written through multi-row statements returned by
+     * {@link DBMSIntegrator#newUpsertSql(String, List, List, List, int)}, all inside one
+     * transaction. A record that conflicts with an existing row on the keyColumns updates the
+     * rest of its columns of that row.
+     * @param recordContainers the records to upsert, each of which must contain every one of
+     *                         the keyColumns
+     * @param keyColumns the columns of a primary key or unique constraint of the table
+     * @return the number of rows inserted or updated
+     * @throws UnsupportedOperationException if the {@link DBMSIntegrator} cannot upsert in a
+     * single statement
+     * @throws RuntimeException when any upsert fails, in which case no records are upserted
+     */
+    public int upsertAll(List<TypedRecordContainer> recordContainers, List<String> keyColumns) {
+        if (recordContainers.isEmpty()) {
+            return 0;
+        }
+
+        // sorted column lists ensure records with the same columns share a statement
+        final Map<List<String>, List<TypedRecordContainer>> recordsByColumns = new LinkedHashMap<>();
+        for (TypedRecordContainer recordContainer : recordContainers) {
+            List<String> columns = correctColumnsForInsert(recordContainer);
+            if (!columns.containsAll(keyColumns)) {
+                throw new IllegalArgumentException("Record missing some of key columns " + keyColumns + ": " + recordContainer);
+            }
+            Collections.sort(columns);
+            List<TypedRecordContainer> records = recordsByColumns.get(columns);
+            if (records == null) {
+                records = new ArrayList<>();
+                recordsByColumns.put(columns, records);
+            }
+            records.add(recordContainer);
+        }
+
         Connection db = null;
-        boolean wasAutoCommit = false;
+        Transaction transaction = null;
+        boolean committed = false;
         try {
-            db = dbProvider.writeableDb();
-            wasAutoCommit = ConnectionUtil.ensureNotAutoCommit(db);
+            db = writeableDb();
+            transaction = Transaction.begin(db);
+            int rowsAffected = 0;
+            for (Map.Entry<List<String>, List<TypedRecordContainer>> entry : recordsByColumns.entrySet()) {
+                final List<String> columns = entry.getKey();
+                final List<String> updateColumns = new ArrayList<>(columns);
+                updateColumns.removeAll(keyColumns);
+                final List<TypedRecordContainer> records = entry.getValue();
+                final int rowsPerStatement = Math.max(1, MAX_BOUND_PARAMETERS / columns.size());
+                for (int start = 0; start < records.size(); start += rowsPerStatement) {
+                    final List<TypedRecordContainer> rows = records.subList(start, Math.min(records.size(), start + rowsPerStatement));
+                    final String sql = sqlGenerator.newUpsertSql(locator.table, columns, keyColumns, updateColumns, rows.size());
+                    if (sql == null) {
+                        throw new UnsupportedOperationException("DBMSIntegrator cannot upsert in a single statement: " + sqlGenerator.getClass());
+                    }
+                    LogHelper.logBatchUpsert(log, sql, rows.size());
+                    try (StatementCache.CachedStatement cached = checkout(db, sql, false)) {
+                        PreparedStatement pStatement = cached.statement();
+                        int pos = 1;
+                        for (TypedRecordContainer row : rows) {
+                            for (String column : columns) {
+                                bindObject(pos++, pStatement, row.get(column));
+                            }
+                        }
+                        rowsAffected += pStatement.executeUpdate();
+                    }
+                }
+            }
+            transaction.commit();
+            committed = true;
+            return rowsAffected;
+        } catch (SQLException | RuntimeException e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            throw e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
+        } finally {
+            if (transaction != null) {
+                transaction.end();
+            }
+            release(db);
+            onTableWritten(committed);
+        }
+    }
 
-            try (Retriever r = query(null, selection, orderings)) {
+    private SaveResult<DirectLocator> upsertByKey(String sql, List<Object> values, TypedRecordContainer recordContainer, FSSelection selection, List<FSOrdering> orderings) {
+        LogHelper.logUpsert(log, sql, values);
+
+        Connection db = null;
+        Transaction transaction = null;
+        boolean committed = false;
+        try {
+            db = writeableDb();
+            // the insert holds the write lock, so the conflicting row cannot change before the update
+            transaction = Transaction.begin(db);
+            final DirectLocator inserted = insertUnlessConflicting(db, sql, values);
+            final int rowsAffected = inserted != null
+                    ? 1
+                    : recordContainer.keySet().isEmpty() ? 0 : updateNow(db, recordContainer, selection, orderings);
+            transaction.commit();
+            committed = true;
+            return SaveResultFactory.create(inserted, rowsAffected, null);
+        } catch (RuntimeException | SQLException e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            return SaveResultFactory.create(null, 0, e);
+        } finally {
+            if (transaction != null) {
+                transaction.end();
+            }
+            release(db);
+            onTableWritten(committed);
+        }
+    }
+
+    @Nullable
+    private DirectLocator insertUnlessConflicting(Connection db, String sql, List<Object> values) throws SQLException {
+        try (StatementCache.CachedStatement cached = checkout(db, sql, true)) {
+            PreparedStatement pStatement = cached.statement();
+            for (int pos = 0; pos < values.size(); pos++) {
+                bindObject(pos + 1, pStatement, values.get(pos));
+            }
+            if (pStatement.executeUpdate() < 1) {
+                return null;
+            }
+
+            try (ResultSet resultSet = pStatement.getGeneratedKeys()) {
+                resultSet.next();
+                return new DirectLocator(locator.table, resultSet.getLong(1));
+            }
+        }
+    }
+
+    /**
+     * @return the values of the columns of the upsert key that the selection matches on in
+     * the order of the key's columns or null if the selection does not match exactly one row
+     * by a key or if the record would change the key
+     */
+    @Nullable
+    private Map<String, Object> upsertKeyValues(TypedRecordContainer recordContainer, FSSelection selection) {
+        if (upsertKeys.isEmpty() || !(selection instanceof FSExactMatchSelection)) {
+            return null;
+        }
+        if (selection.limits() != null && selection.limits().offset() > 0) {
+            return null;
+        }
+
+        final Map<String, Object> exactMatches = ((FSExactMatchSelection) selection).exactMatches();
+        if (exactMatches == null) {
+            return null;
+        }
+        for (List<String> key : upsertKeys) {
+            if (key.size() != exactMatches.size() || !exactMatches.keySet().containsAll(key)) {
+                continue;
+            }
+            final Map<String, Object> matchedValues = new LinkedHashMap<>();
+            for (String column : key) {
+                matchedValues.put(column, exactMatches.get(column));
+            }
+            if (recordKeepsKey(recordContainer, matchedValues)) {
+                return matchedValues;
+            }
+        }
+        return null;
+    }
+
+    private static boolean recordKeepsKey(TypedRecordContainer recordContainer, Map<String, Object> keyValues) {
+        for (Map.Entry<String, Object> entry : keyValues.entrySet()) {
+            final Object recordValue = recordContainer.get(entry.getKey());
+            if (recordValue == null || recordValue.equals(entry.getValue())) {
+                continue;
+            }
+            if (recordValue instanceof byte[] && entry.getValue() instanceof byte[]) {
+                if (!Arrays.equals((byte[]) recordValue, (byte[]) entry.getValue())) {
+                    return false;
+                }
+            } else if (!String.valueOf(recordValue).equals(String.valueOf(entry.getValue()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private SaveResult<DirectLocator> queryThenUpsert(TypedRecordContainer recordContainer, FSSelection selection, List<FSOrdering> orderings) {
+        Connection db = null;
+        Transaction transaction = null;
+        boolean committed = false;
+        try {
+            db = writeableDb();
+            transaction = Transaction.begin(db);
+
+            // never answered from the QueryResultCache, which may lag a concurrent write
+            SqlForPreparedStatement pssql = sqlGenerator.createQuerySql(locator.table, null, selection, orderings);
+            LogHelper.logQuery(log, pssql);
+            try (Retriever r = query(pssql, dbProvider, statementCache, fetchSize, queryTimeoutSeconds)) {
                 int rowsAffected = 0;
                 DirectLocator inserted = null;
 
                 if (r.moveToFirst()) {
-                    rowsAffected = update(recordContainer, selection, orderings);
+                    rowsAffected = recordContainer.keySet().isEmpty() ? 0 : updateNow(db, recordContainer, selection, orderings);
                 } else {
-                    inserted = insert(recordContainer);
+                    inserted = insertNow(db, recordContainer);
                     rowsAffected = 1;
                 }
 
-                db.commit();
+                transaction.commit();
+                committed = true;
                 return SaveResultFactory.create(inserted, rowsAffected, null);
             }
         } catch (RuntimeException | SQLException sqle) {
-            if (db != null) {
-                try {
-                    db.rollback();
-                } catch (SQLException sqle2) {
-                    // TODO: determine what to do here
-                }
+            if (transaction != null) {
+                transaction.rollback();
             }
             return SaveResultFactory.create(null, 0, sqle);
         } finally {
-            if (db != null && wasAutoCommit) {
-                try {
-                    db.setAutoCommit(true);
-                } catch (SQLException sqle) {
-                    // TODO: determine what to do here
-                }
+            if (transaction != null) {
+                transaction.end();
             }
+            release(db);
+            onTableWritten(committed);
         }
         // whole idea here is to create a transaction and perform the check-then-act sequence inside it, and then commit the transaction
     }
@@ -177,15 +749,26 @@ public class JdbcQueryable implements FSQueryable<DirectLocator, TypedRecordCont
 
         LogHelper.logDeletion(log, pssql);
 
-        try (PreparedStatement pStatement = dbProvider.writeableDb().prepareStatement(pssql.getSql())) {
-            if (pssql.getReplacements() != null) {
-                for (int pos = 0; pos < pssql.getReplacements().length; pos++) {
-                    bindObject(pos + 1, pStatement, pssql.getReplacements()[pos]);
+        Connection db = null;
+        boolean written = false;
+        try {
+            db = writeableDb();
+            try (StatementCache.CachedStatement cached = checkout(db, pssql.getSql(), false)) {
+                PreparedStatement pStatement = cached.statement();
+                if (pssql.getReplacements() != null) {
+                    for (int pos = 0; pos < pssql.getReplacements().length; pos++) {
+                        bindObject(pos + 1, pStatement, pssql.getReplacements()[pos]);
+                    }
                 }
+                final int rowsAffected = pStatement.executeUpdate();
+                written = true;
+                return rowsAffected;
             }
-            return pStatement.executeUpdate();
         } catch (SQLException sqle) {
             throw new RuntimeException(sqle);
+        } finally {
+            release(db);
+            onTableWritten(written);
         }
     }
 
@@ -193,27 +776,337 @@ public class JdbcQueryable implements FSQueryable<DirectLocator, TypedRecordCont
     public Retriever query(FSProjection projection, FSSelection selection, List<FSOrdering> orderings) {
         SqlForPreparedStatement pssql = sqlGenerator.createQuerySql(locator.table, projection, selection, orderings);
         LogHelper.logQuery(log, pssql);
-        return query(pssql, dbProvider);
+        final Long id = entityCache == null ? null : idMatchedBy(projection, selection);
+        if (id != null && pinnedConnection(dbProvider) == null) {
+            return queryEntity(entityCache, id, pssql, selection);
+        }
+        return query(pssql, null, fetchSize, queryTimeoutSeconds, queryResultCache);
     }
 
     @Override
     public Retriever query(List<FSJoin> joins, List<FSProjection> projections, FSSelection selection, List<FSOrdering> orderings) {
         SqlForPreparedStatement pssql = sqlGenerator.createQuerySql(locator.table, joins, projections, selection, orderings);
         LogHelper.logQuery(log, pssql);
-        return query(pssql, dbProvider);
+        return query(pssql, joins, fetchSize, queryTimeoutSeconds, queryResultCache);
     }
 
-    private static Retriever query(SqlForPreparedStatement pssql, DBProvider dbProvider) {
+    @Override
+    public Retriever aggregate(List<FSJoin> joins, List<FSProjection> groupBy, List<FSAggregate> aggregates, FSSelection selection, List<FSHaving> having, List<FSOrdering> orderings) {
+        SqlForPreparedStatement pssql = sqlGenerator.createAggregateSql(locator.table, joins, groupBy, aggregates, selection, having, orderings);
+        LogHelper.logQuery(log, pssql);
+        return query(pssql, joins, fetchSize, queryTimeoutSeconds, queryResultCache);
+    }
+
+    @Override
+    public FSCompiledQuery compile(List<FSJoin> joins, List<FSProjection> projections, FSSelection selection, List<FSOrdering> orderings) {
+        final SqlForPreparedStatement template = joins == null || joins.isEmpty()
+                ? sqlGenerator.createQuerySql(locator.table, projections.get(0), selection, orderings)
+                : sqlGenerator.createQuerySql(locator.table, joins, projections, selection, orderings);
+        final String sql = template.getSql();
+        // the query of any ordering by relevance is bound after the replacements of the selection
+        final Object[] orderingReplacements = trailingReplacements(template, selection);
+        final int compiledFetchSize = fetchSize;
+        final int compiledQueryTimeoutSeconds = queryTimeoutSeconds;
+        final QueryResultCache compiledQueryResultCache = queryResultCache;
+        return replacements -> {
+            final Object[] allReplacements = Arrays.copyOf(replacements, replacements.length + orderingReplacements.length);
+            System.arraycopy(orderingReplacements, 0, allReplacements, replacements.length, orderingReplacements.length);
+            SqlForPreparedStatement pssql = new SqlForPreparedStatement(sql, allReplacements);
+            LogHelper.logQuery(log, pssql);
+            return query(pssql, joins, compiledFetchSize, compiledQueryTimeoutSeconds, compiledQueryResultCache);
+        };
+    }
+
+    private static Object[] trailingReplacements(SqlForPreparedStatement template, @Nullable FSSelection selection) {
+        final Object[] replacements = template.getReplacements() == null ? new Object[0] : template.getReplacements();
+        final int selectionCount = selection == null || selection.replacements() == null ? 0 : selection.replacements().length;
+        return selectionCount >= replacements.length
+                ? new Object[0]
+                : Arrays.copyOfRange(replacements, selectionCount, replacements.length);
+    }
+
+    private Retriever query(SqlForPreparedStatement pssql, @Nullable List<FSJoin> joins, int fetchSize, int queryTimeoutSeconds, @Nullable QueryResultCache queryResultCache) {
+        if (queryResultCache == null || pinnedConnection(dbProvider) != null) {
+            return query(pssql, dbProvider, statementCache, fetchSize, queryTimeoutSeconds);
+        }
+
+        final QueryResultCache.Key key = new QueryResultCache.Key(pssql, tablesRead(joins));
+        final Retriever cached = queryResultCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final long[] versions = queryResultCache.versionsOf(key);
+        final MaterializedRetriever.Rows rows;
+        try (FSResultSet resultSet = query(pssql, dbProvider, statementCache, fetchSize, queryTimeoutSeconds)) {
+            rows = MaterializedRetriever.read(resultSet);
+        } catch (SQLException sqle) {
+            throw new RuntimeException(sqle);
+        }
+        queryResultCache.put(key, versions, rows);
+        return new MaterializedRetriever(rows);
+    }
+
+    /**
+     * @return the _id of the one record the query matches or null if the query is not exactly
+     * a match by _id
+     */
+    @Nullable
+    private Long idMatchedBy(@Nullable FSProjection projection, @Nullable FSSelection selection) {
+        if (selection == null || (projection != null && projection.isDistinct())) {
+            return null;
+        }
+        final Limits limits = selection.limits();
+        if (limits != null && (limits.count() != 0 || limits.offset() != 0)) {
+            return null;
+        }
+        final Object[] replacements = selection.replacements();
+        if (replacements == null || replacements.length != 1 || !(replacements[0] instanceof Long || replacements[0] instanceof Integer)) {
+            return null;
+        }
+        final String idWhere = sqlGenerator.whereOperation(locator.table, "_id", Finder.OP_EQ) + " ?";
+        return idWhere.equals(selection.where()) ? ((Number) replacements[0]).longValue() : null;
+    }
+
+    private Retriever queryEntity(EntityCache entityCache, long id, SqlForPreparedStatement pssql, FSSelection selection) {
+        final Object cached = entityCache.get(locator.table, id, () -> currentModified(selection));
+        if (cached instanceof EntitySnapshot && ((EntitySnapshot) cached).sql.equals(pssql.getSql())) {
+            return new MaterializedRetriever(((EntitySnapshot) cached).rows);
+        }
+
+        final long version = entityCache.version(locator.table);
+        final MaterializedRetriever.Rows rows;
+        try (FSResultSet resultSet = query(pssql, dbProvider, statementCache, fetchSize, queryTimeoutSeconds)) {
+            rows = MaterializedRetriever.read(resultSet);
+        } catch (SQLException sqle) {
+            throw new RuntimeException(sqle);
+        }
+
+        final MaterializedRetriever ret = new MaterializedRetriever(rows);
+        final String modifiedColumn = sqlGenerator.unambiguousRetrievalColumn(locator.table, "modified");
+        if (rows.size() == 1 && ret.hasColumn(modifiedColumn) && ret.moveToFirst()) {
+            final String modified = ret.getString(modifiedColumn);
+            if (modified != null) {
+                entityCache.put(locator.table, id, modified, new EntitySnapshot(pssql.getSql(), rows), version);
+            }
+            ret.moveToPosition(0);
+        }
+        return ret;
+    }
+
+    @Nullable
+    private String currentModified(FSSelection selection) {
+        final FSProjection modifiedProjection = new FSProjection() {
+            @Override
+            public String tableName() {
+                return locator.table;
+            }
+
+            @Override
+            public String[] columns() {
+                return new String[] {"modified"};
+            }
+
+            @Override
+            public boolean isDistinct() {
+                return false;
+            }
+        };
+        final SqlForPreparedStatement pssql = sqlGenerator.createQuerySql(locator.table, modifiedProjection, selection, null);
+        try (FSResultSet resultSet = query(pssql, dbProvider, statementCache, 0, queryTimeoutSeconds)) {
+            return resultSet.moveToNext() ? resultSet.getString(1) : null;
+        }
+    }
+
+    /**
+     * @return this table and every table joined to it
+     */
+    private List<String> tablesRead(@Nullable List<FSJoin> joins) {
+        final List<String> ret = new ArrayList<>();
+        ret.add(locator.table);
+        if (joins == null) {
+            return ret;
+        }
+        for (FSJoin join : joins) {
+            if (!ret.contains(join.getParentTable())) {
+                ret.add(join.getParentTable());
+            }
+            if (!ret.contains(join.getChildTable())) {
+                ret.add(join.getChildTable());
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * <p>Must be called once after every write to this table, once the write has been committed,
+     * pinned to the current thread's transaction or has failed. The caches are invalidated
+     * either way, but a change is only published when the write succeeded.
+     * @param written true if the write succeeded
+     */
+    private void onTableWritten(boolean written) {
+        notifyWritten(queryResultCache);
+        notifyWritten(entityCache);
+        notifyWritten(docStoreEntityCache);
+        if (written) {
+            notifyWritten(tableChangeBus);
+        }
+    }
+
+    /**
+     * @param observer a {@link QueryResultCache} or an {@link EntityCache} in which to
+     *                 invalidate this table or a {@link TableChangeBus} to publish to
+     */
+    private void notifyWritten(@Nullable Object observer) {
+        if (observer == null) {
+            return;
+        }
+        final PinnedConnection pinnedConnection = pinned.get();
+        if (pinnedConnection != null && pinnedConnection.dbProvider == dbProvider) {
+            // other connections cannot see the write until the transaction ends
+            pinnedConnection.notifyOnEnd(observer, locator.table);
+            return;
+        }
+        notifyWritten(observer, Collections.singleton(locator.table));
+    }
+
+    private static void notifyWritten(Object observer, Set<String> tables) {
+        if (observer instanceof TableChangeBus) {
+            ((TableChangeBus) observer).tablesChanged(tables);
+            return;
+        }
+        for (String table : tables) {
+            if (observer instanceof QueryResultCache) {
+                ((QueryResultCache) observer).invalidate(table);
+            } else {
+                ((EntityCache) observer).invalidate(table);
+            }
+        }
+    }
+
+    private boolean writesBehind() {
+        return writeBehindQueue != null && pinnedConnection(dbProvider) == null;
+    }
+
+    private Connection writeableDb() throws SQLException {
+        final Connection pinnedDb = pinnedConnection(dbProvider);
+        return pinnedDb == null ? dbProvider.writeableDb() : pinnedDb;
+    }
+
+    private void release(@Nullable Connection db) {
+        if (db != null && db != pinnedConnection(dbProvider)) {
+            dbProvider.release(db);
+        }
+    }
+
+    @Nullable
+    private static Connection pinnedConnection(DBProvider dbProvider) {
+        final PinnedConnection pinnedConnection = pinned.get();
+        return pinnedConnection == null || pinnedConnection.dbProvider != dbProvider ? null : pinnedConnection.db;
+    }
+
+    private StatementCache.CachedStatement checkout(Connection db, String sql, boolean returnGeneratedKeys) throws SQLException {
+        return checkout(statementCache, db, queryTimeoutSeconds, sql, returnGeneratedKeys);
+    }
+
+    /**
+     * <p>Checks out the statement and readies it to be executed with the query timeout and
+     * the {@link Cancellation} of the current thread
+     */
+    private static StatementCache.CachedStatement checkout(StatementCache statementCache, Connection db, int queryTimeoutSeconds, String sql, boolean returnGeneratedKeys) throws SQLException {
+        final StatementCache.CachedStatement cached = statementCache.checkout(db, sql, returnGeneratedKeys);
         try {
-            PreparedStatement statement = dbProvider.readableDb().prepareStatement(pssql.getSql());
+            // always set because a cached statement retains the timeout of its last use
+            cached.statement().setQueryTimeout(queryTimeoutSeconds);
+            Cancellation.track(cached);
+            return cached;
+        } catch (SQLException sqle) {
+            cached.close();
+            throw sqle;
+        }
+    }
+
+    private static FSResultSet query(SqlForPreparedStatement pssql, DBProvider dbProvider, StatementCache statementCache, int fetchSize, int queryTimeoutSeconds) {
+        final Connection pinnedDb = pinnedConnection(dbProvider);
+        Connection db = null;
+        StatementCache.CachedStatement cached = null;
+        try {
+            db = pinnedDb == null ? dbProvider.readableDb() : pinnedDb;
+            cached = checkout(statementCache, db, queryTimeoutSeconds, pssql.getSql(), false);
+            PreparedStatement statement = cached.statement();
+            // always set because a cached statement retains the fetch size of its last use
+            statement.setFetchSize(fetchSize);
             if (pssql.getReplacements() != null) {
                 for (int pos = 0; pos < pssql.getReplacements().length; pos++) {
                     bindObject(pos + 1, statement, pssql.getReplacements()[pos]);
                 }
             }
-            return new FSResultSet(statement.executeQuery());
+            // the statement and connection must remain checked out until the caller closes the Retriever
+            final StatementCache.CachedStatement checkedOutStatement = cached;
+            final Connection checkedOut = db;
+            return new FSResultSet(statement.executeQuery(), () -> {
+                checkedOutStatement.close();
+                if (pinnedDb == null) {
+                    dbProvider.release(checkedOut);
+                }
+            });
         } catch (SQLException sqle) {
+            if (cached != null) {
+                cached.close();
+            }
+            if (db != null && pinnedDb == null) {
+                dbProvider.release(db);
+            }
             throw new RuntimeException(sqle);
         }
     }
+
+    /**
+     * <p>The rows of a query by _id along with the SQL that produced them, which differs when
+     * the query projects different columns
+     */
+    private static class EntitySnapshot {
+
+        final String sql;
+        final MaterializedRetriever.Rows rows;
+
+        EntitySnapshot(String sql, MaterializedRetriever.Rows rows) {
+            this.sql = sql;
+            this.rows = rows;
+        }
+    }
+
+    private static class PinnedConnection {
+
+        final DBProvider dbProvider;
+        final Connection db;
+        // the tables written during the transaction by each observer to notify once it ends
+        private final Map<Object, Set<String>> writtenTables = new IdentityHashMap<>();
+
+        PinnedConnection(DBProvider dbProvider, Connection db) {
+            this.dbProvider = dbProvider;
+            this.db = db;
+        }
+
+        void notifyOnEnd(Object observer, String table) {
+            Set<String> tables = writtenTables.get(observer);
+            if (tables == null) {
+                tables = new HashSet<>();
+                writtenTables.put(observer, tables);
+            }
+            tables.add(table);
+        }
+
+        /**
+         * <p>Caches are invalidated either way, which is harmless after a rollback, but changes
+         * are only published when the transaction committed
+         */
+        void onEnd(boolean committed) {
+            for (Map.Entry<Object, Set<String>> entry : writtenTables.entrySet()) {
+                if (committed || !(entry.getKey() instanceof TableChangeBus)) {
+                    notifyWritten(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
 }
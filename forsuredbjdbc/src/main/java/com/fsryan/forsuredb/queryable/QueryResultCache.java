@@ -0,0 +1,224 @@
+package com.fsryan.forsuredb.queryable;
+
+import com.fsryan.forsuredb.api.Retriever;
+import com.fsryan.forsuredb.api.sqlgeneration.SqlForPreparedStatement;
+import com.fsryan.forsuredb.resultset.MaterializedRetriever;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Caches the rows returned by queries, keyed by the SQL and the bound values of the query,
+ * so that repeating a query against tables that have not changed does not touch the database.
+ * The cache holds at most {@link #maxEntries()} queries and {@link #maxRows()} rows in total,
+ * evicting the least-recently-used queries first. A query returning more than
+ * {@link #maxRows()} rows is never cached.
+ * <p>Every {@link JdbcQueryable} given this cache invalidates the cached queries that read from
+ * its table--including via a join--whenever it writes to its table. Writes made in any other
+ * way are not noticed, so all writers of a cached table must share the cache, and tables that
+ * are written outside of forsuredb must not be queried through the cache.
+ * <p>A query that was executing when one of its tables was written is not cached, because its
+ * rows may predate the write.
+ * @see JdbcQueryable#setQueryResultCache(QueryResultCache)
+ */
+public class QueryResultCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+    public static final int DEFAULT_MAX_ROWS = 10000;
+
+    private final int maxEntries;
+    private final int maxRows;
+    // access order so that iteration starts at the least-recently used entry
+    private final LinkedHashMap<Key, MaterializedRetriever.Rows> entries = new LinkedHashMap<>(16, 0.75F, true);
+    // incremented whenever a table is invalidated; guarded by entries
+    private final Map<String, Long> tableVersions = new HashMap<>();
+    // incremented whenever the cache is cleared; guarded by entries
+    private long clearCount = 0;
+    private int cachedRows = 0;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public QueryResultCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_ROWS);
+    }
+
+    /**
+     * @param maxEntries the maximum number of queries to cache
+     * @param maxRows the maximum number of rows to cache across all queries
+     */
+    public QueryResultCache(int maxEntries, int maxRows) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be >= 1, was " + maxEntries);
+        }
+        if (maxRows < 1) {
+            throw new IllegalArgumentException("maxRows must be >= 1, was " + maxRows);
+        }
+        this.maxEntries = maxEntries;
+        this.maxRows = maxRows;
+    }
+
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    public int maxRows() {
+        return maxRows;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int cachedRows() {
+        synchronized (entries) {
+            return cachedRows;
+        }
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public long evictions() {
+        return evictions.get();
+    }
+
+    public long invalidations() {
+        return invalidations.get();
+    }
+
+    /**
+     * <p>Forgets every cached query that reads from the table. Call this after writing to
+     * the table in a way that the {@link JdbcQueryable}s sharing this cache cannot see.
+     * @param table the name of the table that was written to
+     */
+    public void invalidate(@Nonnull String table) {
+        synchronized (entries) {
+            Long version = tableVersions.get(table);
+            tableVersions.put(table, version == null ? 1L : version + 1);
+            Iterator<Map.Entry<Key, MaterializedRetriever.Rows>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Key, MaterializedRetriever.Rows> entry = iterator.next();
+                if (entry.getKey().tables.contains(table)) {
+                    cachedRows -= entry.getValue().size();
+                    iterator.remove();
+                    invalidations.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>Forgets every cached query
+     */
+    public void clear() {
+        synchronized (entries) {
+            clearCount++;
+            entries.clear();
+            cachedRows = 0;
+        }
+    }
+
+    /**
+     * @return a new {@link Retriever} over the cached rows of the query or null if the query
+     * is not cached
+     */
+    /*package*/ Retriever get(Key key) {
+        MaterializedRetriever.Rows rows;
+        synchronized (entries) {
+            rows = entries.get(key);
+        }
+        if (rows == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return new MaterializedRetriever(rows);
+    }
+
+    /**
+     * <p>Must be called before the query is executed
+     * @return the versions of the tables of the query to pass to {@link #put(Key, long[], MaterializedRetriever.Rows)}
+     */
+    /*package*/ long[] versionsOf(Key key) {
+        synchronized (entries) {
+            return versionsOfLocked(key);
+        }
+    }
+
+    /**
+     * <p>Caches the rows unless any table of the query has been invalidated since
+     * {@link #versionsOf(Key)} was called or there are too many rows to cache
+     */
+    /*package*/ void put(Key key, long[] versions, MaterializedRetriever.Rows rows) {
+        if (rows.size() > maxRows) {
+            return;
+        }
+        synchronized (entries) {
+            if (!Arrays.equals(versions, versionsOfLocked(key))) {
+                return;
+            }
+
+            MaterializedRetriever.Rows displaced = entries.put(key, rows);
+            cachedRows += rows.size() - (displaced == null ? 0 : displaced.size());
+            Iterator<Map.Entry<Key, MaterializedRetriever.Rows>> leastRecentlyUsed = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || cachedRows > maxRows) && leastRecentlyUsed.hasNext()) {
+                Map.Entry<Key, MaterializedRetriever.Rows> entry = leastRecentlyUsed.next();
+                cachedRows -= entry.getValue().size();
+                leastRecentlyUsed.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private long[] versionsOfLocked(Key key) {
+        final long[] ret = new long[key.tables.size() + 1];
+        for (int i = 0; i < key.tables.size(); i++) {
+            Long version = tableVersions.get(key.tables.get(i));
+            ret[i] = version == null ? 0L : version;
+        }
+        ret[ret.length - 1] = clearCount;
+        return ret;
+    }
+
+    /*package*/ static class Key {
+
+        final SqlForPreparedStatement pssql;
+        final List<String> tables;
+
+        /**
+         * @param pssql the SQL and bound values of the query
+         * @param tables every table the query reads from
+         */
+        Key(SqlForPreparedStatement pssql, List<String> tables) {
+            this.pssql = pssql;
+            this.tables = tables;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return pssql.equals(((Key) o).pssql);
+        }
+
+        @Override
+        public int hashCode() {
+            return pssql.hashCode();
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.fsryan.forsuredb.queryable;
+
+import javax.annotation.Nonnull;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Caches {@link PreparedStatement}s per {@link Connection}, keyed by SQL, so that repeated
+ * statements of the same shape skip the parse-and-plan step. Each {@link Connection} gets its
+ * own least-recently-used cache of at most {@link #capacity()} idle statements. Statements
+ * evicted from the cache are closed.
+ * <p>A cached statement is removed from the cache while it is checked out, so a
+ * {@link PreparedStatement} is never shared between two concurrent users. If the statement
+ * for some SQL is already checked out, a new one is prepared.
+ * <p>The caches of connections that have been closed are dropped whenever a cache is created
+ * for a new {@link Connection}.
+ */
+public class StatementCache {
+
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private static final StatementCache shared = new StatementCache(DEFAULT_CAPACITY);
+
+    private final Map<Connection, Map<Key, PreparedStatement>> caches = new IdentityHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private volatile int capacity;
+
+    /**
+     * @param capacity the maximum number of idle statements to cache per {@link Connection};
+     *                 0 disables caching
+     */
+    public StatementCache(int capacity) {
+        setCapacity(capacity);
+    }
+
+    /**
+     * @return the {@link StatementCache} used by all {@link JdbcQueryable} instances that are
+     * not given a specific {@link StatementCache}
+     */
+    public static StatementCache shared() {
+        return shared;
+    }
+
+    /**
+     * <p>Changes the per-{@link Connection} capacity. Caches that are over the new capacity
+     * shrink as statements are returned.
+     * @param capacity the maximum number of idle statements to cache per {@link Connection};
+     *                 0 disables caching
+     */
+    public void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must be >= 0, was " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public long evictions() {
+        return evictions.get();
+    }
+
+    /**
+     * <p>Closes and forgets every idle statement cached for the {@link Connection}. Call this
+     * before closing a {@link Connection} that may be reopened with the same identity.
+     * @param db the {@link Connection} whose statements should be dropped
+     */
+    public void clear(@Nonnull Connection db) {
+        Map<Key, PreparedStatement> cache;
+        synchronized (caches) {
+            cache = caches.remove(db);
+        }
+        if (cache == null) {
+            return;
+        }
+        synchronized (cache) {
+            for (PreparedStatement statement : cache.values()) {
+                closeQuietly(statement);
+            }
+            cache.clear();
+        }
+    }
+
+    /**
+     * <p>Checks out a {@link PreparedStatement} for the SQL. The returned
+     * {@link CachedStatement} must be closed in order to give the statement back.
+     * @param db the {@link Connection} on which the statement will be executed
+     * @param sql the SQL of the statement
+     * @param returnGeneratedKeys whether the statement must be prepared with
+     *                            {@link Statement#RETURN_GENERATED_KEYS}
+     * @return a {@link CachedStatement} wrapping the checked-out {@link PreparedStatement}
+     * @throws SQLException if a new statement must be prepared and preparation fails
+     */
+    public CachedStatement checkout(@Nonnull Connection db, @Nonnull String sql, boolean returnGeneratedKeys) throws SQLException {
+        final Key key = new Key(sql, returnGeneratedKeys);
+        if (capacity > 0) {
+            Map<Key, PreparedStatement> cache = cacheFor(db);
+            PreparedStatement statement;
+            synchronized (cache) {
+                statement = cache.remove(key);
+            }
+            if (statement != null && !statement.isClosed()) {
+                hits.incrementAndGet();
+                return new CachedStatement(this, db, key, statement);
+            }
+        }
+
+        misses.incrementAndGet();
+        PreparedStatement statement = returnGeneratedKeys
+                ? db.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                : db.prepareStatement(sql);
+        return new CachedStatement(this, db, key, statement);
+    }
+
+    /*package*/ void giveBack(Connection db, Key key, PreparedStatement statement) {
+        final int currentCapacity = capacity;
+        try {
+            if (currentCapacity == 0 || statement.isClosed() || db.isClosed()) {
+                closeQuietly(statement);
+                return;
+            }
+            statement.clearParameters();
+        } catch (SQLException sqle) {
+            closeQuietly(statement);
+            return;
+        }
+
+        Map<Key, PreparedStatement> cache = cacheFor(db);
+        synchronized (cache) {
+            // another user of the same SQL may have returned its statement first
+            PreparedStatement displaced = cache.put(key, statement);
+            if (displaced != null && displaced != statement) {
+                closeQuietly(displaced);
+            }
+            Iterator<PreparedStatement> leastRecentlyUsed = cache.values().iterator();
+            while (cache.size() > currentCapacity && leastRecentlyUsed.hasNext()) {
+                closeQuietly(leastRecentlyUsed.next());
+                leastRecentlyUsed.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private Map<Key, PreparedStatement> cacheFor(Connection db) {
+        synchronized (caches) {
+            Map<Key, PreparedStatement> cache = caches.get(db);
+            if (cache == null) {
+                dropClosedConnectionsLocked();
+                cache = new LinkedHashMap<>();
+                caches.put(db, cache);
+            }
+            return cache;
+        }
+    }
+
+    private void dropClosedConnectionsLocked() {
+        Iterator<Map.Entry<Connection, Map<Key, PreparedStatement>>> entries = caches.entrySet().iterator();
+        while (entries.hasNext()) {
+            try {
+                if (!entries.next().getKey().isClosed()) {
+                    continue;
+                }
+            } catch (SQLException sqle) {
+                // treat a connection that cannot report its state as closed
+            }
+            entries.remove();
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException sqle) {
+            // nothing can be done about it
+        }
+    }
+
+    /**
+     * <p>A checked-out {@link PreparedStatement}. Closing gives the statement back to the
+     * {@link StatementCache} rather than closing it. Closing more than once has no effect.
+     */
+    public static class CachedStatement implements AutoCloseable {
+
+        private final StatementCache owner;
+        private final Connection db;
+        private final Key key;
+        private PreparedStatement statement;
+        private Runnable onClose;
+
+        CachedStatement(StatementCache owner, Connection db, Key key, PreparedStatement statement) {
+            this.owner = owner;
+            this.db = db;
+            this.key = key;
+            this.statement = statement;
+        }
+
+        public PreparedStatement statement() {
+            if (statement == null) {
+                throw new IllegalStateException("statement already returned to cache: " + key.sql);
+            }
+            return statement;
+        }
+
+        @Override
+        public void close() {
+            PreparedStatement toReturn = statement;
+            statement = null;
+            if (toReturn == null) {
+                return;
+            }
+            if (onClose != null) {
+                onClose.run();
+            }
+            owner.giveBack(db, key, toReturn);
+        }
+
+        /**
+         * @param onClose run once when this statement is closed, before it is given back
+         */
+        /*package*/ void onClose(Runnable onClose) {
+            this.onClose = onClose;
+        }
+    }
+
+    /*package*/ static class Key {
+
+        final String sql;
+        final boolean returnGeneratedKeys;
+
+        Key(String sql, boolean returnGeneratedKeys) {
+            this.sql = sql;
+            this.returnGeneratedKeys = returnGeneratedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return returnGeneratedKeys == key.returnGeneratedKeys && sql.equals(key.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * sql.hashCode() + (returnGeneratedKeys ? 1 : 0);
+        }
+    }
+}
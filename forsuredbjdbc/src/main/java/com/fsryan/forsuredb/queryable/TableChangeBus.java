@@ -0,0 +1,176 @@
+package com.fsryan.forsuredb.queryable;
+
+import com.fsryan.forsuredb.api.FSTableChangeListener;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Delivers table change events to {@link FSTableChangeListener}s. The first change published
+ * after a delivery starts a window of {@link #debounceMillis()}; every table changed within the
+ * window is delivered together once it closes, so a burst of writes results in one
+ * notification per listener rather than one per write. A steady stream of writes results in
+ * at most one notification per window.
+ * <p>Listeners are notified one at a time on a single daemon thread and should return
+ * quickly. An exception thrown by a listener is passed to the uncaught exception handler of
+ * that thread and does not prevent the other listeners from being notified.
+ * <p>Events are hints to refresh: a listener may be notified of a change to a table that a
+ * failed write did not actually make. Nothing is published while there are no listeners.
+ * @see JdbcQueryable#setTableChangeBus(TableChangeBus)
+ */
+public class TableChangeBus {
+
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 50L;
+
+    private final long debounceMillis;
+    private final ScheduledExecutorService scheduler;
+    private final CopyOnWriteArrayList<Registration> registrations = new CopyOnWriteArrayList<>();
+    private final Object lock = new Object();
+    // guarded by lock
+    private Set<String> pendingTables = new HashSet<>();
+    private boolean deliveryScheduled = false;
+
+    public TableChangeBus() {
+        this(DEFAULT_DEBOUNCE_MILLIS);
+    }
+
+    /**
+     * @param debounceMillis the number of milliseconds to collect changes for before
+     *                       delivering them
+     */
+    public TableChangeBus(long debounceMillis) {
+        this(debounceMillis, SchedulerHolder.scheduler);
+    }
+
+    /*package*/ TableChangeBus(long debounceMillis, @Nonnull ScheduledExecutorService scheduler) {
+        if (debounceMillis < 0) {
+            throw new IllegalArgumentException("debounceMillis must be >= 0, was " + debounceMillis);
+        }
+        this.debounceMillis = debounceMillis;
+        this.scheduler = scheduler;
+    }
+
+    public long debounceMillis() {
+        return debounceMillis;
+    }
+
+    /**
+     * @param listener the {@link FSTableChangeListener} to notify
+     * @param tables the names of the tables of interest or none to be notified of changes to
+     *               every table
+     */
+    public void addListener(@Nonnull FSTableChangeListener listener, String... tables) {
+        final Set<String> tableFilter = tables == null || tables.length == 0
+                ? Collections.<String>emptySet()
+                : new HashSet<>(Arrays.asList(tables));
+        registrations.add(new Registration(listener, tableFilter));
+    }
+
+    /**
+     * <p>Stops notifying every registration of the {@link FSTableChangeListener}
+     * @param listener the {@link FSTableChangeListener} to stop notifying
+     */
+    public void removeListener(@Nonnull FSTableChangeListener listener) {
+        for (Registration registration : registrations) {
+            if (registration.listener == listener) {
+                registrations.remove(registration);
+            }
+        }
+    }
+
+    public boolean hasListeners() {
+        return !registrations.isEmpty();
+    }
+
+    /**
+     * <p>Publishes changes to the tables, which must already have been committed
+     * @param tables the names of the tables that changed
+     */
+    public void tablesChanged(@Nonnull Collection<String> tables) {
+        if (tables.isEmpty() || !hasListeners()) {
+            return;
+        }
+        synchronized (lock) {
+            pendingTables.addAll(tables);
+            if (deliveryScheduled) {
+                return;
+            }
+            deliveryScheduled = true;
+        }
+        try {
+            scheduler.schedule(this::deliver, debounceMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ree) {
+            synchronized (lock) {
+                deliveryScheduled = false;
+            }
+            throw ree;
+        }
+    }
+
+    /**
+     * <p>Delivers the pending changes now
+     */
+    /*package*/ void deliver() {
+        final Set<String> changed;
+        synchronized (lock) {
+            changed = pendingTables;
+            pendingTables = new HashSet<>();
+            deliveryScheduled = false;
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        for (Registration registration : registrations) {
+            final Set<String> relevant = registration.relevantTo(changed);
+            if (relevant.isEmpty()) {
+                continue;
+            }
+            try {
+                registration.listener.onTablesChanged(relevant);
+            } catch (RuntimeException re) {
+                Thread current = Thread.currentThread();
+                current.getUncaughtExceptionHandler().uncaughtException(current, re);
+            }
+        }
+    }
+
+    private static class Registration {
+
+        final FSTableChangeListener listener;
+        // empty when the listener is interested in every table
+        final Set<String> tables;
+
+        Registration(FSTableChangeListener listener, Set<String> tables) {
+            this.listener = listener;
+            this.tables = tables;
+        }
+
+        Set<String> relevantTo(Set<String> changed) {
+            if (tables.isEmpty()) {
+                return Collections.unmodifiableSet(changed);
+            }
+            final Set<String> ret = new HashSet<>(changed);
+            ret.retainAll(tables);
+            return Collections.unmodifiableSet(ret);
+        }
+    }
+
+    private static class SchedulerHolder {
+
+        static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread ret = new Thread(r, "forsuredb-changes");
+            ret.setDaemon(true);
+            return ret;
+        });
+    }
+}
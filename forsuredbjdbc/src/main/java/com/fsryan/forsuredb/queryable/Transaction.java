@@ -0,0 +1,76 @@
+package com.fsryan.forsuredb.queryable;
+
+import com.fsryan.forsuredb.ConnectionUtil;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * <p>A transaction on a {@link Connection}. When the {@link Connection} is already in a
+ * transaction, the new transaction is nested inside of it by way of a {@link Savepoint} so
+ * that rolling back the nested transaction does not roll back the enclosing one, and
+ * committing the nested transaction does not commit the enclosing one.
+ */
+/*package*/ class Transaction {
+
+    private final Connection db;
+    @Nullable
+    private final Savepoint savepoint;
+    private boolean finished;
+
+    private Transaction(Connection db, @Nullable Savepoint savepoint) {
+        this.db = db;
+        this.savepoint = savepoint;
+    }
+
+    static Transaction begin(@Nonnull Connection db) throws SQLException {
+        return ConnectionUtil.ensureNotAutoCommit(db)
+                ? new Transaction(db, null)
+                : new Transaction(db, db.setSavepoint());
+    }
+
+    void commit() throws SQLException {
+        if (savepoint == null) {
+            db.commit();
+        } else {
+            db.releaseSavepoint(savepoint);
+        }
+        finished = true;
+    }
+
+    /**
+     * <p>Rolls back this transaction unless it has already been committed or rolled back
+     */
+    void rollback() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        try {
+            if (savepoint == null) {
+                db.rollback();
+            } else {
+                db.rollback(savepoint);
+            }
+        } catch (SQLException sqle) {
+            // TODO: determine what to do here
+        }
+    }
+
+    /**
+     * <p>Turns autocommit back on if this transaction turned it off
+     */
+    void end() {
+        if (savepoint != null) {
+            return;
+        }
+        try {
+            db.setAutoCommit(true);
+        } catch (SQLException sqle) {
+            // TODO: determine what to do here
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.fsryan.forsuredb.queryable;
+
+import com.fsryan.forsuredb.api.FSOrdering;
+import com.fsryan.forsuredb.api.FSSelection;
+import com.fsryan.forsuredb.api.SaveResult;
+import com.fsryan.forsuredb.api.TypedRecordContainer;
+import com.fsryan.forsuredb.api.adapter.SaveResultFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Queues single-record saves for one writer thread that performs them in batches, one
+ * transaction per batch, so that many small saves share one commit. A batch is written as soon
+ * as it holds {@link Config#maxBatchSize(int)} saves or its oldest save has waited
+ * {@link Config#maxLatencyMillis(long)}, whichever comes first. A batch of only saves whose
+ * callers are blocked waiting for them, as the saves routed here by {@link JdbcQueryable}
+ * are, is written without waiting: those callers cannot add to it, so waiting would only
+ * delay them. Such saves still share a commit with the saves submitted while the previous
+ * batch was being written.
+ * <p>Submitting to a full queue blocks until the writer thread makes room.
+ * <p>The saves of a batch are committed together, but they succeed or fail individually: a
+ * save that fails does not prevent the others in its batch from being committed. If the
+ * commit itself fails, every save in the batch fails.
+ * <p>In order for the saves of a batch to share a transaction, the {@link JdbcQueryable}s
+ * whose saves are submitted must use the same {@link JdbcQueryable.DBProvider} as this queue.
+ * @see JdbcQueryable#setWriteBehindQueue(WriteBehindQueue)
+ */
+public class WriteBehindQueue implements Closeable {
+
+    // how often an idle writer thread checks whether the queue has been closed
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    public static class Config {
+
+        static final int DEFAULT_CAPACITY = 10000;
+        static final int DEFAULT_MAX_BATCH_SIZE = 500;
+        static final long DEFAULT_MAX_LATENCY_MILLIS = 10;
+
+        final int capacity;
+        final int maxBatchSize;
+        final long maxLatencyMillis;
+
+        private Config(int capacity, int maxBatchSize, long maxLatencyMillis) {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("capacity must be >= 1, was " + capacity);
+            }
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("maxBatchSize must be >= 1, was " + maxBatchSize);
+            }
+            if (maxLatencyMillis < 0) {
+                throw new IllegalArgumentException("maxLatencyMillis must be >= 0, was " + maxLatencyMillis);
+            }
+            this.capacity = capacity;
+            this.maxBatchSize = maxBatchSize;
+            this.maxLatencyMillis = maxLatencyMillis;
+        }
+
+        public static Config defaults() {
+            return new Config(DEFAULT_CAPACITY, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_LATENCY_MILLIS);
+        }
+
+        /**
+         * @param capacity the maximum number of saves waiting to be written before
+         *                 {@link #submit(JdbcQueryable, TypedRecordContainer, FSSelection, List)}
+         *                 blocks
+         * @return a copy of this {@link Config} with the capacity set
+         */
+        public Config capacity(int capacity) {
+            return new Config(capacity, maxBatchSize, maxLatencyMillis);
+        }
+
+        /**
+         * @param maxBatchSize the maximum number of saves written in one transaction
+         * @return a copy of this {@link Config} with the maximum batch size set
+         */
+        public Config maxBatchSize(int maxBatchSize) {
+            return new Config(capacity, maxBatchSize, maxLatencyMillis);
+        }
+
+        /**
+         * @param maxLatencyMillis how long a save may wait for more saves to join its batch
+         * @return a copy of this {@link Config} with the maximum latency set
+         */
+        public Config maxLatencyMillis(long maxLatencyMillis) {
+            return new Config(capacity, maxBatchSize, maxLatencyMillis);
+        }
+    }
+
+    private final JdbcQueryable.DBProvider dbProvider;
+    private final Config config;
+    private final BlockingQueue<PendingSave> queue;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * <p>Creates the queue and starts its writer thread
+     * @param dbProvider the {@link JdbcQueryable.DBProvider} of the {@link JdbcQueryable}s
+     *                   whose saves will be submitted or null to use the single connection
+     *                   managed by {@link com.fsryan.forsuredb.FSDBHelper FSDBHelper}
+     * @param config the {@link Config} bounding the queue and its batches
+     */
+    public WriteBehindQueue(@Nullable JdbcQueryable.DBProvider dbProvider, @Nonnull Config config) {
+        this.dbProvider = dbProvider;
+        this.config = config;
+        this.queue = new ArrayBlockingQueue<>(config.capacity);
+        this.writer = new Thread(this::runWriter, "forsuredb-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * <p>Queues a save for the writer thread, blocking while the queue is full. The record is
+     * copied, so the caller is free to reuse it as soon as this method returns.
+     * @param queryable the {@link JdbcQueryable} of the table to save to
+     * @param recordContainer the record to save
+     * @param selection null to insert the record or the selection of the record to upsert
+     * @param orderings the orderings of the upsert
+     * @return a {@link CompletableFuture} completed with the {@link SaveResult} once the batch
+     * containing the save has been committed; it is never completed exceptionally
+     * @throws IllegalStateException if this queue has been closed
+     */
+    public CompletableFuture<SaveResult<DirectLocator>> submit(@Nonnull JdbcQueryable queryable,
+                                                               @Nonnull TypedRecordContainer recordContainer,
+                                                               @Nullable FSSelection selection,
+                                                               @Nullable List<FSOrdering> orderings) {
+        return submit(queryable, recordContainer, selection, orderings, false);
+    }
+
+    /**
+     * @param awaited whether the caller blocks until the save has been written, in which case
+     *                the record is not copied and its batch is not held open for more saves
+     * @see #submit(JdbcQueryable, TypedRecordContainer, FSSelection, List)
+     */
+    /*package*/ CompletableFuture<SaveResult<DirectLocator>> submit(@Nonnull JdbcQueryable queryable,
+                                                                    @Nonnull TypedRecordContainer recordContainer,
+                                                                    @Nullable FSSelection selection,
+                                                                    @Nullable List<FSOrdering> orderings,
+                                                                    boolean awaited) {
+        if (closed) {
+            throw new IllegalStateException("WriteBehindQueue is closed");
+        }
+
+        final PendingSave save = new PendingSave(queryable, awaited ? recordContainer : copy(recordContainer), selection, orderings, awaited);
+        try {
+            queue.put(save);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            save.result.complete(SaveResultFactory.<DirectLocator>create(null, 0, ie));
+            return save.result;
+        }
+        // the writer thread may have finished between the check above and the put
+        if (closed && queue.remove(save)) {
+            save.result.complete(SaveResultFactory.<DirectLocator>create(null, 0, new IllegalStateException("WriteBehindQueue is closed")));
+        }
+        return save.result;
+    }
+
+    /**
+     * <p>Stops accepting saves. Saves already submitted are still written.
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    /**
+     * <p>Closes this queue and waits for the saves already submitted to be written
+     * @param timeoutMillis the maximum amount of time to wait
+     * @return true if all saves were written before the timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean closeAndAwait(long timeoutMillis) throws InterruptedException {
+        close();
+        writer.join(timeoutMillis);
+        return !writer.isAlive();
+    }
+
+    private void runWriter() {
+        final List<PendingSave> batch = new ArrayList<>(Math.min(config.maxBatchSize, config.capacity));
+        while (true) {
+            try {
+                PendingSave first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (closed && queue.isEmpty()) {
+                        return;
+                    }
+                    continue;
+                }
+
+                batch.add(first);
+                fillBatch(batch, first.enqueuedNanos + TimeUnit.MILLISECONDS.toNanos(config.maxLatencyMillis));
+                write(batch);
+            } catch (InterruptedException ie) {
+                // the writer thread is only interrupted if the process is going down
+                fail(batch, ie);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fillBatch(List<PendingSave> batch, long deadlineNanos) throws InterruptedException {
+        queue.drainTo(batch, config.maxBatchSize - batch.size());
+        while (batch.size() < config.maxBatchSize) {
+            if (allAwaited(batch)) {
+                return;
+            }
+            final long remainingNanos = deadlineNanos - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return;
+            }
+            PendingSave next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, config.maxBatchSize - batch.size());
+        }
+    }
+
+    private void write(List<PendingSave> batch) {
+        final List<SaveResult<DirectLocator>> results = new ArrayList<>(batch.size());
+        try {
+            JdbcQueryable.runInTransaction(dbProvider, () -> {
+                results.clear();
+                for (PendingSave save : batch) {
+                    results.add(save.perform());
+                }
+                return null;
+            });
+        } catch (RuntimeException re) {
+            fail(batch, re);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result.complete(results.get(i));
+        }
+    }
+
+    private static boolean allAwaited(List<PendingSave> batch) {
+        for (PendingSave save : batch) {
+            if (!save.awaited) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void fail(List<PendingSave> batch, Exception e) {
+        for (PendingSave save : batch) {
+            save.result.complete(SaveResultFactory.<DirectLocator>create(null, 0, e));
+        }
+    }
+
+    private static TypedRecordContainer copy(TypedRecordContainer recordContainer) {
+        TypedRecordContainer ret = new TypedRecordContainer();
+        TypedRecordContainer.copy(recordContainer, ret);
+        return ret;
+    }
+
+    private static class PendingSave {
+
+        final JdbcQueryable queryable;
+        final TypedRecordContainer recordContainer;
+        final FSSelection selection;
+        final List<FSOrdering> orderings;
+        final boolean awaited;
+        final long enqueuedNanos = System.nanoTime();
+        final CompletableFuture<SaveResult<DirectLocator>> result = new CompletableFuture<>();
+
+        PendingSave(JdbcQueryable queryable, TypedRecordContainer recordContainer, FSSelection selection, List<FSOrdering> orderings, boolean awaited) {
+            this.queryable = queryable;
+            this.recordContainer = recordContainer;
+            this.selection = selection;
+            this.orderings = orderings;
+            this.awaited = awaited;
+        }
+
+        SaveResult<DirectLocator> perform() {
+            if (selection != null) {
+                return queryable.upsertNow(recordContainer, selection, orderings);
+            }
+            try {
+                final DirectLocator inserted = queryable.insertNow(recordContainer);
+                return SaveResultFactory.create(inserted, inserted == null ? 0 : 1, null);
+            } catch (RuntimeException re) {
+                return SaveResultFactory.create(null, 0, re);
+            }
+        }
+    }
+}
@@ -8,14 +8,27 @@ import java.math.BigDecimal;
 import java.net.URL;
 import java.sql.*;
 import java.util.Calendar;
+import java.util.HashMap;
 import java.util.Map;
 
 public class FSResultSet implements ResultSet, Retriever {
 
     private ResultSet resultSet;
+    private Runnable onClose;
+    private Map<String, Integer> columnIndexByLabel;
 
     public FSResultSet(ResultSet resultSet) {
+        this(resultSet, null);
+    }
+
+    /**
+     * @param resultSet the {@link ResultSet} to wrap
+     * @param onClose run exactly once after the wrapped {@link ResultSet} is closed--even if
+     *                closing it fails
+     */
+    public FSResultSet(ResultSet resultSet, Runnable onClose) {
         this.resultSet = resultSet;
+        this.onClose = onClose;
     }
 
     @Override
@@ -32,6 +45,12 @@ public class FSResultSet implements ResultSet, Retriever {
             resultSet.close();
         } catch (SQLException sqle) {
             throw new RuntimeException(sqle);
+        } finally {
+            Runnable toRun = onClose;
+            onClose = null;
+            if (toRun != null) {
+                toRun.run();
+            }
         }
     }
 
@@ -40,9 +59,18 @@ public class FSResultSet implements ResultSet, Retriever {
         return resultSet.wasNull();
     }
 
+    /**
+     * @param columnIndex the 1-based index of the column
+     * @return the string value of the column at the index passed in
+     * @throws RuntimeException when the wrapped {@link ResultSet} throws an {@link SQLException}
+     */
     @Override
-    public String getString(int columnIndex) throws SQLException {
-        return resultSet.getString(columnIndex);
+    public String getString(int columnIndex) {
+        try {
+            return resultSet.getString(columnIndex);
+        } catch (SQLException sqle) {
+            throw new RuntimeException(sqle);
+        }
     }
 
     @Override
@@ -60,24 +88,60 @@ public class FSResultSet implements ResultSet, Retriever {
         return resultSet.getShort(columnIndex);
     }
 
+    /**
+     * @param columnIndex the 1-based index of the column
+     * @return the integer value of the column at the index passed in
+     * @throws RuntimeException when the wrapped {@link ResultSet} throws an {@link SQLException}
+     */
     @Override
-    public int getInt(int columnIndex) throws SQLException {
-        return resultSet.getInt(columnIndex);
+    public int getInt(int columnIndex) {
+        try {
+            return resultSet.getInt(columnIndex);
+        } catch (SQLException sqle) {
+            throw new RuntimeException(sqle);
+        }
     }
 
+    /**
+     * @param columnIndex the 1-based index of the column
+     * @return the long value of the column at the index passed in
+     * @throws RuntimeException when the wrapped {@link ResultSet} throws an {@link SQLException}
+     */
     @Override
-    public long getLong(int columnIndex) throws SQLException {
-        return resultSet.getLong(columnIndex);
+    public long getLong(int columnIndex) {
+        try {
+            return resultSet.getLong(columnIndex);
+        } catch (SQLException sqle) {
+            throw new RuntimeException(sqle);
+        }
     }
 
+    /**
+     * @param columnIndex the 1-based index of the column
+     * @return the float value of the column at the index passed in
+     * @throws RuntimeException when the wrapped {@link ResultSet} throws an {@link SQLException}
+     */
     @Override
-    public float getFloat(int columnIndex) throws SQLException {
-        return resultSet.getFloat(columnIndex);
+    public float getFloat(int columnIndex) {
+        try {
+            return resultSet.getFloat(columnIndex);
+        } catch (SQLException sqle) {
+            throw new RuntimeException(sqle);
+        }
     }
 
+    /**
+     * @param columnIndex the 1-based index of the column
+     * @return the double value of the column at the index passed in
+     * @throws RuntimeException when the wrapped {@link ResultSet} throws an {@link SQLException}
+     */
     @Override
-    public double getDouble(int columnIndex) throws SQLException {
-        return resultSet.getDouble(columnIndex);
+    public double getDouble(int columnIndex) {
+        try {
+            return resultSet.getDouble(columnIndex);
+        } catch (SQLException sqle) {
+            throw new RuntimeException(sqle);
+        }
     }
 
     @Override
@@ -85,9 +149,18 @@ public class FSResultSet implements ResultSet, Retriever {
         return resultSet.getBigDecimal(columnIndex, scale);
     }
 
+    /**
+     * @param columnIndex the 1-based index of the column
+     * @return the blob value of the column at the index passed in
+     * @throws RuntimeException when the wrapped {@link ResultSet} throws an {@link SQLException}
+     */
     @Override
-    public byte[] getBytes(int columnIndex) throws SQLException {
-        return resultSet.getBytes(columnIndex);
+    public byte[] getBytes(int columnIndex) {
+        try {
+            return resultSet.getBytes(columnIndex);
+        } catch (SQLException sqle) {
+            throw new RuntimeException(sqle);
+        }
     }
 
     @Override
@@ -263,8 +336,12 @@ public class FSResultSet implements ResultSet, Retriever {
     }
 
     @Override
-    public Object getObject(int columnIndex) throws SQLException {
-        return resultSet.getObject(columnIndex);
+    public Object getObject(int columnIndex) {
+        try {
+            return resultSet.getObject(columnIndex);
+        } catch (SQLException sqle) {
+            throw new RuntimeException(sqle);
+        }
     }
 
     @Override
@@ -277,6 +354,28 @@ public class FSResultSet implements ResultSet, Retriever {
         return resultSet.findColumn(column);
     }
 
+    /**
+     * <p>Looks the label up in a map of every column label to its index that is built from the
+     * {@link ResultSetMetaData} the first time this method is called. Labels that are not in
+     * the map--for example because they differ in case from the label the driver reports--fall
+     * back to {@link ResultSet#findColumn(String)}.
+     * @param column the name (label) of the column
+     * @return the 1-based index of the column with the label passed in
+     * @throws RuntimeException when the wrapped {@link ResultSet} throws an {@link SQLException}
+     */
+    @Override
+    public int columnIndex(String column) {
+        try {
+            if (columnIndexByLabel == null) {
+                columnIndexByLabel = mapColumnIndexByLabel(resultSet.getMetaData());
+            }
+            Integer index = columnIndexByLabel.get(column);
+            return index == null ? resultSet.findColumn(column) : index;
+        } catch (SQLException sqle) {
+            throw new RuntimeException(sqle);
+        }
+    }
+
     @Override
     public Reader getCharacterStream(int columnIndex) throws SQLException {
         return resultSet.getCharacterStream(columnIndex);
@@ -1234,4 +1333,14 @@ public class FSResultSet implements ResultSet, Retriever {
     public boolean isWrapperFor(Class<?> iface) throws SQLException {
         return resultSet.isWrapperFor(iface);
     }
+
+    private static Map<String, Integer> mapColumnIndexByLabel(ResultSetMetaData metaData) throws SQLException {
+        final int columnCount = metaData.getColumnCount();
+        Map<String, Integer> ret = new HashMap<>(columnCount * 2);
+        for (int index = columnCount; index > 0; index--) {
+            // iterating backwards so that the first of any duplicate labels wins--as it does for findColumn
+            ret.put(metaData.getColumnLabel(index), index);
+        }
+        return ret;
+    }
 }
@@ -0,0 +1,326 @@
+package com.fsryan.forsuredb.resultset;
+
+import com.fsryan.forsuredb.api.Retriever;
+
+import javax.annotation.Nonnull;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>A {@link Retriever} over {@link Rows} that have already been read into memory. Column
+ * indices and positions follow the same conventions as {@link FSResultSet}: column indices
+ * are 1-based, and the position is the 1-based row number--0 before the first row and one
+ * more than the count after the last row.
+ * <p>Any number of {@link MaterializedRetriever}s may share the same {@link Rows}, each with
+ * its own position. Closing a {@link MaterializedRetriever} releases nothing.
+ */
+public class MaterializedRetriever implements Retriever {
+
+    private final Rows rows;
+    private int position = 0;
+    private boolean closed = false;
+
+    public MaterializedRetriever(@Nonnull Rows rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * <p>Reads every remaining row of the {@link ResultSet} into memory. The
+     * {@link ResultSet} is not closed.
+     * @param resultSet the {@link ResultSet} to read
+     * @return the {@link Rows} read
+     * @throws SQLException if the {@link ResultSet} throws
+     */
+    public static Rows read(@Nonnull ResultSet resultSet) throws SQLException {
+        final ResultSetMetaData metaData = resultSet.getMetaData();
+        final String[] labels = new String[metaData.getColumnCount()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+        }
+
+        final List<Object[]> values = new ArrayList<>();
+        while (resultSet.next()) {
+            Object[] row = new Object[labels.length];
+            for (int i = 0; i < labels.length; i++) {
+                row[i] = resultSet.getObject(i + 1);
+            }
+            values.add(row);
+        }
+        return new Rows(labels, values);
+    }
+
+    @Override
+    public String getString(String column) {
+        return getString(columnIndex(column));
+    }
+
+    @Override
+    public int getInt(String column) {
+        return getInt(columnIndex(column));
+    }
+
+    @Override
+    public long getLong(String column) {
+        return getLong(columnIndex(column));
+    }
+
+    @Override
+    public double getDouble(String column) {
+        return getDouble(columnIndex(column));
+    }
+
+    @Override
+    public float getFloat(String column) {
+        return getFloat(columnIndex(column));
+    }
+
+    @Override
+    public byte[] getBytes(String column) {
+        return getBytes(columnIndex(column));
+    }
+
+    /**
+     * @param column the name (label) of the column
+     * @return the 1-based index of the column with the label passed in, which is matched
+     * without regard to case if there is no exact match
+     * @throws RuntimeException if there is no column with the label
+     */
+    @Override
+    public int columnIndex(String column) {
+        Integer index = rows.indexByLabel.get(column);
+        if (index != null) {
+            return index;
+        }
+        for (int i = 0; i < rows.labels.length; i++) {
+            if (rows.labels[i].equalsIgnoreCase(column)) {
+                return i + 1;
+            }
+        }
+        throw new RuntimeException(new SQLException("no such column: '" + column + "'"));
+    }
+
+    /**
+     * @param column the name (label) of the column
+     * @return true if {@link #columnIndex(String)} would find the column
+     */
+    public boolean hasColumn(String column) {
+        if (rows.indexByLabel.containsKey(column)) {
+            return true;
+        }
+        for (String label : rows.labels) {
+            if (label.equalsIgnoreCase(column)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String getString(int columnIndex) {
+        final Object value = valueAt(columnIndex);
+        if (value == null) {
+            return null;
+        }
+        return value instanceof byte[] ? new String((byte[]) value, StandardCharsets.UTF_8) : value.toString();
+    }
+
+    @Override
+    public int getInt(int columnIndex) {
+        return (int) getLong(columnIndex);
+    }
+
+    @Override
+    public long getLong(int columnIndex) {
+        final Object value = valueAt(columnIndex);
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof String) {
+            try {
+                return Long.parseLong((String) value);
+            } catch (NumberFormatException nfe) {
+                return (long) parseDouble((String) value);
+            }
+        }
+        return 0L;
+    }
+
+    @Override
+    public double getDouble(int columnIndex) {
+        final Object value = valueAt(columnIndex);
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        return value instanceof String ? parseDouble((String) value) : 0D;
+    }
+
+    @Override
+    public float getFloat(int columnIndex) {
+        return (float) getDouble(columnIndex);
+    }
+
+    /**
+     * @param columnIndex the 1-based index of the column
+     * @return a copy of the blob value of the column at the index passed in, so that the
+     * shared {@link Rows} cannot be modified
+     */
+    @Override
+    public byte[] getBytes(int columnIndex) {
+        final Object value = valueAt(columnIndex);
+        if (value == null) {
+            return null;
+        }
+        return value instanceof byte[] ? ((byte[]) value).clone() : value.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param columnIndex the 1-based index of the column
+     * @return the value of the column at the index passed in; blobs are copied so that the
+     * shared {@link Rows} cannot be modified
+     */
+    @Override
+    public Object getObject(int columnIndex) {
+        final Object value = valueAt(columnIndex);
+        return value instanceof byte[] ? ((byte[]) value).clone() : value;
+    }
+
+    @Override
+    public int getCount() {
+        return rows.values.size();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean moveToPrevious() {
+        return moveToPosition(position - 1);
+    }
+
+    @Override
+    public boolean moveToFirst() {
+        return moveToPosition(1);
+    }
+
+    @Override
+    public boolean moveToNext() {
+        return moveToPosition(position + 1);
+    }
+
+    /**
+     * @param position the 1-based row number to move to
+     * @return true if the position is that of a row--false otherwise, in which case the
+     * position becomes before the first or after the last row
+     */
+    @Override
+    public boolean moveToPosition(int position) {
+        final int count = getCount();
+        if (position < 1) {
+            this.position = 0;
+            return false;
+        }
+        if (position > count) {
+            this.position = count + 1;
+            return false;
+        }
+        this.position = position;
+        return true;
+    }
+
+    @Override
+    public boolean move(int offset) {
+        return moveToPosition(position + offset);
+    }
+
+    @Override
+    public boolean moveToLast() {
+        return moveToPosition(getCount());
+    }
+
+    @Override
+    public boolean isAfterLast() {
+        return getCount() > 0 && position > getCount();
+    }
+
+    @Override
+    public boolean isBeforeFirst() {
+        return getCount() > 0 && position < 1;
+    }
+
+    @Override
+    public boolean isFirst() {
+        return position == 1 && getCount() > 0;
+    }
+
+    @Override
+    public boolean isLast() {
+        return position > 0 && position == getCount();
+    }
+
+    /**
+     * @return the 1-based row number of the current row
+     */
+    @Override
+    public int getPosition() {
+        return position;
+    }
+
+    private Object valueAt(int columnIndex) {
+        if (closed) {
+            throw new IllegalStateException("Retriever is closed");
+        }
+        if (position < 1 || position > getCount()) {
+            throw new IllegalStateException("Retriever is not positioned on a row; position: " + position);
+        }
+        if (columnIndex < 1 || columnIndex > rows.labels.length) {
+            throw new IndexOutOfBoundsException("column index out of range: " + columnIndex);
+        }
+        return rows.values.get(position - 1)[columnIndex - 1];
+    }
+
+    private static double parseDouble(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException nfe) {
+            return 0D;  // <-- as SQLite does when text is not numeric
+        }
+    }
+
+    /**
+     * <p>The immutable column labels and values of rows read by {@link #read(ResultSet)}
+     */
+    public static class Rows {
+
+        private final String[] labels;
+        private final Map<String, Integer> indexByLabel;
+        private final List<Object[]> values;
+
+        Rows(String[] labels, List<Object[]> values) {
+            this.labels = labels;
+            this.values = Collections.unmodifiableList(values);
+            Map<String, Integer> indexByLabel = new HashMap<>(labels.length * 2);
+            for (int i = labels.length - 1; i >= 0; i--) {
+                indexByLabel.put(labels[i], i + 1);     // <-- the first column with a label wins
+            }
+            this.indexByLabel = indexByLabel;
+        }
+
+        public int size() {
+            return values.size();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.fsryan.forsuredb.resultset;
+
+import com.fsryan.forsuredb.api.Retriever;
+import com.fsryan.forsuredb.api.RowIterator;
+import com.fsryan.forsuredb.api.RowMapper;
+import com.fsryan.forsuredb.api.UnitOfWork;
+import com.fsryan.forsuredb.queryable.Cancellation;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Publishes the mapped rows of a query to a single {@link Subscriber} with backpressure.
+ * The query is performed when the {@link Subscriber} first requests rows, and each row is read
+ * from the {@link Retriever} and mapped only once it has been requested, so a large result set
+ * can be processed in constant memory without a thread blocking on it between requests.
+ * <p>All signals are delivered on the {@link Executor} passed in, one at a time. The
+ * {@link Retriever}--and with it the {@link java.sql.PreparedStatement} and
+ * {@link java.sql.Connection} that produced it--is closed after the last row, after an error,
+ * or as soon as possible after the {@link Subscription} is cancelled. Cancelling also cancels
+ * the query if it is still executing.
+ * <p>{@link Subscriber} and {@link Subscription} have the same methods as their
+ * java.util.concurrent.Flow counterparts, so on Java 9 and later adapting a
+ * {@link RowPublisher} to a java.util.concurrent.Flow.Publisher only requires delegation.
+ * @param <T> the type each row is mapped to
+ * @see com.fsryan.forsuredb.FSAsync#publish(com.fsryan.forsuredb.api.Resolver, RowMapper)
+ */
+public class RowPublisher<T> {
+
+    public interface Subscriber<T> {
+        void onSubscribe(Subscription subscription);
+        void onNext(T item);
+        void onError(Throwable throwable);
+        void onComplete();
+    }
+
+    public interface Subscription {
+        void request(long n);
+        void cancel();
+    }
+
+    private final UnitOfWork<Retriever> query;
+    private final RowMapper<T> mapper;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * @param query performs the query; it is run on the {@link Executor}
+     * @param mapper the {@link RowMapper} that maps each row
+     * @param executor the {@link Executor} on which the query is performed and all signals
+     *                 are delivered
+     */
+    public RowPublisher(@Nonnull UnitOfWork<Retriever> query, @Nonnull RowMapper<T> mapper, @Nonnull Executor executor) {
+        this.query = query;
+        this.mapper = mapper;
+        this.executor = executor;
+    }
+
+    /**
+     * <p>Because a query result can only be read once, only the first {@link Subscriber} is
+     * given rows. Any other {@link Subscriber} receives an {@link IllegalStateException}.
+     * @param subscriber the {@link Subscriber} to publish to
+     */
+    public void subscribe(@Nonnull Subscriber<? super T> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(NoOpSubscription.INSTANCE);
+            subscriber.onError(new IllegalStateException("RowPublisher supports only one subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new RowSubscription(subscriber));
+    }
+
+    private class RowSubscription implements Subscription {
+
+        private final Subscriber<? super T> subscriber;
+        private final Cancellation cancellation = new Cancellation();
+        private final AtomicLong requested = new AtomicLong();
+        // the number of times draining has been asked for; only the caller that raises it from
+        // zero schedules a drain, which keeps draining until it brings it back to zero
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile IllegalArgumentException invalidRequest;
+
+        // only accessed while draining
+        private RowIterator<T> rows;
+        private boolean done;
+
+        RowSubscription(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("must request a positive number of rows, requested " + n);
+            } else {
+                addRequested(n);
+            }
+            scheduleDrain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            cancellation.cancel();
+            scheduleDrain();
+        }
+
+        private void addRequested(long n) {
+            long current;
+            long updated;
+            do {
+                current = requested.get();
+                if (current == Long.MAX_VALUE) {
+                    return;
+                }
+                updated = current + n < 0 ? Long.MAX_VALUE : current + n; // <-- unbounded on overflow
+            } while (!requested.compareAndSet(current, updated));
+        }
+
+        private void scheduleDrain() {
+            if (pendingDrains.getAndIncrement() != 0) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException ree) {
+                // no drain is running, so it is safe to finish on this thread
+                cancellation.cancel();
+                finish(ree);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!done) {
+                    emit();
+                }
+                missed = pendingDrains.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            if (cancelled) {
+                finish(null);
+                return;
+            }
+            if (invalidRequest != null) {
+                cancellation.cancel();
+                finish(invalidRequest);
+                return;
+            }
+
+            try {
+                if (rows == null) {
+                    rows = new RowIterator<>(cancellation.run(query), mapper);
+                }
+                final long toEmit = requested.get();
+                long emitted = 0;
+                while (emitted != toEmit) {
+                    if (cancelled) {
+                        finish(null);
+                        return;
+                    }
+                    if (!rows.hasNext()) {
+                        finish(null);
+                        return;
+                    }
+                    subscriber.onNext(rows.next());
+                    emitted++;
+                }
+                if (toEmit != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+            } catch (Throwable t) {
+                finish(t);
+            }
+        }
+
+        /**
+         * <p>Closes the rows and signals the subscriber unless the subscription was cancelled
+         * @param error the error to signal or null to signal completion
+         */
+        private void finish(Throwable error) {
+            done = true;
+            if (rows != null) {
+                rows.close();
+            }
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            if (error == null) {
+                subscriber.onComplete();
+            } else {
+                subscriber.onError(error);
+            }
+        }
+    }
+
+    private enum NoOpSubscription implements Subscription {
+        INSTANCE;
+
+        @Override
+        public void request(long n) {}
+
+        @Override
+        public void cancel() {}
+    }
+}
@@ -0,0 +1,53 @@
+package com.fsryan.forsuredb.resultset;
+
+import com.fsryan.forsuredb.api.Retriever;
+import com.fsryan.forsuredb.api.RowIterator;
+import com.fsryan.forsuredb.api.RowMapper;
+
+import javax.annotation.Nonnull;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Adapts query results to lazily-evaluated, sequential {@link Stream}s. Rows are read
+ * from the {@link Retriever} only as the {@link Stream} pulls them, so memory use does not
+ * grow with the size of the result set (see
+ * {@link com.fsryan.forsuredb.queryable.JdbcQueryable#setFetchSize(int)}).
+ * <p>The {@link Retriever}--and with it the {@link java.sql.PreparedStatement} and
+ * {@link java.sql.Connection} that produced it--is closed when the last row has been
+ * consumed or when the {@link Stream} is closed. Short-circuiting operations such as
+ * {@link Stream#findFirst()} do not consume the last row, so use the {@link Stream} in a
+ * try-with-resources block:
+ * <pre>
+ *     try (Stream&lt;User&gt; users = RowStreams.stream(resolver.iterate(userMapper))) {
+ *         return users.filter(User::isActive).findFirst();
+ *     }
+ * </pre>
+ */
+public class RowStreams {
+
+    private RowStreams() {}
+
+    /**
+     * @param retriever the {@link Retriever} whose rows will be mapped
+     * @param mapper the {@link RowMapper} that maps each row
+     * @param <T> the type each row is mapped to
+     * @return a lazily-evaluated {@link Stream} of the mapped rows
+     */
+    public static <T> Stream<T> stream(@Nonnull Retriever retriever, @Nonnull RowMapper<T> mapper) {
+        return stream(new RowIterator<>(retriever, mapper));
+    }
+
+    /**
+     * @param rows the {@link RowIterator}, typically returned by
+     *             {@link com.fsryan.forsuredb.api.Resolver#iterate(RowMapper)}
+     * @param <T> the type each row is mapped to
+     * @return a lazily-evaluated {@link Stream} of the mapped rows
+     */
+    public static <T> Stream<T> stream(@Nonnull RowIterator<T> rows) {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(rows::close);
+    }
+}
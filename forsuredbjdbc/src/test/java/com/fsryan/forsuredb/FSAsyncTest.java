@@ -0,0 +1,143 @@
+package com.fsryan.forsuredb;
+
+import com.fsryan.forsuredb.api.CompiledQuery;
+import com.fsryan.forsuredb.api.FSSaveApi;
+import com.fsryan.forsuredb.api.Retriever;
+import com.fsryan.forsuredb.api.SaveResult;
+import com.fsryan.forsuredb.api.adapter.SaveResultFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class FSAsyncTest {
+
+    @Mock
+    private FSSaveApi<String> mockSaveApi;
+    @Mock
+    private CompiledQuery mockCompiledQuery;
+    @Mock
+    private Retriever mockRetriever;
+
+    // holds tasks until the test runs them
+    private final List<Runnable> pendingTasks = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        ForSureJdbcInfoFactory.inst().setAsyncExecutor(pendingTasks::add);
+    }
+
+    @After
+    public void resetExecutor() {
+        ForSureJdbcInfoFactory.inst().setAsyncExecutor(null);
+    }
+
+    @Test
+    public void shouldRunSaveOnConfiguredExecutor() throws Exception {
+        SaveResult<String> expected = SaveResultFactory.create("inserted", 1, null);
+        when(mockSaveApi.save()).thenReturn(expected);
+
+        CompletableFuture<SaveResult<String>> actual = FSAsync.saveAsync(mockSaveApi);
+        assertFalse(actual.isDone());
+        verifyZeroInteractions(mockSaveApi);
+
+        runPendingTasks();
+        assertSame(expected, actual.get());
+    }
+
+    @Test
+    public void shouldRunCompiledQueryWithValues() throws Exception {
+        when(mockCompiledQuery.get(eq("bob"), eq(5L))).thenReturn(mockRetriever);
+
+        CompletableFuture<Retriever> actual = FSAsync.getAsync(mockCompiledQuery, "bob", 5L);
+
+        runPendingTasks();
+        assertSame(mockRetriever, actual.get());
+        verify(mockRetriever, never()).close();
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyWithWhatWorkThrows() throws Exception {
+        IllegalStateException thrown = new IllegalStateException();
+        CompletableFuture<Object> actual = FSAsync.runAsync(() -> {
+            throw thrown;
+        });
+
+        runPendingTasks();
+        try {
+            actual.get();
+            fail("Expected ExecutionException");
+        } catch (ExecutionException ee) {
+            assertSame(thrown, ee.getCause());
+        }
+    }
+
+    @Test
+    public void shouldNotRunWorkCancelledBeforeItStarted() {
+        CompletableFuture<SaveResult<String>> actual = FSAsync.saveAsync(mockSaveApi);
+
+        assertTrue(actual.cancel(true));
+        runPendingTasks();
+
+        assertTrue(actual.isCancelled());
+        verifyZeroInteractions(mockSaveApi);
+    }
+
+    @Test
+    public void shouldCloseResultOfQueryCancelledWhileRunning() throws Exception {
+        final List<CompletableFuture<Retriever>> future = new ArrayList<>();
+        when(mockCompiledQuery.get()).thenAnswer(invocation -> {
+            future.get(0).cancel(true);
+            return mockRetriever;
+        });
+
+        future.add(FSAsync.getAsync(mockCompiledQuery));
+        runPendingTasks();
+
+        assertTrue(future.get(0).isCancelled());
+        verify(mockRetriever).close();
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyWhenExecutorRejects() {
+        RejectedExecutionException rejection = new RejectedExecutionException();
+        ForSureJdbcInfoFactory.inst().setAsyncExecutor(r -> {
+            throw rejection;
+        });
+
+        CompletableFuture<SaveResult<String>> actual = FSAsync.saveAsync(mockSaveApi);
+
+        assertTrue(actual.isCompletedExceptionally());
+        verifyZeroInteractions(mockSaveApi);
+    }
+
+    @Test
+    public void shouldRunOnDaemonThreadsByDefault() throws Exception {
+        ForSureJdbcInfoFactory.inst().setAsyncExecutor(null);
+
+        Thread actual = FSAsync.runAsync(Thread::currentThread).get();
+
+        assertNotSame(Thread.currentThread(), actual);
+        assertTrue(actual.isDaemon());
+        assertTrue(actual.getName().startsWith("forsuredb-async-"));
+    }
+
+    private void runPendingTasks() {
+        for (Runnable task : new ArrayList<>(pendingTasks)) {
+            task.run();
+        }
+        pendingTasks.clear();
+    }
+}
@@ -0,0 +1,200 @@
+package com.fsryan.forsuredb.pool;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConnectionPoolTest {
+
+    private List<Connection> openedReaders;
+    private List<Connection> openedWriters;
+    private ConnectionPool.ConnectionSource source;
+
+    @Before
+    public void setUpSource() {
+        openedReaders = new ArrayList<>();
+        openedWriters = new ArrayList<>();
+        source = writer -> {
+            Connection db = mock(Connection.class);
+            try {
+                when(db.getAutoCommit()).thenReturn(true);
+            } catch (SQLException sqle) {
+                throw new RuntimeException(sqle);
+            }
+            synchronized (this) {
+                (writer ? openedWriters : openedReaders).add(db);
+            }
+            return db;
+        };
+    }
+
+    @Test
+    public void shouldReturnSameConnectionForNestedCheckoutOnSameThread() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(ConnectionPool.Config.sqlite(2), source);
+
+        Connection outer = pool.readableDb();
+        Connection inner = pool.readableDb();
+
+        assertSame(outer, inner);
+        assertEquals(1, openedReaders.size());
+        assertEquals(1, pool.readerMetrics().inUse);
+
+        pool.release(inner);
+        assertEquals(1, pool.readerMetrics().inUse);
+        pool.release(outer);
+        assertEquals(0, pool.readerMetrics().inUse);
+        assertEquals(1, pool.readerMetrics().idle);
+    }
+
+    @Test
+    public void shouldReuseIdleConnectionAfterRelease() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(ConnectionPool.Config.sqlite(2), source);
+
+        Connection first = pool.readableDb();
+        pool.release(first);
+        Connection second = pool.readableDb();
+
+        assertSame(first, second);
+        assertEquals(1, pool.readerMetrics().created);
+        assertEquals(2, pool.readerMetrics().acquisitions);
+    }
+
+    @Test
+    public void shouldServeReadsFromWriterWhenThreadHoldsWriter() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(ConnectionPool.Config.sqlite(2), source);
+
+        Connection writer = pool.writeableDb();
+        Connection reader = pool.readableDb();
+
+        assertSame(writer, reader);
+        assertTrue(openedReaders.isEmpty());
+
+        pool.release(reader);
+        pool.release(writer);
+        assertEquals(0, pool.writerMetrics().inUse);
+    }
+
+    @Test
+    public void shouldHandOutDistinctReadersToDistinctThreads() throws Exception {
+        final ConnectionPool pool = new ConnectionPool(ConnectionPool.Config.sqlite(2), source);
+        final CountDownLatch otherThreadCheckedOut = new CountDownLatch(1);
+        final CountDownLatch mainThreadCheckedOut = new CountDownLatch(1);
+        final AtomicReference<Connection> otherThreadConnection = new AtomicReference<>();
+
+        Thread other = new Thread(() -> {
+            try {
+                Connection db = pool.readableDb();
+                otherThreadConnection.set(db);
+                otherThreadCheckedOut.countDown();
+                mainThreadCheckedOut.await();
+                pool.release(db);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        other.start();
+        otherThreadCheckedOut.await();
+
+        Connection db = pool.readableDb();
+        assertEquals(2, pool.readerMetrics().inUse);
+        mainThreadCheckedOut.countDown();
+        other.join();
+
+        assertNotSame(otherThreadConnection.get(), db);
+        assertEquals(2, openedReaders.size());
+    }
+
+    @Test
+    public void shouldTimeOutWhenPartitionExhausted() throws Exception {
+        final ConnectionPool pool = new ConnectionPool(ConnectionPool.Config.sqlite(1).acquireTimeoutMillis(10), source);
+        final CountDownLatch checkedOut = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+
+        Thread holder = new Thread(() -> {
+            try {
+                Connection db = pool.writeableDb();
+                checkedOut.countDown();
+                done.await();
+                pool.release(db);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        holder.start();
+        checkedOut.await();
+
+        try {
+            pool.writeableDb();
+            fail("Should have timed out");
+        } catch (SQLException sqle) {
+            assertEquals(1, pool.writerMetrics().timeouts);
+        } finally {
+            done.countDown();
+            holder.join();
+        }
+    }
+
+    @Test
+    public void shouldCloseConnectionsThatHaveBeenIdleTooLong() throws Exception {
+        ConnectionPool pool = new ConnectionPool(ConnectionPool.Config.sqlite(2).idleTimeoutMillis(0), source);
+
+        Connection db = pool.readableDb();
+        pool.release(db);
+
+        verify(db).close();
+        assertEquals(0, pool.readerMetrics().idle);
+        assertEquals(1, pool.readerMetrics().evicted);
+    }
+
+    @Test
+    public void shouldRollBackOpenTransactionBeforeReturningToPool() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(ConnectionPool.Config.sqlite(2), source);
+
+        Connection db = pool.writeableDb();
+        when(db.getAutoCommit()).thenReturn(false);
+        pool.release(db);
+
+        verify(db).rollback();
+        verify(db).setAutoCommit(true);
+        verify(db, never()).close();
+    }
+
+    @Test
+    public void shouldIgnoreReleaseOfUnknownConnection() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(ConnectionPool.Config.sqlite(2), source);
+
+        pool.release(mock(Connection.class));
+
+        assertEquals(0, pool.readerMetrics().idle);
+        assertEquals(0, pool.writerMetrics().idle);
+    }
+
+    @Test
+    public void shouldCloseIdleConnectionsAndRefuseCheckoutWhenClosed() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(ConnectionPool.Config.sqlite(2), source);
+        Connection db = pool.readableDb();
+        pool.release(db);
+
+        pool.close();
+
+        verify(db).close();
+        try {
+            pool.readableDb();
+            fail("Should not be able to check out from closed pool");
+        } catch (SQLException sqle) {
+            // expected
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.fsryan.forsuredb.queryable;
 
 import com.fsryan.forsuredb.api.*;
+import com.fsryan.forsuredb.api.adapter.SaveResultFactory;
 import com.fsryan.forsuredb.api.sqlgeneration.DBMSIntegrator;
 import com.fsryan.forsuredb.api.sqlgeneration.SqlForPreparedStatement;
 import org.junit.Before;
@@ -11,7 +12,10 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static com.fsryan.forsuredb.util.Randomizer.*;
 import static org.junit.Assert.*;
@@ -26,7 +30,7 @@ public abstract class JdbcQueryableTest {
     @Captor
     protected ArgumentCaptor<List<String>> columnListCaptor;
     @Mock
-    protected FSSelection mockSelection;
+    protected FSExactMatchSelection mockSelection;
     @Mock
     protected List<FSOrdering> mockOrderings;
     @Mock
@@ -60,7 +64,8 @@ public abstract class JdbcQueryableTest {
         when(mockDbProvider.writeableDb()).thenReturn(mockConnection);
         when(mockConnection.prepareStatement(eq(""))).thenReturn(mockPreparedStatement);
 
-        queryableUnderTest = new JdbcQueryable(directLocator, mockDbProvider, mockSqlGenerator, FSLogger.SILENT);
+        // caching disabled so that statements are closed after each operation
+        queryableUnderTest = new JdbcQueryable(directLocator, mockDbProvider, mockSqlGenerator, new StatementCache(0), FSLogger.SILENT);
     }
 
     public static class Insert extends JdbcQueryableTest {
@@ -283,6 +288,611 @@ public abstract class JdbcQueryableTest {
 
             verify(mockPreparedStatement, times(0)).close();
         }
+
+        @Test
+        public void shouldSetDriverDefaultFetchSizeWhenNoneConfigured() throws SQLException {
+            queryableUnderTest.query(mockProjection, mockSelection, mockOrderings);
+
+            InOrder inOrder = inOrder(mockPreparedStatement);
+            inOrder.verify(mockPreparedStatement).setFetchSize(eq(0));
+            inOrder.verify(mockPreparedStatement).executeQuery();
+        }
+
+        @Test
+        public void shouldSetConfiguredFetchSizeBeforeExecutingQuery() throws SQLException {
+            queryableUnderTest.setFetchSize(500);
+            queryableUnderTest.query(mockProjection, mockSelection, mockOrderings);
+
+            InOrder inOrder = inOrder(mockPreparedStatement);
+            inOrder.verify(mockPreparedStatement).setFetchSize(eq(500));
+            inOrder.verify(mockPreparedStatement).executeQuery();
+        }
+
+        @Test
+        public void shouldSetConfiguredQueryTimeoutBeforeExecutingQuery() throws SQLException {
+            queryableUnderTest.setQueryTimeoutSeconds(3);
+            queryableUnderTest.query(mockProjection, mockSelection, mockOrderings);
+
+            InOrder inOrder = inOrder(mockPreparedStatement);
+            inOrder.verify(mockPreparedStatement).setQueryTimeout(eq(3));
+            inOrder.verify(mockPreparedStatement).executeQuery();
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldNotAllowNegativeQueryTimeout() {
+            queryableUnderTest.setQueryTimeoutSeconds(-1);
+        }
+
+        @Test
+        public void shouldCancelExecutingQueryWhenCancellationCancelled() throws Exception {
+            final Cancellation cancellation = new Cancellation();
+            when(mockPreparedStatement.executeQuery()).thenAnswer(invocation -> {
+                cancellation.cancel();
+                return mockResultSet;
+            });
+
+            cancellation.run(() -> queryableUnderTest.query(mockProjection, mockSelection, mockOrderings));
+
+            verify(mockPreparedStatement).cancel();
+        }
+
+        @Test
+        public void shouldNotExecuteQueryOnceCancellationCancelled() throws Exception {
+            final Cancellation cancellation = new Cancellation();
+            cancellation.cancel();
+
+            try {
+                cancellation.run(() -> queryableUnderTest.query(mockProjection, mockSelection, mockOrderings));
+                fail("Expected RuntimeException");
+            } catch (RuntimeException re) {
+                verify(mockPreparedStatement, never()).executeQuery();
+                verify(mockPreparedStatement).close();
+                verify(mockDbProvider).release(eq(mockConnection));
+            }
+        }
+
+        @Test
+        public void shouldStopTrackingStatementOnceRetrieverClosed() throws Exception {
+            final Cancellation cancellation = new Cancellation();
+            when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+
+            cancellation.run(() -> queryableUnderTest.query(mockProjection, mockSelection, mockOrderings)).close();
+            cancellation.cancel();
+
+            verify(mockPreparedStatement, never()).cancel();
+        }
+
+        @Test
+        public void shouldReleaseConnectionOnlyWhenRetrieverClosed() throws SQLException {
+            when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+
+            Retriever retriever = queryableUnderTest.query(mockProjection, mockSelection, mockOrderings);
+            verify(mockDbProvider, never()).release(any(Connection.class));
+
+            retriever.close();
+            retriever.close();
+            verify(mockDbProvider, times(1)).release(eq(mockConnection));
+        }
+
+        @Test
+        public void shouldReleaseConnectionWhenQueryFails() throws SQLException {
+            when(mockPreparedStatement.executeQuery()).thenThrow(new SQLException("failed"));
+
+            try {
+                queryableUnderTest.query(mockProjection, mockSelection, mockOrderings);
+                fail("Expected RuntimeException");
+            } catch (RuntimeException re) {
+                verify(mockDbProvider).release(eq(mockConnection));
+            }
+        }
+    }
+
+    public static class InsertAll extends JdbcQueryableTest {
+
+        @Mock
+        private ResultSet mockGeneratedKeys;
+
+        @Before
+        public void setUpPreparedStatement() throws SQLException {
+            when(mockSqlGenerator.newSingleRowInsertionSql(eq(tableName), anyList())).thenReturn("");
+            when(mockConnection.prepareStatement(eq(""), eq(Statement.RETURN_GENERATED_KEYS)))
+                    .thenReturn(mockPreparedStatement);
+            when(mockConnection.getAutoCommit()).thenReturn(true);
+            when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+            when(mockPreparedStatement.getGeneratedKeys()).thenReturn(mockGeneratedKeys);
+            when(mockGeneratedKeys.next()).thenReturn(true);
+            when(mockGeneratedKeys.getLong(eq(1))).thenReturn(1L, 2L, 3L);
+        }
+
+        @Test
+        public void shouldReturnEmptyListWithoutTouchingDbWhenNoRecords() throws SQLException {
+            assertTrue(queryableUnderTest.insertAll(new ArrayList<TypedRecordContainer>()).isEmpty());
+            verify(mockDbProvider, never()).writeableDb();
+        }
+
+        @Test
+        public void shouldGenerateSqlOncePerColumnSetAndCommitOnce() throws SQLException {
+            TypedRecordContainer first = new TypedRecordContainer();
+            first.put("a", "1");
+            first.put("b", "2");
+            TypedRecordContainer second = new TypedRecordContainer();
+            second.put("c", 3L);
+            TypedRecordContainer third = new TypedRecordContainer();
+            third.put("b", "5");
+            third.put("a", "4");
+
+            List<DirectLocator> actual = queryableUnderTest.insertAll(Arrays.asList(first, second, third));
+
+            verify(mockSqlGenerator).newSingleRowInsertionSql(eq(tableName), eq(Arrays.asList("a", "b")));
+            verify(mockSqlGenerator).newSingleRowInsertionSql(eq(tableName), eq(Arrays.asList("c")));
+            verify(mockPreparedStatement, times(3)).executeUpdate();
+            verify(mockConnection).setAutoCommit(eq(false));
+            verify(mockConnection).commit();
+            verify(mockConnection).setAutoCommit(eq(true));
+            verify(mockDbProvider).release(eq(mockConnection));
+
+            // locators are returned in the order the records were passed in, not the order they were inserted
+            assertEquals(3, actual.size());
+            assertEquals(1L, actual.get(0).id);
+            assertEquals(3L, actual.get(1).id);
+            assertEquals(2L, actual.get(2).id);
+        }
+
+        @Test
+        public void shouldRollBackAndThrowWhenAnyInsertionFails() throws SQLException {
+            when(mockPreparedStatement.executeUpdate()).thenReturn(1, 0);
+
+            try {
+                queryableUnderTest.insertAll(Arrays.asList(createRandomStringTRC(), createRandomStringTRC()));
+                fail("Expected RuntimeException");
+            } catch (RuntimeException re) {
+                verify(mockConnection).rollback();
+                verify(mockConnection, never()).commit();
+                verify(mockDbProvider).release(eq(mockConnection));
+            }
+        }
+    }
+
+    public static class StatementCaching extends JdbcQueryableTest {
+
+        private StatementCache statementCache;
+
+        @Before
+        public void setUpCachingQueryable() throws SQLException {
+            statementCache = new StatementCache(1);
+            queryableUnderTest = new JdbcQueryable(new DirectLocator(tableName), mockDbProvider, mockSqlGenerator, statementCache, FSLogger.SILENT);
+            when(mockSqlGenerator.createDeleteSql(eq(tableName), eq(mockSelection), eq(mockOrderings)))
+                    .thenReturn(new SqlForPreparedStatement("", new String[] {"r1"}));
+            when(mockSqlGenerator.createQuerySql(eq(tableName), nullable(FSProjection.class), eq(mockSelection), eq(mockOrderings)))
+                    .thenReturn(new SqlForPreparedStatement("", new String[] {"r1"}));
+            when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        }
+
+        @Test
+        public void shouldPrepareStatementOnceForRepeatedSql() throws SQLException {
+            queryableUnderTest.delete(mockSelection, mockOrderings);
+            queryableUnderTest.delete(mockSelection, mockOrderings);
+
+            verify(mockConnection, times(1)).prepareStatement(eq(""));
+            verify(mockPreparedStatement, times(2)).executeUpdate();
+            verify(mockPreparedStatement, times(2)).clearParameters();
+            verify(mockPreparedStatement, never()).close();
+            assertEquals(1, statementCache.hits());
+            assertEquals(1, statementCache.misses());
+        }
+
+        @Test
+        public void shouldNotReuseQueryStatementUntilRetrieverClosed() throws SQLException {
+            PreparedStatement secondStatement = mock(PreparedStatement.class);
+            when(secondStatement.executeQuery()).thenReturn(mockResultSet);
+            when(mockConnection.prepareStatement(eq(""))).thenReturn(mockPreparedStatement, secondStatement);
+
+            Retriever first = queryableUnderTest.query(null, mockSelection, mockOrderings);
+            Retriever second = queryableUnderTest.query(null, mockSelection, mockOrderings);
+
+            verify(mockConnection, times(2)).prepareStatement(eq(""));
+            verify(secondStatement).executeQuery();
+
+            first.close();
+            second.close();
+
+            // the cache only holds one statement per SQL, so the displaced one is closed
+            verify(mockPreparedStatement).close();
+            verify(secondStatement, never()).close();
+        }
+
+        @Test
+        public void shouldCloseLeastRecentlyUsedStatementOnEviction() throws SQLException {
+            PreparedStatement otherStatement = mock(PreparedStatement.class);
+            when(mockConnection.prepareStatement(eq("other"))).thenReturn(otherStatement);
+            when(mockSqlGenerator.createDeleteSql(eq("other_table"), eq(mockSelection), eq(mockOrderings)))
+                    .thenReturn(new SqlForPreparedStatement("other", new String[0]));
+            JdbcQueryable otherQueryable = new JdbcQueryable(new DirectLocator("other_table"), mockDbProvider, mockSqlGenerator, statementCache, FSLogger.SILENT);
+
+            queryableUnderTest.delete(mockSelection, mockOrderings);
+            otherQueryable.delete(mockSelection, mockOrderings);
+
+            verify(mockPreparedStatement).close();
+            verify(otherStatement, never()).close();
+            assertEquals(1, statementCache.evictions());
+        }
+    }
+
+    public static class QueryCaching extends JdbcQueryableTest {
+
+        @Mock
+        private ResultSetMetaData mockMetaData;
+
+        private QueryResultCache queryResultCache;
+        private JdbcQueryable otherQueryable;
+
+        @Before
+        public void setUpCachingQueryable() throws SQLException {
+            queryResultCache = new QueryResultCache();
+            queryableUnderTest.setQueryResultCache(queryResultCache);
+            otherQueryable = new JdbcQueryable(new DirectLocator("other_table"), mockDbProvider, mockSqlGenerator, new StatementCache(0), FSLogger.SILENT);
+            otherQueryable.setQueryResultCache(queryResultCache);
+
+            when(mockSqlGenerator.createQuerySql(eq(tableName), nullable(FSProjection.class), eq(mockSelection), eq(mockOrderings)))
+                    .thenReturn(new SqlForPreparedStatement("", new String[] {"r1"}));
+            when(mockSqlGenerator.createDeleteSql(anyString(), eq(mockSelection), eq(mockOrderings)))
+                    .thenReturn(new SqlForPreparedStatement("", new String[] {"r1"}));
+            when(mockConnection.getAutoCommit()).thenReturn(true);
+            when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+            when(mockResultSet.getMetaData()).thenReturn(mockMetaData);
+            when(mockMetaData.getColumnCount()).thenReturn(1);
+            when(mockMetaData.getColumnLabel(eq(1))).thenReturn("name");
+            when(mockResultSet.next()).thenReturn(true, false, true, false);
+            when(mockResultSet.getObject(eq(1))).thenReturn("a", "b");
+        }
+
+        @Test
+        public void shouldAnswerRepeatedQueryFromCache() throws SQLException {
+            Retriever first = queryableUnderTest.query(null, mockSelection, mockOrderings);
+            Retriever second = queryableUnderTest.query(null, mockSelection, mockOrderings);
+
+            verify(mockPreparedStatement, times(1)).executeQuery();
+            assertTrue(second.moveToFirst());
+            assertEquals("a", second.getString("name"));
+            assertTrue(first.moveToFirst());
+            assertEquals("a", first.getString("name"));
+            assertEquals(1, queryResultCache.hits());
+            assertEquals(1, queryResultCache.misses());
+        }
+
+        @Test
+        public void shouldReleaseConnectionBeforeReturningRowsOfMiss() {
+            queryableUnderTest.query(null, mockSelection, mockOrderings);
+
+            verify(mockDbProvider).release(eq(mockConnection));
+        }
+
+        @Test
+        public void shouldNotAnswerQueryWithDifferentValuesFromCache() throws SQLException {
+            when(mockSqlGenerator.createQuerySql(eq(tableName), nullable(FSProjection.class), eq(mockSelection), eq(mockOrderings)))
+                    .thenReturn(new SqlForPreparedStatement("", new String[] {"r1"}), new SqlForPreparedStatement("", new String[] {"r2"}));
+
+            queryableUnderTest.query(null, mockSelection, mockOrderings);
+            Retriever second = queryableUnderTest.query(null, mockSelection, mockOrderings);
+
+            verify(mockPreparedStatement, times(2)).executeQuery();
+            assertTrue(second.moveToFirst());
+            assertEquals("b", second.getString("name"));
+        }
+
+        @Test
+        public void shouldInvalidateWhenTableWritten() throws SQLException {
+            queryableUnderTest.query(null, mockSelection, mockOrderings);
+            queryableUnderTest.delete(mockSelection, mockOrderings);
+            queryableUnderTest.query(null, mockSelection, mockOrderings);
+
+            verify(mockPreparedStatement, times(2)).executeQuery();
+            assertEquals(1, queryResultCache.invalidations());
+        }
+
+        @Test
+        public void shouldNotInvalidateWhenUnrelatedTableWritten() throws SQLException {
+            queryableUnderTest.query(null, mockSelection, mockOrderings);
+            otherQueryable.delete(mockSelection, mockOrderings);
+            queryableUnderTest.query(null, mockSelection, mockOrderings);
+
+            verify(mockPreparedStatement, times(1)).executeQuery();
+        }
+
+        @Test
+        public void shouldInvalidateWhenJoinedTableWritten() throws SQLException {
+            List<FSJoin> joins = Collections.singletonList(new FSJoin(FSJoin.Type.INNER, "other_table", tableName, Collections.singletonMap("other_table_id", "_id")));
+            List<FSProjection> projections = Collections.singletonList(mock(FSProjection.class));
+            when(mockSqlGenerator.createQuerySql(eq(tableName), eq(joins), eq(projections), eq(mockSelection), eq(mockOrderings)))
+                    .thenReturn(new SqlForPreparedStatement("", new String[] {"joined"}));
+
+            queryableUnderTest.query(joins, projections, mockSelection, mockOrderings);
+            otherQueryable.delete(mockSelection, mockOrderings);
+            queryableUnderTest.query(joins, projections, mockSelection, mockOrderings);
+
+            verify(mockPreparedStatement, times(2)).executeQuery();
+        }
+
+        @Test
+        public void shouldNotCacheQueryWhenTableWrittenWhileItExecuted() throws SQLException {
+            when(mockPreparedStatement.executeQuery()).thenAnswer(invocation -> {
+                queryResultCache.invalidate(tableName);
+                return mockResultSet;
+            });
+
+            queryableUnderTest.query(null, mockSelection, mockOrderings);
+
+            assertEquals(0, queryResultCache.size());
+        }
+
+        @Test
+        public void shouldBypassCacheInsideTransaction() throws SQLException {
+            queryableUnderTest.query(null, mockSelection, mockOrderings);
+
+            JdbcQueryable.runInTransaction(mockDbProvider, () -> queryableUnderTest.query(null, mockSelection, mockOrderings));
+
+            verify(mockPreparedStatement, times(2)).executeQuery();
+            assertEquals(0, queryResultCache.hits());
+        }
+
+        @Test
+        public void shouldInvalidateWritesInsideTransactionWhenItEnds() {
+            queryableUnderTest.query(null, mockSelection, mockOrderings);
+
+            JdbcQueryable.runInTransaction(mockDbProvider, () -> {
+                queryableUnderTest.delete(mockSelection, mockOrderings);
+                assertEquals(1, queryResultCache.size());
+                return null;
+            });
+
+            assertEquals(0, queryResultCache.size());
+        }
+    }
+
+    public static class EntityCaching extends JdbcQueryableTest {
+
+        private static final String modified = "2026-01-01 00:00:00.000";
+
+        @Mock
+        private ResultSetMetaData mockMetaData;
+        @Mock
+        private PreparedStatement mockModifiedStatement;
+        @Mock
+        private ResultSet mockModifiedResultSet;
+
+        private EntityCache entityCache;
+
+        @Before
+        public void setUpCachingQueryable() throws SQLException {
+            entityCache = new EntityCache();
+            queryableUnderTest.setEntityCache(entityCache);
+
+            when(mockSqlGenerator.whereOperation(eq(tableName), eq("_id"), eq(Finder.OP_EQ))).thenReturn(tableName + "._id =");
+            when(mockSqlGenerator.unambiguousRetrievalColumn(eq(tableName), eq("modified"))).thenReturn(tableName + "_modified");
+            when(mockSqlGenerator.createQuerySql(eq(tableName), nullable(FSProjection.class), eq(mockSelection), eq(mockOrderings)))
+                    .thenReturn(new SqlForPreparedStatement("full", new Object[] {5L}));
+            when(mockSqlGenerator.createQuerySql(eq(tableName), nullable(FSProjection.class), eq(mockSelection), isNull()))
+                    .thenReturn(new SqlForPreparedStatement("modified", new Object[] {5L}));
+            when(mockSqlGenerator.createDeleteSql(anyString(), eq(mockSelection), eq(mockOrderings)))
+                    .thenReturn(new SqlForPreparedStatement("", new Object[] {5L}));
+            when(mockSelection.where()).thenReturn(tableName + "._id = ?");
+            when(mockSelection.replacements()).thenReturn(new Object[] {5L});
+            when(mockSelection.limits()).thenReturn(Limits.NONE);
+
+            when(mockConnection.getAutoCommit()).thenReturn(true);
+            when(mockConnection.prepareStatement(eq("full"))).thenReturn(mockPreparedStatement);
+            when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+            when(mockResultSet.getMetaData()).thenReturn(mockMetaData);
+            when(mockMetaData.getColumnCount()).thenReturn(2);
+            when(mockMetaData.getColumnLabel(eq(1))).thenReturn(tableName + "_name");
+            when(mockMetaData.getColumnLabel(eq(2))).thenReturn(tableName + "_modified");
+            when(mockResultSet.next()).thenReturn(true, false, true, false);
+            when(mockResultSet.getObject(eq(1))).thenReturn("a", "b");
+            when(mockResultSet.getObject(eq(2))).thenReturn(modified);
+
+            when(mockConnection.prepareStatement(eq("modified"))).thenReturn(mockModifiedStatement);
+            when(mockModifiedStatement.executeQuery()).thenReturn(mockModifiedResultSet);
+            when(mockModifiedResultSet.next()).thenReturn(true);
+            when(mockModifiedResultSet.getString(eq(1))).thenReturn(modified);
+        }
+
+        @Test
+        public void shouldAnswerRepeatedQueryByIdFromCacheWhenRecordUnmodified() throws SQLException {
+            queryableUnderTest.query(null, mockSelection, mockOrderings);
+            Retriever actual = queryableUnderTest.query(null, mockSelection, mockOrderings);
+
+            verify(mockPreparedStatement, times(1)).executeQuery();
+            verify(mockModifiedStatement, times(1)).executeQuery();
+            assertTrue(actual.moveToFirst());
+            assertEquals("a", actual.getString(tableName + "_name"));
+            assertEquals(1, entityCache.hits());
+            assertEquals(1, entityCache.misses());
+        }
+
+        @Test
+        public void shouldNotLookUpModifiedWhenRecordNotCached() throws SQLException {
+            Retriever actual = queryableUnderTest.query(null, mockSelection, mockOrderings);
+
+            verify(mockModifiedStatement, never()).executeQuery();
+            assertTrue(actual.isBeforeFirst());
+            assertEquals(1, entityCache.size());
+        }
+
+        @Test
+        public void shouldQueryAgainWhenRecordModified() throws SQLException {
+            when(mockModifiedResultSet.getString(eq(1))).thenReturn("2026-01-01 00:00:00.001");
+
+            queryableUnderTest.query(null, mockSelection, mockOrderings);
+            Retriever actual = queryableUnderTest.query(null, mockSelection, mockOrderings);
+
+            verify(mockPreparedStatement, times(2)).executeQuery();
+            assertTrue(actual.moveToFirst());
+            assertEquals("b", actual.getString(tableName + "_name"));
+            assertEquals(0, entityCache.hits());
+        }
+
+        @Test
+        public void shouldInvalidateWhenTableWritten() throws SQLException {
+            queryableUnderTest.query(null, mockSelection, mockOrderings);
+            queryableUnderTest.delete(mockSelection, mockOrderings);
+            queryableUnderTest.query(null, mockSelection, mockOrderings);
+
+            verify(mockPreparedStatement, times(2)).executeQuery();
+            verify(mockModifiedStatement, never()).executeQuery();
+        }
+
+        @Test
+        public void shouldNotCacheQueryNotMatchingById() throws SQLException {
+            when(mockSelection.where()).thenReturn(tableName + ".name = ?");
+
+            queryableUnderTest.query(null, mockSelection, mockOrderings);
+            queryableUnderTest.query(null, mockSelection, mockOrderings);
+
+            verify(mockPreparedStatement, times(2)).executeQuery();
+            assertEquals(0, entityCache.size());
+        }
+
+        @Test
+        public void shouldNotCacheQueryWithLimits() throws SQLException {
+            Limits limits = mock(Limits.class);
+            when(limits.count()).thenReturn(1);
+            when(mockSelection.limits()).thenReturn(limits);
+
+            queryableUnderTest.query(null, mockSelection, mockOrderings);
+
+            assertEquals(0, entityCache.size());
+        }
+
+        @Test
+        public void shouldNotCacheRecordQueriedWithoutModifiedColumn() throws SQLException {
+            when(mockMetaData.getColumnCount()).thenReturn(1);
+
+            queryableUnderTest.query(null, mockSelection, mockOrderings);
+
+            assertEquals(0, entityCache.size());
+        }
+
+        @Test
+        public void shouldBypassCacheInsideTransaction() throws SQLException {
+            JdbcQueryable.runInTransaction(mockDbProvider, () -> queryableUnderTest.query(null, mockSelection, mockOrderings));
+
+            assertEquals(0, entityCache.size());
+            assertEquals(0, entityCache.misses());
+        }
+
+        @Test
+        public void shouldInvalidateDocStoreEntityCacheWhenTableWritten() {
+            EntityCache docStoreEntityCache = new EntityCache();
+            queryableUnderTest.setDocStoreEntityCache(docStoreEntityCache);
+            docStoreEntityCache.put(tableName, 5L, modified, new Object(), docStoreEntityCache.version(tableName));
+
+            queryableUnderTest.delete(mockSelection, mockOrderings);
+
+            assertEquals(0, docStoreEntityCache.size());
+        }
+    }
+
+    public static class ChangeNotification extends JdbcQueryableTest {
+
+        @Mock
+        private TableChangeBus mockTableChangeBus;
+
+        @Before
+        public void setUpPublishingQueryable() throws SQLException {
+            queryableUnderTest.setTableChangeBus(mockTableChangeBus);
+            when(mockSqlGenerator.createDeleteSql(anyString(), eq(mockSelection), eq(mockOrderings)))
+                    .thenReturn(new SqlForPreparedStatement("", new String[] {"r1"}));
+            when(mockConnection.getAutoCommit()).thenReturn(true);
+        }
+
+        @Test
+        public void shouldPublishChangeAfterWrite() throws SQLException {
+            queryableUnderTest.delete(mockSelection, mockOrderings);
+
+            InOrder inOrder = inOrder(mockPreparedStatement, mockTableChangeBus);
+            inOrder.verify(mockPreparedStatement).executeUpdate();
+            inOrder.verify(mockTableChangeBus).tablesChanged(eq(Collections.singleton(tableName)));
+        }
+
+        @Test
+        public void shouldInvalidateCacheButNotPublishChangeWhenWriteFails() throws SQLException {
+            EntityCache entityCache = new EntityCache();
+            queryableUnderTest.setEntityCache(entityCache);
+            entityCache.put(tableName, 5L, "2026-01-01 00:00:00.000", new Object(), entityCache.version(tableName));
+            when(mockPreparedStatement.executeUpdate()).thenThrow(new SQLException("delete failed"));
+
+            try {
+                queryableUnderTest.delete(mockSelection, mockOrderings);
+                fail("Expected RuntimeException");
+            } catch (RuntimeException re) {
+                // expected
+            }
+
+            assertEquals(0, entityCache.size());
+            verifyZeroInteractions(mockTableChangeBus);
+        }
+
+        @Test
+        public void shouldPublishWritesInsideTransactionOnceWhenItCommits() {
+            JdbcQueryable.runInTransaction(mockDbProvider, () -> {
+                queryableUnderTest.delete(mockSelection, mockOrderings);
+                queryableUnderTest.delete(mockSelection, mockOrderings);
+                verifyZeroInteractions(mockTableChangeBus);
+                return null;
+            });
+
+            verify(mockTableChangeBus, times(1)).tablesChanged(eq(Collections.singleton(tableName)));
+        }
+
+        @Test
+        public void shouldNotPublishWritesInsideTransactionThatRollsBack() {
+            try {
+                JdbcQueryable.runInTransaction(mockDbProvider, () -> {
+                    queryableUnderTest.delete(mockSelection, mockOrderings);
+                    throw new IllegalStateException();
+                });
+                fail("Expected IllegalStateException");
+            } catch (IllegalStateException ise) {
+                // expected
+            }
+
+            verifyZeroInteractions(mockTableChangeBus);
+        }
+    }
+
+    public static class Aggregate extends JdbcQueryableTest {
+
+        private List<FSJoin> joins;
+        private List<FSProjection> groupBy;
+        private List<FSAggregate> aggregates;
+        private List<FSHaving> having;
+
+        @Before
+        public void setUpAggregateSql() {
+            joins = Collections.emptyList();
+            groupBy = Collections.singletonList(mock(FSProjection.class));
+            aggregates = Collections.singletonList(FSAggregate.count(tableName));
+            having = Collections.singletonList(new FSHaving(FSAggregate.count(tableName), Finder.OP_GT, 3L));
+            when(mockSqlGenerator.createAggregateSql(eq(tableName), eq(joins), eq(groupBy), eq(aggregates), eq(mockSelection), eq(having), eq(mockOrderings)))
+                    .thenReturn(new SqlForPreparedStatement("", new Object[] {"r1", 3L}));
+        }
+
+        @Test
+        public void shouldPassThroughCorrectArgumentsToSqlGenerator() {
+            queryableUnderTest.aggregate(joins, groupBy, aggregates, mockSelection, having, mockOrderings);
+
+            verify(mockSqlGenerator).createAggregateSql(eq(tableName), eq(joins), eq(groupBy), eq(aggregates), eq(mockSelection), eq(having), eq(mockOrderings));
+        }
+
+        @Test
+        public void shouldBindSelectionAndHavingValuesBeforeExecutingQuery() throws SQLException {
+            queryableUnderTest.aggregate(joins, groupBy, aggregates, mockSelection, having, mockOrderings);
+
+            InOrder inOrder = inOrder(mockPreparedStatement);
+            inOrder.verify(mockPreparedStatement).setString(eq(1), eq("r1"));
+            inOrder.verify(mockPreparedStatement).setLong(eq(2), eq(3L));
+            inOrder.verify(mockPreparedStatement).executeQuery();
+        }
     }
 
     @SuppressWarnings("MagicConstant")
@@ -332,7 +942,6 @@ public abstract class JdbcQueryableTest {
             inOrder.verify(mockResultSet).isBeforeFirst();
             inOrder.verify(mockResultSet).next();
             inOrder.verify(mockSqlGenerator).newSingleRowInsertionSql(eq(tableName), anyList());
-            inOrder.verify(mockDbProvider).writeableDb();
             inOrder.verify(mockConnection).prepareStatement(nullable(String.class), eq(Statement.RETURN_GENERATED_KEYS));
             inOrder.verify(mockPreparedStatement).executeUpdate();
             inOrder.verify(mockPreparedStatement).getGeneratedKeys();
@@ -361,7 +970,6 @@ public abstract class JdbcQueryableTest {
             inOrder.verify(mockResultSet).isBeforeFirst();
             inOrder.verify(mockResultSet).next();
             inOrder.verify(mockSqlGenerator).createUpdateSql(eq(tableName), anyList(), eq(mockSelection), eq(mockOrderings));
-            inOrder.verify(mockDbProvider).writeableDb();
             inOrder.verify(mockConnection).prepareStatement(nullable(String.class));
             inOrder.verify(mockPreparedStatement).executeUpdate();
             inOrder.verify(mockConnection).commit();
@@ -378,6 +986,472 @@ public abstract class JdbcQueryableTest {
             verify(mockConnection, times(0)).commit();
             verify(mockConnection).setAutoCommit(true);
         }
+
+        @Test
+        public void shouldPublishChangeOnceAfterCommit() throws SQLException {
+            TableChangeBus mockTableChangeBus = mock(TableChangeBus.class);
+            queryableUnderTest.setTableChangeBus(mockTableChangeBus);
+            when(mockResultSet.next()).thenReturn(true);
+
+            queryableUnderTest.upsert(createRandomTRC(), mockSelection, mockOrderings);
+
+            InOrder publishOrder = inOrder(mockConnection, mockTableChangeBus);
+            publishOrder.verify(mockConnection).commit();
+            publishOrder.verify(mockTableChangeBus).tablesChanged(eq(Collections.singleton(tableName)));
+            verify(mockTableChangeBus, times(1)).tablesChanged(anyCollection());
+        }
+
+        @Test
+        public void shouldNotPublishChangeWhenRolledBack() throws SQLException {
+            TableChangeBus mockTableChangeBus = mock(TableChangeBus.class);
+            queryableUnderTest.setTableChangeBus(mockTableChangeBus);
+            when(mockResultSet.next()).thenReturn(true);
+            when(mockPreparedStatement.executeUpdate()).thenThrow(new SQLException("update failed"));
+
+            queryableUnderTest.upsert(createRandomTRC(), mockSelection, mockOrderings);
+
+            verify(mockConnection).rollback();
+            verifyZeroInteractions(mockTableChangeBus);
+        }
     }
 
+
+    public static class UpsertByKey extends JdbcQueryableTest {
+
+        @Mock
+        private ResultSet mockGeneratedKeys;
+        @Mock
+        private TableChangeBus mockTableChangeBus;
+
+        @Before
+        public void setUpUpsertKey() throws SQLException {
+            queryableUnderTest.setUpsertKeys(Collections.singletonList(Collections.singletonList("key")));
+            queryableUnderTest.setTableChangeBus(mockTableChangeBus);
+
+            when(mockSqlGenerator.newUpsertSql(eq(tableName), anyList(), eq(Collections.singletonList("key")), eq(Collections.<String>emptyList()), eq(1)))
+                    .thenReturn("upsert");
+            when(mockSqlGenerator.createUpdateSql(eq(tableName), anyList(), eq(mockSelection), eq(mockOrderings)))
+                    .thenReturn(new SqlForPreparedStatement("update", new Object[] {"k1"}));
+            when(mockSqlGenerator.createQuerySql(eq(tableName), nullable(FSProjection.class), eq(mockSelection), eq(mockOrderings)))
+                    .thenReturn(new SqlForPreparedStatement("query", new Object[0]));
+
+            when(mockSelection.exactMatches()).thenReturn(Collections.<String, Object>singletonMap("key", "k1"));
+
+            when(mockConnection.getAutoCommit()).thenReturn(true);
+            when(mockConnection.prepareStatement(nullable(String.class))).thenReturn(mockPreparedStatement);
+            when(mockConnection.prepareStatement(nullable(String.class), eq(Statement.RETURN_GENERATED_KEYS)))
+                    .thenReturn(mockPreparedStatement);
+            when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+            when(mockPreparedStatement.getGeneratedKeys()).thenReturn(mockGeneratedKeys);
+            when(mockGeneratedKeys.next()).thenReturn(true);
+            when(mockGeneratedKeys.getLong(eq(1))).thenReturn(7L);
+        }
+
+        @Test
+        public void shouldInsertWithSingleStatementAndBindKeyFromSelection() throws SQLException {
+            when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+            TypedRecordContainer record = new TypedRecordContainer();
+            record.put("value", "v");
+
+            SaveResult<DirectLocator> result = queryableUnderTest.upsert(record, mockSelection, mockOrderings);
+
+            assertNull(result.exception());
+            assertEquals(7L, result.inserted().id);
+            assertEquals(1, result.rowsAffected());
+            verify(mockSqlGenerator).newUpsertSql(eq(tableName), eq(Arrays.asList("value", "key")), eq(Collections.singletonList("key")), eq(Collections.<String>emptyList()), eq(1));
+            verify(mockPreparedStatement).setString(eq(1), eq("v"));
+            verify(mockPreparedStatement).setString(eq(2), eq("k1"));
+            verify(mockPreparedStatement, never()).executeQuery();
+            verify(mockConnection).commit();
+            verify(mockSqlGenerator, never()).createUpdateSql(anyString(), anyList(), any(FSSelection.class), anyList());
+            verify(mockTableChangeBus, times(1)).tablesChanged(eq(Collections.singleton(tableName)));
+        }
+
+        @Test
+        public void shouldUpdateWhenSingleStatementConflicts() throws SQLException {
+            when(mockPreparedStatement.executeUpdate()).thenReturn(0, 1);
+            TypedRecordContainer record = new TypedRecordContainer();
+            record.put("key", "k1");
+            record.put("value", "v");
+
+            SaveResult<DirectLocator> result = queryableUnderTest.upsert(record, mockSelection, mockOrderings);
+
+            assertNull(result.exception());
+            assertNull(result.inserted());
+            assertEquals(1, result.rowsAffected());
+            InOrder inOrder = inOrder(mockConnection, mockPreparedStatement);
+            inOrder.verify(mockConnection).setAutoCommit(eq(false));
+            inOrder.verify(mockConnection).prepareStatement(eq("upsert"), eq(Statement.RETURN_GENERATED_KEYS));
+            inOrder.verify(mockPreparedStatement).executeUpdate();
+            inOrder.verify(mockConnection).prepareStatement(eq("update"));
+            inOrder.verify(mockPreparedStatement).executeUpdate();
+            inOrder.verify(mockConnection).commit();
+            verify(mockPreparedStatement, never()).getGeneratedKeys();
+            verify(mockPreparedStatement, never()).executeQuery();
+            verify(mockTableChangeBus, times(1)).tablesChanged(eq(Collections.singleton(tableName)));
+        }
+
+        @Test
+        public void shouldRollBackInsertWhenUpdateFails() throws SQLException {
+            when(mockPreparedStatement.executeUpdate()).thenReturn(0).thenThrow(new SQLException("update failed"));
+            TypedRecordContainer record = new TypedRecordContainer();
+            record.put("value", "v");
+
+            SaveResult<DirectLocator> result = queryableUnderTest.upsert(record, mockSelection, mockOrderings);
+
+            assertNotNull(result.exception());
+            assertEquals(0, result.rowsAffected());
+            verify(mockConnection).rollback();
+            verify(mockConnection, never()).commit();
+        }
+
+        @Test
+        public void shouldQueryFirstWhenSelectionHasNoExactMatches() {
+            when(mockSelection.exactMatches()).thenReturn(null);
+
+            queryableUnderTest.upsert(createRandomStringTRC(), mockSelection, mockOrderings);
+
+            verify(mockSqlGenerator, never()).newUpsertSql(anyString(), anyList(), anyList(), anyList(), anyInt());
+            verify(mockSqlGenerator).createQuerySql(eq(tableName), nullable(FSProjection.class), eq(mockSelection), eq(mockOrderings));
+        }
+
+        @Test
+        public void shouldQueryFirstWhenSelectionIsNotExactlyAKey() {
+            Map<String, Object> exactMatches = new LinkedHashMap<>();
+            exactMatches.put("key", "k1");
+            exactMatches.put("value", "v");
+            when(mockSelection.exactMatches()).thenReturn(exactMatches);
+
+            queryableUnderTest.upsert(createRandomStringTRC(), mockSelection, mockOrderings);
+
+            verify(mockSqlGenerator, never()).newUpsertSql(anyString(), anyList(), anyList(), anyList(), anyInt());
+            verify(mockSqlGenerator).createQuerySql(eq(tableName), nullable(FSProjection.class), eq(mockSelection), eq(mockOrderings));
+        }
+
+        @Test
+        public void shouldQueryFirstWhenRecordChangesKey() {
+            TypedRecordContainer record = new TypedRecordContainer();
+            record.put("key", "k2");
+
+            queryableUnderTest.upsert(record, mockSelection, mockOrderings);
+
+            verify(mockSqlGenerator, never()).newUpsertSql(anyString(), anyList(), anyList(), anyList(), anyInt());
+            verify(mockSqlGenerator).createQuerySql(eq(tableName), nullable(FSProjection.class), eq(mockSelection), eq(mockOrderings));
+        }
+
+        @Test
+        public void shouldQueryFirstWhenSqlGeneratorCannotUpsert() {
+            when(mockSqlGenerator.newUpsertSql(anyString(), anyList(), anyList(), anyList(), anyInt())).thenReturn(null);
+
+            queryableUnderTest.upsert(createRandomStringTRC(), mockSelection, mockOrderings);
+
+            verify(mockSqlGenerator).createQuerySql(eq(tableName), nullable(FSProjection.class), eq(mockSelection), eq(mockOrderings));
+        }
+    }
+
+    public static class UpsertAll extends JdbcQueryableTest {
+
+        private static final List<String> key = Collections.singletonList("key");
+
+        @Before
+        public void setUpUpsertSql() throws SQLException {
+            when(mockSqlGenerator.newUpsertSql(eq(tableName), anyList(), anyList(), anyList(), anyInt())).thenReturn("");
+            when(mockConnection.getAutoCommit()).thenReturn(true);
+        }
+
+        @Test
+        public void shouldReturnZeroWithoutTouchingDbWhenNoRecords() throws SQLException {
+            assertEquals(0, queryableUnderTest.upsertAll(new ArrayList<TypedRecordContainer>(), key));
+            verify(mockDbProvider, never()).writeableDb();
+        }
+
+        @Test
+        public void shouldUpsertEachColumnSetWithOneStatementAndCommitOnce() throws SQLException {
+            when(mockPreparedStatement.executeUpdate()).thenReturn(2, 1);
+
+            int actual = queryableUnderTest.upsertAll(Arrays.asList(record("a", "1"), record("b", null), record("c", "3")), key);
+
+            assertEquals(3, actual);
+            verify(mockSqlGenerator).newUpsertSql(eq(tableName), eq(Arrays.asList("key", "value")), eq(key), eq(Collections.singletonList("value")), eq(2));
+            verify(mockSqlGenerator).newUpsertSql(eq(tableName), eq(key), eq(key), eq(Collections.<String>emptyList()), eq(1));
+            InOrder inOrder = inOrder(mockPreparedStatement);
+            inOrder.verify(mockPreparedStatement).setString(eq(1), eq("a"));
+            inOrder.verify(mockPreparedStatement).setString(eq(2), eq("1"));
+            inOrder.verify(mockPreparedStatement).setString(eq(3), eq("c"));
+            inOrder.verify(mockPreparedStatement).setString(eq(4), eq("3"));
+            inOrder.verify(mockPreparedStatement).executeUpdate();
+            inOrder.verify(mockPreparedStatement).setString(eq(1), eq("b"));
+            inOrder.verify(mockPreparedStatement).executeUpdate();
+            verify(mockConnection).setAutoCommit(eq(false));
+            verify(mockConnection).commit();
+            verify(mockConnection).setAutoCommit(eq(true));
+            verify(mockDbProvider).release(eq(mockConnection));
+        }
+
+        @Test
+        public void shouldSplitStatementsToStayWithinBoundParameterLimit() throws SQLException {
+            when(mockPreparedStatement.executeUpdate()).thenReturn(499, 1);
+            List<TypedRecordContainer> records = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                records.add(record("k" + i, "v" + i));
+            }
+
+            assertEquals(500, queryableUnderTest.upsertAll(records, key));
+
+            verify(mockSqlGenerator).newUpsertSql(eq(tableName), anyList(), eq(key), anyList(), eq(499));
+            verify(mockSqlGenerator).newUpsertSql(eq(tableName), anyList(), eq(key), anyList(), eq(1));
+            verify(mockConnection).commit();
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldThrowWhenRecordMissingKeyColumn() {
+            queryableUnderTest.upsertAll(Collections.singletonList(createRandomStringTRC()), key);
+        }
+
+        @Test
+        public void shouldRollBackAndThrowWhenSqlGeneratorCannotUpsert() throws SQLException {
+            when(mockSqlGenerator.newUpsertSql(eq(tableName), anyList(), anyList(), anyList(), anyInt())).thenReturn(null);
+
+            try {
+                queryableUnderTest.upsertAll(Collections.singletonList(record("a", "1")), key);
+                fail("Expected UnsupportedOperationException");
+            } catch (UnsupportedOperationException uoe) {
+                verify(mockConnection).rollback();
+                verify(mockConnection, never()).commit();
+                verify(mockDbProvider).release(eq(mockConnection));
+            }
+        }
+
+        private static TypedRecordContainer record(String key, String value) {
+            TypedRecordContainer ret = new TypedRecordContainer();
+            ret.put("key", key);
+            if (value != null) {
+                ret.put("value", value);
+            }
+            return ret;
+        }
+    }
+
+    public static class RunInTransaction extends JdbcQueryableTest {
+
+        @Mock
+        private ResultSet mockGeneratedKeys;
+        @Mock
+        private Savepoint mockSavepoint;
+
+        @Before
+        public void setUpConnection() throws SQLException {
+            // autocommit is turned off by the outermost transaction
+            when(mockConnection.getAutoCommit()).thenReturn(true, false);
+            when(mockConnection.setSavepoint()).thenReturn(mockSavepoint);
+            when(mockSqlGenerator.newSingleRowInsertionSql(eq(tableName), anyList())).thenReturn("");
+            when(mockSqlGenerator.createDeleteSql(eq(tableName), eq(mockSelection), eq(mockOrderings)))
+                    .thenReturn(new SqlForPreparedStatement("", new Object[0]));
+            when(mockSqlGenerator.createQuerySql(eq(tableName), nullable(FSProjection.class), eq(mockSelection), eq(mockOrderings)))
+                    .thenReturn(new SqlForPreparedStatement("", new Object[0]));
+            when(mockConnection.prepareStatement(eq(""), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(mockPreparedStatement);
+            when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+            when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+            when(mockPreparedStatement.getGeneratedKeys()).thenReturn(mockGeneratedKeys);
+            when(mockGeneratedKeys.next()).thenReturn(true);
+            when(mockGeneratedKeys.getLong(eq(1))).thenReturn(1L, 2L);
+        }
+
+        @Test
+        public void shouldPinOneConnectionAndCommitOnce() throws SQLException {
+            int actual = JdbcQueryable.runInTransaction(mockDbProvider, () -> {
+                queryableUnderTest.insert(createRandomStringTRC());
+                queryableUnderTest.insert(createRandomStringTRC());
+                queryableUnderTest.query(null, mockSelection, mockOrderings).close();
+                return queryableUnderTest.delete(mockSelection, mockOrderings);
+            });
+
+            assertEquals(1, actual);
+            verify(mockDbProvider, times(1)).writeableDb();
+            verify(mockDbProvider, never()).readableDb();
+            verify(mockDbProvider, times(1)).release(eq(mockConnection));
+            verify(mockConnection, times(1)).setAutoCommit(eq(false));
+            verify(mockConnection, times(1)).commit();
+            verify(mockConnection, times(1)).setAutoCommit(eq(true));
+        }
+
+        @Test
+        public void shouldNestOperationTransactionsInSavepoints() throws SQLException {
+            JdbcQueryable.runInTransaction(mockDbProvider, () -> queryableUnderTest.insertAll(Arrays.asList(createRandomStringTRC(), createRandomStringTRC())));
+
+            InOrder inOrder = inOrder(mockConnection);
+            inOrder.verify(mockConnection).setAutoCommit(eq(false));
+            inOrder.verify(mockConnection).setSavepoint();
+            inOrder.verify(mockConnection).releaseSavepoint(eq(mockSavepoint));
+            inOrder.verify(mockConnection).commit();
+            inOrder.verify(mockConnection).setAutoCommit(eq(true));
+            verify(mockConnection, times(1)).commit();
+        }
+
+        @Test
+        public void shouldRollBackAndWrapCheckedExceptionThrownByWork() throws SQLException {
+            Exception thrown = new Exception("failed");
+            try {
+                JdbcQueryable.runInTransaction(mockDbProvider, () -> {
+                    queryableUnderTest.insert(createRandomStringTRC());
+                    throw thrown;
+                });
+                fail("Expected RuntimeException");
+            } catch (RuntimeException re) {
+                assertSame(thrown, re.getCause());
+            }
+
+            verify(mockConnection).rollback();
+            verify(mockConnection, never()).commit();
+            verify(mockConnection).setAutoCommit(eq(true));
+            verify(mockDbProvider, times(1)).release(eq(mockConnection));
+        }
+
+        @Test
+        public void shouldRollBackOnlyNestedWorkWhenNestedWorkThrows() throws SQLException {
+            JdbcQueryable.runInTransaction(mockDbProvider, () -> {
+                queryableUnderTest.insert(createRandomStringTRC());
+                try {
+                    JdbcQueryable.runInTransaction(mockDbProvider, () -> {
+                        queryableUnderTest.insert(createRandomStringTRC());
+                        throw new IllegalStateException("nested failure");
+                    });
+                } catch (IllegalStateException ise) {
+                    // expected
+                }
+                return null;
+            });
+
+            verify(mockConnection).rollback(eq(mockSavepoint));
+            verify(mockConnection, never()).rollback();
+            verify(mockConnection, times(1)).commit();
+            verify(mockDbProvider, times(1)).writeableDb();
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void shouldNotAllowTransactionOnDifferentProviderInsideTransaction() {
+            JdbcQueryable.runInTransaction(mockDbProvider, () -> JdbcQueryable.runInTransaction(mock(JdbcQueryable.DBProvider.class), () -> null));
+        }
+
+        @Test
+        public void shouldReleaseConnectionsNormallyOutsideOfTransaction() throws SQLException {
+            JdbcQueryable.runInTransaction(mockDbProvider, () -> null);
+            queryableUnderTest.insert(createRandomStringTRC());
+
+            verify(mockDbProvider, times(2)).writeableDb();
+            verify(mockDbProvider, times(2)).release(eq(mockConnection));
+        }
+    }
+
+    public static class WriteBehind extends JdbcQueryableTest {
+
+        @Mock
+        private WriteBehindQueue mockWriteBehindQueue;
+
+        @Before
+        public void setUpWriteBehindQueue() throws SQLException {
+            queryableUnderTest.setWriteBehindQueue(mockWriteBehindQueue);
+            when(mockConnection.getAutoCommit()).thenReturn(true);
+        }
+
+        @Test
+        public void shouldInsertThroughQueue() {
+            TypedRecordContainer record = createRandomStringTRC();
+            when(mockWriteBehindQueue.submit(eq(queryableUnderTest), eq(record), isNull(), isNull(), eq(true)))
+                    .thenReturn(CompletableFuture.completedFuture(SaveResultFactory.create(new DirectLocator(tableName, 5L), 1, null)));
+
+            assertEquals(5L, queryableUnderTest.insert(record).id);
+            verifyNoMoreInteractions(mockSqlGenerator);
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void shouldRethrowInsertionFailureFromQueue() {
+            when(mockWriteBehindQueue.submit(eq(queryableUnderTest), any(TypedRecordContainer.class), isNull(), isNull(), eq(true)))
+                    .thenReturn(CompletableFuture.completedFuture(SaveResultFactory.<DirectLocator>create(null, 0, new IllegalStateException())));
+
+            queryableUnderTest.insert(createRandomStringTRC());
+        }
+
+        @Test
+        public void shouldUpsertThroughQueue() {
+            SaveResult<DirectLocator> expected = SaveResultFactory.create(null, 3, null);
+            when(mockWriteBehindQueue.submit(eq(queryableUnderTest), any(TypedRecordContainer.class), eq(mockSelection), eq(mockOrderings), eq(true)))
+                    .thenReturn(CompletableFuture.completedFuture(expected));
+
+            assertSame(expected, queryableUnderTest.upsert(createRandomStringTRC(), mockSelection, mockOrderings));
+        }
+
+        @Test
+        public void shouldBypassQueueInsideTransaction() throws SQLException {
+            when(mockSqlGenerator.newSingleRowInsertionSql(eq(tableName), anyList())).thenReturn("");
+            when(mockConnection.prepareStatement(eq(""), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(mockPreparedStatement);
+            when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+            when(mockPreparedStatement.getGeneratedKeys()).thenReturn(mockResultSet);
+            when(mockResultSet.getLong(eq(1))).thenReturn(8L);
+
+            DirectLocator actual = JdbcQueryable.runInTransaction(mockDbProvider, () -> queryableUnderTest.insert(createRandomStringTRC()));
+
+            assertEquals(8L, actual.id);
+            verifyZeroInteractions(mockWriteBehindQueue);
+        }
+    }
+
+    public static class Compile extends JdbcQueryableTest {
+
+        private FSProjection mockProjection;
+
+        @Before
+        public void setUpMockProjection() throws SQLException {
+            mockProjection = mock(FSProjection.class);
+            when(mockSelection.replacements()).thenReturn(new Object[] {"placeholder"});
+            when(mockSqlGenerator.createQuerySql(eq(tableName), eq(mockProjection), eq(mockSelection), eq(mockOrderings)))
+                    .thenReturn(new SqlForPreparedStatement("", new Object[] {"placeholder"}));
+            when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        }
+
+        @Test
+        public void shouldGenerateSqlOnlyOnceWhenQueryingRepeatedly() throws SQLException {
+            FSCompiledQuery compiled = queryableUnderTest.compile(Collections.emptyList(), Collections.singletonList(mockProjection), mockSelection, mockOrderings);
+            compiled.query(new Object[] {"first"}).close();
+            compiled.query(new Object[] {"second"}).close();
+
+            verify(mockSqlGenerator, times(1)).createQuerySql(eq(tableName), eq(mockProjection), eq(mockSelection), eq(mockOrderings));
+            InOrder inOrder = inOrder(mockPreparedStatement);
+            inOrder.verify(mockPreparedStatement).setString(eq(1), eq("first"));
+            inOrder.verify(mockPreparedStatement).executeQuery();
+            inOrder.verify(mockPreparedStatement).setString(eq(1), eq("second"));
+            inOrder.verify(mockPreparedStatement).executeQuery();
+            verify(mockPreparedStatement, never()).setString(anyInt(), eq("placeholder"));
+        }
+
+        @Test
+        public void shouldBindRelevanceQueryAfterReplacementsWhenQueryingRepeatedly() throws SQLException {
+            when(mockSqlGenerator.createQuerySql(eq(tableName), eq(mockProjection), eq(mockSelection), eq(mockOrderings)))
+                    .thenReturn(new SqlForPreparedStatement("", new Object[] {"placeholder", "relevance query"}));
+
+            FSCompiledQuery compiled = queryableUnderTest.compile(Collections.emptyList(), Collections.singletonList(mockProjection), mockSelection, mockOrderings);
+            compiled.query(new Object[] {"first"}).close();
+            compiled.query(new Object[] {"second"}).close();
+
+            InOrder inOrder = inOrder(mockPreparedStatement);
+            inOrder.verify(mockPreparedStatement).setString(eq(1), eq("first"));
+            inOrder.verify(mockPreparedStatement).setString(eq(2), eq("relevance query"));
+            inOrder.verify(mockPreparedStatement).executeQuery();
+            inOrder.verify(mockPreparedStatement).setString(eq(1), eq("second"));
+            inOrder.verify(mockPreparedStatement).setString(eq(2), eq("relevance query"));
+            inOrder.verify(mockPreparedStatement).executeQuery();
+        }
+
+        @Test
+        public void shouldUseJoinSqlWhenCompiledWithJoins() {
+            List<FSJoin> joins = Collections.singletonList(mock(FSJoin.class));
+            List<FSProjection> projections = Collections.singletonList(mockProjection);
+            when(mockSqlGenerator.createQuerySql(eq(tableName), eq(joins), eq(projections), eq(mockSelection), eq(mockOrderings)))
+                    .thenReturn(new SqlForPreparedStatement("", new Object[0]));
+
+            queryableUnderTest.compile(joins, projections, mockSelection, mockOrderings);
+
+            verify(mockSqlGenerator).createQuerySql(eq(tableName), eq(joins), eq(projections), eq(mockSelection), eq(mockOrderings));
+        }
+    }
 }
@@ -0,0 +1,119 @@
+package com.fsryan.forsuredb.queryable;
+
+import com.fsryan.forsuredb.api.Retriever;
+import com.fsryan.forsuredb.api.sqlgeneration.SqlForPreparedStatement;
+import com.fsryan.forsuredb.resultset.MaterializedRetriever;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class QueryResultCacheTest {
+
+    private QueryResultCache cacheUnderTest;
+
+    @Before
+    public void setUp() {
+        cacheUnderTest = new QueryResultCache(2, 5);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedQueryWhenOverMaxEntries() throws SQLException {
+        QueryResultCache.Key first = key("first", "t");
+        QueryResultCache.Key second = key("second", "t");
+        put(first, 1);
+        put(second, 1);
+        assertNotNull(cacheUnderTest.get(first));   // <-- first is now the most recently used
+
+        put(key("third", "t"), 1);
+
+        assertNotNull(cacheUnderTest.get(first));
+        assertNull(cacheUnderTest.get(second));
+        assertEquals(1, cacheUnderTest.evictions());
+    }
+
+    @Test
+    public void shouldEvictUntilUnderMaxRows() throws SQLException {
+        put(key("first", "t"), 3);
+        put(key("second", "t"), 3);
+
+        assertEquals(1, cacheUnderTest.size());
+        assertEquals(3, cacheUnderTest.cachedRows());
+        assertNull(cacheUnderTest.get(key("first", "t")));
+    }
+
+    @Test
+    public void shouldNotCacheQueryWithMoreThanMaxRows() throws SQLException {
+        put(key("first", "t"), 6);
+
+        assertEquals(0, cacheUnderTest.size());
+        assertEquals(0, cacheUnderTest.cachedRows());
+    }
+
+    @Test
+    public void shouldOnlyInvalidateQueriesReadingFromTable() throws SQLException {
+        put(key("joined", "t", "u"), 1);
+        put(key("other", "v"), 1);
+
+        cacheUnderTest.invalidate("u");
+
+        assertNull(cacheUnderTest.get(key("joined", "t", "u")));
+        assertNotNull(cacheUnderTest.get(key("other", "v")));
+        assertEquals(1, cacheUnderTest.invalidations());
+        assertEquals(1, cacheUnderTest.cachedRows());
+    }
+
+    @Test
+    public void shouldNotCacheRowsReadBeforeClear() throws SQLException {
+        QueryResultCache.Key key = key("first", "t");
+        long[] versions = cacheUnderTest.versionsOf(key);
+
+        cacheUnderTest.clear();
+        cacheUnderTest.put(key, versions, rows(1));
+
+        assertEquals(0, cacheUnderTest.size());
+    }
+
+    @Test
+    public void shouldReturnNewRetrieverForEachHit() throws SQLException {
+        QueryResultCache.Key key = key("first", "t");
+        put(key, 1);
+
+        Retriever first = cacheUnderTest.get(key);
+        first.moveToFirst();
+        Retriever second = cacheUnderTest.get(key);
+
+        assertNotSame(first, second);
+        assertTrue(second.isBeforeFirst());
+    }
+
+    private void put(QueryResultCache.Key key, int rowCount) throws SQLException {
+        cacheUnderTest.put(key, cacheUnderTest.versionsOf(key), rows(rowCount));
+    }
+
+    private static QueryResultCache.Key key(String sql, String... tables) {
+        return new QueryResultCache.Key(new SqlForPreparedStatement(sql, new String[0]), Arrays.asList(tables));
+    }
+
+    private static MaterializedRetriever.Rows rows(int count) throws SQLException {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnLabel(anyInt())).thenReturn("c");
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        Boolean[] next = new Boolean[count];
+        Arrays.fill(next, Boolean.TRUE);
+        next[count - 1] = Boolean.FALSE;    // <-- the first call returns true
+        when(resultSet.next()).thenReturn(true, next);
+        when(resultSet.getObject(anyInt())).thenReturn("v");
+        return MaterializedRetriever.read(resultSet);
+    }
+}
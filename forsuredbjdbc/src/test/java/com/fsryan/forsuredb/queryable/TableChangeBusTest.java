@@ -0,0 +1,144 @@
+package com.fsryan.forsuredb.queryable;
+
+import com.fsryan.forsuredb.api.FSTableChangeListener;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TableChangeBusTest {
+
+    @Mock
+    private ScheduledExecutorService mockScheduler;
+
+    private TableChangeBus busUnderTest;
+    private RecordingListener allTables;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        busUnderTest = new TableChangeBus(25L, mockScheduler);
+        allTables = new RecordingListener();
+    }
+
+    @Test
+    public void shouldNotScheduleDeliveryWithoutListeners() {
+        busUnderTest.tablesChanged(Collections.singleton("table"));
+
+        verifyZeroInteractions(mockScheduler);
+    }
+
+    @Test
+    public void shouldCoalesceChangesMadeBeforeDelivery() {
+        busUnderTest.addListener(allTables);
+
+        busUnderTest.tablesChanged(Collections.singleton("table"));
+        busUnderTest.tablesChanged(Arrays.asList("table", "other_table"));
+        busUnderTest.deliver();
+
+        verify(mockScheduler, times(1)).schedule(any(Runnable.class), eq(25L), eq(TimeUnit.MILLISECONDS));
+        assertEquals(Collections.singletonList(new HashSet<>(Arrays.asList("table", "other_table"))), allTables.notifications);
+    }
+
+    @Test
+    public void shouldScheduleAgainAfterDelivery() {
+        busUnderTest.addListener(allTables);
+
+        busUnderTest.tablesChanged(Collections.singleton("table"));
+        busUnderTest.deliver();
+        busUnderTest.tablesChanged(Collections.singleton("table"));
+        busUnderTest.deliver();
+
+        verify(mockScheduler, times(2)).schedule(any(Runnable.class), eq(25L), eq(TimeUnit.MILLISECONDS));
+        assertEquals(2, allTables.notifications.size());
+    }
+
+    @Test
+    public void shouldOnlyNotifyOfTablesOfInterest() {
+        RecordingListener otherTable = new RecordingListener();
+        RecordingListener unrelated = new RecordingListener();
+        busUnderTest.addListener(otherTable, "other_table");
+        busUnderTest.addListener(unrelated, "unrelated_table");
+
+        busUnderTest.tablesChanged(Arrays.asList("table", "other_table"));
+        busUnderTest.deliver();
+
+        assertEquals(Collections.singletonList(Collections.singleton("other_table")), otherTable.notifications);
+        assertTrue(unrelated.notifications.isEmpty());
+    }
+
+    @Test
+    public void shouldNotNotifyRemovedListener() {
+        busUnderTest.addListener(allTables);
+        busUnderTest.removeListener(allTables);
+
+        busUnderTest.tablesChanged(Collections.singleton("table"));
+        busUnderTest.deliver();
+
+        assertTrue(allTables.notifications.isEmpty());
+        assertFalse(busUnderTest.hasListeners());
+    }
+
+    @Test
+    public void shouldNotifyOtherListenersWhenListenerThrows() {
+        busUnderTest.addListener(tables -> {
+            throw new IllegalStateException();
+        });
+        busUnderTest.addListener(allTables);
+        Thread.UncaughtExceptionHandler previous = Thread.currentThread().getUncaughtExceptionHandler();
+        List<Throwable> uncaught = new ArrayList<>();
+        Thread.currentThread().setUncaughtExceptionHandler((t, e) -> uncaught.add(e));
+        try {
+            busUnderTest.tablesChanged(Collections.singleton("table"));
+            busUnderTest.deliver();
+        } finally {
+            Thread.currentThread().setUncaughtExceptionHandler(previous);
+        }
+
+        assertEquals(1, allTables.notifications.size());
+        assertEquals(1, uncaught.size());
+        assertTrue(uncaught.get(0) instanceof IllegalStateException);
+    }
+
+    @Test
+    public void shouldDeliverOnDaemonThreadAfterDelay() throws Exception {
+        busUnderTest = new TableChangeBus(10L);
+        final CountDownLatch delivered = new CountDownLatch(1);
+        final Thread[] deliveredOn = new Thread[1];
+        busUnderTest.addListener(tables -> {
+            deliveredOn[0] = Thread.currentThread();
+            delivered.countDown();
+        });
+
+        busUnderTest.tablesChanged(Collections.singleton("table"));
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertTrue(deliveredOn[0].isDaemon());
+        assertEquals("forsuredb-changes", deliveredOn[0].getName());
+    }
+
+    private static class RecordingListener implements FSTableChangeListener {
+
+        final List<Set<String>> notifications = new ArrayList<>();
+
+        @Override
+        public void onTablesChanged(Set<String> tables) {
+            notifications.add(tables);
+        }
+    }
+}
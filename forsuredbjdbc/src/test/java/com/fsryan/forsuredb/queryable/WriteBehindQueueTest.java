@@ -0,0 +1,222 @@
+package com.fsryan.forsuredb.queryable;
+
+import com.fsryan.forsuredb.api.FSSelection;
+import com.fsryan.forsuredb.api.SaveResult;
+import com.fsryan.forsuredb.api.TypedRecordContainer;
+import com.fsryan.forsuredb.api.adapter.SaveResultFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.fsryan.forsuredb.util.Randomizer.createRandomStringTRC;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class WriteBehindQueueTest {
+
+    @Mock
+    private JdbcQueryable.DBProvider mockDbProvider;
+    @Mock
+    private Connection mockConnection;
+    @Mock
+    private JdbcQueryable mockQueryable;
+
+    private WriteBehindQueue queueUnderTest;
+
+    @Before
+    public void setUpMocks() throws SQLException {
+        MockitoAnnotations.initMocks(this);
+        when(mockDbProvider.writeableDb()).thenReturn(mockConnection);
+        when(mockConnection.getAutoCommit()).thenReturn(true);
+    }
+
+    @After
+    public void closeQueue() throws InterruptedException {
+        if (queueUnderTest != null) {
+            queueUnderTest.closeAndAwait(1000);
+        }
+    }
+
+    @Test
+    public void shouldCommitFullBatchOnce() throws Exception {
+        queueUnderTest = new WriteBehindQueue(mockDbProvider, WriteBehindQueue.Config.defaults().maxBatchSize(3).maxLatencyMillis(10000));
+        when(mockQueryable.insertNow(any(TypedRecordContainer.class)))
+                .thenReturn(new DirectLocator("table", 1), new DirectLocator("table", 2), new DirectLocator("table", 3));
+
+        List<CompletableFuture<SaveResult<DirectLocator>>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(queueUnderTest.submit(mockQueryable, createRandomStringTRC(), null, null));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            SaveResult<DirectLocator> result = futures.get(i).get(1, TimeUnit.SECONDS);
+            assertNull(result.exception());
+            assertEquals(i + 1, result.inserted().id);
+        }
+        verify(mockDbProvider, times(1)).writeableDb();
+        verify(mockConnection, times(1)).commit();
+    }
+
+    @Test
+    public void shouldWriteIncompleteBatchAfterMaxLatency() throws Exception {
+        queueUnderTest = new WriteBehindQueue(mockDbProvider, WriteBehindQueue.Config.defaults().maxBatchSize(100).maxLatencyMillis(5));
+        when(mockQueryable.insertNow(any(TypedRecordContainer.class))).thenReturn(new DirectLocator("table", 1));
+
+        SaveResult<DirectLocator> result = queueUnderTest.submit(mockQueryable, createRandomStringTRC(), null, null).get(1, TimeUnit.SECONDS);
+
+        assertEquals(1, result.rowsAffected());
+        verify(mockConnection).commit();
+    }
+
+    @Test
+    public void shouldWriteBatchOfOnlyAwaitedSavesWithoutWaitingForMaxLatency() throws Exception {
+        queueUnderTest = new WriteBehindQueue(mockDbProvider, WriteBehindQueue.Config.defaults().maxBatchSize(100).maxLatencyMillis(60000));
+        when(mockQueryable.insertNow(any(TypedRecordContainer.class))).thenReturn(new DirectLocator("table", 1));
+
+        SaveResult<DirectLocator> result = queueUnderTest.submit(mockQueryable, createRandomStringTRC(), null, null, true).get(1, TimeUnit.SECONDS);
+
+        assertEquals(1, result.rowsAffected());
+        verify(mockConnection).commit();
+    }
+
+    @Test
+    public void shouldHoldBatchOpenWhenItHasSaveNotAwaited() throws Exception {
+        queueUnderTest = new WriteBehindQueue(mockDbProvider, WriteBehindQueue.Config.defaults().maxBatchSize(2).maxLatencyMillis(60000));
+        when(mockQueryable.insertNow(any(TypedRecordContainer.class))).thenReturn(new DirectLocator("table", 1));
+
+        CompletableFuture<SaveResult<DirectLocator>> notAwaited = queueUnderTest.submit(mockQueryable, createRandomStringTRC(), null, null);
+        Thread.sleep(50);
+        assertFalse(notAwaited.isDone());
+        queueUnderTest.submit(mockQueryable, createRandomStringTRC(), null, null, true).get(1, TimeUnit.SECONDS);
+
+        assertTrue(notAwaited.isDone());
+        verify(mockConnection, times(1)).commit();
+    }
+
+    @Test
+    public void shouldUpsertWhenSelectionGiven() throws Exception {
+        queueUnderTest = new WriteBehindQueue(mockDbProvider, WriteBehindQueue.Config.defaults().maxLatencyMillis(0));
+        FSSelection selection = mock(FSSelection.class);
+        SaveResult<DirectLocator> expected = SaveResultFactory.create(null, 1, null);
+        when(mockQueryable.upsertNow(any(TypedRecordContainer.class), eq(selection), anyList())).thenReturn(expected);
+
+        SaveResult<DirectLocator> actual = queueUnderTest.submit(mockQueryable, createRandomStringTRC(), selection, Collections.emptyList()).get(1, TimeUnit.SECONDS);
+
+        assertSame(expected, actual);
+        verify(mockQueryable, never()).insertNow(any(TypedRecordContainer.class));
+    }
+
+    @Test
+    public void shouldWriteCopyOfRecordWithNullValues() throws Exception {
+        queueUnderTest = new WriteBehindQueue(mockDbProvider, WriteBehindQueue.Config.defaults().maxLatencyMillis(0));
+        ArgumentCaptor<TypedRecordContainer> recordCaptor = ArgumentCaptor.forClass(TypedRecordContainer.class);
+        when(mockQueryable.insertNow(recordCaptor.capture())).thenReturn(new DirectLocator("table", 1));
+        TypedRecordContainer record = new TypedRecordContainer();
+        record.put("string_column", (String) null);
+        record.put("blob_column", (byte[]) null);
+        record.put("long_column", 1L);
+
+        SaveResult<DirectLocator> result = queueUnderTest.submit(mockQueryable, record, null, null).get(1, TimeUnit.SECONDS);
+
+        assertNull(result.exception());
+        TypedRecordContainer written = recordCaptor.getValue();
+        assertNotSame(record, written);
+        assertEquals(record.keySet(), written.keySet());
+        assertNull(written.get("string_column"));
+        assertEquals(String.class, written.getType("string_column"));
+        assertEquals(byte[].class, written.getType("blob_column"));
+        assertEquals(1L, written.get("long_column"));
+    }
+
+    @Test
+    public void shouldFailOnlyTheSaveThatFailed() throws Exception {
+        queueUnderTest = new WriteBehindQueue(mockDbProvider, WriteBehindQueue.Config.defaults().maxBatchSize(2).maxLatencyMillis(10000));
+        RuntimeException failure = new RuntimeException("constraint failed");
+        when(mockQueryable.insertNow(any(TypedRecordContainer.class)))
+                .thenThrow(failure)
+                .thenReturn(new DirectLocator("table", 2));
+
+        CompletableFuture<SaveResult<DirectLocator>> first = queueUnderTest.submit(mockQueryable, createRandomStringTRC(), null, null);
+        CompletableFuture<SaveResult<DirectLocator>> second = queueUnderTest.submit(mockQueryable, createRandomStringTRC(), null, null);
+
+        assertSame(failure, first.get(1, TimeUnit.SECONDS).exception());
+        assertEquals(2L, second.get(1, TimeUnit.SECONDS).inserted().id);
+        verify(mockConnection).commit();
+    }
+
+    @Test
+    public void shouldFailEverySaveInBatchWhenCommitFails() throws Exception {
+        queueUnderTest = new WriteBehindQueue(mockDbProvider, WriteBehindQueue.Config.defaults().maxBatchSize(2).maxLatencyMillis(10000));
+        when(mockQueryable.insertNow(any(TypedRecordContainer.class))).thenReturn(new DirectLocator("table", 1));
+        doThrow(new SQLException("disk I/O error")).when(mockConnection).commit();
+
+        CompletableFuture<SaveResult<DirectLocator>> first = queueUnderTest.submit(mockQueryable, createRandomStringTRC(), null, null);
+        CompletableFuture<SaveResult<DirectLocator>> second = queueUnderTest.submit(mockQueryable, createRandomStringTRC(), null, null);
+
+        assertNotNull(first.get(1, TimeUnit.SECONDS).exception());
+        assertNull(first.get().inserted());
+        assertNotNull(second.get(1, TimeUnit.SECONDS).exception());
+        verify(mockConnection).rollback();
+    }
+
+    @Test
+    public void shouldBlockSubmitWhenQueueIsFull() throws Exception {
+        queueUnderTest = new WriteBehindQueue(mockDbProvider, WriteBehindQueue.Config.defaults().capacity(1).maxBatchSize(1).maxLatencyMillis(0));
+        final CountDownLatch writerBusy = new CountDownLatch(1);
+        final CountDownLatch releaseWriter = new CountDownLatch(1);
+        when(mockQueryable.insertNow(any(TypedRecordContainer.class))).thenAnswer(invocation -> {
+            writerBusy.countDown();
+            releaseWriter.await();
+            return new DirectLocator("table", 1);
+        });
+
+        queueUnderTest.submit(mockQueryable, createRandomStringTRC(), null, null);
+        assertTrue(writerBusy.await(1, TimeUnit.SECONDS));
+        queueUnderTest.submit(mockQueryable, createRandomStringTRC(), null, null);    // <-- fills the queue
+
+        final CountDownLatch thirdSubmitted = new CountDownLatch(1);
+        Thread submitter = new Thread(() -> {
+            queueUnderTest.submit(mockQueryable, createRandomStringTRC(), null, null);
+            thirdSubmitted.countDown();
+        });
+        submitter.start();
+
+        assertFalse(thirdSubmitted.await(100, TimeUnit.MILLISECONDS));
+        releaseWriter.countDown();
+        assertTrue(thirdSubmitted.await(1, TimeUnit.SECONDS));
+        submitter.join();
+    }
+
+    @Test
+    public void shouldWritePendingSavesButRejectNewOnesAfterClose() throws Exception {
+        queueUnderTest = new WriteBehindQueue(mockDbProvider, WriteBehindQueue.Config.defaults().maxBatchSize(10).maxLatencyMillis(50));
+        when(mockQueryable.insertNow(any(TypedRecordContainer.class))).thenReturn(new DirectLocator("table", 1));
+
+        CompletableFuture<SaveResult<DirectLocator>> pending = queueUnderTest.submit(mockQueryable, createRandomStringTRC(), null, null);
+        assertTrue(queueUnderTest.closeAndAwait(1000));
+
+        assertTrue(pending.isDone());
+        assertEquals(1, pending.get().rowsAffected());
+        try {
+            queueUnderTest.submit(mockQueryable, createRandomStringTRC(), null, null);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ise) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.fsryan.forsuredb.resultset;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.fsryan.forsuredb.queryable.StatementBinder.bindObject;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * <p>
+ *     Pages over a REAL ordering the way a keyset {@link com.fsryan.forsuredb.api.Finder}
+ *     selection does: the values of the last row of a page are read with
+ *     {@link FSResultSet#getObject(int)} and bound into the seek predicate of the next page.
+ * </p>
+ */
+public class FSResultSetKeysetPagingTest {
+
+    private static final String pageQuery = "SELECT _id, rating FROM t"
+            + " WHERE rating >= ? AND ((rating > ?) OR (rating = ? AND _id > ?))"
+            + " ORDER BY rating ASC, _id ASC LIMIT 2";
+
+    private Connection connection;
+
+    @Before
+    public void setUpDatabase() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE t(_id INTEGER PRIMARY KEY, rating REAL)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO t(_id, rating) VALUES(?, ?)")) {
+            final double[] ratings = new double[] {0.1, 0.1 + 0.2, 0.3, 0.4};
+            for (int i = 0; i < ratings.length; i++) {
+                insert.setLong(1, i + 1);
+                insert.setDouble(2, ratings[i]);
+                insert.executeUpdate();
+            }
+        }
+    }
+
+    @After
+    public void tearDownDatabase() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void shouldReadRealValueExactly() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            FSResultSet retriever = new FSResultSet(statement.executeQuery("SELECT rating FROM t WHERE _id = 2"));
+            retriever.moveToFirst();
+
+            assertEquals(0.1 + 0.2, retriever.getObject(1));
+        }
+    }
+
+    @Test
+    public void shouldNotRepeatBoundaryRowWhenPagingAfterTypedRealValue() throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        Object[] after = new Object[] {0D, 0D, 0D, 0L};
+        for (int page = 0; page < 3; page++) {
+            try (PreparedStatement pStatement = connection.prepareStatement(pageQuery)) {
+                for (int i = 0; i < after.length; i++) {
+                    bindObject(i + 1, pStatement, after[i]);
+                }
+                FSResultSet retriever = new FSResultSet(pStatement.executeQuery());
+                while (retriever.moveToNext()) {
+                    ids.add(retriever.getLong(1));
+                    final Object id = retriever.getObject(1);
+                    final Object rating = retriever.getObject(2);
+                    after = new Object[] {rating, rating, rating, id};
+                }
+            }
+        }
+
+        // 0.3 sorts before 0.1 + 0.2
+        assertEquals(Arrays.asList(1L, 3L, 2L, 4L), ids);
+    }
+}
@@ -1335,4 +1335,50 @@ public class FSResultSetTest {
         fsResultSetUnderTest.getPosition();
         verify(mockResultSet).getRow();
     }
+
+    @Test
+    public void shouldResolveColumnIndexFromMetaDataOnlyOnce() throws SQLException {
+        ResultSetMetaData mockMetaData = mockMetaData("first", columnLabel, "third");
+
+        assertEquals(2, fsResultSetUnderTest.columnIndex(columnLabel));
+        assertEquals(3, fsResultSetUnderTest.columnIndex("third"));
+        assertEquals(1, fsResultSetUnderTest.columnIndex("first"));
+
+        verify(mockResultSet, times(1)).getMetaData();
+        verify(mockMetaData, times(1)).getColumnCount();
+        verify(mockResultSet, never()).findColumn(anyString());
+    }
+
+    @Test
+    public void shouldResolveDuplicateColumnLabelToFirstIndex() throws SQLException {
+        mockMetaData(columnLabel, "other", columnLabel);
+        assertEquals(1, fsResultSetUnderTest.columnIndex(columnLabel));
+    }
+
+    @Test
+    public void shouldFallBackToFindColumnWhenLabelNotInMetaData() throws SQLException {
+        mockMetaData(columnLabel);
+        when(mockResultSet.findColumn(eq("COLUMNLABEL"))).thenReturn(1);
+
+        assertEquals(1, fsResultSetUnderTest.columnIndex("COLUMNLABEL"));
+        verify(mockResultSet).findColumn(eq("COLUMNLABEL"));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void shouldWrapSQLExceptionWhenColumnCannotBeFound() throws SQLException {
+        mockMetaData(columnLabel);
+        when(mockResultSet.findColumn(eq("not_a_column"))).thenThrow(new SQLException("no such column"));
+
+        fsResultSetUnderTest.columnIndex("not_a_column");
+    }
+
+    private ResultSetMetaData mockMetaData(String... labels) throws SQLException {
+        ResultSetMetaData mockMetaData = mock(ResultSetMetaData.class);
+        when(mockMetaData.getColumnCount()).thenReturn(labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            when(mockMetaData.getColumnLabel(eq(i + 1))).thenReturn(labels[i]);
+        }
+        when(mockResultSet.getMetaData()).thenReturn(mockMetaData);
+        return mockMetaData;
+    }
 }
@@ -0,0 +1,106 @@
+package com.fsryan.forsuredb.resultset;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class MaterializedRetrieverTest {
+
+    private MaterializedRetriever retrieverUnderTest;
+
+    @Before
+    public void setUp() {
+        MaterializedRetriever.Rows rows = new MaterializedRetriever.Rows(
+                new String[] {"_id", "name", "score", "data"},
+                Arrays.asList(
+                        new Object[] {1, "a", 1.5D, new byte[] {1, 2}},
+                        new Object[] {2L, "42", null, null}
+                )
+        );
+        retrieverUnderTest = new MaterializedRetriever(rows);
+    }
+
+    @Test
+    public void shouldStartBeforeFirstRow() {
+        assertTrue(retrieverUnderTest.isBeforeFirst());
+        assertEquals(0, retrieverUnderTest.getPosition());
+        assertEquals(2, retrieverUnderTest.getCount());
+    }
+
+    @Test
+    public void shouldNavigateLikeFSResultSet() {
+        assertTrue(retrieverUnderTest.moveToNext());
+        assertTrue(retrieverUnderTest.isFirst());
+        assertEquals(1, retrieverUnderTest.getPosition());
+        assertTrue(retrieverUnderTest.moveToNext());
+        assertTrue(retrieverUnderTest.isLast());
+        assertFalse(retrieverUnderTest.moveToNext());
+        assertTrue(retrieverUnderTest.isAfterLast());
+        assertTrue(retrieverUnderTest.moveToPrevious());
+        assertEquals(2, retrieverUnderTest.getPosition());
+        assertTrue(retrieverUnderTest.moveToFirst());
+        assertTrue(retrieverUnderTest.move(1));
+        assertFalse(retrieverUnderTest.moveToPosition(0));
+        assertTrue(retrieverUnderTest.isBeforeFirst());
+        assertTrue(retrieverUnderTest.moveToLast());
+        assertEquals(2, retrieverUnderTest.getPosition());
+    }
+
+    @Test
+    public void shouldConvertValuesAsRequested() {
+        retrieverUnderTest.moveToFirst();
+
+        assertEquals(1L, retrieverUnderTest.getLong("_id"));
+        assertEquals("1", retrieverUnderTest.getString("_id"));
+        assertEquals(1.5D, retrieverUnderTest.getDouble("score"), 0D);
+        assertEquals(1, retrieverUnderTest.getInt("score"));
+        assertArrayEquals(new byte[] {1, 2}, retrieverUnderTest.getBytes("data"));
+
+        retrieverUnderTest.moveToNext();
+        assertEquals(42, retrieverUnderTest.getInt("name"));
+        assertEquals(0D, retrieverUnderTest.getDouble("score"), 0D);
+        assertNull(retrieverUnderTest.getString("score"));
+        assertNull(retrieverUnderTest.getBytes("data"));
+    }
+
+    @Test
+    public void shouldNotExposeSharedBytes() {
+        retrieverUnderTest.moveToFirst();
+
+        retrieverUnderTest.getBytes("data")[0] = 9;
+
+        assertArrayEquals(new byte[] {1, 2}, retrieverUnderTest.getBytes("data"));
+    }
+
+    @Test
+    public void shouldResolveColumnIndexIgnoringCaseAsFallback() {
+        assertEquals(2, retrieverUnderTest.columnIndex("name"));
+        assertEquals(2, retrieverUnderTest.columnIndex("NAME"));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void shouldThrowWhenNoSuchColumn() {
+        retrieverUnderTest.columnIndex("missing");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldThrowWhenNotPositionedOnRow() {
+        retrieverUnderTest.getString(1);
+    }
+
+    @Test
+    public void shouldNotShareCursorBetweenRetrieversOfSameRows() {
+        MaterializedRetriever.Rows rows = new MaterializedRetriever.Rows(new String[] {"name"}, Arrays.<Object[]>asList(new Object[] {"a"}, new Object[] {"b"}));
+        MaterializedRetriever first = new MaterializedRetriever(rows);
+        MaterializedRetriever second = new MaterializedRetriever(rows);
+
+        first.moveToLast();
+        second.moveToFirst();
+
+        assertEquals("b", first.getString(1));
+        assertEquals("a", second.getString(1));
+    }
+}
@@ -0,0 +1,224 @@
+package com.fsryan.forsuredb.resultset;
+
+import com.fsryan.forsuredb.api.Retriever;
+import com.fsryan.forsuredb.api.RowMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class RowPublisherTest {
+
+    @Mock
+    private Retriever mockRetriever;
+
+    private final RowMapper<String> stringMapper = retriever -> retriever.getString(1);
+    private final Executor sameThread = Runnable::run;
+
+    private int queryCount;
+    private RowPublisher<String> publisherUnderTest;
+    private RecordingSubscriber subscriber;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        queryCount = 0;
+        publisherUnderTest = new RowPublisher<>(() -> {
+            queryCount++;
+            return mockRetriever;
+        }, stringMapper, sameThread);
+        subscriber = new RecordingSubscriber();
+    }
+
+    @Test
+    public void shouldNotQueryUntilRowsRequested() {
+        publisherUnderTest.subscribe(subscriber);
+
+        assertNotNull(subscriber.subscription);
+        assertEquals(0, queryCount);
+        verifyZeroInteractions(mockRetriever);
+    }
+
+    @Test
+    public void shouldOnlyReadRequestedRows() {
+        when(mockRetriever.moveToNext()).thenReturn(true);
+        when(mockRetriever.getString(eq(1))).thenReturn("a", "b", "c");
+        publisherUnderTest.subscribe(subscriber);
+
+        subscriber.subscription.request(2);
+
+        assertEquals(Arrays.asList("a", "b"), subscriber.items);
+        verify(mockRetriever, times(2)).moveToNext();
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(1);
+
+        assertEquals(Arrays.asList("a", "b", "c"), subscriber.items);
+        verify(mockRetriever, times(3)).moveToNext();
+        assertEquals(1, queryCount);
+    }
+
+    @Test
+    public void shouldCompleteAndCloseRetrieverAfterLastRow() {
+        when(mockRetriever.moveToNext()).thenReturn(true, true, false);
+        when(mockRetriever.getString(eq(1))).thenReturn("a", "b");
+        publisherUnderTest.subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(Arrays.asList("a", "b"), subscriber.items);
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+        verify(mockRetriever, times(1)).close();
+    }
+
+    @Test
+    public void shouldCloseRetrieverWithoutSignallingWhenCancelled() {
+        when(mockRetriever.moveToNext()).thenReturn(true);
+        when(mockRetriever.getString(eq(1))).thenReturn("a");
+        publisherUnderTest.subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(1);
+
+        assertEquals(Collections.singletonList("a"), subscriber.items);
+        assertFalse(subscriber.completed);
+        assertNull(subscriber.error);
+        verify(mockRetriever, times(1)).close();
+    }
+
+    @Test
+    public void shouldNotQueryWhenCancelledBeforeRequesting() {
+        publisherUnderTest.subscribe(subscriber);
+
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(1);
+
+        assertEquals(0, queryCount);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    public void shouldSignalErrorAndCloseRetrieverOnNonPositiveRequest() {
+        when(mockRetriever.moveToNext()).thenReturn(true);
+        publisherUnderTest.subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        verify(mockRetriever).close();
+    }
+
+    @Test
+    public void shouldSignalErrorWhenQueryFails() {
+        RuntimeException failure = new RuntimeException("no such table");
+        publisherUnderTest = new RowPublisher<>(() -> {
+            throw failure;
+        }, stringMapper, sameThread);
+        publisherUnderTest.subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        assertSame(failure, subscriber.error);
+        assertTrue(subscriber.items.isEmpty());
+    }
+
+    @Test
+    public void shouldSignalErrorAndCloseRetrieverWhenMappingFails() {
+        IllegalStateException failure = new IllegalStateException();
+        when(mockRetriever.moveToNext()).thenReturn(true);
+        when(mockRetriever.getString(eq(1))).thenThrow(failure);
+        publisherUnderTest.subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        assertSame(failure, subscriber.error);
+        verify(mockRetriever).close();
+    }
+
+    @Test
+    public void shouldRejectSecondSubscriber() {
+        publisherUnderTest.subscribe(subscriber);
+        RecordingSubscriber second = new RecordingSubscriber();
+
+        publisherUnderTest.subscribe(second);
+
+        assertNotNull(second.subscription);
+        assertTrue(second.error instanceof IllegalStateException);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void shouldNotRecurseWhenRequestingFromOnNext() {
+        when(mockRetriever.moveToNext()).thenReturn(true, true, true, false);
+        when(mockRetriever.getString(eq(1))).thenReturn("a", "b", "c");
+        final List<Integer> depths = new ArrayList<>();
+        subscriber = new RecordingSubscriber() {
+            @Override
+            public void onNext(String item) {
+                super.onNext(item);
+                depths.add(Thread.currentThread().getStackTrace().length);
+                subscription.request(1);
+            }
+        };
+        publisherUnderTest.subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        assertEquals(Arrays.asList("a", "b", "c"), subscriber.items);
+        assertTrue(subscriber.completed);
+        assertEquals(1, depths.stream().distinct().count());
+    }
+
+    @Test
+    public void shouldSignalErrorWhenExecutorRejects() {
+        publisherUnderTest = new RowPublisher<>(() -> mockRetriever, stringMapper, r -> {
+            throw new RejectedExecutionException();
+        });
+        publisherUnderTest.subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        assertTrue(subscriber.error instanceof RejectedExecutionException);
+    }
+
+    private static class RecordingSubscriber implements RowPublisher.Subscriber<String> {
+
+        RowPublisher.Subscription subscription;
+        final List<String> items = new ArrayList<>();
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(RowPublisher.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(String item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
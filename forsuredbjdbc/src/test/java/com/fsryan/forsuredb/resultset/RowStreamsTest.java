@@ -0,0 +1,65 @@
+package com.fsryan.forsuredb.resultset;
+
+import com.fsryan.forsuredb.api.Retriever;
+import com.fsryan.forsuredb.api.RowMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class RowStreamsTest {
+
+    @Mock
+    private Retriever mockRetriever;
+
+    private final RowMapper<String> stringMapper = retriever -> retriever.getString(1);
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void shouldNotReadAnyRowsUntilTerminalOperation() {
+        Stream<String> stream = RowStreams.stream(mockRetriever, stringMapper);
+
+        verifyZeroInteractions(mockRetriever);
+        stream.close();
+    }
+
+    @Test
+    public void shouldStreamMappedRowsInOrderAndCloseRetrieverOnCompletion() {
+        when(mockRetriever.moveToNext()).thenReturn(true, true, true, false);
+        when(mockRetriever.getString(eq(1))).thenReturn("a", "b", "c");
+
+        List<String> actual = RowStreams.stream(mockRetriever, stringMapper).collect(Collectors.toList());
+
+        assertEquals(Arrays.asList("a", "b", "c"), actual);
+        verify(mockRetriever, times(1)).close();
+    }
+
+    @Test
+    public void shouldCloseRetrieverWhenShortCircuitedStreamClosed() {
+        when(mockRetriever.moveToNext()).thenReturn(true);
+        when(mockRetriever.getString(eq(1))).thenReturn("a");
+
+        Optional<String> first;
+        try (Stream<String> stream = RowStreams.stream(mockRetriever, stringMapper)) {
+            first = stream.findFirst();
+            verify(mockRetriever, never()).close();
+        }
+
+        assertEquals("a", first.get());
+        verify(mockRetriever, times(1)).moveToNext();
+        verify(mockRetriever, times(1)).close();
+    }
+}
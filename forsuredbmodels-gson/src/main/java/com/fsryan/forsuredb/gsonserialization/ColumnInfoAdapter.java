@@ -67,6 +67,12 @@ class ColumnInfoAdapter extends TypeAdapter<ColumnInfo> {
         booleanAdapter.write(jsonWriter, object.searchable());
         jsonWriter.name("orderable");
         booleanAdapter.write(jsonWriter, object.orderable());
+        jsonWriter.name("full_text");
+        booleanAdapter.write(jsonWriter, object.fullText());
+        jsonWriter.name("epoch_millis");
+        booleanAdapter.write(jsonWriter, object.epochMillis());
+        jsonWriter.name("order_preserving");
+        booleanAdapter.write(jsonWriter, object.orderPreserving());
         jsonWriter.endObject();
     }
 
@@ -117,6 +123,15 @@ class ColumnInfoAdapter extends TypeAdapter<ColumnInfo> {
                 case "orderable":
                     builder.orderable(booleanAdapter.read(jsonReader));
                     break;
+                case "full_text":
+                    builder.fullText(booleanAdapter.read(jsonReader));
+                    break;
+                case "epoch_millis":
+                    builder.epochMillis(booleanAdapter.read(jsonReader));
+                    break;
+                case "order_preserving":
+                    builder.orderPreserving(booleanAdapter.read(jsonReader));
+                    break;
                 default:
                     jsonReader.skipValue();
             }
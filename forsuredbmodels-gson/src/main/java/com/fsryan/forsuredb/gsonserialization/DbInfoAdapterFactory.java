@@ -20,6 +20,7 @@ package com.fsryan.forsuredb.gsonserialization;
 import com.fsryan.forsuredb.info.ColumnInfo;
 import com.fsryan.forsuredb.info.ForeignKeyInfo;
 import com.fsryan.forsuredb.info.TableForeignKeyInfo;
+import com.fsryan.forsuredb.info.TableIndexInfo;
 import com.fsryan.forsuredb.info.TableInfo;
 import com.fsryan.forsuredb.migration.Migration;
 import com.fsryan.forsuredb.migration.MigrationSet;
@@ -42,6 +43,8 @@ class DbInfoAdapterFactory implements TypeAdapterFactory {
             return (TypeAdapter<T>) new MigrationAdapter(gson);
         } else if (TableForeignKeyInfo.class.isAssignableFrom(rawType)) {
             return (TypeAdapter<T>) new TableForeignKeyInfoAdapter(gson);
+        } else if (TableIndexInfo.class.isAssignableFrom(rawType)) {
+            return (TypeAdapter<T>) new TableIndexInfoAdapter(gson);
         } else if (MigrationSet.class.isAssignableFrom(rawType)) {
             return (TypeAdapter<T>) new MigrationSetAdapter(gson);
         } else if (ForeignKeyInfo.class.isAssignableFrom(rawType)) {
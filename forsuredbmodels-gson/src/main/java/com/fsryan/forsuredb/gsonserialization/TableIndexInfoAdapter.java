@@ -0,0 +1,105 @@
+/*
+    forsuredbmodels-gson, gson serialization for forsuredb value classes
+
+    Copyright 2017 Ryan Scott
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+ */
+package com.fsryan.forsuredb.gsonserialization;
+
+import com.fsryan.forsuredb.info.TableIndexInfo;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+class TableIndexInfoAdapter extends TypeAdapter<TableIndexInfo> {
+
+    private static final TypeToken<List<String>> columnListType = new TypeToken<List<String>>() {};
+
+    private final TypeAdapter<List<String>> columnListAdapter;
+    private final TypeAdapter<String> stringAdapter;
+    private final TypeAdapter<Boolean> booleanAdapter;
+
+    public TableIndexInfoAdapter(Gson gson) {
+        columnListAdapter = gson.getAdapter(columnListType);
+        stringAdapter = gson.getAdapter(String.class);
+        booleanAdapter = gson.getAdapter(Boolean.class);
+    }
+
+    @Override
+    public void write(JsonWriter jsonWriter, TableIndexInfo object) throws IOException {
+        if (object == null) {
+            jsonWriter.nullValue();
+            return;
+        }
+
+        jsonWriter.beginObject();
+        jsonWriter.name("name");
+        stringAdapter.write(jsonWriter, object.name());
+        jsonWriter.name("columns");
+        columnListAdapter.write(jsonWriter, object.columns());
+        jsonWriter.name("include");
+        columnListAdapter.write(jsonWriter, object.include());
+        jsonWriter.name("unique");
+        booleanAdapter.write(jsonWriter, object.unique());
+        jsonWriter.name("where");
+        stringAdapter.write(jsonWriter, object.where());
+        jsonWriter.endObject();
+    }
+
+    @Override
+    public TableIndexInfo read(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+
+        jsonReader.beginObject();
+
+        TableIndexInfo.Builder builder = TableIndexInfo.builder();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            if (jsonReader.peek() == JsonToken.NULL) {
+                jsonReader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "name":
+                    builder.name(stringAdapter.read(jsonReader));
+                    break;
+                case "columns":
+                    builder.columns(columnListAdapter.read(jsonReader));
+                    break;
+                case "include":
+                    builder.include(columnListAdapter.read(jsonReader));
+                    break;
+                case "unique":
+                    builder.unique(booleanAdapter.read(jsonReader));
+                    break;
+                case "where":
+                    builder.where(stringAdapter.read(jsonReader));
+                    break;
+                default:
+                    jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+        return builder.build();
+    }
+}
@@ -19,6 +19,7 @@ package com.fsryan.forsuredb.gsonserialization;
 
 import com.fsryan.forsuredb.info.ColumnInfo;
 import com.fsryan.forsuredb.info.TableForeignKeyInfo;
+import com.fsryan.forsuredb.info.TableIndexInfo;
 import com.fsryan.forsuredb.info.TableInfo;
 import com.google.gson.Gson;
 import com.google.gson.TypeAdapter;
@@ -36,17 +37,20 @@ class TableInfoAdapter extends TypeAdapter<TableInfo> {
     private static TypeToken<Map<String, ColumnInfo>> columnMapType = new TypeToken<Map<String, ColumnInfo>>() {};
     private static TypeToken<Set<String>> primaryKeyType = new TypeToken<Set<String>>() {};
     private static TypeToken<Set<TableForeignKeyInfo>> foreignKeysType = new TypeToken<Set<TableForeignKeyInfo>>() {};
+    private static TypeToken<Set<TableIndexInfo>> indicesType = new TypeToken<Set<TableIndexInfo>>() {};
 
     private final TypeAdapter<Map<String, ColumnInfo>> columnMapAdapter;
     private final TypeAdapter<String> stringAdapter;
     private final TypeAdapter<Set<String>> primaryKeyAdapter;
     private final TypeAdapter<Set<TableForeignKeyInfo>> foreignKeysAdapter;
+    private final TypeAdapter<Set<TableIndexInfo>> indicesAdapter;
 
     TableInfoAdapter(Gson gson) {
         columnMapAdapter = gson.getAdapter(columnMapType);
         stringAdapter = gson.getAdapter(String.class);
         primaryKeyAdapter = gson.getAdapter(primaryKeyType);
         foreignKeysAdapter = gson.getAdapter(foreignKeysType);
+        indicesAdapter = gson.getAdapter(indicesType);
     }
 
     @Override
@@ -75,6 +79,8 @@ class TableInfoAdapter extends TypeAdapter<TableInfo> {
         stringAdapter.write(jsonWriter, object.primaryKeyOnConflict());
         jsonWriter.name("foreign_keys");
         foreignKeysAdapter.write(jsonWriter, object.foreignKeys());
+        jsonWriter.name("indices");
+        indicesAdapter.write(jsonWriter, object.indices());
         jsonWriter.endObject();
     }
 
@@ -123,6 +129,9 @@ class TableInfoAdapter extends TypeAdapter<TableInfo> {
                 case "foreign_keys":
                     builder.foreignKeys(foreignKeysAdapter.read(jsonReader));
                     break;
+                case "indices":
+                    builder.indices(indicesAdapter.read(jsonReader));
+                    break;
                 default:
                     jsonReader.skipValue();
             }
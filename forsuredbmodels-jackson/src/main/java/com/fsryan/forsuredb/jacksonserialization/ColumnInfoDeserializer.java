@@ -39,6 +39,9 @@ public class ColumnInfoDeserializer extends StdDeserializer<ColumnInfo> {
                 : null;
         final boolean searchable = node.has("searchable") && node.get("searchable").asBoolean();
         final boolean orderable = node.has("orderable") && node.get("orderable").asBoolean();
+        final boolean fullText = node.has("full_text") && node.get("full_text").asBoolean();
+        final boolean epochMillis = node.has("epoch_millis") && node.get("epoch_millis").asBoolean();
+        final boolean orderPreserving = node.has("order_preserving") && node.get("order_preserving").asBoolean();
         return ColumnInfo.builder()
                 .methodName(methodName)
                 .columnName(columnName)
@@ -50,6 +53,9 @@ public class ColumnInfoDeserializer extends StdDeserializer<ColumnInfo> {
                 .foreignKeyInfo(foreignKeyInfo)
                 .searchable(searchable)
                 .orderable(orderable)
+                .fullText(fullText)
+                .epochMillis(epochMillis)
+                .orderPreserving(orderPreserving)
                 .build();
     }
 }
@@ -38,6 +38,9 @@ public class ColumnInfoSerializer extends StdSerializer<ColumnInfo> {
         }
         jGen.writeBooleanField("searchable", object.searchable());
         jGen.writeBooleanField("orderable", object.orderable());
+        jGen.writeBooleanField("full_text", object.fullText());
+        jGen.writeBooleanField("epoch_millis", object.epochMillis());
+        jGen.writeBooleanField("order_preserving", object.orderPreserving());
         jGen.writeEndObject();
     }
 }
\ No newline at end of file
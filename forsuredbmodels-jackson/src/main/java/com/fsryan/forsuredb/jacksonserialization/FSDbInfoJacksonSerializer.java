@@ -8,6 +8,7 @@ import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fsryan.forsuredb.info.ColumnInfo;
 import com.fsryan.forsuredb.info.ForeignKeyInfo;
 import com.fsryan.forsuredb.info.TableForeignKeyInfo;
+import com.fsryan.forsuredb.info.TableIndexInfo;
 import com.fsryan.forsuredb.info.TableInfo;
 import com.fsryan.forsuredb.migration.Migration;
 import com.fsryan.forsuredb.migration.MigrationSet;
@@ -20,6 +21,7 @@ import java.util.Set;
 public class FSDbInfoJacksonSerializer implements FSDbInfoSerializer {
 
     static final TypeReference<Set<TableForeignKeyInfo>> TABLE_FOREIGN_KEY_INFO_TYPE = new TypeReference<Set<TableForeignKeyInfo>>() {};
+    static final TypeReference<Set<TableIndexInfo>> TABLE_INDEX_INFO_TYPE = new TypeReference<Set<TableIndexInfo>>() {};
     static final TypeReference<Set<String>> PRIMARY_KEY_TYPE = new TypeReference<Set<String>>() {};
     private static final TypeReference<MigrationSet> migrationSetType = new TypeReference<MigrationSet>() {};
 
@@ -30,6 +32,8 @@ public class FSDbInfoJacksonSerializer implements FSDbInfoSerializer {
         SimpleModule module = new SimpleModule("DbInfoSerializer", new Version(0, 10,0, null, null, null));
         module.addSerializer(TableForeignKeyInfo.class, new TableForeignKeyInfoSerializer(mapper));
         module.addDeserializer(TableForeignKeyInfo.class, new TableForeignKeyInfoDeserializer(mapper));
+        module.addSerializer(TableIndexInfo.class, new TableIndexInfoSerializer(mapper));
+        module.addDeserializer(TableIndexInfo.class, new TableIndexInfoDeserializer(mapper));
         module.addSerializer(ForeignKeyInfo.class, new ForeignKeyInfoSerializer());
         module.addDeserializer(ForeignKeyInfo.class, new ForeignKeyInfoDeserializer());
         module.addSerializer(ColumnInfo.class, new ColumnInfoSerializer());
@@ -0,0 +1,48 @@
+package com.fsryan.forsuredb.jacksonserialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fsryan.forsuredb.info.TableIndexInfo;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+public class TableIndexInfoDeserializer extends StdDeserializer<TableIndexInfo> {
+
+    private static final TypeReference<List<String>> columnListType = new TypeReference<List<String>>() {};
+
+    private final ObjectMapper mapper;
+
+    public TableIndexInfoDeserializer(ObjectMapper mapper) {
+        super(TableIndexInfo.class);
+        this.mapper = mapper;
+    }
+
+    @Override
+    public TableIndexInfo deserialize(JsonParser jp, DeserializationContext ctxt)
+            throws IOException, JsonProcessingException {
+        final JsonNode node = jp.getCodec().readTree(jp);
+        final String name = node.get("name").asText();
+        final List<String> columns = mapper.readValue(node.get("columns").toString(), columnListType);
+        final List<String> include = node.has("include")
+                ? (List<String>) mapper.readValue(node.get("include").toString(), columnListType)
+                : Collections.<String>emptyList();
+        final boolean unique = node.has("unique") && node.get("unique").asBoolean();
+        final String where = node.has("where") && !node.get("where").isNull()
+                ? node.get("where").asText()
+                : null;
+        return TableIndexInfo.builder()
+                .name(name)
+                .columns(columns)
+                .include(include)
+                .unique(unique)
+                .where(where)
+                .build();
+    }
+}
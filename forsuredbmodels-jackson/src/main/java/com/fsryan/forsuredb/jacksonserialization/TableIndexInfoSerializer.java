@@ -0,0 +1,41 @@
+package com.fsryan.forsuredb.jacksonserialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fsryan.forsuredb.info.TableIndexInfo;
+
+import java.io.IOException;
+
+public class TableIndexInfoSerializer extends StdSerializer<TableIndexInfo> {
+
+    private final ObjectMapper mapper;
+
+    public TableIndexInfoSerializer(ObjectMapper mapper) {
+        super(TableIndexInfo.class);
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void serialize(TableIndexInfo object, JsonGenerator jGen, SerializerProvider provider)
+            throws IOException, JsonProcessingException {
+        if (object == null) {
+            jGen.writeNull();
+            return;
+        }
+
+        jGen.writeStartObject();
+        jGen.writeStringField("name", object.name());
+        jGen.writeFieldName("columns");
+        mapper.writeValue(jGen, object.columns());
+        jGen.writeFieldName("include");
+        mapper.writeValue(jGen, object.include());
+        jGen.writeBooleanField("unique", object.unique());
+        if (object.where() != null) {
+            jGen.writeStringField("where", object.where());
+        }
+        jGen.writeEndObject();
+    }
+}
@@ -9,6 +9,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.fsryan.forsuredb.info.ColumnInfo;
 import com.fsryan.forsuredb.info.TableForeignKeyInfo;
+import com.fsryan.forsuredb.info.TableIndexInfo;
 import com.fsryan.forsuredb.info.TableInfo;
 
 import java.io.IOException;
@@ -17,6 +18,7 @@ import java.util.Set;
 
 import static com.fsryan.forsuredb.jacksonserialization.FSDbInfoJacksonSerializer.PRIMARY_KEY_TYPE;
 import static com.fsryan.forsuredb.jacksonserialization.FSDbInfoJacksonSerializer.TABLE_FOREIGN_KEY_INFO_TYPE;
+import static com.fsryan.forsuredb.jacksonserialization.FSDbInfoJacksonSerializer.TABLE_INDEX_INFO_TYPE;
 
 public class TableInfoDeserializer extends StdDeserializer<TableInfo> {
 
@@ -54,6 +56,9 @@ public class TableInfoDeserializer extends StdDeserializer<TableInfo> {
         final Set<TableForeignKeyInfo> foreignKeys = node.has("foreign_keys")
                 ? (Set<TableForeignKeyInfo>) mapper.readValue(node.get("foreign_keys").toString(), TABLE_FOREIGN_KEY_INFO_TYPE)
                 : null;
+        final Set<TableIndexInfo> indices = node.has("indices")
+                ? (Set<TableIndexInfo>) mapper.readValue(node.get("indices").toString(), TABLE_INDEX_INFO_TYPE)
+                : null;
         return TableInfo.builder()
                 .columnMap(columnInfoMap)
                 .tableName(tableName)
@@ -64,6 +69,7 @@ public class TableInfoDeserializer extends StdDeserializer<TableInfo> {
                 .primaryKey(primaryKey)
                 .primaryKeyOnConflict(primaryKeyOnConflict)
                 .foreignKeys(foreignKeys)
+                .indices(indices)
                 .build();
     }
 }
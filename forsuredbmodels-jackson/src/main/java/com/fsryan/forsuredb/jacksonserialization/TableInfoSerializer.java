@@ -49,6 +49,10 @@ public class TableInfoSerializer extends StdSerializer<TableInfo> {
             jGen.writeFieldName("foreign_keys");
             mapper.writeValue(jGen, object.foreignKeys());
         }
+        if (object.indices() != null) {
+            jGen.writeFieldName("indices");
+            mapper.writeValue(jGen, object.indices());
+        }
         jGen.writeEndObject();
     }
 }
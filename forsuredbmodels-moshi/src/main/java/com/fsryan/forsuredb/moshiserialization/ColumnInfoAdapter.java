@@ -21,7 +21,10 @@ final class ColumnInfoAdapter extends JsonAdapter<ColumnInfo> {
             "primary_key",
             "foreign_key_info",
             "searchable",
-            "orderable"
+            "orderable",
+            "full_text",
+            "epoch_millis",
+            "order_preserving"
     );
 
     private final JsonAdapter<ForeignKeyInfo> foreignKeyInfoAdapter;
@@ -76,6 +79,18 @@ final class ColumnInfoAdapter extends JsonAdapter<ColumnInfo> {
                     builder.orderable(reader.nextBoolean());
                     break;
                 }
+                case 10: {
+                    builder.fullText(reader.nextBoolean());
+                    break;
+                }
+                case 11: {
+                    builder.epochMillis(reader.nextBoolean());
+                    break;
+                }
+                case 12: {
+                    builder.orderPreserving(reader.nextBoolean());
+                    break;
+                }
                 case -1: {
                     // Unknown name, skip it
                     reader.nextName();
@@ -130,6 +145,15 @@ final class ColumnInfoAdapter extends JsonAdapter<ColumnInfo> {
         writer.name("orderable");
         writer.value(value.orderable());
 
+        writer.name("full_text");
+        writer.value(value.fullText());
+
+        writer.name("epoch_millis");
+        writer.value(value.epochMillis());
+
+        writer.name("order_preserving");
+        writer.value(value.orderPreserving());
+
         writer.endObject();
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.fsryan.forsuredb.moshiserialization;
 import com.fsryan.forsuredb.info.ColumnInfo;
 import com.fsryan.forsuredb.info.ForeignKeyInfo;
 import com.fsryan.forsuredb.info.TableForeignKeyInfo;
+import com.fsryan.forsuredb.info.TableIndexInfo;
 import com.fsryan.forsuredb.info.TableInfo;
 import com.fsryan.forsuredb.migration.Migration;
 import com.fsryan.forsuredb.migration.MigrationSet;
@@ -92,6 +93,9 @@ public class FSDbInfoMoshiSerializer implements FSDbInfoSerializer {
             if (TableForeignKeyInfo.class.equals(type)) {
                 return new TableForeignKeyInfoAdapter(moshi).nullSafe();
             }
+            if (TableIndexInfo.class.equals(type)) {
+                return new TableIndexInfoAdapter(moshi).nullSafe();
+            }
             if (MigrationSet.class.equals(type)) {
                 return new MigrationSetAdapter(moshi).nullSafe();
             }
@@ -0,0 +1,87 @@
+package com.fsryan.forsuredb.moshiserialization;
+
+import com.fsryan.forsuredb.info.TableIndexInfo;
+import com.squareup.moshi.*;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.List;
+
+import static com.fsryan.forsuredb.moshiserialization.FSDbInfoMoshiSerializer.adapterFrom;
+
+final class TableIndexInfoAdapter extends JsonAdapter<TableIndexInfo> {
+
+    private static final JsonReader.Options OPTIONS = JsonReader.Options.of(
+            "name",
+            "columns",
+            "include",
+            "unique",
+            "where"
+    );
+
+    private final JsonAdapter<List<String>> stringListAdapter;
+
+    public TableIndexInfoAdapter(Moshi moshi) {
+        stringListAdapter = adapterFrom(moshi, Types.newParameterizedType(List.class, String.class)).nullSafe();
+    }
+
+    @Override
+    public TableIndexInfo fromJson(JsonReader reader) throws IOException {
+        reader.beginObject();
+        TableIndexInfo.Builder builder = TableIndexInfo.builder();
+        while (reader.hasNext()) {
+            switch (reader.selectName(OPTIONS)) {
+                case 0: {
+                    builder.name(reader.nextString());
+                    break;
+                }
+                case 1: {
+                    builder.columns(stringListAdapter.fromJson(reader));
+                    break;
+                }
+                case 2: {
+                    builder.include(stringListAdapter.fromJson(reader));
+                    break;
+                }
+                case 3: {
+                    builder.unique(reader.nextBoolean());
+                    break;
+                }
+                case 4: {
+                    builder.where(reader.peek() == JsonReader.Token.NULL ? reader.<String>nextNull() : reader.nextString());
+                    break;
+                }
+                case -1: {
+                    reader.nextName();
+                    reader.skipValue();
+                }
+            }
+        }
+        reader.endObject();
+        return builder.build();
+    }
+
+    @Override
+    public void toJson(JsonWriter writer, @Nonnull TableIndexInfo value) throws IOException {
+        writer.beginObject();
+
+        writer.name("name");
+        writer.value(value.name());
+
+        writer.name("columns");
+        stringListAdapter.toJson(writer, value.columns());
+
+        writer.name("include");
+        stringListAdapter.toJson(writer, value.include());
+
+        writer.name("unique");
+        writer.value(value.unique());
+
+        String where = value.where();
+        if (where != null) {
+            writer.name("where");
+            writer.value(where);
+        }
+        writer.endObject();
+    }
+}
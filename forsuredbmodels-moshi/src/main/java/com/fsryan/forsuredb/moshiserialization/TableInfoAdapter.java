@@ -2,6 +2,7 @@ package com.fsryan.forsuredb.moshiserialization;
 
 import com.fsryan.forsuredb.info.ColumnInfo;
 import com.fsryan.forsuredb.info.TableForeignKeyInfo;
+import com.fsryan.forsuredb.info.TableIndexInfo;
 import com.fsryan.forsuredb.info.TableInfo;
 import com.squareup.moshi.*;
 
@@ -23,16 +24,19 @@ final class TableInfoAdapter extends JsonAdapter<TableInfo> {
             "doc_store_parameterization",
             "primary_key",
             "primary_key_on_conflict",
-            "foreign_keys"
+            "foreign_keys",
+            "indices"
     );
     private final JsonAdapter<Map<String, ColumnInfo>> columnMapAdapter;
     private final JsonAdapter<Set<String>> primaryKeyAdapter;
     private final JsonAdapter<Set<TableForeignKeyInfo>> foreignKeysAdapter;
+    private final JsonAdapter<Set<TableIndexInfo>> indicesAdapter;
 
     public TableInfoAdapter(Moshi moshi) {
         this.columnMapAdapter = adapterFrom(moshi, Types.newParameterizedType(Map.class, String.class, ColumnInfo.class)).nullSafe();
         this.primaryKeyAdapter = adapterFrom(moshi, Types.newParameterizedType(Set.class, String.class)).nullSafe();
         this.foreignKeysAdapter = adapterFrom(moshi, Types.newParameterizedType(Set.class, TableForeignKeyInfo.class)).nullSafe();
+        this.indicesAdapter = adapterFrom(moshi, Types.newParameterizedType(Set.class, TableIndexInfo.class)).nullSafe();
     }
     @Override
     public TableInfo fromJson(JsonReader reader) throws IOException {
@@ -77,6 +81,10 @@ final class TableInfoAdapter extends JsonAdapter<TableInfo> {
                     builder.foreignKeys(foreignKeysAdapter.fromJson(reader));
                     break;
                 }
+                case 9: {
+                    builder.indices(indicesAdapter.fromJson(reader));
+                    break;
+                }
                 case -1: {
                     reader.nextName();
                     reader.skipValue();
@@ -136,6 +144,12 @@ final class TableInfoAdapter extends JsonAdapter<TableInfo> {
             foreignKeysAdapter.toJson(writer, foreignKeys);
         }
 
+        Set<TableIndexInfo> indices = value.indices();
+        if (indices != null) {
+            writer.name("indices");
+            indicesAdapter.toJson(writer, indices);
+        }
+
         writer.endObject();
     }
 }
\ No newline at end of file
@@ -38,7 +38,7 @@ public class AddColumnGenerator extends QueryGenerator {
         List<String> queries = new LinkedList<>();
         queries.add("ALTER TABLE " + getTableName()
                 + " ADD COLUMN " + column.getColumnName()
-                + " " + TypeTranslator.from(column.getQualifiedType()).getSqlString()
+                + " " + TypeTranslator.from(column).getSqlString()
                 + (column.hasDefaultValue() ? " DEFAULT" + getDefaultValueFrom(column) : "") + ";");
         if (column.index()) {
             queries.addAll(new AddIndexGenerator(getTableName(), column).generate());
@@ -47,10 +47,10 @@ public class AddColumnGenerator extends QueryGenerator {
     }
 
     private String getDefaultValueFrom(ColumnInfo column) {
-        TypeTranslator tt = TypeTranslator.from(column.getQualifiedType());
-        if (tt != TypeTranslator.DATE || !"CURRENT_TIMESTAMP".equals(column.defaultValue())) {
-            return " '" + column.defaultValue().replaceAll("'", "''") + "'";
+        TypeTranslator tt = TypeTranslator.from(column);
+        if ((tt != TypeTranslator.DATE && tt != TypeTranslator.EPOCH_MILLIS_DATE) || !"CURRENT_TIMESTAMP".equals(column.defaultValue())) {
+            return " '" + tt.storedValueOf(column.defaultValue()).replaceAll("'", "''") + "'";
         }
-        return "(" + SqlGenerator.CURRENT_UTC_TIME + ")";
+        return "(" + (tt == TypeTranslator.DATE ? SqlGenerator.CURRENT_UTC_TIME : SqlGenerator.CURRENT_EPOCH_MILLIS) + ")";
     }
 }
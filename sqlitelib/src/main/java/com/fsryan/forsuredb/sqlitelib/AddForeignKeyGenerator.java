@@ -145,7 +145,7 @@ public class AddForeignKeyGenerator extends QueryGenerator {
 
     private void addColumnDefinitionToBuffer(StringBuffer buf, ColumnInfo column) {
         buf.append(", ").append(column.getColumnName())
-                .append(" ").append(TypeTranslator.from(column.getQualifiedType()).getSqlString());
+                .append(" ").append(TypeTranslator.from(column).getSqlString());
     }
 
     private void addForeignKeyDefinitionsToBuffer(StringBuffer buf, List<ColumnInfo> columns) {
@@ -0,0 +1,68 @@
+/*
+   forsuredbsqlitelib, sqlite library for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.sqlitelib;
+
+import com.fsryan.forsuredb.api.migration.QueryGenerator;
+import com.fsryan.forsuredb.info.TableIndexInfo;
+import com.fsryan.forsuredb.migration.Migration;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * <p>
+ *     Creates a (possibly multi-column, partial or covering) {@link TableIndexInfo table index}.
+ *     SQLite has no INCLUDE clause, so the columns a {@link TableIndexInfo} includes are
+ *     appended to its key columns, which allows SQLite to answer queries reading only those
+ *     columns from the index.
+ * </p>
+ */
+public class AddTableIndexGenerator extends QueryGenerator {
+
+    private final TableIndexInfo index;
+
+    public AddTableIndexGenerator(String tableName, TableIndexInfo index) {
+        super(tableName, Migration.Type.ADD_TABLE_INDEX);
+        this.index = index;
+    }
+
+    @Override
+    public List<String> generate() {
+        StringBuilder buf = new StringBuilder("CREATE")
+                .append(index.unique() ? " UNIQUE" : "")
+                .append(" INDEX IF NOT EXISTS ").append(index.name())
+                .append(" ON ").append(getTableName()).append("(");
+        List<String> indexedColumns = new LinkedList<>(index.columns());
+        for (String included : index.include()) {
+            if (!index.columnNames().contains(included)) {
+                indexedColumns.add(included);
+            }
+        }
+        for (int i = 0; i < indexedColumns.size(); i++) {
+            buf.append(i == 0 ? "" : ", ").append(indexedColumns.get(i));
+        }
+        buf.append(")");
+        if (index.isPartial()) {
+            buf.append(" WHERE ").append(index.where());
+        }
+
+        List<String> retList = new LinkedList<>();
+        retList.add(buf.append(";").toString());
+        return retList;
+    }
+}
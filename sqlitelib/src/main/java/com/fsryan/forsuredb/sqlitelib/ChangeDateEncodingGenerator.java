@@ -0,0 +1,79 @@
+/*
+   forsuredbsqlitelib, sqlite library for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.sqlitelib;
+
+import com.fsryan.forsuredb.api.migration.QueryGenerator;
+import com.fsryan.forsuredb.info.ColumnInfo;
+import com.fsryan.forsuredb.info.TableInfo;
+import com.fsryan.forsuredb.migration.Migration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * <p>
+ *     Converts the stored values of a Date column to the encoding of the column in the target
+ *     schema: either integer milliseconds since the epoch or formatted text. Text is
+ *     interpreted in--and formatted for--the local time zone, as it is when read and written.
+ *     Values already in the target encoding are left alone.
+ * </p>
+ * <p>
+ *     The declared type of the column is not changed, as that would require recreating the
+ *     table, but SQLite stores both encodings faithfully regardless of the declared type. The
+ *     trigger that maintains the modified column is dropped during the conversion so that
+ *     converting a record does not count as modifying it. It is then recreated to write the
+ *     encoding of the modified column in the target schema.
+ * </p>
+ */
+public class ChangeDateEncodingGenerator extends QueryGenerator {
+
+    private final TableInfo table;
+    private final ColumnInfo column;
+
+    public ChangeDateEncodingGenerator(TableInfo table, ColumnInfo column) {
+        super(table.tableName(), Migration.Type.CHANGE_DATE_ENCODING);
+        this.table = table;
+        this.column = column;
+    }
+
+    @Override
+    public List<String> generate() {
+        final String columnName = column.getColumnName();
+        List<String> retList = new LinkedList<>();
+        retList.add("DROP TRIGGER IF EXISTS " + CreateTableGenerator.modifiedTriggerName(getTableName()) + ";");
+        if (column.epochMillis()) {
+            retList.add("UPDATE " + getTableName() + " SET " + columnName
+                    + " = CAST(ROUND((JULIANDAY(" + columnName + ", 'utc') - 2440587.5) * 86400000) AS INTEGER)"
+                    + " WHERE TYPEOF(" + columnName + ") = 'text';");
+        } else {
+            retList.add("UPDATE " + getTableName() + " SET " + columnName
+                    + " = STRFTIME('%Y-%m-%d %H:%M:%f', " + columnName + " / 1000.0, 'unixepoch', 'localtime')"
+                    + " WHERE TYPEOF(" + columnName + ") = 'integer';");
+        }
+        retList.add(CreateTableGenerator.modifiedTriggerQuery(getTableName(), sortedPrimaryKeyColumnNames(), CreateTableGenerator.storesModifiedAsEpochMillis(table)));
+        return retList;
+    }
+
+    private List<String> sortedPrimaryKeyColumnNames() {
+        List<String> ret = new ArrayList<>(table.getPrimaryKey());
+        Collections.sort(ret);
+        return ret;
+    }
+}
@@ -15,6 +15,7 @@ import java.util.Collections;
 import java.util.Comparator;
 
 import static com.fsryan.forsuredb.sqlitelib.ApiInfo.DEFAULT_COLUMN_MAP;
+import static com.fsryan.forsuredb.sqlitelib.SqlGenerator.CURRENT_EPOCH_MILLIS;
 import static com.fsryan.forsuredb.sqlitelib.SqlGenerator.CURRENT_UTC_TIME;
 
 public class CreateTableGenerator extends QueryGenerator {
@@ -148,7 +149,7 @@ public class CreateTableGenerator extends QueryGenerator {
 
     private String columnDefinition(ColumnInfo column) {
         return column.getColumnName()
-                + " " + TypeTranslator.from(column.getQualifiedType()).getSqlString()
+                + " " + TypeTranslator.from(column).getSqlString()
                 + (!isCompositePrimaryKey && sortedPrimaryKeyColumnNames.contains(column.getColumnName())
                         ? " PRIMARY KEY" + (table.primaryKeyOnConflict() == null || table.primaryKeyOnConflict().isEmpty() ? "" : " ON CONFLICT " + table.primaryKeyOnConflict())
                         : "")
@@ -157,15 +158,15 @@ public class CreateTableGenerator extends QueryGenerator {
     }
 
     private String getDefaultValueFrom(ColumnInfo column) {
-        TypeTranslator tt = TypeTranslator.from(column.getQualifiedType());
-        if (tt != TypeTranslator.DATE || !"CURRENT_TIMESTAMP".equals(column.defaultValue())) {
-            return " '" + column.defaultValue() + "'";
+        TypeTranslator tt = TypeTranslator.from(column);
+        if ((tt != TypeTranslator.DATE && tt != TypeTranslator.EPOCH_MILLIS_DATE) || !"CURRENT_TIMESTAMP".equals(column.defaultValue())) {
+            return " '" + tt.storedValueOf(column.defaultValue()) + "'";
         }
-        return "(" + CURRENT_UTC_TIME + ")";
+        return "(" + (tt == TypeTranslator.DATE ? CURRENT_UTC_TIME : CURRENT_EPOCH_MILLIS) + ")";
     }
 
     private List<ColumnInfo> columnsToAdd() {
-        List<ColumnInfo> ret = new ArrayList<>(DEFAULT_COLUMN_MAP.values());
+        List<ColumnInfo> ret = defaultColumnsOf(table);
         for (ColumnInfo column : targetSchema.get(getTableName()).getColumns()) {
             if (DEFAULT_COLUMN_MAP.keySet().contains(column.getColumnName())) {
                 continue;
@@ -181,12 +182,40 @@ public class CreateTableGenerator extends QueryGenerator {
     }
 
     private String modifiedTriggerQuery() {
+        return modifiedTriggerQuery(getTableName(), sortedPrimaryKeyColumnNames, storesModifiedAsEpochMillis(table));
+    }
+
+    /**
+     * @param table the table whose default columns should be created
+     * @return the default columns as the table defines them, which differ from
+     * {@link ApiInfo#DEFAULT_COLUMN_MAP} when the table stores created and modified as epoch
+     * millis
+     */
+    /*package*/ static List<ColumnInfo> defaultColumnsOf(TableInfo table) {
+        List<ColumnInfo> ret = new ArrayList<>(DEFAULT_COLUMN_MAP.size());
+        for (ColumnInfo defaultColumn : DEFAULT_COLUMN_MAP.values()) {
+            ColumnInfo column = table.getColumn(defaultColumn.getColumnName());
+            ret.add(column == null ? defaultColumn : column);
+        }
+        return ret;
+    }
+
+    /*package*/ static boolean storesModifiedAsEpochMillis(TableInfo table) {
+        ColumnInfo modified = table.getColumn("modified");
+        return modified != null && modified.epochMillis();
+    }
+
+    /*package*/ static String modifiedTriggerName(String tableName) {
+        return tableName + "_updated_trigger";
+    }
+
+    /*package*/ static String modifiedTriggerQuery(String tableName, List<String> sortedPrimaryKeyColumnNames, boolean epochMillis) {
         return "CREATE TRIGGER "
-                + getTableName() + "_updated_trigger AFTER UPDATE ON " + getTableName()
-                + " BEGIN UPDATE " + getTableName() + " SET modified=" + CURRENT_UTC_TIME + " WHERE " + primaryKeyWhere() + "; END;";
+                + modifiedTriggerName(tableName) + " AFTER UPDATE ON " + tableName
+                + " BEGIN UPDATE " + tableName + " SET modified=" + (epochMillis ? CURRENT_EPOCH_MILLIS : CURRENT_UTC_TIME) + " WHERE " + primaryKeyWhere(sortedPrimaryKeyColumnNames) + "; END;";
     }
 
-    private String primaryKeyWhere() {
+    private static String primaryKeyWhere(List<String> sortedPrimaryKeyColumnNames) {
         StringBuilder buf = new StringBuilder();
         for (String columnName : sortedPrimaryKeyColumnNames) {
             buf.append(columnName).append("=NEW.").append(columnName).append(" AND ");
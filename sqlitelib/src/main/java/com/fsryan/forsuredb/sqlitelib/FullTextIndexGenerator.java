@@ -0,0 +1,97 @@
+/*
+   forsuredbsqlitelib, sqlite library for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.sqlitelib;
+
+import com.fsryan.forsuredb.api.migration.QueryGenerator;
+import com.fsryan.forsuredb.info.ColumnInfo;
+import com.fsryan.forsuredb.info.TableInfo;
+import com.fsryan.forsuredb.migration.Migration;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * <p>
+ *     Rebuilds the full-text index of a table from the target schema. The index is an FTS5
+ *     external-content table named by {@link #ftsTableName(String)} that stores only the
+ *     index--not a copy of the text--and is kept in sync with the table by triggers. Any
+ *     existing index is dropped first, so when the table has no full-text columns (or no
+ *     longer exists), the index is just dropped.
+ * </p>
+ */
+public class FullTextIndexGenerator extends QueryGenerator {
+
+    private final TableInfo table;
+
+    /**
+     * @param tableName the name of the table
+     * @param table the target {@link TableInfo} of the table or null if the table is to be
+     *              dropped
+     */
+    public FullTextIndexGenerator(String tableName, TableInfo table) {
+        super(tableName, Migration.Type.UPDATE_FULL_TEXT_INDEX);
+        this.table = table;
+    }
+
+    /**
+     * @param tableName the name of the table
+     * @return the name of the virtual table holding the full-text index of the table
+     */
+    public static String ftsTableName(String tableName) {
+        return tableName + "_fts";
+    }
+
+    @Override
+    public List<String> generate() {
+        final String fts = ftsTableName(getTableName());
+        List<String> retList = new LinkedList<>();
+        retList.add("DROP TRIGGER IF EXISTS " + fts + "_ai;");
+        retList.add("DROP TRIGGER IF EXISTS " + fts + "_ad;");
+        retList.add("DROP TRIGGER IF EXISTS " + fts + "_au;");
+        retList.add("DROP TABLE IF EXISTS " + fts + ";");
+        if (table == null || !table.hasFullTextColumns()) {
+            return retList;
+        }
+
+        final String columns = columnList("");
+        retList.add("CREATE VIRTUAL TABLE " + fts + " USING fts5(" + columns + ", content='" + getTableName() + "', content_rowid='_id');");
+        retList.add("CREATE TRIGGER " + fts + "_ai AFTER INSERT ON " + getTableName() + " BEGIN " + insertStatement() + " END;");
+        retList.add("CREATE TRIGGER " + fts + "_ad AFTER DELETE ON " + getTableName() + " BEGIN " + deleteStatement() + " END;");
+        retList.add("CREATE TRIGGER " + fts + "_au AFTER UPDATE ON " + getTableName() + " BEGIN " + deleteStatement() + " " + insertStatement() + " END;");
+        retList.add("INSERT INTO " + fts + "(" + fts + ") VALUES('rebuild');");
+        return retList;
+    }
+
+    private String insertStatement() {
+        final String fts = ftsTableName(getTableName());
+        return "INSERT INTO " + fts + "(rowid, " + columnList("") + ") VALUES(new._id, " + columnList("new.") + ");";
+    }
+
+    private String deleteStatement() {
+        final String fts = ftsTableName(getTableName());
+        return "INSERT INTO " + fts + "(" + fts + ", rowid, " + columnList("") + ") VALUES('delete', old._id, " + columnList("old.") + ");";
+    }
+
+    private String columnList(String prefix) {
+        StringBuilder buf = new StringBuilder();
+        for (ColumnInfo column : table.getFullTextColumns()) {
+            buf.append(buf.length() == 0 ? "" : ", ").append(prefix).append(column.getColumnName());
+        }
+        return buf.toString();
+    }
+}
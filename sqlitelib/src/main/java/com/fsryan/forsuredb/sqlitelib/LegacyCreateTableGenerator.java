@@ -24,7 +24,7 @@ import com.fsryan.forsuredb.migration.Migration;
 
 import java.util.*;
 
-import static com.fsryan.forsuredb.sqlitelib.ApiInfo.DEFAULT_COLUMN_MAP;
+import static com.fsryan.forsuredb.sqlitelib.SqlGenerator.CURRENT_EPOCH_MILLIS;
 import static com.fsryan.forsuredb.sqlitelib.SqlGenerator.CURRENT_UTC_TIME;
 
 /**
@@ -40,6 +40,7 @@ public class LegacyCreateTableGenerator extends QueryGenerator {
     private final Set<String> primaryKey;
     private final String primaryKeyOnConflict;
     private final List<String> sortedPrimaryKeyColumnNames;
+    private final boolean modifiedAsEpochMillis;
 
     public LegacyCreateTableGenerator(String tableName, Map<String, TableInfo> targetSchema) {
         super(tableName, Migration.Type.CREATE_TABLE);
@@ -49,6 +50,7 @@ public class LegacyCreateTableGenerator extends QueryGenerator {
         primaryKeyOnConflict = table.primaryKeyOnConflict();
         sortedPrimaryKeyColumnNames = new ArrayList<>(primaryKey);
         Collections.sort(sortedPrimaryKeyColumnNames);
+        modifiedAsEpochMillis = CreateTableGenerator.storesModifiedAsEpochMillis(table);
     }
 
     @Override
@@ -82,7 +84,7 @@ public class LegacyCreateTableGenerator extends QueryGenerator {
     }
 
     private List<ColumnInfo> determineColumnsToAdd() {
-        List<ColumnInfo> ret = new ArrayList<>(DEFAULT_COLUMN_MAP.values());
+        List<ColumnInfo> ret = CreateTableGenerator.defaultColumnsOf(targetSchema.get(getTableName()));
         for (ColumnInfo column : targetSchema.get(getTableName()).getColumns()) {
             if (column.getColumnName().equals(TableInfo.DEFAULT_PRIMARY_KEY_COLUMN)) {
                 continue;
@@ -107,24 +109,24 @@ public class LegacyCreateTableGenerator extends QueryGenerator {
 
     private String columnDefinition(ColumnInfo column) {
         return column.getColumnName()
-                + " " + TypeTranslator.from(column.getQualifiedType()).getSqlString()
+                + " " + TypeTranslator.from(column).getSqlString()
                 + (primaryKey.size() == 1 && primaryKey.contains(column.getColumnName()) ? " PRIMARY KEY" + (primaryKeyOnConflict == null || primaryKeyOnConflict.isEmpty() ? "" : " ON CONFLICT " + primaryKeyOnConflict): "")
                 + (column.unique() ? " UNIQUE" : "")
                 + (column.hasDefaultValue() ? " DEFAULT" + getDefaultValueFrom(column) : "");
     }
 
     private String getDefaultValueFrom(ColumnInfo column) {
-        TypeTranslator tt = TypeTranslator.from(column.getQualifiedType());
-        if (tt != TypeTranslator.DATE || !"CURRENT_TIMESTAMP".equals(column.defaultValue())) {
-            return " '" + column.defaultValue() + "'";
+        TypeTranslator tt = TypeTranslator.from(column);
+        if ((tt != TypeTranslator.DATE && tt != TypeTranslator.EPOCH_MILLIS_DATE) || !"CURRENT_TIMESTAMP".equals(column.defaultValue())) {
+            return " '" + tt.storedValueOf(column.defaultValue()) + "'";
         }
-        return "(" + CURRENT_UTC_TIME + ")";
+        return "(" + (tt == TypeTranslator.DATE ? CURRENT_UTC_TIME : CURRENT_EPOCH_MILLIS) + ")";
     }
 
     private String modifiedTriggerQuery() {
         return "CREATE TRIGGER "
                 + getTableName() + "_updated_trigger AFTER UPDATE ON " + getTableName()
-                + " BEGIN UPDATE " + getTableName() + " SET modified=" + CURRENT_UTC_TIME + " WHERE " + primaryKeyWhere() + "; END;";
+                + " BEGIN UPDATE " + getTableName() + " SET modified=" + (modifiedAsEpochMillis ? CURRENT_EPOCH_MILLIS : CURRENT_UTC_TIME) + " WHERE " + primaryKeyWhere() + "; END;";
     }
 
     private String primaryKeyWhere() {
@@ -35,6 +35,39 @@ class QueryBuilder {
         return queryBuf.append(");").toString();
     }
 
+    public static String buildUpsert(String table, List<String> columns, List<String> conflictColumns, List<String> updateColumns, int rowCount) {
+        StringBuilder queryBuf = new StringBuilder(120);
+        queryBuf.append("INSERT INTO ").append(table).append(" (");
+        appendColumnList(queryBuf, columns);
+        queryBuf.append(") VALUES ");
+
+        StringBuilder rowBuf = new StringBuilder(columns.size() * 3 + 1).append('(');
+        for (int i = 0; i < columns.size(); i++) {
+            rowBuf.append(i > 0 ? ", ?" : "?");
+        }
+        rowBuf.append(')');
+        for (int row = 0; row < rowCount; row++) {
+            queryBuf.append(row > 0 ? ", " : "").append(rowBuf);
+        }
+
+        queryBuf.append(" ON CONFLICT(");
+        appendColumnList(queryBuf, conflictColumns);
+        queryBuf.append(") DO ");
+        if (updateColumns.isEmpty()) {
+            return queryBuf.append("NOTHING;").toString();
+        }
+        queryBuf.append("UPDATE SET ");
+        int i = 0;
+        for (String column : updateColumns) {
+            queryBuf.append((i > 0 ? ", " : ""))
+                    .append(column)
+                    .append("=excluded.")
+                    .append(column);
+            i++;
+        }
+        return queryBuf.append(';').toString();
+    }
+
     public static String buildUpdate(String table, List<String> updateColumns, String whereClause) {
         StringBuilder queryBuf = new StringBuilder(120);
         queryBuf.append("UPDATE ");
@@ -135,6 +168,15 @@ class QueryBuilder {
         buf.append(' ');
     }
 
+    private static void appendColumnList(StringBuilder buf, List<String> columns) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                buf.append(", ");
+            }
+            buf.append(columns.get(i));
+        }
+    }
+
     private static void appendClause(StringBuilder buf, String name, String clause) {
         if (clause == null || clause.isEmpty()) {
             return;
@@ -87,6 +87,15 @@ class QueryCorrector {
         return retrieval || (limit <= 0 && offset <= 0) ? where : innerSelectWhereClause();
     }
 
+    /**
+     * @param retrieval whether the selection is that of a retrieval query
+     * @return true if {@link #getSelection(boolean)} is an inner select query, which includes
+     * the ORDER BY clause
+     */
+    public boolean hasInnerSelect(boolean retrieval) {
+        return findingLast || (!retrieval && (limit > 0 || offset > 0));
+    }
+
     public boolean hasCompoundSelect() {
         return findingLast;
     }
@@ -20,6 +20,7 @@ package com.fsryan.forsuredb.sqlitelib;
 import com.fsryan.forsuredb.api.migration.QueryGenerator;
 import com.fsryan.forsuredb.info.ColumnInfo;
 import com.fsryan.forsuredb.info.TableForeignKeyInfo;
+import com.fsryan.forsuredb.info.TableIndexInfo;
 import com.fsryan.forsuredb.info.TableInfo;
 import com.fsryan.forsuredb.migration.Migration;
 import com.fsryan.forsuredb.migration.MigrationSet;
@@ -60,7 +61,7 @@ class QueryGeneratorFactory {
         }
 
         TableInfo table = targetSchema.get(migration.tableName());
-        if (migration.type() != Migration.Type.DROP_TABLE && table == null) {
+        if (migration.type() != Migration.Type.DROP_TABLE && migration.type() != UPDATE_FULL_TEXT_INDEX && table == null) {
             return emptyGenerator;  // <-- the target context will not have the table if it is about to be dropped
         }
 
@@ -80,13 +81,22 @@ class QueryGeneratorFactory {
                 return new AddIndexGenerator(table.tableName(), table.getColumn(migration.columnName()), true);
             case ADD_INDEX:
                 return new AddIndexGenerator(table.tableName(), table.getColumn(migration.columnName()));
+            case ADD_TABLE_INDEX:
+                TableIndexInfo index = table.getIndex(migration.columnName());
+                return index == null ? emptyGenerator : new AddTableIndexGenerator(table.tableName(), index);
+            case DROP_TABLE_INDEX:
+                return new DropTableIndexGenerator(table.tableName(), migration.columnName());
             case ALTER_TABLE_ADD_COLUMN:
             case ALTER_TABLE_ADD_UNIQUE:
                 return new AddColumnGenerator(table.tableName(), table.getColumn(migration.columnName()));
             case DROP_TABLE:
                 return new DropTableGenerator(migration.tableName());
+            case UPDATE_FULL_TEXT_INDEX:
+                return new FullTextIndexGenerator(migration.tableName(), table);
             case CHANGE_DEFAULT_VALUE:
                 return new ChangeDefaultValueGenerator(migration.tableName(), targetSchema);
+            case CHANGE_DATE_ENCODING:
+                return new ChangeDateEncodingGenerator(table, table.getColumn(migration.columnName()));
             case UPDATE_PRIMARY_KEY: {
                 final Set<String> existingColumnNames = existingColumnNamesFrom(migration, serializer);
                 return new UpdatePrimaryKeyGenerator(migration.tableName(), existingColumnNames, targetSchema);
@@ -2,6 +2,7 @@ package com.fsryan.forsuredb.sqlitelib;
 
 import com.fsryan.forsuredb.api.migration.QueryGenerator;
 import com.fsryan.forsuredb.info.ColumnInfo;
+import com.fsryan.forsuredb.info.TableIndexInfo;
 import com.fsryan.forsuredb.info.TableInfo;
 import com.fsryan.forsuredb.migration.Migration;
 
@@ -60,6 +61,12 @@ public abstract class RecreateTableGenerator extends QueryGenerator {
         }
         retList.add(reinsertDataQuery());
         retList.addAll(new DropTableGenerator(tempTableName()).generate());
+        for (TableIndexInfo index : sortedIndices()) {
+            retList.addAll(new AddTableIndexGenerator(getTableName(), index).generate());   // <-- dropped along with the table
+        }
+        if (table.hasFullTextColumns()) {
+            retList.addAll(new FullTextIndexGenerator(getTableName(), table).generate());   // <-- the triggers were dropped along with the table
+        }
 
         return retList;
     }
@@ -78,6 +85,20 @@ public abstract class RecreateTableGenerator extends QueryGenerator {
         return buf.append(" FROM ").append(tempTableName()).append(";").toString();
     }
 
+    private List<TableIndexInfo> sortedIndices() {
+        if (table.indices() == null) {
+            return Collections.emptyList();
+        }
+        List<TableIndexInfo> ret = new ArrayList<>(table.indices());
+        Collections.sort(ret, new Comparator<TableIndexInfo>() {
+            @Override
+            public int compare(TableIndexInfo i1, TableIndexInfo i2) {
+                return i1.name().compareTo(i2.name());
+            }
+        });
+        return ret;
+    }
+
     private String tempTableName() {
         return "temp_" + getTableName();
     }
@@ -37,6 +37,7 @@ import static com.fsryan.forsuredb.sqlitelib.QueryBuilder.*;
 public class SqlGenerator implements DBMSIntegrator {
 
     public static final String CURRENT_UTC_TIME = "STRFTIME('%Y-%m-%d %H:%M:%f', 'NOW')";
+    public static final String CURRENT_EPOCH_MILLIS = "CAST(ROUND((JULIANDAY('NOW') - 2440587.5) * 86400000) AS INTEGER)";
     public static final ThreadLocal<SimpleDateFormat> DATE_FORMAT = new ThreadLocal<SimpleDateFormat>() {
         @Override
         protected SimpleDateFormat initialValue() {
@@ -101,6 +102,32 @@ public class SqlGenerator implements DBMSIntegrator {
                 : singleRecordInsertion(tableName, columns);
     }
 
+    /**
+     * <p>Upserts using INSERT ... ON CONFLICT, which requires SQLite 3.24.0 or later
+     */
+    @Override
+    public String newUpsertSql(String tableName, List<String> columns, List<String> conflictColumns, List<String> updateColumns, int rowCount) {
+        if (tableName == null || tableName.isEmpty()) {
+            throw new IllegalArgumentException("Cannot upsert into null or empty table: '" + tableName + "'");
+        }
+        if (columns == null || columns.isEmpty()) {
+            throw new IllegalArgumentException("Cannot upsert into " + tableName + " without columns");
+        }
+        if (conflictColumns == null || conflictColumns.isEmpty()) {
+            throw new IllegalArgumentException("Cannot upsert into " + tableName + " without conflict columns");
+        }
+        if (rowCount < 1) {
+            throw new IllegalArgumentException("Cannot upsert " + rowCount + " rows into " + tableName);
+        }
+        return buildUpsert(
+                tableName,
+                columns,
+                conflictColumns,
+                updateColumns == null ? Collections.<String>emptyList() : updateColumns,
+                rowCount
+        );
+    }
+
     @Override
     public String unambiguousColumn(String tableName, String columnName) {
         return tableName + '.' + columnName;
@@ -119,7 +146,7 @@ public class SqlGenerator implements DBMSIntegrator {
 
         StringBuilder buf = new StringBuilder();
         for (FSOrdering ordering : orderings) {
-            buf.append(unambiguousColumn(ordering.table, ordering.column))
+            buf.append(ordering.isByRelevance() ? relevance(ordering) : unambiguousColumn(ordering.table, ordering.column))
                     .append(" ")
                     .append(ordering.direction < OrderBy.ORDER_ASC ? "DESC" : "ASC")    // <-- 0 or positive treated as ASC
                     .append(", ");
@@ -128,18 +155,55 @@ public class SqlGenerator implements DBMSIntegrator {
         return buf.delete(buf.length() - 2, buf.length()).toString();
     }
 
+    /**
+     * <p>
+     *     The rank of the full-text index is the bm25 score of the row, which is more negative
+     *     the more relevant the row is, so the relevance is its negation. The rank is looked
+     *     up by rowid, so the ordering does not require the row to have been selected by a
+     *     MATCH; a row that does not match has no relevance and sorts as NULL.
+     * </p>
+     */
+    private String relevance(FSOrdering ordering) {
+        return "(SELECT -rank FROM " + FullTextIndexGenerator.ftsTableName(ordering.table)
+                + " WHERE rowid = " + unambiguousColumn(ordering.table, "_id")
+                + " AND " + ordering.column + " MATCH ?)";
+    }
+
     @Override
     public String whereOperation(String tableName, String column, int operation) {
-        switch (operation) {
-            case Finder.OP_EQ: return unambiguousColumn(tableName, column) + " =";
-            case Finder.OP_GE: return unambiguousColumn(tableName, column) + " >=";
-            case Finder.OP_GT: return unambiguousColumn(tableName, column) + " >";
-            case Finder.OP_LE: return unambiguousColumn(tableName, column) + " <=";
-            case Finder.OP_LIKE: return unambiguousColumn(tableName, column) + " LIKE";
-            case Finder.OP_LT: return unambiguousColumn(tableName, column) + " <";
-            case Finder.OP_NE: return unambiguousColumn(tableName, column) + " !=";
+        final String operator = operatorSymbol(operation);
+        return operator.isEmpty() ? "" : unambiguousColumn(tableName, column) + " " + operator;
+    }
+
+    @Override
+    public String whereIn(String tableName, String column, List<String> elements) {
+        // SQLite accepts an empty list, which matches nothing
+        final StringBuilder buf = new StringBuilder(unambiguousColumn(tableName, column)).append(" IN (");
+        for (int i = 0; i < elements.size(); i++) {
+            buf.append(i == 0 ? "" : ", ").append(elements.get(i));
         }
-        return "";
+        return buf.append(')').toString();
+    }
+
+    @Override
+    public String whereInList(String tableName, String column) {
+        // json_each is part of the json1 extension
+        return unambiguousColumn(tableName, column) + " IN (SELECT value FROM json_each(?))";
+    }
+
+    @Override
+    public String whereMatches(String tableName, String column) {
+        // the rowid lookup is answered by the full-text index rather than a scan of the table
+        return unambiguousColumn(tableName, "_id") + " IN (SELECT rowid FROM " + FullTextIndexGenerator.ftsTableName(tableName)
+                + " WHERE " + column + " MATCH ?)";
+    }
+
+    @Override
+    public String whereStartsWith(String tableName, String column) {
+        // A range rather than LIKE 'prefix%' or GLOB, which SQLite only optimizes for
+        // literal patterns and--in the case of LIKE--specific collations.
+        final String unambiguousColumn = unambiguousColumn(tableName, column);
+        return "(" + unambiguousColumn + " >= ? AND " + unambiguousColumn + " < ?)";
     }
 
     @Override
@@ -198,9 +262,11 @@ public class SqlGenerator implements DBMSIntegrator {
         final QueryCorrector qc = new QueryCorrector(table, null, selection, orderBy);
         final String where = qc.getSelection(true);
         final boolean distinct = projection != null && projection.isDistinct();
+        final List<Object> args = selectionArgs(qc, true, orderings);
+        args.addAll(relevanceArgs(orderings));
         return new SqlForPreparedStatement(
                 buildQuery(qc.hasCompoundSelect(), distinct, table, p, where, null, null, orderBy, qc.getLimit(), qc.getOffset()),
-                qc.getSelectionArgs()
+                args.toArray()
         );
     }
 
@@ -215,9 +281,11 @@ public class SqlGenerator implements DBMSIntegrator {
         final String joinStr = qc.getJoinString();
         final String where = qc.getSelection(true);
         final String orderBy = qc.getOrderBy();
+        final List<Object> args = selectionArgs(qc, true, orderings);
+        args.addAll(relevanceArgs(orderings));
         return new SqlForPreparedStatement(
                 buildJoinQuery(qc.hasCompoundSelect(), projectionHelper.isDistinct(projections), table, p, joinStr, where, orderBy, qc.getLimit(), qc.getOffset()),
-                qc.getSelectionArgs()
+                args.toArray()
         );
     }
 
@@ -229,7 +297,7 @@ public class SqlGenerator implements DBMSIntegrator {
         final QueryCorrector qc = new QueryCorrector(table, null, selection, expressOrdering(orderings));
         return new SqlForPreparedStatement(
                 buildUpdate(table, updateColumns, qc.getSelection(false)),
-                qc.getSelectionArgs()
+                selectionArgs(qc, false, orderings).toArray()
         );
     }
 
@@ -240,10 +308,119 @@ public class SqlGenerator implements DBMSIntegrator {
         final QueryCorrector qc = new QueryCorrector(table, null, selection, expressOrdering(orderings));
         return new SqlForPreparedStatement(
                 buildDelete(table, qc.getSelection(false)), // <-- todo delete
-                qc.getSelectionArgs()
+                selectionArgs(qc, false, orderings).toArray()
         );
     }
 
+    @Override
+    public SqlForPreparedStatement createAggregateSql(@Nonnull String table,
+                                                      @Nullable List<FSJoin> joins,
+                                                      @Nullable List<FSProjection> groupBy,
+                                                      @Nonnull List<FSAggregate> aggregates,
+                                                      @Nullable FSSelection selection,
+                                                      @Nullable List<FSHaving> having,
+                                                      @Nullable List<FSOrdering> orderings) {
+        if (aggregates.isEmpty()) {
+            throw new IllegalArgumentException("Must compute at least one aggregate");
+        }
+
+        final QueryCorrector qc = new QueryCorrector(table, joins, selection, expressOrdering(orderings));
+        final List<String> columns = new ArrayList<>();
+        final StringBuilder groupByBuf = new StringBuilder();
+        if (groupBy != null) {
+            for (FSProjection projection : groupBy) {
+                for (String column : projection.columns()) {
+                    columns.add(unambiguousColumn(projection.tableName(), column) + " AS " + unambiguousRetrievalColumn(projection.tableName(), column));
+                    groupByBuf.append(groupByBuf.length() == 0 ? "" : ", ").append(unambiguousColumn(projection.tableName(), column));
+                }
+            }
+        }
+        for (FSAggregate aggregate : aggregates) {
+            columns.add(expressAggregate(aggregate) + " AS " + aggregate.alias());
+        }
+
+        final List<Object> args = selectionArgs(qc, false, orderings);
+        final StringBuilder havingBuf = new StringBuilder();
+        if (having != null) {
+            for (FSHaving condition : having) {
+                final String operator = operatorSymbol(condition.operator);
+                if (operator.isEmpty() || condition.operator == Finder.OP_LIKE) {
+                    throw new IllegalArgumentException("Unsupported HAVING operator: " + condition.operator);
+                }
+                havingBuf.append(havingBuf.length() == 0 ? "" : " AND ")
+                        .append(expressAggregate(condition.aggregate))
+                        .append(' ').append(operator).append(" ?");
+                args.add(condition.value);
+            }
+        }
+
+        // the limits, if any, were applied to the aggregated rows by the inner select of the
+        // selection, so the ordering only orders the groups
+        final String joinStr = qc.getJoinString();
+        final boolean grouped = groupByBuf.length() > 0;
+        if (grouped) {
+            args.addAll(relevanceArgs(orderings));
+        }
+        return new SqlForPreparedStatement(
+                buildQuery(
+                        false,
+                        false,
+                        table + (joinStr.isEmpty() ? "" : " " + joinStr),
+                        columns.toArray(new String[columns.size()]),
+                        qc.getSelection(false),
+                        groupByBuf.toString(),
+                        havingBuf.toString(),
+                        grouped ? expressOrdering(orderings) : null,
+                        0,
+                        0
+                ),
+                args.toArray()
+        );
+    }
+
+    /**
+     * @return the replacements of the selection followed by those of the relevance orderings
+     * when the selection is an inner select query that includes the ORDER BY clause
+     */
+    private static List<Object> selectionArgs(QueryCorrector qc, boolean retrieval, @Nullable List<FSOrdering> orderings) {
+        final List<Object> ret = new ArrayList<>(Arrays.asList(qc.getSelectionArgs()));
+        if (qc.hasInnerSelect(retrieval)) {
+            ret.addAll(relevanceArgs(orderings));
+        }
+        return ret;
+    }
+
+    private static List<Object> relevanceArgs(@Nullable List<FSOrdering> orderings) {
+        if (orderings == null) {
+            return Collections.emptyList();
+        }
+
+        final List<Object> ret = new ArrayList<>();
+        for (FSOrdering ordering : orderings) {
+            if (ordering.isByRelevance()) {
+                ret.add(ordering.fullTextQuery);
+            }
+        }
+        return ret;
+    }
+
+    private String expressAggregate(FSAggregate aggregate) {
+        return aggregate.function.name() + '(' + (aggregate.column == null ? "*" : unambiguousColumn(aggregate.table, aggregate.column)) + ')';
+    }
+
+    private static String operatorSymbol(int operation) {
+        switch (operation) {
+            case Finder.OP_EQ: return "=";
+            case Finder.OP_GE: return ">=";
+            case Finder.OP_GT: return ">";
+            case Finder.OP_LE: return "<=";
+            case Finder.OP_LIKE: return "LIKE";
+            case Finder.OP_LT: return "<";
+            case Finder.OP_NE: return "!=";
+        }
+        return "";
+    }
+
     private static boolean isMigrationHandledOnCreate(Migration m, Map<String, TableInfo> targetSchema) {
         switch (m.type()) {
             case ADD_UNIQUE_INDEX:
@@ -17,6 +17,9 @@
  */
 package com.fsryan.forsuredb.sqlitelib;
 
+import com.fsryan.forsuredb.api.OrderPreservingEncoding;
+import com.fsryan.forsuredb.info.ColumnInfo;
+
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Date;
@@ -26,10 +29,13 @@ import javax.lang.model.type.TypeMirror;
 public enum TypeTranslator {
     BIG_INTEGER(BigInteger.class.getName(), "TEXT"),    // <-- storing as TEXT means you cannot sort reliably
     BIG_DECIMAL(BigDecimal.class.getName(), "TEXT"),    // <-- storing as TEXT means you cannot sort reliably
+    ORDER_PRESERVING_BIG_INTEGER(BigInteger.class.getName(), "TEXT"),  // <-- only for columns with ColumnInfo#orderPreserving()
+    ORDER_PRESERVING_BIG_DECIMAL(BigDecimal.class.getName(), "TEXT"),  // <-- only for columns with ColumnInfo#orderPreserving()
     BOOLEAN("boolean", "INTEGER"),
     BOOLEAN_WRAPPER(Boolean.class.getName(), "INTEGER"),
     BYTE_ARRAY("byte[]", "BLOB"),
     DATE(Date.class.getName(), "DATETIME"),
+    EPOCH_MILLIS_DATE(Date.class.getName(), "INTEGER"),  // <-- only for columns with ColumnInfo#epochMillis()
     DOUBLE("double", "REAL"),
     DOUBLE_WRAPPER(Double.class.getName(), "REAL"),
     FLOAT("float", "REAL"),
@@ -76,6 +82,24 @@ public enum TypeTranslator {
         return STRING;
     }
 
+    /**
+     * @param column the {@link ColumnInfo} whose type to translate
+     * @return the {@link TypeTranslator} of the column, which, unlike that of its qualified
+     * type, accounts for how the column is encoded
+     */
+    public static TypeTranslator from(ColumnInfo column) {
+        if (column == null) {
+            return null;
+        }
+        if (column.epochMillis()) {
+            return EPOCH_MILLIS_DATE;
+        }
+        if (column.orderPreserving()) {
+            return BIG_INTEGER.getQualifiedType().equals(column.getQualifiedType()) ? ORDER_PRESERVING_BIG_INTEGER : ORDER_PRESERVING_BIG_DECIMAL;
+        }
+        return from(column.getQualifiedType());
+    }
+
     public String getQualifiedType() {
         return qualifiedType;
     }
@@ -83,4 +107,20 @@ public enum TypeTranslator {
     public String getSqlString() {
         return sqlString;
     }
+
+    /**
+     * @param value a value of this type as it is written in Java source, such as a default
+     *              value
+     * @return the value as it is stored in a column of this type
+     */
+    public String storedValueOf(String value) {
+        switch (this) {
+            case ORDER_PRESERVING_BIG_INTEGER:
+                return OrderPreservingEncoding.encode(new BigInteger(value));
+            case ORDER_PRESERVING_BIG_DECIMAL:
+                return OrderPreservingEncoding.encode(new BigDecimal(value));
+            default:
+                return value;
+        }
+    }
 }
@@ -85,6 +85,24 @@ public class AddColumnGeneratorTest extends BaseSQLiteGeneratorTest {
                         new String[] {
                                 "ALTER TABLE " + TABLE_NAME + " ADD COLUMN string_column TEXT DEFAULT 'a '' single quote '' '' something else';"
                         }
+                },
+                {   // 07: add a date column that stores epoch millis
+                        dateCol().epochMillis(true).build(),
+                        new String[] {
+                                "ALTER TABLE " + TABLE_NAME + " ADD COLUMN date_column INTEGER;"
+                        }
+                },
+                {   // 08: add a date column that stores epoch millis and has CURRENT_TIMESTAMP magic string as its default
+                        dateCol().epochMillis(true).defaultValue("CURRENT_TIMESTAMP").build(),
+                        new String[] {
+                                "ALTER TABLE " + TABLE_NAME + " ADD COLUMN date_column INTEGER DEFAULT(" + SqlGenerator.CURRENT_EPOCH_MILLIS + ");"
+                        }
+                },
+                {   // 09: add an order-preserving big decimal column with a default, which is stored encoded
+                        bigDecimalCol().orderPreserving(true).defaultValue("12.50").build(),
+                        new String[] {
+                                "ALTER TABLE " + TABLE_NAME + " ADD COLUMN big_decimal_column TEXT DEFAULT '2P02125';"
+                        }
                 }
         });
     }
@@ -0,0 +1,98 @@
+/*
+   forsuredbsqlitelib, sqlite library for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.sqlitelib;
+
+import com.fsryan.forsuredb.api.migration.QueryGenerator;
+import com.fsryan.forsuredb.info.TableIndexInfo;
+import org.junit.Before;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.fsryan.forsuredb.sqlitelib.TestData.TABLE_NAME;
+
+@RunWith(Parameterized.class)
+public class AddTableIndexGeneratorTest extends BaseSQLiteGeneratorTest {
+
+    private AddTableIndexGenerator generatorUnderTest;
+
+    private TableIndexInfo index;
+
+    public AddTableIndexGeneratorTest(TableIndexInfo index, String... expectedSql) {
+        super(expectedSql);
+        this.index = index;
+    }
+
+    @Parameterized.Parameters
+    public static Iterable<Object[]> data() {
+        return Arrays.asList(new Object[][] {
+                {   // 00: single column index
+                        TableIndexInfo.builder()
+                                .name("idx")
+                                .columns(Collections.singletonList("int_column"))
+                                .build(),
+                        new String[] {
+                                "CREATE INDEX IF NOT EXISTS idx ON " + TABLE_NAME + "(int_column);"
+                        }
+                },
+                {   // 01: unique multi-column index with a descending column
+                        TableIndexInfo.builder()
+                                .name("idx")
+                                .columns(Arrays.asList("int_column", "date_column DESC"))
+                                .unique(true)
+                                .build(),
+                        new String[] {
+                                "CREATE UNIQUE INDEX IF NOT EXISTS idx ON " + TABLE_NAME + "(int_column, date_column DESC);"
+                        }
+                },
+                {   // 02: partial index
+                        TableIndexInfo.builder()
+                                .name("idx")
+                                .columns(Arrays.asList("int_column", "string_column"))
+                                .where("deleted = 0")
+                                .build(),
+                        new String[] {
+                                "CREATE INDEX IF NOT EXISTS idx ON " + TABLE_NAME + "(int_column, string_column) WHERE deleted = 0;"
+                        }
+                },
+                {   // 03: covering index appends included columns that are not already key columns
+                        TableIndexInfo.builder()
+                                .name("idx")
+                                .columns(Arrays.asList("int_column DESC"))
+                                .include(Arrays.asList("int_column", "string_column"))
+                                .where("deleted = 0")
+                                .build(),
+                        new String[] {
+                                "CREATE INDEX IF NOT EXISTS idx ON " + TABLE_NAME + "(int_column DESC, string_column) WHERE deleted = 0;"
+                        }
+                }
+        });
+    }
+
+    @Override
+    protected QueryGenerator getGenerator() {
+        return generatorUnderTest;
+    }
+
+    @Before
+    public void setUp() {
+        generatorUnderTest = new AddTableIndexGenerator(TABLE_NAME, index);
+    }
+}
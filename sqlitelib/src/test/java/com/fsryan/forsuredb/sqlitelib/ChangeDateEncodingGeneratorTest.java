@@ -0,0 +1,81 @@
+/*
+   forsuredbsqlitelib, sqlite library for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.sqlitelib;
+
+import com.fsryan.forsuredb.api.migration.QueryGenerator;
+import com.fsryan.forsuredb.info.ColumnInfo;
+import org.junit.Before;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+
+import static com.fsryan.forsuredb.sqlitelib.TestData.*;
+
+@RunWith(Parameterized.class)
+public class ChangeDateEncodingGeneratorTest extends BaseSQLiteGeneratorTest {
+
+    private ChangeDateEncodingGenerator generatorUnderTest;
+
+    private ColumnInfo column;
+
+    public ChangeDateEncodingGeneratorTest(ColumnInfo column, String... expectedSql) {
+        super(expectedSql);
+        this.column = column;
+    }
+
+    @Parameterized.Parameters
+    public static Iterable<Object[]> data() {
+        return Arrays.asList(new Object[][] {
+                {   // 00: text to epoch millis
+                        dateCol().epochMillis(true).build(),
+                        new String[] {
+                                "DROP TRIGGER IF EXISTS " + TABLE_NAME + "_updated_trigger;",
+                                "UPDATE " + TABLE_NAME + " SET date_column = CAST(ROUND((JULIANDAY(date_column, 'utc') - 2440587.5) * 86400000) AS INTEGER) WHERE TYPEOF(date_column) = 'text';",
+                                "CREATE TRIGGER " + TABLE_NAME + "_updated_trigger AFTER UPDATE ON " + TABLE_NAME + " BEGIN UPDATE " + TABLE_NAME + " SET modified=" + SqlGenerator.CURRENT_UTC_TIME + " WHERE _id=NEW._id; END;"
+                        }
+                },
+                {   // 01: epoch millis to text
+                        dateCol().build(),
+                        new String[] {
+                                "DROP TRIGGER IF EXISTS " + TABLE_NAME + "_updated_trigger;",
+                                "UPDATE " + TABLE_NAME + " SET date_column = STRFTIME('%Y-%m-%d %H:%M:%f', date_column / 1000.0, 'unixepoch', 'localtime') WHERE TYPEOF(date_column) = 'integer';",
+                                "CREATE TRIGGER " + TABLE_NAME + "_updated_trigger AFTER UPDATE ON " + TABLE_NAME + " BEGIN UPDATE " + TABLE_NAME + " SET modified=" + SqlGenerator.CURRENT_UTC_TIME + " WHERE _id=NEW._id; END;"
+                        }
+                },
+                {   // 02: modified to epoch millis recreates the trigger to write epoch millis
+                        dateCol().columnName("modified").epochMillis(true).build(),
+                        new String[] {
+                                "DROP TRIGGER IF EXISTS " + TABLE_NAME + "_updated_trigger;",
+                                "UPDATE " + TABLE_NAME + " SET modified = CAST(ROUND((JULIANDAY(modified, 'utc') - 2440587.5) * 86400000) AS INTEGER) WHERE TYPEOF(modified) = 'text';",
+                                "CREATE TRIGGER " + TABLE_NAME + "_updated_trigger AFTER UPDATE ON " + TABLE_NAME + " BEGIN UPDATE " + TABLE_NAME + " SET modified=" + SqlGenerator.CURRENT_EPOCH_MILLIS + " WHERE _id=NEW._id; END;"
+                        }
+                }
+        });
+    }
+
+    @Override
+    protected QueryGenerator getGenerator() {
+        return generatorUnderTest;
+    }
+
+    @Before
+    public void setUp() {
+        generatorUnderTest = new ChangeDateEncodingGenerator(table().columnMap(columnMapOf(column)).build(), column);
+    }
+}
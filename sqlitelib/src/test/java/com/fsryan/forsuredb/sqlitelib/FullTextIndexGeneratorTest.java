@@ -0,0 +1,92 @@
+/*
+   forsuredbsqlitelib, sqlite library for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.sqlitelib;
+
+import com.fsryan.forsuredb.api.migration.QueryGenerator;
+import com.fsryan.forsuredb.info.TableInfo;
+import org.junit.Before;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+
+import static com.fsryan.forsuredb.sqlitelib.TestData.*;
+
+@RunWith(Parameterized.class)
+public class FullTextIndexGeneratorTest extends BaseSQLiteGeneratorTest {
+
+    private static final String[] DROP_SQL = new String[] {
+            "DROP TRIGGER IF EXISTS " + TABLE_NAME + "_fts_ai;",
+            "DROP TRIGGER IF EXISTS " + TABLE_NAME + "_fts_ad;",
+            "DROP TRIGGER IF EXISTS " + TABLE_NAME + "_fts_au;",
+            "DROP TABLE IF EXISTS " + TABLE_NAME + "_fts;"
+    };
+
+    private FullTextIndexGenerator generatorUnderTest;
+
+    private TableInfo table;
+
+    public FullTextIndexGeneratorTest(TableInfo table, String[] expectedSql) {
+        super(expectedSql);
+        this.table = table;
+    }
+
+    @Parameterized.Parameters
+    public static Iterable<Object[]> data() {
+        return Arrays.asList(new Object[][] {
+                {   // 00: dropped table
+                        null,
+                        DROP_SQL
+                },
+                {   // 01: table without full-text columns
+                        table().columnMap(columnMapOf(stringCol().build())).build(),
+                        DROP_SQL
+                },
+                {   // 02: table with full-text columns
+                        table().columnMap(columnMapOf(
+                                stringCol().fullText(true).build(),
+                                stringCol().columnName("body").fullText(true).build(),
+                                intCol().build()
+                        )).build(),
+                        concat(DROP_SQL, new String[] {
+                                "CREATE VIRTUAL TABLE " + TABLE_NAME + "_fts USING fts5(body, string_column, content='" + TABLE_NAME + "', content_rowid='_id');",
+                                "CREATE TRIGGER " + TABLE_NAME + "_fts_ai AFTER INSERT ON " + TABLE_NAME + " BEGIN INSERT INTO " + TABLE_NAME + "_fts(rowid, body, string_column) VALUES(new._id, new.body, new.string_column); END;",
+                                "CREATE TRIGGER " + TABLE_NAME + "_fts_ad AFTER DELETE ON " + TABLE_NAME + " BEGIN INSERT INTO " + TABLE_NAME + "_fts(" + TABLE_NAME + "_fts, rowid, body, string_column) VALUES('delete', old._id, old.body, old.string_column); END;",
+                                "CREATE TRIGGER " + TABLE_NAME + "_fts_au AFTER UPDATE ON " + TABLE_NAME + " BEGIN INSERT INTO " + TABLE_NAME + "_fts(" + TABLE_NAME + "_fts, rowid, body, string_column) VALUES('delete', old._id, old.body, old.string_column); INSERT INTO " + TABLE_NAME + "_fts(rowid, body, string_column) VALUES(new._id, new.body, new.string_column); END;",
+                                "INSERT INTO " + TABLE_NAME + "_fts(" + TABLE_NAME + "_fts) VALUES('rebuild');"
+                        })
+                }
+        });
+    }
+
+    @Override
+    protected QueryGenerator getGenerator() {
+        return generatorUnderTest;
+    }
+
+    @Before
+    public void setUp() {
+        generatorUnderTest = new FullTextIndexGenerator(TABLE_NAME, table);
+    }
+
+    private static String[] concat(String[] first, String[] second) {
+        String[] ret = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, ret, first.length, second.length);
+        return ret;
+    }
+}
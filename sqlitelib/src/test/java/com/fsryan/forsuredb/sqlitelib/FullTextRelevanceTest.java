@@ -0,0 +1,141 @@
+/*
+   forsuredbsqlitelib, sqlite library for the forsuredb project
+
+   Copyright 2015 Ryan Scott
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package com.fsryan.forsuredb.sqlitelib;
+
+import com.fsryan.forsuredb.api.FSOrdering;
+import com.fsryan.forsuredb.api.FSSelection;
+import com.fsryan.forsuredb.api.OrderBy;
+import com.fsryan.forsuredb.api.sqlgeneration.SqlForPreparedStatement;
+import com.fsryan.forsuredb.info.TableInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.fsryan.forsuredb.sqlitelib.TestData.*;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * <p>
+ *     Runs the SQL of queries ordered by relevance against a real FTS5 full-text index
+ *     created by {@link FullTextIndexGenerator}.
+ * </p>
+ */
+public class FullTextRelevanceTest {
+
+    private static final String[] bodies = new String[] {
+            "apple banana cherry date elderberry fig grape honeydew",
+            "apple apple apple",
+            "pear plum quince",
+            "banana apple"
+    };
+
+    private SqlGenerator generatorUnderTest;
+    private Connection connection;
+
+    @Before
+    public void setUpDatabase() throws SQLException {
+        generatorUnderTest = new SqlGenerator();
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + TABLE_NAME + "(_id INTEGER PRIMARY KEY, body TEXT);");
+            TableInfo table = table().columnMap(columnMapOf(stringCol().columnName("body").fullText(true).build())).build();
+            for (String sql : new FullTextIndexGenerator(TABLE_NAME, table).generate()) {
+                statement.execute(sql);
+            }
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + TABLE_NAME + "(_id, body) VALUES(?, ?);")) {
+            for (int i = 0; i < bodies.length; i++) {
+                insert.setLong(1, i + 1);
+                insert.setString(2, bodies[i]);
+                insert.executeUpdate();
+            }
+        }
+    }
+
+    @After
+    public void tearDownDatabase() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void shouldOrderMatchesByDescendingRelevance() throws SQLException {
+        FSSelection selection = createSelection(generatorUnderTest.whereMatches(TABLE_NAME, "body"), "apple");
+
+        assertEquals(Arrays.asList(2L, 4L, 1L), queryIds(selection, relevanceOrdering(OrderBy.ORDER_DESC)));
+    }
+
+    @Test
+    public void shouldOrderMatchesByAscendingRelevance() throws SQLException {
+        FSSelection selection = createSelection(generatorUnderTest.whereMatches(TABLE_NAME, "body"), "apple");
+
+        assertEquals(Arrays.asList(1L, 4L, 2L), queryIds(selection, relevanceOrdering(OrderBy.ORDER_ASC)));
+    }
+
+    @Test
+    public void shouldOrderRowsThatDoNotMatchAsLeastRelevant() throws SQLException {
+        assertEquals(Arrays.asList(2L, 4L, 1L, 3L), queryIds(null, relevanceOrdering(OrderBy.ORDER_DESC)));
+    }
+
+    @Test
+    public void shouldFindLastByRelevance() throws SQLException {
+        FSSelection selection = createSelection(
+                createLimits(2, true),
+                generatorUnderTest.whereMatches(TABLE_NAME, "body"),
+                "apple"
+        );
+
+        assertEquals(Arrays.asList(4L, 1L), queryIds(selection, relevanceOrdering(OrderBy.ORDER_DESC)));
+    }
+
+    private static List<FSOrdering> relevanceOrdering(int direction) {
+        return Collections.singletonList(new FSOrdering(TABLE_NAME, "body", direction, "apple"));
+    }
+
+    private List<Long> queryIds(FSSelection selection, List<FSOrdering> orderings) throws SQLException {
+        SqlForPreparedStatement pssql = generatorUnderTest.createQuerySql(
+                TABLE_NAME,
+                createProjection(TABLE_NAME, "_id"),
+                selection,
+                orderings
+        );
+        List<Long> ret = new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement(pssql.getSql())) {
+            Object[] replacements = pssql.getReplacements();
+            for (int i = 0; i < replacements.length; i++) {
+                query.setObject(i + 1, replacements[i]);
+            }
+            try (ResultSet resultSet = query.executeQuery()) {
+                while (resultSet.next()) {
+                    ret.add(resultSet.getLong(1));
+                }
+            }
+        }
+        return ret;
+    }
+}
@@ -30,6 +30,7 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 
+import static com.fsryan.forsuredb.sqlitelib.SqlGenerator.CURRENT_EPOCH_MILLIS;
 import static com.fsryan.forsuredb.sqlitelib.SqlGenerator.CURRENT_UTC_TIME;
 import static com.fsryan.forsuredb.sqlitelib.TestData.resourceText;
 import static org.junit.Assert.assertEquals;
@@ -135,6 +136,12 @@ public class MigrationSqlQueryTest {
                                 "ALTER TABLE additional_data ADD COLUMN string_column TEXT;"
                         )
                 },
+                {   // 07 CREATE TABLE storing created and modified as epoch millis
+                        resourceText("create_table_epoch_millis_timestamps_migration.json"),
+                        Arrays.asList(
+                                "CREATE TABLE profile_info(_id INTEGER PRIMARY KEY, created INTEGER DEFAULT(" + CURRENT_EPOCH_MILLIS + "), deleted INTEGER DEFAULT '0', modified INTEGER DEFAULT(" + CURRENT_EPOCH_MILLIS + "));",
+                                "CREATE TRIGGER profile_info_updated_trigger AFTER UPDATE ON profile_info BEGIN UPDATE profile_info SET modified=" + CURRENT_EPOCH_MILLIS + " WHERE _id=NEW._id; END;")
+                },
         });
     }
 
@@ -146,6 +146,86 @@ public abstract class SqlGeneratorTest {
         }
     }
 
+    @RunWith(Parameterized.class)
+    public static class UpsertQueryGeneration extends SqlGeneratorTest {
+
+        private final List<String> columns;
+        private final List<String> conflictColumns;
+        private final List<String> updateColumns;
+        private final int rowCount;
+        private final String expectedOutputSql;
+
+        public UpsertQueryGeneration(List<String> columns, List<String> conflictColumns, List<String> updateColumns, int rowCount, String expectedOutputSql) {
+            this.columns = columns;
+            this.conflictColumns = conflictColumns;
+            this.updateColumns = updateColumns;
+            this.rowCount = rowCount;
+            this.expectedOutputSql = expectedOutputSql;
+        }
+
+        @Parameterized.Parameters
+        public static Iterable<Object[]> data() {
+            return Arrays.asList(new Object[][] {
+                    {   // 00: single row, nothing to update on conflict
+                            Arrays.asList("col1", "col2"),
+                            Arrays.asList("col1"),
+                            Collections.<String>emptyList(),
+                            1,
+                            "INSERT INTO test_table (col1, col2) VALUES (?, ?) ON CONFLICT(col1) DO NOTHING;"
+                    },
+                    {   // 01: single row, update the non-key column on conflict
+                            Arrays.asList("col1", "col2"),
+                            Arrays.asList("col1"),
+                            Arrays.asList("col2"),
+                            1,
+                            "INSERT INTO test_table (col1, col2) VALUES (?, ?) ON CONFLICT(col1) DO UPDATE SET col2=excluded.col2;"
+                    },
+                    {   // 02: multiple rows, composite key
+                            Arrays.asList("col1", "col2", "col3", "col4"),
+                            Arrays.asList("col1", "col2"),
+                            Arrays.asList("col3", "col4"),
+                            3,
+                            "INSERT INTO test_table (col1, col2, col3, col4) VALUES (?, ?, ?, ?), (?, ?, ?, ?), (?, ?, ?, ?) ON CONFLICT(col1, col2) DO UPDATE SET col3=excluded.col3, col4=excluded.col4;"
+                    },
+                    {   // 03: null update columns treated as empty
+                            Arrays.asList("col1"),
+                            Arrays.asList("col1"),
+                            null,
+                            2,
+                            "INSERT INTO test_table (col1) VALUES (?), (?) ON CONFLICT(col1) DO NOTHING;"
+                    }
+            });
+        }
+
+        @Test
+        public void shouldOutputCorrectSql() {
+            assertEquals(expectedOutputSql, generatorUnderTest.newUpsertSql(TABLE_NAME, columns, conflictColumns, updateColumns, rowCount));
+        }
+    }
+
+    public static class UpsertSqlInvalidInput extends SqlGeneratorTest {
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldThrowOnEmptyTableName() {
+            generatorUnderTest.newUpsertSql("", Arrays.asList("col1"), Arrays.asList("col1"), null, 1);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldThrowOnEmptyColumns() {
+            generatorUnderTest.newUpsertSql(TABLE_NAME, Collections.<String>emptyList(), Arrays.asList("col1"), null, 1);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldThrowOnEmptyConflictColumns() {
+            generatorUnderTest.newUpsertSql(TABLE_NAME, Arrays.asList("col1"), Collections.<String>emptyList(), null, 1);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldThrowOnNonPositiveRowCount() {
+            generatorUnderTest.newUpsertSql(TABLE_NAME, Arrays.asList("col1"), Arrays.asList("col1"), null, 0);
+        }
+    }
+
     @RunWith(Parameterized.class)
     public static class ExpressOrdering extends SqlGeneratorTest {
 
@@ -219,6 +299,13 @@ public abstract class SqlGeneratorTest {
                     {   // 09: null returns empty string
                             null,
                             ""
+                    },
+                    {   // 10: relevance to a full-text query is ranked by the full-text index
+                            Arrays.asList(
+                                    new FSOrdering("table", "column1", OrderBy.ORDER_DESC, "query"),
+                                    new FSOrdering("table", "column2", OrderBy.ORDER_ASC)
+                            ),
+                            "(SELECT -rank FROM table_fts WHERE rowid = table._id AND column1 MATCH ?) DESC, table.column2 ASC"
                     }
             });
         }
@@ -435,6 +522,26 @@ public abstract class SqlGeneratorTest {
                                     "SELECT table13.col01 AS table13_col01, table13.col02 AS table13_col02 FROM table13 WHERE table13.rowid IN (SELECT table13.rowid FROM table13 WHERE table13.col1=? AND table13.col2<? ORDER BY table13.col2 DESC, table13.col1 ASC LIMIT -1 OFFSET 9) ORDER BY table13.col2 ASC, table13.col1 DESC;",
                                     new String[] {"hello", "5"}
                             )
+                    },
+                    {   // 14: SELECT ordered by relevance binds the full-text query after the selection
+                            "table14",
+                            createProjection("table14", "col01"),
+                            createSelection("table14._id IN (SELECT rowid FROM table14_fts WHERE col01 MATCH ?)", "hello"),
+                            Arrays.asList(new FSOrdering("table14", "col01", OrderBy.ORDER_DESC, "hello")),
+                            new SqlForPreparedStatement(
+                                    "SELECT table14.col01 AS table14_col01 FROM table14 WHERE table14._id IN (SELECT rowid FROM table14_fts WHERE col01 MATCH ?) ORDER BY (SELECT -rank FROM table14_fts WHERE rowid = table14._id AND col01 MATCH ?) DESC;",
+                                    new String[] {"hello", "hello"}
+                            )
+                    },
+                    {   // 15: SELECT ordered by relevance with limit from bottom binds the full-text query in both the inner select and the ORDER BY
+                            "table15",
+                            createProjection("table15", "col01"),
+                            createSelection(createLimits(3, true), "table15.col02 < ?", "5"),
+                            Arrays.asList(new FSOrdering("table15", "col01", OrderBy.ORDER_DESC, "hello")),
+                            new SqlForPreparedStatement(
+                                    "SELECT table15.col01 AS table15_col01 FROM table15 WHERE table15.rowid IN (SELECT table15.rowid FROM table15 WHERE table15.col02 < ? ORDER BY (SELECT -rank FROM table15_fts WHERE rowid = table15._id AND col01 MATCH ?) ASC LIMIT 3) ORDER BY (SELECT -rank FROM table15_fts WHERE rowid = table15._id AND col01 MATCH ?) DESC;",
+                                    new String[] {"5", "hello", "hello"}
+                            )
                     }
             });
         }
@@ -854,6 +961,15 @@ public abstract class SqlGeneratorTest {
                                     "DELETE FROM table08 WHERE table08.rowid IN (SELECT table08.rowid FROM table08 WHERE table08.col1=? AND table08.col2<? ORDER BY table08.col2 DESC, table08.col1 ASC LIMIT -1 OFFSET 9);",
                                     new String[] {"hello", "5"}
                             )
+                    },
+                    {   // 09: DELETE with limit ordered by relevance binds the full-text query in the inner select
+                            "table09",
+                            createSelection(createLimits(2), "table09.col2<?", new String[] {"5"}),
+                            Arrays.asList(new FSOrdering("table09", "col1", OrderBy.ORDER_DESC, "hello")),
+                            new SqlForPreparedStatement(
+                                    "DELETE FROM table09 WHERE table09.rowid IN (SELECT table09.rowid FROM table09 WHERE table09.col2<? ORDER BY (SELECT -rank FROM table09_fts WHERE rowid = table09._id AND col1 MATCH ?) DESC LIMIT 2);",
+                                    new String[] {"5", "hello"}
+                            )
                     }
             });
         }
@@ -999,11 +1115,195 @@ public abstract class SqlGeneratorTest {
         }
     }
 
+    @RunWith(Parameterized.class)
+    public static class AggregateQuery extends GenerateSqlForPreparedStatementTest {
+
+        private final List<FSJoin> joins;
+        private final List<FSProjection> groupBy;
+        private final List<FSAggregate> aggregates;
+        private final List<FSHaving> having;
+
+        public AggregateQuery(String table,
+                              List<FSJoin> joins,
+                              List<FSProjection> groupBy,
+                              List<FSAggregate> aggregates,
+                              FSSelection selection,
+                              List<FSHaving> having,
+                              List<FSOrdering> orderings,
+                              SqlForPreparedStatement expected) {
+            super(table, selection, orderings, expected);
+            this.joins = joins;
+            this.groupBy = groupBy;
+            this.aggregates = aggregates;
+            this.having = having;
+        }
+
+        @Parameterized.Parameters
+        public static Iterable<Object[]> data() {
+            return Arrays.asList(new Object[][] {
+                    {   // 00: COUNT(*) with null selection should count every row
+                            "table00",
+                            null,
+                            null,
+                            Arrays.asList(FSAggregate.count("table00")),
+                            null,
+                            null,
+                            null,
+                            new SqlForPreparedStatement(
+                                    "SELECT COUNT(*) AS count_table00 FROM table00;",
+                                    new String[0]
+                            )
+                    },
+                    {   // 01: multiple aggregates with a selection should compute every aggregate in one query;
+                            // ordering without grouping should be ignored
+                            "table01",
+                            null,
+                            null,
+                            Arrays.asList(
+                                    FSAggregate.sum("table01", "col1"),
+                                    FSAggregate.min("table01", "col2"),
+                                    FSAggregate.max("table01", "col2"),
+                                    FSAggregate.avg("table01", "col1"),
+                                    FSAggregate.count("table01", "col2")
+                            ),
+                            createSelection("table01.col1 > ?", "5"),
+                            null,
+                            Arrays.asList(new FSOrdering("table01", "col1", OrderBy.ORDER_DESC)),
+                            new SqlForPreparedStatement(
+                                    "SELECT SUM(table01.col1) AS sum_table01_col1, MIN(table01.col2) AS min_table01_col2, MAX(table01.col2) AS max_table01_col2, AVG(table01.col1) AS avg_table01_col1, COUNT(table01.col2) AS count_table01_col2 FROM table01 WHERE table01.col1 > ?;",
+                                    new String[] {"5"}
+                            )
+                    },
+                    {   // 02: limits should restrict the aggregated rows via inner SELECT rather than limit the result
+                            "table02",
+                            null,
+                            null,
+                            Arrays.asList(FSAggregate.count("table02")),
+                            createSelection(createLimits(1), "table02.col1 = ?", "hello"),
+                            null,
+                            null,
+                            new SqlForPreparedStatement(
+                                    "SELECT COUNT(*) AS count_table02 FROM table02 WHERE table02.rowid IN (SELECT table02.rowid FROM table02 WHERE table02.col1 = ? ORDER BY table02.rowid ASC LIMIT 1);",
+                                    new String[] {"hello"}
+                            )
+                    },
+                    {   // 03: GROUP BY should project the grouped columns and order the groups
+                            "table03",
+                            null,
+                            Arrays.asList(createProjection("table03", "col1", "col2")),
+                            Arrays.asList(FSAggregate.count("table03")),
+                            null,
+                            null,
+                            Arrays.asList(new FSOrdering("table03", "col1", OrderBy.ORDER_DESC)),
+                            new SqlForPreparedStatement(
+                                    "SELECT table03.col1 AS table03_col1, table03.col2 AS table03_col2, COUNT(*) AS count_table03 FROM table03 GROUP BY table03.col1, table03.col2 ORDER BY table03.col1 DESC;",
+                                    new String[0]
+                            )
+                    },
+                    {   // 04: HAVING should bind its values after those of the selection
+                            "table04",
+                            null,
+                            Arrays.asList(createProjection("table04", "col1")),
+                            Arrays.asList(FSAggregate.sum("table04", "col2")),
+                            createSelection("table04.col2 != ?", "0"),
+                            Arrays.asList(
+                                    new FSHaving(FSAggregate.sum("table04", "col2"), Finder.OP_GT, 100),
+                                    new FSHaving(FSAggregate.count("table04"), Finder.OP_LE, 10)
+                            ),
+                            null,
+                            new SqlForPreparedStatement(
+                                    "SELECT table04.col1 AS table04_col1, SUM(table04.col2) AS sum_table04_col2 FROM table04 WHERE table04.col2 != ? GROUP BY table04.col1 HAVING SUM(table04.col2) > ? AND COUNT(*) <= ?;",
+                                    new Object[] {"0", 100, 10}
+                            )
+                    },
+                    {   // 05: aggregates over a join should include the join
+                            "child05",
+                            Arrays.asList(
+                                    new FSJoin(Type.INNER, "parent05", "child05", stringMapOf("parent05_id", "_id"))
+                            ),
+                            Arrays.asList(createProjection("parent05", "col1")),
+                            Arrays.asList(FSAggregate.max("child05", "col2")),
+                            createSelection("parent05.col1 = ?", "hello"),
+                            null,
+                            null,
+                            new SqlForPreparedStatement(
+                                    "SELECT parent05.col1 AS parent05_col1, MAX(child05.col2) AS max_child05_col2 FROM child05 INNER JOIN parent05 ON child05.parent05_id=parent05._id WHERE parent05.col1 = ? GROUP BY parent05.col1;",
+                                    new String[] {"hello"}
+                            )
+                    }
+            });
+        }
+
+        @Override
+        protected SqlForPreparedStatement createQuery(SqlGenerator generator, String table) {
+            return generator.createAggregateSql(table, joins, groupBy, aggregates, selection, having, orderings);
+        }
+    }
+
+    public static class AggregateQueryInvalidInput extends SqlGeneratorTest {
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldRejectNoAggregates() {
+            generatorUnderTest.createAggregateSql("table", null, null, Collections.<FSAggregate>emptyList(), null, null, null);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldRejectLikeInHaving() {
+            generatorUnderTest.createAggregateSql(
+                    "table",
+                    null,
+                    Arrays.asList(createProjection("table", "col1")),
+                    Arrays.asList(FSAggregate.count("table")),
+                    null,
+                    Arrays.asList(new FSHaving(FSAggregate.max("table", "col2"), Finder.OP_LIKE, "a")),
+                    null
+            );
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shouldRejectHavingWithoutGroupBy() {
+            generatorUnderTest.createAggregateSql(
+                    "table",
+                    null,
+                    null,
+                    Arrays.asList(FSAggregate.count("table")),
+                    null,
+                    Arrays.asList(new FSHaving(FSAggregate.count("table"), Finder.OP_GT, 1)),
+                    null
+            );
+        }
+    }
+
     public static class Expressions extends SqlGeneratorTest {
 
         @Test
         public void shouldCorrectlyExpressLike() {
             assertEquals("%hello%", generatorUnderTest.expressLike("hello"));
         }
+
+        @Test
+        public void shouldExpressInListWithElementsInOrder() {
+            assertEquals("table.col IN (?, 42, ?)", generatorUnderTest.whereIn("table", "col", Arrays.asList("?", "42", "?")));
+        }
+
+        @Test
+        public void shouldExpressEmptyInList() {
+            assertEquals("table.col IN ()", generatorUnderTest.whereIn("table", "col", Collections.<String>emptyList()));
+        }
+
+        @Test
+        public void shouldExpressInListBoundToSingleParameter() {
+            assertEquals("table.col IN (SELECT value FROM json_each(?))", generatorUnderTest.whereInList("table", "col"));
+        }
+
+        @Test
+        public void shouldExpressMatchAsRowidLookupInFullTextIndex() {
+            assertEquals("table._id IN (SELECT rowid FROM table_fts WHERE col MATCH ?)", generatorUnderTest.whereMatches("table", "col"));
+        }
+
+        @Test
+        public void shouldExpressStartsWithAsRange() {
+            assertEquals("(table.col >= ? AND table.col < ?)", generatorUnderTest.whereStartsWith("table", "col"));
+        }
     }
 }